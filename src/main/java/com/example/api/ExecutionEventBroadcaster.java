@@ -0,0 +1,206 @@
+package com.example.api;
+
+import com.example.integration.ExecutionEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Execution Event Broadcaster - Test çalıştırma olaylarını Server-Sent Events ile istemcilere iter
+ *
+ * Her abonenin kendi sınırlı kuyruğu vardır; olaylar worker thread'lerini bloklamadan kuyruğa
+ * eklenir ve ayrı gönderici thread'lerinde yazılır. Kuyruk dolarsa bekleyen adım olayları
+ * atılır (drop-to-latest), senaryo sonuçları ve bitiş olayı korunur.
+ */
+@Component
+public class ExecutionEventBroadcaster {
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "sse-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final int queueCapacity;
+
+    public ExecutionEventBroadcaster(@Value("${executions.events.queue-capacity:256}") int queueCapacity) {
+        this.queueCapacity = Math.max(2, queueCapacity);
+    }
+
+    /**
+     * Yeni bir çalıştırma için yayın kanalı açar; olay yayınlanmadan önce çağrılmalıdır
+     */
+    public void open(String executionId) {
+        channels.putIfAbsent(executionId, new Channel());
+    }
+
+    /**
+     * Çalıştırmanın olay akışına abone olur. İlk olay olarak mevcut durum (snapshot) gönderilir;
+     * çalıştırma bilinmiyor ya da bitmişse snapshot sonrası akış kapatılır.
+     */
+    public SseEmitter subscribe(String executionId, Supplier<Map<String, Object>> snapshot) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        Channel channel = channels.get(executionId);
+        if (channel == null) {
+            subscriber.offer(new Outgoing("snapshot", snapshot.get(), false, true));
+            return emitter;
+        }
+
+        // Snapshot kanal kilidi altında alınır ki arada yayınlanan bir olay kaybolmasın
+        synchronized (channel) {
+            if (channel.finished) {
+                subscriber.offer(new Outgoing("snapshot", snapshot.get(), false, true));
+                return emitter;
+            }
+            subscriber.offer(new Outgoing("snapshot", snapshot.get(), false, false));
+            channel.subscribers.add(subscriber);
+        }
+
+        Runnable unsubscribe = () -> {
+            subscriber.close();
+            channel.subscribers.remove(subscriber);
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    /**
+     * Olayı çalıştırmanın tüm abonelerine iletir; bitiş olayından sonra kanal kapatılır
+     */
+    public void publish(String executionId, ExecutionEvent event) {
+        Channel channel = channels.get(executionId);
+        if (channel == null) {
+            return;
+        }
+
+        Outgoing outgoing = new Outgoing(event.getType(), event, event.isProgressOnly(), event.isTerminal());
+        synchronized (channel) {
+            if (channel.finished) {
+                return;
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(outgoing);
+            }
+            if (event.isTerminal()) {
+                channel.finished = true;
+                channels.remove(executionId, channel);
+            }
+        }
+    }
+
+    /**
+     * Aktif abone sayısı (izleme için)
+     */
+    public int getSubscriberCount(String executionId) {
+        Channel channel = channels.get(executionId);
+        return channel == null ? 0 : channel.subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private static final class Channel {
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private boolean finished = false;
+    }
+
+    private record Outgoing(String name, Object data, boolean progressOnly, boolean terminal) {
+    }
+
+    /**
+     * Tek bir SSE bağlantısı; kuyruğu yalnızca bir gönderici thread'i boşaltır
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Deque<Outgoing> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+        private long dropped = 0;
+        private volatile boolean closed = false;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Outgoing outgoing) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= queueCapacity) {
+                    // Yavaş istemci: önce eski adım olaylarını at, yetmezse en eski olayı
+                    int before = queue.size();
+                    queue.removeIf(Outgoing::progressOnly);
+                    dropped += before - queue.size();
+                    if (queue.size() >= queueCapacity) {
+                        queue.pollFirst();
+                        dropped++;
+                    }
+                }
+                queue.addLast(outgoing);
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Outgoing next;
+                    long droppedSinceLastSend;
+                    synchronized (this) {
+                        next = queue.pollFirst();
+                        if (next == null || closed) {
+                            draining.set(false);
+                            return;
+                        }
+                        droppedSinceLastSend = dropped;
+                        dropped = 0;
+                    }
+
+                    if (droppedSinceLastSend > 0) {
+                        emitter.send(SseEmitter.event().name("dropped").data(Map.of("count", droppedSinceLastSend),
+                                MediaType.APPLICATION_JSON));
+                    }
+                    emitter.send(SseEmitter.event().name(next.name()).data(next.data(), MediaType.APPLICATION_JSON));
+
+                    if (next.terminal()) {
+                        close();
+                        emitter.complete();
+                        return;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // İstemci bağlantıyı kapattı
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            closed = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package com.example.api;
+
+import com.example.integration.TestResult;
+import com.example.integration.TestScenarioExecutor;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Execution Registry - Test çalıştırmalarının yaşam döngüsünü yöneten sınırlı kayıt
+ *
+ * Aynı anda en fazla maxConcurrent çalıştırma koşar, fazlası sınırlı bir kuyrukta bekler;
+ * kuyruk da doluysa çalıştırma reddedilir (API 429 döner). Her çalıştırma sonuçlarını
+ * arşiv dizininde kendi NDJSON dosyasına ({id}.ndjson) yazar, böylece eşzamanlı çalıştırmalar
+ * birbirinin dosyasını kesmez. Tamamlanan çalıştırmaların sonuçları bellekte LRU olarak
+ * tutulur; sayı veya süre (TTL) sınırı aşılınca durum diske ({id}.json) yazılıp bellekten atılır.
+ * Arşiv de yaş ve dosya sayısıyla sınırlıdır; en eski çalıştırmaların dosyaları silinir.
+ */
+@Component
+public class ExecutionRegistry {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final Pattern SAFE_ID = Pattern.compile("[A-Za-z0-9_-]+");
+    private static final String STATUS_SUFFIX = ".json";
+    private static final String RESULTS_SUFFIX = ".ndjson";
+
+    public enum State { QUEUED, RUNNING, COMPLETED, STOPPED }
+
+    /**
+     * Tek bir çalıştırma kaydı; executor yalnızca çalışırken tutulur
+     */
+    public static final class Execution {
+        private final String id;
+        private final List<String> scenarioIds;
+        private final long createdAt = System.currentTimeMillis();
+        private TestScenarioExecutor executor;
+        private State state = State.QUEUED;
+        private long startedAt;
+        private long completedAt;
+        private List<TestResult> results = List.of();
+
+        private Execution(String id, TestScenarioExecutor executor, List<String> scenarioIds) {
+            this.id = id;
+            this.executor = executor;
+            this.scenarioIds = List.copyOf(scenarioIds);
+        }
+
+        public String getId() { return id; }
+
+        public synchronized State getState() { return state; }
+
+        public synchronized boolean isRunning() {
+            return state == State.RUNNING && executor != null && executor.isRunning();
+        }
+
+        public synchronized List<TestResult> getResults() {
+            return executor != null ? executor.getResults() : results;
+        }
+
+        public synchronized Map<String, Object> toStatus() {
+            Map<String, Object> status = new HashMap<>();
+            status.put("executionId", id);
+            status.put("status", state.name().toLowerCase());
+            status.put("running", state == State.RUNNING || state == State.QUEUED);
+            status.put("completed", state == State.COMPLETED || state == State.STOPPED);
+            status.put("scenarioCount", scenarioIds.size());
+            status.put("createdAt", createdAt);
+            status.put("startedAt", startedAt);
+            status.put("completedAt", completedAt);
+            status.put("currentResults", getResults());
+            return status;
+        }
+    }
+
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final int retainedCompleted;
+    private final long ttlMillis;
+    private final Path archiveDir;
+    private final int maxArchived;
+    private final long archiveMaxAgeMillis;
+
+    private final Map<String, Execution> active = new HashMap<>();
+    private final Deque<Execution> queue = new ArrayDeque<>();
+    private final LinkedHashMap<String, Execution> completed = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong lastId = new AtomicLong();
+    private int running = 0;
+    private volatile String latestStarted;
+    private ScheduledExecutorService sweeper;
+
+    public ExecutionRegistry(@Value("${executions.max-concurrent:4}") int maxConcurrent,
+                             @Value("${executions.queue-capacity:16}") int queueCapacity,
+                             @Value("${executions.retained:50}") int retainedCompleted,
+                             @Value("${executions.ttl-seconds:600}") long ttlSeconds,
+                             @Value("${executions.archive-dir:executions}") String archiveDir,
+                             @Value("${executions.archive.max-files:500}") int maxArchived,
+                             @Value("${executions.archive.max-age-days:7}") long archiveMaxAgeDays) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.retainedCompleted = Math.max(0, retainedCompleted);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(Math.max(1, ttlSeconds));
+        this.archiveDir = Paths.get(archiveDir);
+        this.maxArchived = Math.max(1, maxArchived);
+        this.archiveMaxAgeMillis = TimeUnit.DAYS.toMillis(Math.max(1, archiveMaxAgeDays));
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "execution-registry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.min(ttlMillis, TimeUnit.MINUTES.toMillis(1));
+        sweeper.scheduleWithFixedDelay(() -> {
+            evictExpired();
+            pruneArchive();
+        }, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        List<Execution> runningExecutions;
+        synchronized (this) {
+            queue.clear();
+            runningExecutions = new ArrayList<>(active.values());
+        }
+        for (Execution execution : runningExecutions) {
+            stop(execution.getId());
+        }
+    }
+
+    /**
+     * Benzersiz çalıştırma id'si üretir (aynı milisaniyede gelen istekler çakışmaz)
+     */
+    public String nextExecutionId() {
+        long now = System.currentTimeMillis();
+        return "exec_" + lastId.accumulateAndGet(now, (previous, candidate) -> Math.max(previous + 1, candidate));
+    }
+
+    /**
+     * Çalıştırmayı kabul eder: boş yer varsa hemen başlatır, yoksa kuyruğa alır.
+     * Kuyruk doluysa boş döner; executor'a dokunulmaz.
+     */
+    public synchronized Optional<Execution> submit(String executionId, TestScenarioExecutor executor,
+                                                   List<String> scenarioIds) {
+        if (running >= maxConcurrent && queue.size() >= queueCapacity) {
+            return Optional.empty();
+        }
+
+        Execution execution = new Execution(executionId, executor, scenarioIds);
+        executor.setResultsFile(resultsFile(executionId));
+        active.put(executionId, execution);
+        if (running < maxConcurrent) {
+            launch(execution);
+        } else {
+            queue.addLast(execution);
+            System.out.println("⏳ Çalıştırma kuyruğa alındı: " + executionId + " (sıra: " + queue.size() + ")");
+        }
+        return Optional.of(execution);
+    }
+
+    /**
+     * Aktif veya bellekte tutulan çalıştırmayı bulur (LRU sırasını günceller)
+     */
+    public synchronized Optional<Execution> find(String executionId) {
+        Execution execution = active.get(executionId);
+        if (execution == null) {
+            execution = completed.get(executionId);
+        }
+        return Optional.ofNullable(execution);
+    }
+
+    /**
+     * Bellekte yoksa diske yazılmış çalıştırma durumunu okur
+     */
+    public Optional<Map<String, Object>> findStatus(String executionId) {
+        Optional<Execution> execution = find(executionId);
+        if (execution.isPresent()) {
+            return Optional.of(execution.get().toStatus());
+        }
+        if (!SAFE_ID.matcher(executionId).matches()) {
+            return Optional.empty();
+        }
+        Path archived = archiveDir.resolve(executionId + STATUS_SUFFIX);
+        if (!Files.exists(archived)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(archived.toFile(), MAP_TYPE));
+        } catch (IOException e) {
+            System.err.println("Arşivlenmiş çalıştırma okunamadı (" + executionId + "): " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Çalıştırmayı durdurur; kuyruktaysa hiç başlatılmadan çıkarılır.
+     * Önceki durumu döndürür, çalıştırma bulunamazsa boş döner.
+     */
+    public Optional<State> stop(String executionId) {
+        Execution execution;
+        State previous;
+        TestScenarioExecutor executor;
+        synchronized (this) {
+            execution = active.get(executionId);
+            if (execution == null) {
+                return find(executionId).map(Execution::getState);
+            }
+            synchronized (execution) {
+                previous = execution.state;
+                execution.state = State.STOPPED;
+                executor = execution.executor;
+            }
+            if (previous == State.QUEUED) {
+                queue.remove(execution);
+                finish(execution);
+                return Optional.of(previous);
+            }
+        }
+        // Executor dışarıda durdurulur; tamamlanma callback'i kaydı kapatır.
+        // Çalıştırma bu arada bitmişse finish() executor'ı zaten bırakmıştır
+        if (executor != null) {
+            executor.stopExecution();
+        }
+        return Optional.of(previous);
+    }
+
+    /**
+     * Çalıştırmanın NDJSON sonuç dosyası; id registry tarafından üretildiği için dizin dışına çıkamaz
+     */
+    public Path resultsFile(String executionId) {
+        if (!SAFE_ID.matcher(executionId).matches()) {
+            throw new IllegalArgumentException("Geçersiz çalıştırma id'si: " + executionId);
+        }
+        return archiveDir.resolve(executionId + RESULTS_SUFFIX);
+    }
+
+    /**
+     * Sonuç dosyası bulunan çalıştırmayı döndürür; id verilmezse en son başlatılan çalıştırma,
+     * bu süreçte henüz çalıştırma yoksa arşivdeki en yeni sonuç dosyası alınır
+     */
+    public Optional<String> findResultsExecutionId(String executionId) {
+        if (executionId != null) {
+            return SAFE_ID.matcher(executionId).matches() && Files.exists(resultsFile(executionId))
+                    ? Optional.of(executionId) : Optional.empty();
+        }
+        String latest = latestStarted;
+        if (latest != null) {
+            return Optional.of(latest);
+        }
+        return archivedIds().entrySet().stream()
+                .filter(entry -> Files.exists(resultsFile(entry.getKey())))
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey);
+    }
+
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    public synchronized int getQueuedCount() {
+        return queue.size();
+    }
+
+    private void launch(Execution execution) {
+        running++;
+        latestStarted = execution.id;
+        synchronized (execution) {
+            execution.state = State.RUNNING;
+            execution.startedAt = System.currentTimeMillis();
+        }
+        execution.executor.executeScenarios(execution.scenarioIds)
+                .whenComplete((results, error) -> onExecutionFinished(execution));
+    }
+
+    private synchronized void onExecutionFinished(Execution execution) {
+        running--;
+        finish(execution);
+
+        // Boşalan yere kuyruktaki ilk çalıştırmayı al
+        while (running < maxConcurrent && !queue.isEmpty()) {
+            launch(queue.pollFirst());
+        }
+    }
+
+    /**
+     * Çalıştırmayı tamamlanmışlar listesine taşır, executor kaynaklarını bırakır
+     */
+    private void finish(Execution execution) {
+        TestScenarioExecutor executor;
+        synchronized (execution) {
+            executor = execution.executor;
+            execution.results = executor.getResults();
+            execution.executor = null;
+            if (execution.state != State.STOPPED) {
+                execution.state = State.COMPLETED;
+            }
+            execution.completedAt = System.currentTimeMillis();
+        }
+        executor.cleanup();
+
+        active.remove(execution.id);
+        completed.put(execution.id, execution);
+        while (completed.size() > retainedCompleted) {
+            Iterator<Execution> eldest = completed.values().iterator();
+            Execution evicted = eldest.next();
+            eldest.remove();
+            archive(evicted);
+        }
+    }
+
+    private synchronized void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        Iterator<Execution> iterator = completed.values().iterator();
+        while (iterator.hasNext()) {
+            Execution execution = iterator.next();
+            if (execution.completedAt < cutoff) {
+                iterator.remove();
+                archive(execution);
+            }
+        }
+    }
+
+    /**
+     * Bellekten atılan çalıştırmanın durumunu ve sonuçlarını diske yazar
+     */
+    private void archive(Execution execution) {
+        Map<String, Object> status = execution.toStatus();
+        status.put("archived", true);
+        try {
+            Files.createDirectories(archiveDir);
+            Path target = archiveDir.resolve(execution.id + STATUS_SUFFIX);
+            Path temp = archiveDir.resolve(execution.id + STATUS_SUFFIX + ".tmp");
+            objectMapper.writeValue(temp.toFile(), status);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Çalıştırma arşivlenemedi (" + execution.id + "): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Arşivi sınırlar: archiveMaxAgeMillis'ten eski ya da en yeni maxArchived çalıştırmanın dışında kalan
+     * çalıştırmaların durum ve sonuç dosyaları silinir. Aktif ve bellekte tutulan çalıştırmalara dokunulmaz.
+     */
+    private void pruneArchive() {
+        Set<String> inUse;
+        synchronized (this) {
+            inUse = new HashSet<>(active.keySet());
+            inUse.addAll(completed.keySet());
+        }
+        if (latestStarted != null) {
+            inUse.add(latestStarted);
+        }
+
+        List<Map.Entry<String, Long>> newestFirst = new ArrayList<>(archivedIds().entrySet());
+        newestFirst.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        long cutoff = System.currentTimeMillis() - archiveMaxAgeMillis;
+        int kept = 0;
+        int removed = 0;
+        for (Map.Entry<String, Long> entry : newestFirst) {
+            if (inUse.contains(entry.getKey())) {
+                continue;
+            }
+            if (kept < maxArchived && entry.getValue() >= cutoff) {
+                kept++;
+                continue;
+            }
+            try {
+                Files.deleteIfExists(archiveDir.resolve(entry.getKey() + STATUS_SUFFIX));
+                Files.deleteIfExists(resultsFile(entry.getKey()));
+                removed++;
+            } catch (IOException e) {
+                System.err.println("Arşivlenmiş çalıştırma silinemedi (" + entry.getKey() + "): " + e.getMessage());
+            }
+        }
+        if (removed > 0) {
+            System.out.println("🧹 Arşivden " + removed + " eski çalıştırma silindi");
+        }
+    }
+
+    /**
+     * Arşiv dizinindeki çalıştırma id'leri ve dosyalarının en yeni değişiklik zamanı
+     */
+    private Map<String, Long> archivedIds() {
+        Map<String, Long> ids = new HashMap<>();
+        if (!Files.isDirectory(archiveDir)) {
+            return ids;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.endsWith(STATUS_SUFFIX) ? name.substring(0, name.length() - STATUS_SUFFIX.length())
+                        : name.endsWith(RESULTS_SUFFIX) ? name.substring(0, name.length() - RESULTS_SUFFIX.length())
+                        : null;
+                if (id == null || !SAFE_ID.matcher(id).matches()) {
+                    continue;
+                }
+                try {
+                    ids.merge(id, Files.getLastModifiedTime(file).toMillis(), Math::max);
+                } catch (IOException e) {
+                    // Dosya bu arada silinmiş olabilir
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Çalıştırma arşivi okunamadı: " + e.getMessage());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.api;
+
+import com.example.integration.DurationHistogram;
+import com.example.integration.ResultLogReader;
+import com.example.integration.TestResult;
+import com.example.repository.ScenarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Execution Statistics - Test sonucu istatistiklerini bellekte artımlı olarak tutar
+ *
+ * Her senaryo sonucu geldiğinde sayaçlar, kategori bazında kayan başarı oranı ve süre
+ * histogramı güncellenir; /statistics endpoint'i sonuç dosyasını yeniden okumaz.
+ * "Son test sonuçları" en son başlayan çalıştırmanın id'sine bağlıdır; eşzamanlı koşan
+ * eski çalıştırmaların sonuçları bu sayaçları değiştirmez.
+ */
+@Component
+public class ExecutionStatistics {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String UNKNOWN_CATEGORY = "Diğer";
+
+    private final ScenarioRepository scenarioRepository;
+    private final ExecutionRegistry executionRegistry;
+    private final int rollingWindow;
+
+    private final DurationHistogram durations = new DurationHistogram();
+    private final Map<String, CategoryStats> categories = new HashMap<>();
+    private String lastRunId;
+    private long lastRunTotal = 0;
+    private long lastRunSuccess = 0;
+
+    public ExecutionStatistics(ScenarioRepository scenarioRepository, ExecutionRegistry executionRegistry,
+                               @Value("${statistics.rolling-window:100}") int rollingWindow) {
+        this.scenarioRepository = scenarioRepository;
+        this.executionRegistry = executionRegistry;
+        this.rollingWindow = Math.max(1, rollingWindow);
+    }
+
+    /**
+     * Uygulama açılışında son çalıştırmanın sonuçlarını bir kez yükler
+     */
+    @PostConstruct
+    public void start() {
+        Optional<String> executionId = executionRegistry.findResultsExecutionId(null);
+        if (executionId.isEmpty()) {
+            return;
+        }
+        String runId = executionId.get();
+        startRun(runId);
+        try {
+            ResultLogReader.forEachLine(executionRegistry.resultsFile(runId), line -> {
+                try {
+                    record(runId, objectMapper.readValue(line, TestResult.class));
+                } catch (IOException e) {
+                    System.err.println("Sonuç satırı okunamadı: " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Sonuç istatistikleri yüklenemedi: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Yeni çalıştırma başladığında "son test sonuçları" sayaçlarını bu çalıştırmaya bağlar ve sıfırlar;
+     * kategori ve süre istatistikleri birikmeye devam eder
+     */
+    public synchronized void startRun(String executionId) {
+        lastRunId = executionId;
+        lastRunTotal = 0;
+        lastRunSuccess = 0;
+    }
+
+    public void record(String executionId, TestResult result) {
+        boolean success = "success".equals(result.getStatus());
+        String category = scenarioRepository.findById(result.getScenarioId())
+                .map(scenario -> scenario.get("category"))
+                .map(Object::toString)
+                .filter(value -> !value.isEmpty())
+                .orElse(UNKNOWN_CATEGORY);
+
+        durations.record(result.getDuration());
+        synchronized (this) {
+            if (executionId.equals(lastRunId)) {
+                lastRunTotal++;
+                if (success) {
+                    lastRunSuccess++;
+                }
+            }
+            categories.computeIfAbsent(category, key -> new CategoryStats(rollingWindow)).record(success);
+        }
+    }
+
+    /**
+     * İstatistiklerin anlık görüntüsü; maliyeti kategori sayısıyla sınırlıdır
+     */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> stats = new HashMap<>();
+        if (lastRunId != null) {
+            stats.put("lastTestResults", Map.of(
+                "executionId", lastRunId,
+                "total", lastRunTotal,
+                "success", lastRunSuccess,
+                "failed", lastRunTotal - lastRunSuccess,
+                "successRate", lastRunTotal > 0 ? (lastRunSuccess * 100.0 / lastRunTotal) : 0
+            ));
+        }
+
+        Map<String, Object> categoryResults = new LinkedHashMap<>();
+        categories.forEach((category, categoryStats) -> categoryResults.put(category, categoryStats.toMap()));
+        stats.put("categoryResults", categoryResults);
+        stats.put("durationPercentiles", durations.toSummary());
+        return stats;
+    }
+
+    /**
+     * Kategori bazında toplam sayaçlar ve son N sonucun halka tamponu
+     */
+    private static final class CategoryStats {
+        private final boolean[] window;
+        private int windowSize = 0;
+        private int next = 0;
+        private int windowSuccess = 0;
+        private long total = 0;
+        private long success = 0;
+
+        private CategoryStats(int capacity) {
+            this.window = new boolean[capacity];
+        }
+
+        private void record(boolean passed) {
+            if (windowSize == window.length) {
+                if (window[next]) {
+                    windowSuccess--;
+                }
+            } else {
+                windowSize++;
+            }
+            window[next] = passed;
+            if (passed) {
+                windowSuccess++;
+            }
+            next = (next + 1) % window.length;
+
+            total++;
+            if (passed) {
+                success++;
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("total", total);
+            map.put("success", success);
+            map.put("failed", total - success);
+            map.put("successRate", total > 0 ? (success * 100.0 / total) : 0);
+            map.put("rollingSuccessRate", windowSize > 0 ? (windowSuccess * 100.0 / windowSize) : 0);
+            map.put("rollingWindow", windowSize);
+            return map;
+        }
+    }
+}
@@ -1,19 +1,26 @@
 package com.example.api;
 
+import com.example.integration.ExecutionEvent;
+import com.example.integration.ResultLogReader;
 import com.example.integration.TestScenarioExecutor;
+import com.example.repository.ScenarioExporter;
+import com.example.repository.ScenarioImporter;
+import com.example.repository.ScenarioRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Test Scenario REST API Controller
@@ -24,40 +31,57 @@ import java.util.concurrent.ConcurrentHashMap;
 @CrossOrigin(origins = "*") // CORS için
 public class TestScenarioController {
     
-    private static final String SCENARIOS_FILE = "test-scenarios.json";
-    private static final String RESULTS_FILE = "test-results.json";
     private static final ObjectMapper objectMapper = new ObjectMapper();
     
-    // Aktif test çalıştırma işlemlerini takip etmek için
-    private static final Map<String, TestScenarioExecutor> activeExecutors = new ConcurrentHashMap<>();
-    private static final Map<String, CompletableFuture<?>> activeTasks = new ConcurrentHashMap<>();
+    private final ScenarioRepository scenarioRepository;
+    private final ExecutionEventBroadcaster eventBroadcaster;
+    private final ExecutionStatistics executionStatistics;
+    private final ScenarioImporter scenarioImporter;
+    private final ScenarioExporter scenarioExporter;
+    
+    // Aktif, kuyruktaki ve tamamlanan test çalıştırmalarını takip etmek için
+    private final ExecutionRegistry executionRegistry;
+    
+    public TestScenarioController(ScenarioRepository scenarioRepository, ExecutionEventBroadcaster eventBroadcaster,
+                                  ExecutionStatistics executionStatistics, ExecutionRegistry executionRegistry,
+                                  ScenarioImporter scenarioImporter, ScenarioExporter scenarioExporter) {
+        this.scenarioRepository = scenarioRepository;
+        this.eventBroadcaster = eventBroadcaster;
+        this.executionStatistics = executionStatistics;
+        this.scenarioImporter = scenarioImporter;
+        this.scenarioExporter = scenarioExporter;
+        this.executionRegistry = executionRegistry;
+    }
     
     /**
-     * Tüm test senaryolarını listeler
-     * GET /api/test-scenarios
+     * Tüm test senaryolarını listeler, isteğe bağlı olarak kategori veya önceliğe göre filtreler
+     * GET /api/test-scenarios?category=api&priority=high
      */
     @GetMapping
-    public ResponseEntity<?> getAllScenarios() {
+    public ResponseEntity<?> getAllScenarios(@RequestParam(value = "category", required = false) String category,
+                                             @RequestParam(value = "priority", required = false) String priority) {
         try {
-            if (Files.exists(Paths.get(SCENARIOS_FILE))) {
-                String content = new String(Files.readAllBytes(Paths.get(SCENARIOS_FILE)));
-                JsonNode scenarios = objectMapper.readTree(content);
-                
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("data", scenarios);
-                response.put("count", scenarios.size());
-                
-                return ResponseEntity.ok(response);
+            List<Map<String, Object>> scenarios;
+            if (category != null) {
+                scenarios = scenarioRepository.findByCategory(category);
+                if (priority != null) {
+                    scenarios.removeIf(scenario -> !priority.equals(scenario.get("priority")));
+                }
+            } else if (priority != null) {
+                scenarios = scenarioRepository.findByPriority(priority);
             } else {
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("data", new ArrayList<>());
-                response.put("count", 0);
+                scenarios = scenarioRepository.findAll();
+            }
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("data", scenarios);
+            response.put("count", scenarios.size());
+            if (scenarios.isEmpty()) {
                 response.put("message", "Henüz senaryo bulunamadı");
-                
-                return ResponseEntity.ok(response);
             }
+            
+            return ResponseEntity.ok(response);
         } catch (Exception e) {
             return createErrorResponse("Senaryolar yüklenirken hata oluştu: " + e.getMessage());
         }
@@ -70,25 +94,13 @@ public class TestScenarioController {
     @PostMapping
     public ResponseEntity<?> addScenario(@RequestBody Map<String, Object> scenarioData) {
         try {
-            // Mevcut senaryoları yükle
-            List<Map<String, Object>> scenarios = loadScenariosFromFile();
-            
-            // Yeni ID oluştur
-            String newId = generateNewId(scenarios);
-            scenarioData.put("id", newId);
-            scenarioData.put("createdAt", new Date().toString());
-            scenarioData.put("updatedAt", new Date().toString());
-            
-            // Senaryoyu listeye ekle
-            scenarios.add(scenarioData);
-            
-            // Dosyaya kaydet
-            saveScenariosToFile(scenarios);
+            // Yeni ID repository tarafından atanır
+            Map<String, Object> saved = scenarioRepository.add(scenarioData);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Senaryo başarıyla eklendi");
-            response.put("data", scenarioData);
+            response.put("data", saved);
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
             
@@ -104,31 +116,16 @@ public class TestScenarioController {
     @PutMapping("/{id}")
     public ResponseEntity<?> updateScenario(@PathVariable String id, @RequestBody Map<String, Object> scenarioData) {
         try {
-            List<Map<String, Object>> scenarios = loadScenariosFromFile();
-            
-            // Senaryoyu bul ve güncelle
-            boolean found = false;
-            for (int i = 0; i < scenarios.size(); i++) {
-                Map<String, Object> scenario = scenarios.get(i);
-                if (id.equals(scenario.get("id"))) {
-                    scenarioData.put("id", id);
-                    scenarioData.put("updatedAt", new Date().toString());
-                    scenarios.set(i, scenarioData);
-                    found = true;
-                    break;
-                }
-            }
+            Optional<Map<String, Object>> updated = scenarioRepository.update(id, scenarioData);
             
-            if (!found) {
+            if (updated.isEmpty()) {
                 return createErrorResponse("Senaryo bulunamadı: " + id);
             }
             
-            saveScenariosToFile(scenarios);
-            
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Senaryo başarıyla güncellendi");
-            response.put("data", scenarioData);
+            response.put("data", updated.get());
             
             return ResponseEntity.ok(response);
             
@@ -144,17 +141,12 @@ public class TestScenarioController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteScenario(@PathVariable String id) {
         try {
-            List<Map<String, Object>> scenarios = loadScenariosFromFile();
-            
-            // Senaryoyu bul ve sil
-            boolean removed = scenarios.removeIf(scenario -> id.equals(scenario.get("id")));
+            boolean removed = scenarioRepository.delete(id);
             
             if (!removed) {
                 return createErrorResponse("Senaryo bulunamadı: " + id);
             }
             
-            saveScenariosToFile(scenarios);
-            
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Senaryo başarıyla silindi");
@@ -181,30 +173,53 @@ public class TestScenarioController {
             }
             
             // Execution ID oluştur
-            String executionId = "exec_" + System.currentTimeMillis();
+            String executionId = executionRegistry.nextExecutionId();
+            
+            // Test executor oluştur; yalnızca seçili senaryolar id indeksinden alınır
+            List<Map<String, Object>> selectedScenarios = new ArrayList<>();
+            for (String scenarioId : scenarioIds) {
+                scenarioRepository.findById(scenarioId).ifPresent(selectedScenarios::add);
+            }
             
-            // Test executor oluştur
             TestScenarioExecutor executor = new TestScenarioExecutor();
-            executor.loadScenariosFromFile(SCENARIOS_FILE);
-            
-            // Aktif executor'ları kaydet
-            activeExecutors.put(executionId, executor);
-            
-            // Asenkron olarak testleri çalıştır
-            CompletableFuture<?> task = executor.executeScenarios(scenarioIds)
-                .thenAccept(results -> {
-                    // Test tamamlandığında cleanup
-                    activeExecutors.remove(executionId);
-                    activeTasks.remove(executionId);
-                    executor.cleanup();
-                });
+            executor.loadScenarios(selectedScenarios);
+            
+            // Canlı ilerleme olaylarını SSE abonelerine aktar
+            eventBroadcaster.open(executionId);
+            executor.addListener(event -> eventBroadcaster.publish(executionId, event));
+            
+            // İstatistikler çalıştırma gerçekten başladığında sıfırlanır, her senaryo sonucunda artımlı güncellenir;
+            // sayaçlar execution id'ye bağlı olduğundan eşzamanlı çalıştırmalar birbirini sıfırlamaz
+            executor.addListener(event -> {
+                if ("execution-started".equals(event.getType())) {
+                    executionStatistics.startRun(executionId);
+                } else if (event.getResult() != null) {
+                    executionStatistics.record(executionId, event.getResult());
+                }
+            });
             
-            activeTasks.put(executionId, task);
+            // Boş yer varsa hemen başlatılır, yoksa kuyruğa alınır; kuyruk doluysa reddedilir
+            Optional<ExecutionRegistry.Execution> execution = executionRegistry.submit(executionId, executor, scenarioIds);
+            if (execution.isEmpty()) {
+                executor.cleanup();
+                eventBroadcaster.publish(executionId, ExecutionEvent.executionFinished("rejected", 0, scenarioIds.size()));
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("error", "Çok fazla eşzamanlı test çalıştırması var, lütfen daha sonra tekrar deneyin");
+                response.put("running", executionRegistry.getRunningCount());
+                response.put("queued", executionRegistry.getQueuedCount());
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", "5")
+                    .body(response);
+            }
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Test çalıştırması başlatıldı");
+            response.put("message", execution.get().getState() == ExecutionRegistry.State.QUEUED
+                ? "Test çalıştırması kuyruğa alındı" : "Test çalıştırması başlatıldı");
             response.put("executionId", executionId);
+            response.put("status", execution.get().getState().name().toLowerCase());
             response.put("scenarioCount", scenarioIds.size());
             
             return ResponseEntity.ok(response);
@@ -221,24 +236,19 @@ public class TestScenarioController {
     @GetMapping("/execution/{executionId}/status")
     public ResponseEntity<?> getExecutionStatus(@PathVariable String executionId) {
         try {
-            TestScenarioExecutor executor = activeExecutors.get(executionId);
-            CompletableFuture<?> task = activeTasks.get(executionId);
+            // Bellekte yoksa diske taşınmış kayıt okunur
+            Optional<Map<String, Object>> status = executionRegistry.findStatus(executionId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("executionId", executionId);
             
-            if (executor == null || task == null) {
+            if (status.isEmpty()) {
                 response.put("status", "completed");
                 response.put("running", false);
                 response.put("message", "Test çalıştırması tamamlandı veya bulunamadı");
             } else {
-                response.put("status", executor.isRunning() ? "running" : "completed");
-                response.put("running", executor.isRunning());
-                response.put("completed", task.isDone());
-                
-                // Mevcut sonuçları al
-                response.put("currentResults", executor.getResults());
+                response.putAll(status.get());
             }
             
             return ResponseEntity.ok(response);
@@ -248,6 +258,23 @@ public class TestScenarioController {
         }
     }
     
+    /**
+     * Test çalıştırma olaylarını canlı olarak iter (Server-Sent Events)
+     * GET /api/test-scenarios/execution/{executionId}/events
+     * Olaylar: snapshot, execution-started, scenario-started, step, scenario-finished, execution-finished
+     */
+    @GetMapping(value = "/execution/{executionId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamExecutionEvents(@PathVariable String executionId) {
+        return eventBroadcaster.subscribe(executionId, () -> executionRegistry.findStatus(executionId).orElseGet(() -> {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("executionId", executionId);
+            snapshot.put("status", "completed");
+            snapshot.put("running", false);
+            snapshot.put("currentResults", new ArrayList<>());
+            return snapshot;
+        }));
+    }
+    
     /**
      * Test çalıştırmasını durdurur
      * POST /api/test-scenarios/execution/{executionId}/stop
@@ -255,23 +282,10 @@ public class TestScenarioController {
     @PostMapping("/execution/{executionId}/stop")
     public ResponseEntity<?> stopExecution(@PathVariable String executionId) {
         try {
-            TestScenarioExecutor executor = activeExecutors.get(executionId);
-            CompletableFuture<?> task = activeTasks.get(executionId);
-            
-            if (executor != null) {
-                executor.stopExecution();
-            }
-            
-            if (task != null) {
-                task.cancel(true);
-            }
-            
-            // Cleanup
-            activeExecutors.remove(executionId);
-            activeTasks.remove(executionId);
-            
-            if (executor != null) {
-                executor.cleanup();
+            // Çalışan executor durdurulur, kuyruktaki çalıştırma hiç başlatılmadan çıkarılır
+            Optional<ExecutionRegistry.State> previous = executionRegistry.stop(executionId);
+            if (previous.isPresent() && previous.get() == ExecutionRegistry.State.QUEUED) {
+                eventBroadcaster.publish(executionId, ExecutionEvent.executionFinished("stopped", 0, 0));
             }
             
             Map<String, Object> response = new HashMap<>();
@@ -287,77 +301,57 @@ public class TestScenarioController {
     }
     
     /**
-     * Test sonuçlarını getirir
-     * GET /api/test-scenarios/results
+     * Test sonuçlarını getirir; sonuç dosyası belleğe alınmadan satır satır yanıta aktarılır
+     * GET /api/test-scenarios/results?limit=100&executionId=exec_... (limit verilirse yalnızca son N sonuç,
+     * executionId verilmezse en son başlatılan çalıştırmanın sonuçları)
      */
     @GetMapping("/results")
-    public ResponseEntity<?> getTestResults() {
-        try {
-            if (Files.exists(Paths.get(RESULTS_FILE))) {
-                String content = new String(Files.readAllBytes(Paths.get(RESULTS_FILE)));
-                JsonNode results = objectMapper.readTree(content);
-                
-                Map<String, Object> response = new HashMap<>();
-                response.put("success", true);
-                response.put("data", results);
-                response.put("count", results.size());
-                
-                return ResponseEntity.ok(response);
-            } else {
+    public ResponseEntity<StreamingResponseBody> getTestResults(@RequestParam(value = "limit", required = false) Integer limit,
+                                                                @RequestParam(value = "executionId", required = false) String executionId) {
+        Optional<Path> resultsPath = executionRegistry.findResultsExecutionId(executionId)
+            .map(executionRegistry::resultsFile)
+            .filter(Files::exists);
+        StreamingResponseBody body;
+        
+        if (resultsPath.isPresent()) {
+            body = outputStream -> writeResultsResponse(resultsPath.get(), limit, outputStream);
+        } else {
+            body = outputStream -> {
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", true);
                 response.put("data", new ArrayList<>());
                 response.put("count", 0);
                 response.put("message", "Henüz test sonucu bulunamadı");
                 
-                return ResponseEntity.ok(response);
-            }
-        } catch (Exception e) {
-            return createErrorResponse("Sonuçlar yüklenirken hata oluştu: " + e.getMessage());
+                objectMapper.writeValue(outputStream, response);
+            };
         }
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(body);
     }
     
     /**
-     * Senaryoları JSON dosyasından içe aktarır
-     * POST /api/test-scenarios/import
+     * Senaryoları JSON dosyasından içe aktarır; dosya belleğe alınmadan senaryo senaryo okunur
+     * POST /api/test-scenarios/import?resumeAfter={kaynakId}
      */
     @PostMapping("/import")
-    public ResponseEntity<?> importScenarios(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> importScenarios(@RequestParam("file") MultipartFile file,
+                                             @RequestParam(value = "resumeAfter", required = false) String resumeAfter) {
         try {
             if (file.isEmpty()) {
                 return createErrorResponse("Dosya seçilmedi");
             }
             
-            String content = new String(file.getBytes());
-            JsonNode importedScenarios = objectMapper.readTree(content);
-            
-            if (!importedScenarios.isArray()) {
-                return createErrorResponse("Geçersiz dosya formatı. JSON array bekleniyor.");
+            ScenarioImporter.Progress progress;
+            try (InputStream input = file.getInputStream()) {
+                progress = scenarioImporter.importStream(input, resumeAfter, null);
             }
             
-            List<Map<String, Object>> existingScenarios = loadScenariosFromFile();
-            int importedCount = 0;
-            
-            for (JsonNode scenarioNode : importedScenarios) {
-                @SuppressWarnings("unchecked")
-                Map<String, Object> scenario = objectMapper.convertValue(scenarioNode, Map.class);
-                
-                // Yeni ID oluştur
-                String newId = generateNewId(existingScenarios);
-                scenario.put("id", newId);
-                scenario.put("createdAt", new Date().toString());
-                scenario.put("updatedAt", new Date().toString());
-                
-                existingScenarios.add(scenario);
-                importedCount++;
-            }
-            
-            saveScenariosToFile(existingScenarios);
-            
-            Map<String, Object> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>(progress.toMap());
             response.put("success", true);
-            response.put("message", importedCount + " senaryo başarıyla içe aktarıldı");
-            response.put("importedCount", importedCount);
+            response.put("message", progress.getImported() + " senaryo başarıyla içe aktarıldı");
             
             return ResponseEntity.ok(response);
             
@@ -367,24 +361,63 @@ public class TestScenarioController {
     }
     
     /**
-     * Senaryoları JSON dosyası olarak dışa aktarır
-     * GET /api/test-scenarios/export
+     * Çok büyük senaryo dosyalarını ham istek gövdesinden içe aktarır (multipart boyut sınırı ve geçici dosya yok).
+     * Yanıt NDJSON'dır: her batch sonrası bir "progress" satırı, sonda "done" veya "error" satırı.
+     * Hata durumunda son satırdaki lastImportedId ile resumeAfter verilerek devam edilebilir.
+     * POST /api/test-scenarios/import/stream?resumeAfter={kaynakId}
+     */
+    @PostMapping("/import/stream")
+    public ResponseEntity<StreamingResponseBody> importScenariosStream(InputStream body,
+                                                                      @RequestParam(value = "resumeAfter", required = false) String resumeAfter) {
+        StreamingResponseBody stream = outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            ScenarioImporter.Progress[] last = {null};
+            try {
+                ScenarioImporter.Progress progress = scenarioImporter.importStream(body, resumeAfter, update -> {
+                    last[0] = update;
+                    writeImportLine(writer, "progress", update.toMap());
+                });
+                writeImportLine(writer, "done", progress.toMap());
+            } catch (IOException | UncheckedIOException e) {
+                Map<String, Object> error = last[0] != null ? last[0].toMap() : new LinkedHashMap<>();
+                error.put("error", "Senaryolar içe aktarılırken hata oluştu: " + e.getMessage());
+                writeImportLine(writer, "error", error);
+            }
+        };
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(stream);
+    }
+    
+    /**
+     * Senaryoları dosya olarak dışa aktarır; liste belleğe toplanmadan doğrudan yanıta yazılır
+     * GET /api/test-scenarios/export?format=json|ndjson&compression=none|gzip
      */
     @GetMapping("/export")
-    public ResponseEntity<?> exportScenarios() {
+    public ResponseEntity<?> exportScenarios(@RequestParam(value = "format", required = false) String format,
+                                             @RequestParam(value = "compression", required = false) String compression) {
+        ScenarioExporter.Format exportFormat;
+        ScenarioExporter.Compression exportCompression;
         try {
-            List<Map<String, Object>> scenarios = loadScenariosFromFile();
-            
-            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(scenarios);
-            
-            return ResponseEntity.ok()
-                .header("Content-Disposition", "attachment; filename=test-scenarios.json")
-                .header("Content-Type", "application/json")
-                .body(json);
-                
-        } catch (Exception e) {
-            return createErrorResponse("Senaryolar dışa aktarılırken hata oluştu: " + e.getMessage());
+            exportFormat = ScenarioExporter.Format.parse(format);
+            exportCompression = ScenarioExporter.Compression.parse(compression);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("error", "Desteklenmeyen dışa aktarma seçeneği (format: json|ndjson, compression: none|gzip)");
+            return ResponseEntity.badRequest().body(response);
         }
+        
+        StreamingResponseBody body = outputStream -> scenarioExporter.write(outputStream, exportFormat, exportCompression);
+        String contentType = exportCompression == ScenarioExporter.Compression.GZIP
+            ? "application/gzip" : exportFormat.getContentType();
+        
+        return ResponseEntity.ok()
+            .header("Content-Disposition", "attachment; filename="
+                + ScenarioExporter.fileName(exportFormat, exportCompression))
+            .header("Content-Type", contentType)
+            .body(body);
     }
     
     /**
@@ -394,50 +427,15 @@ public class TestScenarioController {
     @GetMapping("/statistics")
     public ResponseEntity<?> getStatistics() {
         try {
-            List<Map<String, Object>> scenarios = loadScenariosFromFile();
-            
             Map<String, Object> stats = new HashMap<>();
-            stats.put("totalScenarios", scenarios.size());
-            
-            // Kategori bazında istatistikler
-            Map<String, Long> categoryStats = new HashMap<>();
-            Map<String, Long> priorityStats = new HashMap<>();
-            
-            for (Map<String, Object> scenario : scenarios) {
-                String category = (String) scenario.getOrDefault("category", "Diğer");
-                String priority = (String) scenario.getOrDefault("priority", "Orta");
-                
-                categoryStats.put(category, categoryStats.getOrDefault(category, 0L) + 1);
-                priorityStats.put(priority, priorityStats.getOrDefault(priority, 0L) + 1);
-            }
+            stats.put("totalScenarios", scenarioRepository.size());
             
-            stats.put("categoryStats", categoryStats);
-            stats.put("priorityStats", priorityStats);
+            // Kategori ve öncelik sayıları repository indekslerinden okunur
+            stats.put("categoryStats", withDefaultLabel(scenarioRepository.countByCategory(), "Diğer"));
+            stats.put("priorityStats", withDefaultLabel(scenarioRepository.countByPriority(), "Orta"));
             
-            // Son test sonuçları
-            if (Files.exists(Paths.get(RESULTS_FILE))) {
-                String content = new String(Files.readAllBytes(Paths.get(RESULTS_FILE)));
-                JsonNode results = objectMapper.readTree(content);
-                
-                long successCount = 0;
-                long failedCount = 0;
-                
-                for (JsonNode result : results) {
-                    String status = result.get("status").asText();
-                    if ("success".equals(status)) {
-                        successCount++;
-                    } else {
-                        failedCount++;
-                    }
-                }
-                
-                stats.put("lastTestResults", Map.of(
-                    "total", results.size(),
-                    "success", successCount,
-                    "failed", failedCount,
-                    "successRate", results.size() > 0 ? (successCount * 100.0 / results.size()) : 0
-                ));
-            }
+            // Son test sonuçları, kategori bazında kayan başarı oranı ve süre yüzdelikleri
+            stats.putAll(executionStatistics.snapshot());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -452,40 +450,65 @@ public class TestScenarioController {
     
     // Yardımcı metodlar
     
-    private List<Map<String, Object>> loadScenariosFromFile() throws IOException {
-        if (Files.exists(Paths.get(SCENARIOS_FILE))) {
-            String content = new String(Files.readAllBytes(Paths.get(SCENARIOS_FILE)));
-            JsonNode jsonNode = objectMapper.readTree(content);
-            
-            if (jsonNode.isArray()) {
-                List<Map<String, Object>> scenarios = new ArrayList<>();
-                for (JsonNode node : jsonNode) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> scenario = objectMapper.convertValue(node, Map.class);
-                    scenarios.add(scenario);
+    /**
+     * NDJSON sonuç satırlarını {"success":true,"data":[...],"count":N} zarfı içinde yazar.
+     * Her satır zaten geçerli bir JSON nesnesi olduğundan yeniden parse edilmez.
+     */
+    private void writeResultsResponse(Path resultsPath, Integer limit, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write("{\"success\":true,\"data\":[");
+        
+        long[] count = {0};
+        Consumer<String> emit = line -> {
+            try {
+                if (count[0]++ > 0) {
+                    writer.write(',');
                 }
-                return scenarios;
+                writer.write(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        
+        try {
+            if (limit != null) {
+                ResultLogReader.tail(resultsPath, limit).forEach(emit);
+            } else {
+                ResultLogReader.forEachLine(resultsPath, emit);
             }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return new ArrayList<>();
+        
+        writer.write("],\"count\":" + count[0] + "}");
+        writer.flush();
     }
     
-    private void saveScenariosToFile(List<Map<String, Object>> scenarios) throws IOException {
-        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(scenarios);
-        Files.write(Paths.get(SCENARIOS_FILE), json.getBytes());
+    /**
+     * İçe aktarma ilerleme satırını yazar ve hemen gönderir
+     */
+    private static void writeImportLine(Writer writer, String type, Map<String, Object> data) {
+        Map<String, Object> line = new LinkedHashMap<>();
+        line.put("type", type);
+        line.putAll(data);
+        try {
+            writer.write(objectMapper.writeValueAsString(line));
+            writer.write('\n');
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
     
-    private String generateNewId(List<Map<String, Object>> scenarios) {
-        int maxId = 0;
-        for (Map<String, Object> scenario : scenarios) {
-            try {
-                int id = Integer.parseInt(scenario.get("id").toString());
-                maxId = Math.max(maxId, id);
-            } catch (NumberFormatException e) {
-                // ID sayı değilse, timestamp kullan
-            }
+    /**
+     * Kategorisi/önceliği boş senaryolar varsayılan etiket altında sayılır
+     */
+    private static Map<String, Long> withDefaultLabel(Map<String, Long> counts, String defaultLabel) {
+        Long unlabeled = counts.remove("");
+        if (unlabeled != null) {
+            counts.merge(defaultLabel, unlabeled, Long::sum);
         }
-        return String.valueOf(maxId + 1);
+        return counts;
     }
     
     private ResponseEntity<?> createErrorResponse(String message) {
@@ -0,0 +1,167 @@
+package com.example.integration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Duration Histogram - Süreler için sabit bellekli, akış halinde güncellenen histogram
+ *
+ * Log-lineer kovalar kullanır: 0 ile 2*2^bits arası birebir, üstünde her ikinin kuvveti aralığı
+ * 2^bits alt kovaya bölünür (göreli hata ~2^-bits). Varsayılan 4 bit (0-31 birebir, ~%6 hata)
+ * milisaniye süreler içindir; nanosaniye gecikmeler için test tarafındaki LatencyHistogram aynı
+ * kovalamayı 7 bit ile kullanır. Birim kaydedene aittir. Kayıt kilitsizdir; yüzdelik sorgusu
+ * kova sayısı kadar sürer, kaydedilen örnek sayısından bağımsızdır. Aynı çözünürlükteki
+ * histogramlar {@link #merge(DurationHistogram)} ile birleştirilebilir (ör. thread başına parçalar).
+ */
+public class DurationHistogram {
+
+    private static final int DEFAULT_SUB_BUCKET_BITS = 4;
+
+    private final int subBucketBits;
+    private final int subBuckets;
+    private final int linearLimit;
+    private final int bucketCount;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    public DurationHistogram() {
+        this(DEFAULT_SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @param subBucketBits her ikinin kuvveti aralığının bölündüğü alt kova sayısının log2'si (1-16)
+     */
+    protected DurationHistogram(int subBucketBits) {
+        if (subBucketBits < 1 || subBucketBits > 16) {
+            throw new IllegalArgumentException("subBucketBits 1-16 arasında olmalı: " + subBucketBits);
+        }
+        this.subBucketBits = subBucketBits;
+        this.subBuckets = 1 << subBucketBits;
+        this.linearLimit = 2 * subBuckets;
+        this.bucketCount = linearLimit + (63 - subBucketBits - 1) * subBuckets;
+        this.buckets = new AtomicLongArray(bucketCount);
+    }
+
+    /**
+     * Süreyi kaydeder; negatif değerler 0 sayılır
+     */
+    public void record(long value) {
+        long normalized = Math.max(0, value);
+        buckets.incrementAndGet(bucketIndex(normalized));
+        count.incrementAndGet();
+        sum.addAndGet(normalized);
+        min.accumulateAndGet(normalized, Math::min);
+        max.accumulateAndGet(normalized, Math::max);
+    }
+
+    /**
+     * Başka bir histogramın kayıtlarını bu histograma ekler; çözünürlükler aynı olmalıdır
+     */
+    public void merge(DurationHistogram other) {
+        if (other.subBucketBits != subBucketBits) {
+            throw new IllegalArgumentException("Farklı çözünürlükteki histogramlar birleştirilemez: "
+                    + subBucketBits + " / " + other.subBucketBits);
+        }
+        for (int index = 0; index < bucketCount; index++) {
+            long recorded = other.buckets.get(index);
+            if (recorded != 0) {
+                buckets.addAndGet(index, recorded);
+            }
+        }
+        count.addAndGet(other.count.get());
+        sum.addAndGet(other.sum.get());
+        min.accumulateAndGet(other.min.get(), Math::min);
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMin() {
+        return count.get() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long total = count.get();
+        return total == 0 ? 0 : (double) sum.get() / total;
+    }
+
+    /**
+     * Yüzdelik değeri döndürür (ör. 95.0); sonuç ilgili kovanın üst sınırıdır
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100.0, percentile) / 100.0 * total - 1e-9));
+        long cumulative = 0;
+        for (int index = 0; index < bucketCount; index++) {
+            cumulative += buckets.get(index);
+            if (cumulative >= target) {
+                return Math.max(getMin(), Math.min(upperBound(index), max.get()));
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * İstatistik endpoint'i için özet (count, mean, max, p50, p90, p95, p99)
+     */
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("mean", getMean());
+        summary.put("max", getMax());
+        summary.put("p50", getPercentile(50));
+        summary.put("p90", getPercentile(90));
+        summary.put("p95", getPercentile(95));
+        summary.put("p99", getPercentile(99));
+        return summary;
+    }
+
+    public void reset() {
+        for (int index = 0; index < bucketCount; index++) {
+            buckets.set(index, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        min.set(Long.MAX_VALUE);
+        max.set(0);
+    }
+
+    /**
+     * Değerin düştüğü kova
+     */
+    protected int bucketIndex(long value) {
+        if (value < linearLimit) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value) - subBucketBits;
+        int subBucket = (int) (value >>> magnitude) - subBuckets;
+        return linearLimit + (magnitude - 1) * subBuckets + subBucket;
+    }
+
+    /**
+     * Kovaya düşen en büyük değer
+     */
+    protected long upperBound(int index) {
+        if (index < linearLimit) {
+            return index;
+        }
+        int magnitude = (index - linearLimit) / subBuckets + 1;
+        long subBucket = (index - linearLimit) % subBuckets + subBuckets;
+        return ((subBucket + 1) << magnitude) - 1;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.integration;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Test çalıştırması sırasında üretilen ilerleme olayı
+ * Çalıştırma, senaryo ve adım seviyesinde canlı takip (SSE) için kullanılır
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExecutionEvent {
+
+    public enum Type {
+        EXECUTION_STARTED("execution-started"),
+        SCENARIO_STARTED("scenario-started"),
+        STEP("step"),
+        SCENARIO_FINISHED("scenario-finished"),
+        EXECUTION_FINISHED("execution-finished");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    private final Type type;
+    private final long timestamp;
+    private String scenarioId;
+    private String scenarioName;
+    private Integer stepOrder;
+    private String message;
+    private String status;
+    private TestResult result;
+    private int completed;
+    private int total;
+
+    private ExecutionEvent(Type type) {
+        this.type = type;
+        this.timestamp = System.currentTimeMillis();
+    }
+
+    public static ExecutionEvent executionStarted(int total) {
+        ExecutionEvent event = new ExecutionEvent(Type.EXECUTION_STARTED);
+        event.total = total;
+        event.status = "running";
+        return event;
+    }
+
+    public static ExecutionEvent scenarioStarted(TestScenario scenario, int completed, int total) {
+        ExecutionEvent event = new ExecutionEvent(Type.SCENARIO_STARTED);
+        event.scenarioId = scenario.getId();
+        event.scenarioName = scenario.getName();
+        event.completed = completed;
+        event.total = total;
+        return event;
+    }
+
+    public static ExecutionEvent step(TestScenario scenario, TestStep step) {
+        ExecutionEvent event = new ExecutionEvent(Type.STEP);
+        event.scenarioId = scenario.getId();
+        event.scenarioName = scenario.getName();
+        event.stepOrder = step.getOrder();
+        event.message = step.getDescription();
+        return event;
+    }
+
+    public static ExecutionEvent scenarioFinished(TestResult result, int completed, int total) {
+        ExecutionEvent event = new ExecutionEvent(Type.SCENARIO_FINISHED);
+        event.scenarioId = result.getScenarioId();
+        event.scenarioName = result.getScenarioName();
+        event.status = result.getStatus();
+        event.message = result.getErrorMessage();
+        event.result = result;
+        event.completed = completed;
+        event.total = total;
+        return event;
+    }
+
+    public static ExecutionEvent executionFinished(String status, int completed, int total) {
+        ExecutionEvent event = new ExecutionEvent(Type.EXECUTION_FINISHED);
+        event.status = status;
+        event.completed = completed;
+        event.total = total;
+        return event;
+    }
+
+    /**
+     * Adım olayları yalnızca ilerleme bilgisidir; yavaş istemcilerde en günceli dışında atılabilir
+     */
+    public boolean isProgressOnly() {
+        return type == Type.STEP;
+    }
+
+    public boolean isTerminal() {
+        return type == Type.EXECUTION_FINISHED;
+    }
+
+    // Getters
+    public String getType() { return type.getEventName(); }
+
+    public long getTimestamp() { return timestamp; }
+
+    public String getScenarioId() { return scenarioId; }
+
+    public String getScenarioName() { return scenarioName; }
+
+    public Integer getStepOrder() { return stepOrder; }
+
+    public String getMessage() { return message; }
+
+    public String getStatus() { return status; }
+
+    public TestResult getResult() { return result; }
+
+    public int getCompleted() { return completed; }
+
+    public int getTotal() { return total; }
+}
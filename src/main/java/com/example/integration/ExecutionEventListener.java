@@ -0,0 +1,10 @@
+package com.example.integration;
+
+/**
+ * TestScenarioExecutor olaylarını dinleyen arayüz
+ * Olaylar worker thread'lerinde senkron olarak iletilir; dinleyiciler bloklamamalıdır.
+ */
+@FunctionalInterface
+public interface ExecutionEventListener {
+    void onEvent(ExecutionEvent event);
+}
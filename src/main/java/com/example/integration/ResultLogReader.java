@@ -0,0 +1,116 @@
+package com.example.integration;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Result Log Reader - NDJSON sonuç dosyasını belleğe almadan okuyan yardımcı sınıf
+ *
+ * Yalnızca satır sonu karakteri ile tamamlanmış satırlar döndürülür; yazıcı tarafından
+ * henüz tamamlanmamış (yarım) son satır atlanır.
+ */
+public final class ResultLogReader {
+
+    private static final int BLOCK_SIZE = 8192;
+
+    private ResultLogReader() {
+    }
+
+    /**
+     * Dosyadaki tüm tamamlanmış satırları sırayla tüketir; bellekte aynı anda tek satır tutulur
+     *
+     * @return okunan satır sayısı
+     */
+    public static long forEachLine(Path file, Consumer<String> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        long count = 0;
+        ByteArrayOutputStream line = new ByteArrayOutputStream(512);
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file), BLOCK_SIZE)) {
+            int b;
+            while ((b = in.read()) != -1) {
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                String text = line.toString(StandardCharsets.UTF_8);
+                line.reset();
+                if (!text.isBlank()) {
+                    consumer.accept(text);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Dosyanın sonundaki en fazla maxLines tamamlanmış satırı döndürür.
+     * Dosya sondan geriye doğru blok blok okunur, yalnızca istenen kısım belleğe alınır.
+     */
+    public static List<String> tail(Path file, int maxLines) throws IOException {
+        if (maxLines <= 0 || !Files.exists(file)) {
+            return Collections.emptyList();
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            long position = raf.length();
+            long completeEnd = -1;
+            long start = 0;
+            int boundaries = 0;
+            byte[] buffer = new byte[BLOCK_SIZE];
+
+            search:
+            while (position > 0) {
+                int length = (int) Math.min(buffer.length, position);
+                position -= length;
+                raf.seek(position);
+                raf.readFully(buffer, 0, length);
+
+                for (int i = length - 1; i >= 0; i--) {
+                    if (buffer[i] != '\n') {
+                        continue;
+                    }
+                    if (completeEnd < 0) {
+                        // Son tamamlanmış satırın sonu; sonrası yarım yazılmış olabilir
+                        completeEnd = position + i + 1;
+                        continue;
+                    }
+                    boundaries++;
+                    if (boundaries == maxLines) {
+                        start = position + i + 1;
+                        break search;
+                    }
+                }
+            }
+
+            if (completeEnd < 0) {
+                return Collections.emptyList();
+            }
+
+            byte[] bytes = new byte[(int) (completeEnd - start)];
+            raf.seek(start);
+            raf.readFully(bytes);
+
+            List<String> lines = new ArrayList<>();
+            for (String text : new String(bytes, StandardCharsets.UTF_8).split("\n")) {
+                if (!text.isBlank()) {
+                    lines.add(text);
+                }
+            }
+            return lines;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result Log Writer - Test sonuçlarını newline-delimited JSON (NDJSON) olarak ekleyen yazıcı
+ *
+ * Her TestResult tek satır olarak tampona yazılır; tampon batch boyutuna ulaştığında veya
+ * flush aralığı dolduğunda diske aktarılır. Böylece her senaryodan sonra tüm sonuç listesini
+ * yeniden yazmak yerine yalnızca yeni satır eklenir.
+ */
+public class ResultLogWriter implements Closeable {
+
+    /**
+     * Diske senkronizasyon (fsync) politikası
+     * NONE: yalnızca işletim sistemi tamponuna yazılır
+     * BATCH: her batch flush'ında fsync yapılır
+     * ALWAYS: her kayıttan sonra flush + fsync yapılır
+     */
+    public enum FsyncPolicy {
+        NONE, BATCH, ALWAYS;
+
+        public static FsyncPolicy fromSystemProperties() {
+            String value = System.getProperty("scenario.results.fsync", BATCH.name());
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                System.err.println("Bilinmeyen fsync politikası '" + value + "', BATCH kullanılıyor");
+                return BATCH;
+            }
+        }
+    }
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final byte NEWLINE = '\n';
+
+    private final FileChannel channel;
+    private final BufferedOutputStream out;
+    private final FsyncPolicy fsyncPolicy;
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+
+    private int pendingRecords = 0;
+    private boolean closed = false;
+
+    private ResultLogWriter(Path file, boolean truncate, FsyncPolicy fsyncPolicy, int batchSize, long flushIntervalMillis)
+            throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileOutputStream fileStream = new FileOutputStream(file.toFile(), !truncate);
+        this.channel = fileStream.getChannel();
+        this.out = new BufferedOutputStream(fileStream, 64 * 1024);
+        this.fsyncPolicy = fsyncPolicy;
+        this.batchSize = Math.max(1, batchSize);
+
+        if (flushIntervalMillis > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "result-log-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            flusher = null;
+        }
+    }
+
+    /**
+     * Sistem özelliklerinden ayarlanan bir yazıcı açar:
+     * -Dscenario.results.fsync, -Dscenario.results.batchSize, -Dscenario.results.flushIntervalMs
+     *
+     * @param truncate true ise dosya sıfırlanır (yeni çalıştırma), false ise sonuna eklenir
+     */
+    public static ResultLogWriter open(Path file, boolean truncate) throws IOException {
+        return open(file, truncate, FsyncPolicy.fromSystemProperties(),
+                Integer.getInteger("scenario.results.batchSize", 16),
+                Long.getLong("scenario.results.flushIntervalMs", 500L));
+    }
+
+    public static ResultLogWriter open(Path file, boolean truncate, FsyncPolicy fsyncPolicy, int batchSize,
+                                       long flushIntervalMillis) throws IOException {
+        return new ResultLogWriter(file, truncate, fsyncPolicy, batchSize, flushIntervalMillis);
+    }
+
+    /**
+     * Sonucu tek satır JSON olarak ekler
+     */
+    public synchronized void append(TestResult result) throws IOException {
+        if (closed) {
+            throw new IOException("Sonuç log dosyası kapalı");
+        }
+
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write(NEWLINE);
+        pendingRecords++;
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS || pendingRecords >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Tampondaki kayıtları diske aktarır, politika gerektiriyorsa fsync yapar
+     */
+    public synchronized void flush() throws IOException {
+        if (closed || pendingRecords == 0) {
+            return;
+        }
+        out.flush();
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            channel.force(false);
+        }
+        pendingRecords = 0;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        try {
+            flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException e) {
+            System.err.println("Sonuç log flush hatası: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.integration;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Senaryo çalıştırma modu
+ * PLATFORM: sabit boyutlu platform thread havuzu (varsayılan)
+ * VIRTUAL: her senaryo (ve istenirse her bağımsız adım) için ayrı sanal thread
+ *
+ * Proje Java 17 ile derlendiği için sanal thread API'sine reflection ile erişilir;
+ * Java 21 öncesi JVM'lerde VIRTUAL modu sabit boyutlu platform havuzuna düşer ve
+ * {@link #effective()} PLATFORM döner; böylece PLATFORM modunun havuz ve kategori limitleri geçerli kalır.
+ */
+public enum ScenarioExecutionMode {
+    PLATFORM,
+    VIRTUAL;
+
+    private static final String MODE_PROPERTY = "scenario.executor.mode";
+
+    /**
+     * -Dscenario.executor.mode=virtual|platform sistem özelliğinden modu okur
+     */
+    public static ScenarioExecutionMode fromSystemProperties() {
+        String value = System.getProperty(MODE_PROPERTY, PLATFORM.name());
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("Bilinmeyen çalıştırma modu '" + value + "', PLATFORM kullanılıyor");
+            return PLATFORM;
+        }
+    }
+
+    /**
+     * Çalışan JVM sanal thread destekliyor mu
+     */
+    public static boolean virtualThreadsSupported() {
+        return findVirtualExecutorFactory() != null;
+    }
+
+    /**
+     * Çalışan JVM'de gerçekte uygulanan mod: sanal thread yoksa VIRTUAL yerine PLATFORM
+     */
+    public ScenarioExecutionMode effective() {
+        return this == VIRTUAL && !virtualThreadsSupported() ? PLATFORM : this;
+    }
+
+    /**
+     * Moda uygun ExecutorService oluşturur
+     */
+    public ExecutorService createExecutor(int platformThreads) {
+        if (this == PLATFORM) {
+            return Executors.newFixedThreadPool(platformThreads);
+        }
+
+        Method factory = findVirtualExecutorFactory();
+        if (factory != null) {
+            try {
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Sanal thread havuzu oluşturulamadı: " + e.getMessage());
+            }
+        }
+
+        // Sınırsız (görev başına thread) havuz binlerce senaryoda binlerce platform thread açardı
+        System.out.println("⚠️ Sanal thread desteklenmiyor (Java " + Runtime.version().feature()
+                + "), " + platformThreads + " thread'lik platform havuzu kullanılacak");
+        return Executors.newFixedThreadPool(platformThreads);
+    }
+
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
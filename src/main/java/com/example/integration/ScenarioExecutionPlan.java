@@ -0,0 +1,137 @@
+package com.example.integration;
+
+import java.util.*;
+
+/**
+ * Scenario Execution Plan - Çalıştırma başlamadan önce derlenen senaryo planı
+ *
+ * Derleme aşamasında senaryo id'leri hash indeksi üzerinden çözülür, test verileri bir kez
+ * ayrıştırılır ve her senaryo kategorisine ait handler'a bağlanır. Böylece çalıştırma
+ * sırasında ne liste taraması ne JSON parse ne de kategori string karşılaştırması yapılır.
+ */
+public class ScenarioExecutionPlan {
+
+    /**
+     * Bir kategorinin test stratejisi
+     */
+    @FunctionalInterface
+    public interface CategoryHandler {
+        void execute(PlannedScenario planned) throws Exception;
+    }
+
+    private final List<PlannedScenario> entries;
+    private final Map<String, PlannedScenario> entriesById;
+
+    private ScenarioExecutionPlan(List<PlannedScenario> entries, Map<String, PlannedScenario> entriesById) {
+        this.entries = entries;
+        this.entriesById = entriesById;
+    }
+
+    /**
+     * İstenen id'ler için planı derler; indekste bulunmayan id'ler atlanır
+     *
+     * @param scenarioIds     çalıştırılacak senaryo id'leri (istek sırasıyla)
+     * @param scenarioIndex   id -> senaryo indeksi
+     * @param handlers        küçük harfli kategori -> handler eşlemesi
+     * @param fallbackHandler bilinmeyen kategoriler için handler
+     */
+    public static ScenarioExecutionPlan compile(List<String> scenarioIds,
+                                                Map<String, TestScenario> scenarioIndex,
+                                                Map<String, CategoryHandler> handlers,
+                                                CategoryHandler fallbackHandler) {
+        List<PlannedScenario> entries = new ArrayList<>(scenarioIds.size());
+        Map<String, PlannedScenario> entriesById = new HashMap<>();
+
+        for (String scenarioId : scenarioIds) {
+            PlannedScenario planned = entriesById.get(scenarioId);
+            if (planned == null) {
+                TestScenario scenario = scenarioIndex.get(scenarioId);
+                if (scenario == null) {
+                    continue;
+                }
+                planned = plan(scenario, handlers, fallbackHandler);
+                entriesById.put(scenarioId, planned);
+            }
+            entries.add(planned);
+        }
+
+        return new ScenarioExecutionPlan(entries, entriesById);
+    }
+
+    private static PlannedScenario plan(TestScenario scenario,
+                                        Map<String, CategoryHandler> handlers,
+                                        CategoryHandler fallbackHandler) {
+        String category = scenario.getCategory() == null ? "" : scenario.getCategory().toLowerCase();
+        CategoryHandler handler = handlers.getOrDefault(category, fallbackHandler);
+
+        ScenarioTestData testData = ScenarioTestData.EMPTY;
+        Exception testDataError = null;
+        try {
+            testData = ScenarioTestData.parse(scenario.getTestData());
+        } catch (Exception e) {
+            // Hata, test verisine ihtiyaç duyan handler çalıştığında raporlanır
+            testDataError = e;
+        }
+
+        return new PlannedScenario(scenario, category, handler, testData, testDataError);
+    }
+
+    /**
+     * Plandaki senaryolar, istek sırasıyla
+     */
+    public List<TestScenario> getScenarios() {
+        List<TestScenario> scenarios = new ArrayList<>(entries.size());
+        for (PlannedScenario entry : entries) {
+            scenarios.add(entry.getScenario());
+        }
+        return scenarios;
+    }
+
+    public PlannedScenario get(String scenarioId) {
+        return entriesById.get(scenarioId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Derlenmiş tek bir senaryo: handler ve ayrıştırılmış test verisi hazır
+     */
+    public static final class PlannedScenario {
+        private final TestScenario scenario;
+        private final String category;
+        private final CategoryHandler handler;
+        private final ScenarioTestData testData;
+        private final Exception testDataError;
+
+        private PlannedScenario(TestScenario scenario, String category, CategoryHandler handler,
+                                ScenarioTestData testData, Exception testDataError) {
+            this.scenario = scenario;
+            this.category = category;
+            this.handler = handler;
+            this.testData = testData;
+            this.testDataError = testDataError;
+        }
+
+        public TestScenario getScenario() { return scenario; }
+
+        public String getCategory() { return category; }
+
+        public CategoryHandler getHandler() { return handler; }
+
+        /**
+         * Ayrıştırılmış test verisini döndürür; ayrıştırma başarısız olduysa hatayı fırlatır
+         */
+        public ScenarioTestData requireTestData() throws Exception {
+            if (testDataError != null) {
+                throw testDataError;
+            }
+            return testData;
+        }
+
+        public void execute() throws Exception {
+            handler.execute(this);
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.integration;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Scenario Scheduler - Seçili senaryoları worker havuzuna dağıtan zamanlayıcı
+ * Öncelik sırasına göre (high > medium > low) senaryoları başlatır ve her kategori için
+ * ayrı eşzamanlılık limiti uygular. Bir kategori limitine ulaştığında sıradaki diğer
+ * kategorilerin senaryoları beklemeden çalışmaya devam eder.
+ */
+public class ScenarioScheduler {
+
+    private static final String LIMIT_PROPERTY_PREFIX = "scenario.concurrency.";
+    private static final int DEFAULT_CATEGORY_LIMIT = 2;
+    private static final Map<String, Integer> DEFAULT_CATEGORY_LIMITS = Map.of(
+            "login", 2,
+            "ui", 2,
+            "api", 8,
+            "security", 2,
+            "performance", 1
+    );
+
+    private final ExecutorService workers;
+    private final int maxParallelism;
+    private final Map<String, Integer> categoryLimits;
+
+    private final Map<String, PriorityQueue<ScheduledScenario>> pendingByCategory = new HashMap<>();
+    private final Map<String, Integer> runningPerCategory = new HashMap<>();
+    private final Set<ScheduledScenario> inFlight = new HashSet<>();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private Function<TestScenario, TestResult> runner;
+    private Consumer<TestResult> resultListener;
+    private int remaining;
+    private volatile boolean cancelled = false;
+
+    public ScenarioScheduler(ExecutorService workers, int maxParallelism, Map<String, Integer> categoryLimits) {
+        this.workers = workers;
+        this.maxParallelism = Math.max(1, maxParallelism);
+        this.categoryLimits = new HashMap<>(categoryLimits);
+    }
+
+    /**
+     * Varsayılan kategori limitlerini döndürür; her limit
+     * -Dscenario.concurrency.&lt;kategori&gt;=N sistem özelliği ile ezilebilir
+     */
+    public static Map<String, Integer> categoryLimitsFromSystemProperties() {
+        return categoryLimitsFromSystemProperties(null);
+    }
+
+    /**
+     * Kategori limitlerini döndürür; uniformDefault verilirse tüm kategoriler için
+     * varsayılan limit olarak kullanılır (örn. sanal thread modunda yüksek eşzamanlılık)
+     */
+    public static Map<String, Integer> categoryLimitsFromSystemProperties(Integer uniformDefault) {
+        Map<String, Integer> limits = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : DEFAULT_CATEGORY_LIMITS.entrySet()) {
+            int fallback = uniformDefault != null ? uniformDefault : entry.getValue();
+            limits.put(entry.getKey(), Integer.getInteger(LIMIT_PROPERTY_PREFIX + entry.getKey(), fallback));
+        }
+        int defaultFallback = uniformDefault != null ? uniformDefault : DEFAULT_CATEGORY_LIMIT;
+        limits.put("default", Integer.getInteger(LIMIT_PROPERTY_PREFIX + "default", defaultFallback));
+        return limits;
+    }
+
+    /**
+     * Senaryoları zamanlar. Dönen future tüm senaryolar bittiğinde veya
+     * {@link #cancel()} sonrası çalışmakta olan senaryolar boşaldığında tamamlanır.
+     */
+    public CompletableFuture<Void> run(List<TestScenario> scenarios,
+                                       Function<TestScenario, TestResult> runner,
+                                       Consumer<TestResult> resultListener) {
+        synchronized (this) {
+            if (this.runner != null) {
+                throw new IllegalStateException("Zamanlayıcı yalnızca bir kez çalıştırılabilir");
+            }
+            this.runner = runner;
+            this.resultListener = resultListener;
+            this.remaining = scenarios.size();
+
+            long sequence = 0;
+            for (TestScenario scenario : scenarios) {
+                ScheduledScenario scheduled = new ScheduledScenario(scenario, sequence++);
+                pendingByCategory.computeIfAbsent(scheduled.category, key -> new PriorityQueue<>()).add(scheduled);
+            }
+
+            if (remaining == 0) {
+                completion.complete(null);
+            } else {
+                dispatch();
+            }
+        }
+        return completion;
+    }
+
+    /**
+     * Bekleyen senaryoları iptal eder ve çalışanları kesintiye uğratır.
+     * Hâlihazırda çalışan senaryolar bitene kadar tamamlanma bildirilmez; böylece sonuç
+     * dinleyicisi kapatılmış kaynaklara (sonuç dosyası, olay yayını) yazamaz.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        pendingByCategory.clear();
+        Iterator<ScheduledScenario> iterator = inFlight.iterator();
+        while (iterator.hasNext()) {
+            ScheduledScenario scheduled = iterator.next();
+            if (scheduled.future != null && scheduled.future.cancel(true) && !scheduled.started) {
+                // Hiç başlamayan görev finish() çağırmayacak
+                iterator.remove();
+                runningPerCategory.merge(scheduled.category, -1, Integer::sum);
+            }
+        }
+        if (inFlight.isEmpty()) {
+            completion.complete(null);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Kapasite izin verdiği sürece en yüksek öncelikli senaryoları başlatır.
+     * Her kategorinin kendi kuyruğu olduğundan limiti dolu kategoriler taranmaz.
+     */
+    private void dispatch() {
+        if (cancelled) {
+            return;
+        }
+
+        while (inFlight.size() < maxParallelism) {
+            ScheduledScenario next = null;
+            for (Map.Entry<String, PriorityQueue<ScheduledScenario>> entry : pendingByCategory.entrySet()) {
+                PriorityQueue<ScheduledScenario> queue = entry.getValue();
+                if (queue.isEmpty() || runningPerCategory.getOrDefault(entry.getKey(), 0) >= limitFor(entry.getKey())) {
+                    continue;
+                }
+                if (next == null || queue.peek().compareTo(next) < 0) {
+                    next = queue.peek();
+                }
+            }
+            if (next == null) {
+                return;
+            }
+
+            ScheduledScenario scheduled = pendingByCategory.get(next.category).poll();
+            try {
+                runningPerCategory.merge(scheduled.category, 1, Integer::sum);
+                inFlight.add(scheduled);
+                scheduled.future = workers.submit(() -> execute(scheduled));
+            } catch (RejectedExecutionException e) {
+                System.err.println("Senaryo zamanlanamadı, worker havuzu kapalı: " + e.getMessage());
+                inFlight.remove(scheduled);
+                runningPerCategory.merge(scheduled.category, -1, Integer::sum);
+                cancelled = true;
+                pendingByCategory.clear();
+                if (inFlight.isEmpty()) {
+                    completion.complete(null);
+                }
+                return;
+            }
+        }
+    }
+
+    private void execute(ScheduledScenario scheduled) {
+        scheduled.started = true;
+        try {
+            if (!cancelled) {
+                TestResult result = runner.apply(scheduled.scenario);
+                // İptal edilen çalıştırmanın geç sonuçları raporlanmaz
+                if (result != null && !cancelled) {
+                    resultListener.accept(result);
+                }
+            }
+        } finally {
+            finish(scheduled);
+        }
+    }
+
+    private synchronized void finish(ScheduledScenario scheduled) {
+        if (!inFlight.remove(scheduled)) {
+            // cancel() başlamadan düşürdüğü görev; sayaçlar orada güncellendi
+            return;
+        }
+        runningPerCategory.merge(scheduled.category, -1, Integer::sum);
+
+        remaining--;
+        if (remaining <= 0 || (cancelled && inFlight.isEmpty())) {
+            completion.complete(null);
+        } else {
+            dispatch();
+        }
+    }
+
+    private int limitFor(String category) {
+        Integer limit = categoryLimits.get(category);
+        if (limit == null) {
+            limit = categoryLimits.getOrDefault("default", DEFAULT_CATEGORY_LIMIT);
+        }
+        return Math.max(1, limit);
+    }
+
+    /**
+     * Öncelik değerini sıralama için sayıya çevirir (küçük değer önce çalışır)
+     */
+    static int priorityRank(String priority) {
+        if (priority == null) {
+            return 3;
+        }
+        switch (priority.toLowerCase()) {
+            case "high":
+            case "yüksek":
+                return 0;
+            case "medium":
+            case "orta":
+                return 1;
+            case "low":
+            case "düşük":
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    private static String normalizeCategory(String category) {
+        return category == null ? "default" : category.toLowerCase();
+    }
+
+    /**
+     * Kuyruktaki senaryo; aynı öncelikte gönderim sırası korunur
+     */
+    private static final class ScheduledScenario implements Comparable<ScheduledScenario> {
+        private final TestScenario scenario;
+        private final String category;
+        private final int rank;
+        private final long sequence;
+        private Future<?> future;
+        private volatile boolean started;
+
+        private ScheduledScenario(TestScenario scenario, long sequence) {
+            this.scenario = scenario;
+            this.category = normalizeCategory(scenario.getCategory());
+            this.rank = priorityRank(scenario.getPriority());
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(ScheduledScenario other) {
+            int byRank = Integer.compare(rank, other.rank);
+            return byRank != 0 ? byRank : Long.compare(sequence, other.sequence);
+        }
+    }
+}
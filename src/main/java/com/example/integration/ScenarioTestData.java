@@ -0,0 +1,74 @@
+package com.example.integration;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Senaryo test verisinin (testData JSON) çalıştırma öncesi bir kez ayrıştırılmış hali
+ * Kategori metodları her adımda JSON parse etmek yerine bu tipli yapıyı kullanır
+ */
+public class ScenarioTestData {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    public static final ScenarioTestData EMPTY = new ScenarioTestData(Collections.emptyMap());
+
+    private final Map<String, Object> values;
+
+    private ScenarioTestData(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * testData JSON metnini ayrıştırır; nesne olmayan JSON değerleri boş veri olarak kabul edilir
+     */
+    public static ScenarioTestData parse(String json) throws IOException {
+        if (json == null) {
+            throw new IllegalArgumentException("Test verisi tanımlı değil");
+        }
+
+        try {
+            Map<String, Object> values = objectMapper.readValue(json, MAP_TYPE);
+            return values == null ? EMPTY : new ScenarioTestData(Collections.unmodifiableMap(values));
+        } catch (MismatchedInputException e) {
+            // Geçerli JSON ama nesne değil (dizi, sayı vb.): sözdizimi kontrol edilir, veri boş kabul edilir
+            JsonNode node = objectMapper.readTree(json);
+            if (node == null || !node.isObject()) {
+                return EMPTY;
+            }
+            throw e;
+        }
+    }
+
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    public String getString(String key) {
+        Object value = values.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    public String getUsername() {
+        return getString("username");
+    }
+
+    public String getPassword() {
+        return getString("password");
+    }
+
+    public boolean hasCredentials() {
+        return has("username") && has("password");
+    }
+
+    public Map<String, Object> asMap() {
+        return values;
+    }
+}
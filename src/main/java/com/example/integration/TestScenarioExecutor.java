@@ -1,17 +1,23 @@
 package com.example.integration;
 
+import com.example.integration.ScenarioExecutionPlan.CategoryHandler;
+import com.example.integration.ScenarioExecutionPlan.PlannedScenario;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.*;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test Scenario Executor - Web arayüzünden gelen test senaryolarını çalıştıran sınıf
@@ -20,21 +26,62 @@ import java.util.concurrent.Executors;
 public class TestScenarioExecutor {
     
     private static final String SCENARIOS_FILE = "test-scenarios.json";
-    private static final String RESULTS_FILE = "test-results.json";
+    private static final String RESULTS_FILE = "test-results.ndjson";
     private static final String SCREENSHOTS_DIR = "screenshots";
     private static final ObjectMapper objectMapper = new ObjectMapper();
-    private static final ExecutorService executorService = Executors.newFixedThreadPool(3);
+    private static final int WORKER_THREADS = Integer.getInteger("scenario.executor.threads", 8);
+    private static final int VIRTUAL_MAX_CONCURRENCY = Integer.getInteger("scenario.executor.virtualMaxConcurrency", 10_000);
     
+    private final ScenarioExecutionMode executionMode;
+    private final boolean parallelSteps;
+    private final ExecutorService executorService;
+    private final Map<String, CategoryHandler> categoryHandlers = new HashMap<>();
+    private final CategoryHandler genericHandler = planned -> executeGenericTest(planned.getScenario());
     private List<TestScenario> scenarios;
+    private final Map<String, TestScenario> scenariosById = new HashMap<>();
     private List<TestResult> results;
-    private boolean isRunning = false;
+    private volatile boolean isRunning = false;
+    private volatile ScenarioScheduler scheduler;
+    private volatile ResultLogWriter resultWriter;
+    private volatile Path resultsFile = Paths.get(RESULTS_FILE);
+    private final List<ExecutionEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private volatile int totalCount = 0;
     
     public TestScenarioExecutor() {
+        this(ScenarioExecutionMode.fromSystemProperties(), Boolean.getBoolean("scenario.executor.parallelSteps"));
+    }
+    
+    /**
+     * @param executionMode senaryoların platform havuzunda mı sanal thread'lerde mi çalışacağı
+     * @param parallelSteps bağımsız adımların (API çağrıları) paralel çalışması; yalnızca VIRTUAL modda etkin
+     */
+    public TestScenarioExecutor(ScenarioExecutionMode executionMode, boolean parallelSteps) {
+        // Sanal thread yoksa PLATFORM havuz boyutu ve kategori limitleri uygulanır
+        this.executionMode = executionMode.effective();
+        if (this.executionMode != executionMode) {
+            System.out.println("⚠️ Sanal thread desteklenmiyor (Java " + Runtime.version().feature()
+                    + "), PLATFORM modu ve limitleri kullanılacak");
+        }
+        this.parallelSteps = parallelSteps && this.executionMode == ScenarioExecutionMode.VIRTUAL;
+        this.executorService = this.executionMode.createExecutor(WORKER_THREADS);
         this.scenarios = new ArrayList<>();
-        this.results = new ArrayList<>();
+        this.results = Collections.synchronizedList(new ArrayList<>());
+        registerCategoryHandlers();
         createDirectories();
     }
     
+    /**
+     * Kategori bazında test stratejilerini kaydeder; plan derlenirken her senaryo buradan bağlanır
+     */
+    private void registerCategoryHandlers() {
+        categoryHandlers.put("login", planned -> executeLoginTest(planned.getScenario(), planned.requireTestData()));
+        categoryHandlers.put("ui", planned -> executeUITest(planned.getScenario()));
+        categoryHandlers.put("api", planned -> executeAPITest(planned.getScenario()));
+        categoryHandlers.put("security", planned -> executeSecurityTest(planned.getScenario()));
+        categoryHandlers.put("performance", planned -> executePerformanceTest(planned.getScenario()));
+    }
+    
     /**
      * Gerekli dizinleri oluşturur
      */
@@ -63,6 +110,7 @@ public class TestScenarioExecutor {
                         scenarios.add(scenario);
                     }
                 }
+                rebuildIndex();
                 
                 System.out.println("✅ " + scenarios.size() + " senaryo yüklendi");
             }
@@ -71,6 +119,41 @@ public class TestScenarioExecutor {
         }
     }
     
+    /**
+     * Bellekteki senaryo kayıtlarından (ScenarioRepository) senaryoları yükler
+     */
+    public void loadScenarios(Collection<? extends Map<String, Object>> scenarioData) {
+        scenarios.clear();
+        for (Map<String, Object> data : scenarioData) {
+            try {
+                scenarios.add(parseScenario(objectMapper.valueToTree(data)));
+            } catch (RuntimeException e) {
+                System.err.println("Senaryo ayrıştırma hatası (" + data.get("id") + "): " + e.getMessage());
+            }
+        }
+        rebuildIndex();
+        
+        System.out.println("✅ " + scenarios.size() + " senaryo yüklendi");
+    }
+    
+    /**
+     * id -> senaryo indeksini yeniden kurar; aynı id birden fazla kez varsa ilki geçerlidir
+     */
+    private void rebuildIndex() {
+        scenariosById.clear();
+        for (TestScenario scenario : scenarios) {
+            scenariosById.putIfAbsent(scenario.getId(), scenario);
+        }
+    }
+    
+    /**
+     * Çalıştırma planını derler: id'ler indeksten çözülür, test verileri ayrıştırılır
+     * ve her senaryo kategori handler'ına bağlanır
+     */
+    public ScenarioExecutionPlan compilePlan(List<String> scenarioIds) {
+        return ScenarioExecutionPlan.compile(scenarioIds, scenariosById, categoryHandlers, genericHandler);
+    }
+    
     /**
      * JSON node'unu TestScenario objesine dönüştürür
      */
@@ -107,39 +190,59 @@ public class TestScenarioExecutor {
     
     /**
      * Seçili senaryoları çalıştırır
+     * Senaryolar öncelik sırasına göre worker havuzuna dağıtılır, kategori limitleri
+     * {@link ScenarioScheduler} tarafından uygulanır
      */
     public CompletableFuture<List<TestResult>> executeScenarios(List<String> scenarioIds) {
-        return CompletableFuture.supplyAsync(() -> {
-            isRunning = true;
-            results.clear();
-            
-            System.out.println("🚀 Test çalıştırması başlatıldı...");
-            System.out.println("📋 Toplam " + scenarioIds.size() + " senaryo çalıştırılacak");
-            
-            for (String scenarioId : scenarioIds) {
-                if (!isRunning) break;
-                
-                TestScenario scenario = findScenarioById(scenarioId);
-                if (scenario != null) {
-                    TestResult result = executeScenario(scenario);
+        isRunning = true;
+        results.clear();
+        openResultWriter();
+        
+        System.out.println("🚀 Test çalıştırması başlatıldı...");
+        System.out.println("📋 Toplam " + scenarioIds.size() + " senaryo çalıştırılacak");
+        
+        ScenarioExecutionPlan plan = compilePlan(scenarioIds);
+        completedCount.set(0);
+        totalCount = plan.size();
+        publish(ExecutionEvent.executionStarted(totalCount));
+        
+        ScenarioScheduler runScheduler;
+        if (executionMode == ScenarioExecutionMode.VIRTUAL) {
+            // Sanal thread'lerde havuz boyutu sınır değildir; limitler yalnızca açıkça verilirse uygulanır
+            runScheduler = new ScenarioScheduler(executorService, VIRTUAL_MAX_CONCURRENCY,
+                    ScenarioScheduler.categoryLimitsFromSystemProperties(VIRTUAL_MAX_CONCURRENCY));
+        } else {
+            runScheduler = new ScenarioScheduler(executorService, WORKER_THREADS,
+                    ScenarioScheduler.categoryLimitsFromSystemProperties());
+        }
+        this.scheduler = runScheduler;
+        
+        return runScheduler.run(plan.getScenarios(), scenario -> executeScenario(plan.get(scenario.getId())), result -> {
                     results.add(result);
                     
                     // Sonuçları gerçek zamanlı olarak kaydet
-                    saveResultsToFile();
-                }
-            }
-            
-            isRunning = false;
-            System.out.println("🎉 Test çalıştırması tamamlandı!");
-            
-            return new ArrayList<>(results);
-        }, executorService);
+                    appendResultToFile(result);
+                    publish(ExecutionEvent.scenarioFinished(result, completedCount.incrementAndGet(), totalCount));
+                })
+                .handle((ignored, error) -> {
+                    isRunning = false;
+                    closeResultWriter();
+                    String status = runScheduler.isCancelled() ? "stopped" : "completed";
+                    if (error != null) {
+                        status = "failed";
+                        System.err.println("Test çalıştırma hatası: " + error.getMessage());
+                    }
+                    System.out.println("🎉 Test çalıştırması tamamlandı!");
+                    publish(ExecutionEvent.executionFinished(status, completedCount.get(), totalCount));
+                    return getResults();
+                });
     }
     
     /**
      * Tek bir senaryoyu çalıştırır
      */
-    private TestResult executeScenario(TestScenario scenario) {
+    private TestResult executeScenario(PlannedScenario planned) {
+        TestScenario scenario = planned.getScenario();
         TestResult result = new TestResult();
         result.setScenarioId(scenario.getId());
         result.setScenarioName(scenario.getName());
@@ -150,27 +253,10 @@ public class TestScenarioExecutor {
         
         try {
             System.out.println("\n🧪 Test başlatılıyor: " + scenario.getName());
+            publish(ExecutionEvent.scenarioStarted(scenario, completedCount.get(), totalCount));
             
-            // Kategori bazında farklı test stratejileri
-            switch (scenario.getCategory().toLowerCase()) {
-                case "login":
-                    executeLoginTest(scenario);
-                    break;
-                case "ui":
-                    executeUITest(scenario);
-                    break;
-                case "api":
-                    executeAPITest(scenario);
-                    break;
-                case "security":
-                    executeSecurityTest(scenario);
-                    break;
-                case "performance":
-                    executePerformanceTest(scenario);
-                    break;
-                default:
-                    executeGenericTest(scenario);
-            }
+            // Kategori handler'ı plan derlenirken bağlandı
+            planned.execute();
             
             // Ekran görüntüsü al
             String screenshotPath = takeScreenshot(scenario.getId());
@@ -194,18 +280,15 @@ public class TestScenarioExecutor {
     /**
      * Login testlerini çalıştırır
      */
-    private void executeLoginTest(TestScenario scenario) throws Exception {
+    private void executeLoginTest(TestScenario scenario, ScenarioTestData testData) throws Exception {
         System.out.println("  🔐 Login testi çalıştırılıyor...");
         
         // PayTR login sayfasına git (mock)
         System.out.println("    🌐 Login sayfasına yönlendiriliyor...");
         Thread.sleep(2000);
         
-        // Test verilerini parse et
-        JsonNode testData = objectMapper.readTree(scenario.getTestData());
-        
         // Login işlemini gerçekleştir
-        if (testData.has("username") && testData.has("password")) {
+        if (testData.hasCredentials()) {
             // Selenium ile login işlemi burada yapılacak
             System.out.println("    📝 Kullanıcı bilgileri giriliyor...");
             Thread.sleep(1000);
@@ -216,7 +299,7 @@ public class TestScenarioExecutor {
         
         // Test adımlarını çalıştır
         for (TestStep step : scenario.getSteps()) {
-            System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+            reportStep(scenario, step);
             Thread.sleep(500);
         }
     }
@@ -228,7 +311,7 @@ public class TestScenarioExecutor {
         System.out.println("  🖥️ UI testi çalıştırılıyor...");
         
         for (TestStep step : scenario.getSteps()) {
-            System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+            reportStep(scenario, step);
             
             // UI element kontrolü simülasyonu
             Thread.sleep(800);
@@ -246,8 +329,9 @@ public class TestScenarioExecutor {
     private void executeAPITest(TestScenario scenario) throws Exception {
         System.out.println("  🔌 API testi çalıştırılıyor...");
         
-        for (TestStep step : scenario.getSteps()) {
-            System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+        // API adımları birbirine bağımlı olmadığından paralel adım modunda aynı anda çalışabilir
+        runSteps(scenario.getSteps(), parallelSteps, step -> {
+            reportStep(scenario, step);
             
             // API çağrısı simülasyonu
             Thread.sleep(300);
@@ -256,9 +340,48 @@ public class TestScenarioExecutor {
             if (Math.random() < 0.03) {
                 throw new Exception("API çağrısı başarısız: " + step.getDescription());
             }
+        });
+    }
+    
+    /**
+     * Adımları sırayla ya da her biri ayrı thread'de olacak şekilde çalıştırır.
+     * Paralel çalıştırmada ilk hata kalan adımları iptal eder ve yukarı fırlatılır.
+     */
+    private void runSteps(List<TestStep> steps, boolean concurrently, StepAction action) throws Exception {
+        if (!concurrently || steps.size() < 2) {
+            for (TestStep step : steps) {
+                action.run(step);
+            }
+            return;
+        }
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (TestStep step : steps) {
+            futures.add(executorService.submit(() -> {
+                action.run(step);
+                return null;
+            }));
+        }
+        
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception ? (Exception) cause : e;
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
         }
     }
     
+    @FunctionalInterface
+    private interface StepAction {
+        void run(TestStep step) throws Exception;
+    }
+    
     /**
      * Güvenlik testlerini çalıştırır
      */
@@ -266,7 +389,7 @@ public class TestScenarioExecutor {
         System.out.println("  🛡️ Güvenlik testi çalıştırılıyor...");
         
         for (TestStep step : scenario.getSteps()) {
-            System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+            reportStep(scenario, step);
             
             // Güvenlik kontrolü simülasyonu
             Thread.sleep(1200);
@@ -285,7 +408,7 @@ public class TestScenarioExecutor {
         System.out.println("  ⚡ Performans testi çalıştırılıyor...");
         
         for (TestStep step : scenario.getSteps()) {
-            System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+            reportStep(scenario, step);
             
             // Performans ölçümü simülasyonu
             long stepStart = System.currentTimeMillis();
@@ -306,7 +429,7 @@ public class TestScenarioExecutor {
         System.out.println("  📋 Genel test çalıştırılıyor...");
         
         for (TestStep step : scenario.getSteps()) {
-            System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+            reportStep(scenario, step);
             Thread.sleep(500);
             
             // Random başarısızlık simülasyonu (5% şans)
@@ -316,6 +439,38 @@ public class TestScenarioExecutor {
         }
     }
     
+    /**
+     * Adımı konsola yazar ve dinleyicilere adım olayı gönderir
+     */
+    private void reportStep(TestScenario scenario, TestStep step) {
+        System.out.println("    " + step.getOrder() + ". " + step.getDescription());
+        publish(ExecutionEvent.step(scenario, step));
+    }
+    
+    /**
+     * Olayı tüm dinleyicilere iletir; hatalı bir dinleyici çalıştırmayı etkilemez
+     */
+    private void publish(ExecutionEvent event) {
+        for (ExecutionEventListener listener : listeners) {
+            try {
+                listener.onEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Olay dinleyici hatası: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Çalıştırma olaylarını (başlangıç, adım, senaryo sonucu, bitiş) dinlemek için kayıt
+     */
+    public void addListener(ExecutionEventListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(ExecutionEventListener listener) {
+        listeners.remove(listener);
+    }
+    
     /**
      * Ekran görüntüsü alır (şimdilik mock)
      */
@@ -338,32 +493,61 @@ public class TestScenarioExecutor {
     }
     
     /**
-     * ID'ye göre senaryo bulur
+     * Sonuçların yazılacağı NDJSON dosyası; eşzamanlı çalıştırmalar için her çalıştırmaya ayrı dosya verilir.
+     * Verilmezse çalışma dizinindeki test-results.ndjson kullanılır.
      */
-    private TestScenario findScenarioById(String id) {
-        return scenarios.stream()
-                .filter(scenario -> scenario.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+    public void setResultsFile(Path resultsFile) {
+        this.resultsFile = resultsFile;
     }
     
     /**
-     * Test sonuçlarını dosyaya kaydeder
+     * Sonuç dosyasını yeni çalıştırma için sıfırlayarak açar
      */
-    private void saveResultsToFile() {
+    private void openResultWriter() {
+        try {
+            resultWriter = ResultLogWriter.open(resultsFile, true);
+        } catch (IOException e) {
+            resultWriter = null;
+            System.err.println("Sonuç dosyası açılamadı: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Test sonucunu NDJSON sonuç dosyasına ekler
+     */
+    private void appendResultToFile(TestResult result) {
+        ResultLogWriter writer = resultWriter;
+        if (writer == null) {
+            return;
+        }
         try {
-            String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(results);
-            Files.write(Paths.get(RESULTS_FILE), json.getBytes());
+            writer.append(result);
         } catch (IOException e) {
             System.err.println("Sonuç kaydetme hatası: " + e.getMessage());
         }
     }
     
+    private void closeResultWriter() {
+        ResultLogWriter writer = resultWriter;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.err.println("Sonuç dosyası kapatma hatası: " + e.getMessage());
+        }
+    }
+    
     /**
      * Test çalıştırmasını durdurur
      */
     public void stopExecution() {
         isRunning = false;
+        ScenarioScheduler runScheduler = scheduler;
+        if (runScheduler != null) {
+            runScheduler.cancel();
+        }
         System.out.println("⏹️ Test çalıştırması durduruldu");
     }
     
@@ -388,6 +572,13 @@ public class TestScenarioExecutor {
         return new ArrayList<>(results);
     }
     
+    /**
+     * Kullanılan çalıştırma modunu döndürür
+     */
+    public ScenarioExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+    
     /**
      * Mevcut senaryoları döndürür
      */
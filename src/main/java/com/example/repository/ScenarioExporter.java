@@ -0,0 +1,137 @@
+package com.example.repository;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Scenario Exporter - Senaryoları belleğe toplamadan doğrudan çıktı akışına yazar
+ *
+ * Senaryolar repository'den batch'ler halinde alınıp Jackson generator ile yazılır;
+ * bellek kullanımı kütüphane boyutundan bağımsızdır ve ilk byte'lar hemen gönderilir.
+ * Çıktı JSON array (varsayılan) veya NDJSON olabilir, isteğe bağlı gzip ile sıkıştırılır.
+ */
+@Component
+public class ScenarioExporter {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    // Flush her senaryoda değil, batch sonunda yapılır
+    private static final ObjectWriter scenarioWriter = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    public enum Format {
+        JSON("json", "application/json"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String getExtension() { return extension; }
+
+        public String getContentType() { return contentType; }
+
+        public static Format parse(String value) {
+            if (value == null || value.isBlank()) {
+                return JSON;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    public enum Compression {
+        NONE, GZIP;
+
+        public static Compression parse(String value) {
+            if (value == null || value.isBlank()) {
+                return NONE;
+            }
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private final ScenarioRepository scenarioRepository;
+    private final int batchSize;
+
+    public ScenarioExporter(ScenarioRepository scenarioRepository,
+                            @Value("${scenarios.export.batch-size:1000}") int batchSize) {
+        this.scenarioRepository = scenarioRepository;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * İndirilen dosyanın adı, örn. test-scenarios.ndjson.gz
+     */
+    public static String fileName(Format format, Compression compression) {
+        return "test-scenarios." + format.getExtension() + (compression == Compression.GZIP ? ".gz" : "");
+    }
+
+    /**
+     * Tüm senaryoları yazar; çıktı akışı kapatılmaz, yalnızca flush edilir
+     */
+    public void write(OutputStream outputStream, Format format, Compression compression) throws IOException {
+        if (compression == Compression.GZIP) {
+            // syncFlush: batch flush'ları sıkıştırılmış veriyi de istemciye iter
+            GZIPOutputStream gzip = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE, true);
+            writeUncompressed(gzip, format);
+            gzip.finish();
+            outputStream.flush();
+        } else {
+            writeUncompressed(outputStream, format);
+        }
+    }
+
+    private void writeUncompressed(OutputStream outputStream, Format format) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        // Alttaki akış (HTTP yanıtı / gzip) çağıran tarafça yönetilir
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        if (format == Format.JSON) {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+        } else {
+            // Her senaryo kendi satırında; kök değerler arasına yalnızca satır sonu yazılır
+            generator.setRootValueSeparator(null);
+        }
+
+        try {
+            scenarioRepository.forEachBatch(batchSize, batch -> {
+                try {
+                    for (Map<String, Object> scenario : batch) {
+                        scenarioWriter.writeValue(generator, scenario);
+                        if (format == Format.NDJSON) {
+                            generator.writeRaw('\n');
+                        }
+                    }
+                    // Her batch sonrası istemciye aktar; yanıt tamamlanmayı beklemez
+                    generator.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        if (format == Format.JSON) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.repository;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Scenario Importer - Büyük senaryo dosyalarını akış halinde içe aktarır
+ *
+ * Dosya Jackson token akışıyla okunur; her seferinde yalnızca bir senaryo nesnesi
+ * parse edilir, doğrulanır ve batch dolunca repository'ye yazılır. Bellek kullanımı
+ * dosya boyutundan değil batch boyutundan etkilenir. Yarıda kalan bir içe aktarma,
+ * son başarıyla yazılan kaynak id'sinden (resumeAfter) devam ettirilebilir.
+ */
+@Component
+public class ScenarioImporter {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final ScenarioRepository scenarioRepository;
+    private final int batchSize;
+
+    public ScenarioImporter(ScenarioRepository scenarioRepository,
+                            @Value("${scenarios.import.batch-size:500}") int batchSize) {
+        this.scenarioRepository = scenarioRepository;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * İçe aktarma ilerlemesi; her dolu batch yazıldıktan sonra bildirilir
+     */
+    public static final class Progress {
+        private long processed;
+        private long imported;
+        private long skipped;
+        private long invalid;
+        private String lastImportedId;
+        private boolean resumePointFound;
+        private final List<String> errors = new ArrayList<>();
+
+        /** Dosyada okunan senaryo nesnesi sayısı (atlananlar dahil) */
+        public long getProcessed() { return processed; }
+
+        public long getImported() { return imported; }
+
+        /** resumeAfter noktasına kadar atlanan senaryo sayısı */
+        public long getSkipped() { return skipped; }
+
+        public long getInvalid() { return invalid; }
+
+        /** Repository'ye yazılmış son senaryonun kaynak dosyadaki id'si; devam noktası olarak kullanılır */
+        public String getLastImportedId() { return lastImportedId; }
+
+        public boolean isResumePointFound() { return resumePointFound; }
+
+        public List<String> getErrors() { return Collections.unmodifiableList(errors); }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("processed", processed);
+            map.put("importedCount", imported);
+            map.put("skipped", skipped);
+            map.put("invalid", invalid);
+            map.put("lastImportedId", lastImportedId);
+            map.put("resumePointFound", resumePointFound);
+            map.put("errors", getErrors());
+            return map;
+        }
+
+        private void addError(String error) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    /**
+     * JSON array akışındaki senaryoları batch'ler halinde ekler.
+     *
+     * @param resumeAfter boş değilse, kaynak id'si bu değere eşit olan senaryoya kadar (dahil) tüm kayıtlar atlanır
+     * @param onProgress  her dolu batch yazıldıktan sonra çağrılır; null olabilir
+     * @throws IOException dosya JSON array değilse veya okunamazsa; o ana kadar yazılan batch'ler korunur
+     */
+    public Progress importStream(InputStream input, String resumeAfter, Consumer<Progress> onProgress) throws IOException {
+        Progress progress = new Progress();
+        boolean skipping = resumeAfter != null && !resumeAfter.isBlank();
+        progress.resumePointFound = !skipping;
+
+        List<Map<String, Object>> batch = new ArrayList<>(batchSize);
+        String batchLastId = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Geçersiz dosya formatı. JSON array bekleniyor.");
+            }
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("Beklenmeyen dosya sonu: JSON array kapatılmamış");
+                }
+                long position = progress.processed++;
+
+                if (token != JsonToken.START_OBJECT) {
+                    // Nesne olmayan eleman (dizi dahil) tek seferde atlanır
+                    parser.skipChildren();
+                    progress.invalid++;
+                    progress.addError("#" + position + ": senaryo JSON nesnesi olmalı");
+                    continue;
+                }
+
+                Map<String, Object> scenario = objectMapper.readValue(parser, MAP_TYPE);
+                String sourceId = scenario.get("id") == null ? null : scenario.get("id").toString();
+
+                if (skipping) {
+                    progress.skipped++;
+                    if (resumeAfter.equals(sourceId)) {
+                        skipping = false;
+                        progress.resumePointFound = true;
+                    }
+                    continue;
+                }
+
+                String error = validate(scenario);
+                if (error != null) {
+                    progress.invalid++;
+                    progress.addError("#" + position + (sourceId != null ? " (id " + sourceId + ")" : "") + ": " + error);
+                    continue;
+                }
+
+                // Kaynak id yalnızca devam noktası içindir; yeni id repository tarafından atanır
+                scenario.remove("id");
+                batch.add(scenario);
+                if (sourceId != null) {
+                    batchLastId = sourceId;
+                }
+
+                if (batch.size() >= batchSize) {
+                    flush(batch, batchLastId, progress);
+                    if (onProgress != null) {
+                        onProgress.accept(progress);
+                    }
+                }
+            }
+        }
+
+        flush(batch, batchLastId, progress);
+        return progress;
+    }
+
+    private void flush(List<Map<String, Object>> batch, String batchLastId, Progress progress) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        progress.imported += scenarioRepository.addAll(batch);
+        if (batchLastId != null) {
+            progress.lastImportedId = batchLastId;
+        }
+        batch.clear();
+    }
+
+    /**
+     * Temel alan kontrolü; hata varsa açıklamasını, yoksa null döner
+     */
+    private static String validate(Map<String, Object> scenario) {
+        Object name = scenario.get("name");
+        if (!(name instanceof String) || ((String) name).isBlank()) {
+            return "'name' alanı zorunlu";
+        }
+        Object steps = scenario.get("steps");
+        if (steps != null && !(steps instanceof List)) {
+            return "'steps' alanı dizi olmalı";
+        }
+        for (String field : List.of("category", "priority", "description")) {
+            Object value = scenario.get(field);
+            if (value != null && !(value instanceof String)) {
+                return "'" + field + "' alanı metin olmalı";
+            }
+        }
+        return null;
+    }
+}
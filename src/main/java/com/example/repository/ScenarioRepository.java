@@ -0,0 +1,554 @@
+package com.example.repository;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Scenario Repository - Test senaryolarını bellekte tutan ve indeksleyen depo
+ *
+ * Senaryolar uygulama başlarken bir kez test-scenarios.json dosyasından yüklenir ve
+ * id, kategori ve öncelik bazında indekslenir. Değişiklikler her istekte tüm dosyayı
+ * yeniden yazmak yerine append-only bir log dosyasına (NDJSON) eklenir; log belirli
+ * bir boyuta ulaştığında veya periyodik olarak snapshot dosyasına sıkıştırılır.
+ * Snapshot dosyası dışarıdan düzenlenirse file watcher değişikliği algılayıp yeniden yükler.
+ */
+@Component
+public class ScenarioRepository {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final int compactionThreshold;
+    private final long compactionIntervalSeconds;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<String, Object>> scenariosById = new LinkedHashMap<>();
+    private final Map<String, Set<String>> idsByCategory = new HashMap<>();
+    private final Map<String, Set<String>> idsByPriority = new HashMap<>();
+
+    private BufferedWriter logWriter;
+    private int logEntryCount = 0;
+    private int maxNumericId = 0;
+    private FileTime lastSnapshotWrite;
+
+    private ScheduledExecutorService compactionScheduler;
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    public ScenarioRepository(@Value("${scenarios.file:test-scenarios.json}") String snapshotFile,
+                              @Value("${scenarios.log-file:test-scenarios.log}") String logFile,
+                              @Value("${scenarios.compaction.threshold:1000}") int compactionThreshold,
+                              @Value("${scenarios.compaction.interval-seconds:60}") long compactionIntervalSeconds) {
+        this.snapshotFile = Paths.get(snapshotFile).toAbsolutePath();
+        this.logFile = Paths.get(logFile).toAbsolutePath();
+        this.compactionThreshold = compactionThreshold;
+        this.compactionIntervalSeconds = compactionIntervalSeconds;
+    }
+
+    /**
+     * Snapshot ve log dosyalarını yükler, periyodik sıkıştırmayı ve file watcher'ı başlatır
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        lock.writeLock().lock();
+        try {
+            reloadFromDisk();
+            openLogWriter(StandardOpenOption.APPEND);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (compactionIntervalSeconds > 0) {
+            compactionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "scenario-log-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            compactionScheduler.scheduleWithFixedDelay(this::compactIfDirty,
+                    compactionIntervalSeconds, compactionIntervalSeconds, TimeUnit.SECONDS);
+        }
+
+        startFileWatcher();
+        System.out.println("✅ " + size() + " senaryo belleğe yüklendi");
+    }
+
+    /**
+     * Bekleyen log kayıtlarını snapshot'a yazar ve arka plan işlerini durdurur
+     */
+    @PreDestroy
+    public void stop() {
+        if (compactionScheduler != null) {
+            compactionScheduler.shutdownNow();
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            System.err.println("File watcher kapatma hatası: " + e.getMessage());
+        }
+
+        compactIfDirty();
+
+        lock.writeLock().lock();
+        try {
+            if (logWriter != null) {
+                logWriter.close();
+                logWriter = null;
+            }
+        } catch (IOException e) {
+            System.err.println("Senaryo log dosyası kapatma hatası: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Okuma işlemleri
+
+    public List<Map<String, Object>> findAll() {
+        lock.readLock().lock();
+        try {
+            List<Map<String, Object>> all = new ArrayList<>(scenariosById.size());
+            for (Map<String, Object> scenario : scenariosById.values()) {
+                all.add(Collections.unmodifiableMap(scenario));
+            }
+            return all;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tüm senaryoları batch'ler halinde tüketiciye verir. Kilit yalnızca her batch kopyalanırken
+     * tutulur, tüketici (örn. yavaş bir HTTP istemcisine yazım) yazma işlemlerini bekletmez.
+     * Başlangıçtaki id listesi esas alınır; arada silinen senaryolar atlanır.
+     */
+    public void forEachBatch(int batchSize, Consumer<List<Map<String, Object>>> consumer) {
+        List<String> ids;
+        lock.readLock().lock();
+        try {
+            ids = new ArrayList<>(scenariosById.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int size = Math.max(1, batchSize);
+        for (int from = 0; from < ids.size(); from += size) {
+            List<String> idBatch = ids.subList(from, Math.min(from + size, ids.size()));
+            List<Map<String, Object>> batch = new ArrayList<>(idBatch.size());
+            lock.readLock().lock();
+            try {
+                for (String id : idBatch) {
+                    Map<String, Object> scenario = scenariosById.get(id);
+                    if (scenario != null) {
+                        batch.add(Collections.unmodifiableMap(scenario));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            consumer.accept(batch);
+        }
+    }
+
+    public Optional<Map<String, Object>> findById(String id) {
+        lock.readLock().lock();
+        try {
+            Map<String, Object> scenario = scenariosById.get(id);
+            return scenario == null ? Optional.empty() : Optional.of(Collections.unmodifiableMap(scenario));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Map<String, Object>> findByCategory(String category) {
+        return findByIndex(idsByCategory, category);
+    }
+
+    public List<Map<String, Object>> findByPriority(String priority) {
+        return findByIndex(idsByPriority, priority);
+    }
+
+    /**
+     * Kategori başına senaryo sayısı; indeksten okunduğu için senaryo sayısından bağımsızdır
+     */
+    public Map<String, Long> countByCategory() {
+        return countByIndex(idsByCategory);
+    }
+
+    public Map<String, Long> countByPriority() {
+        return countByIndex(idsByPriority);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return scenariosById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Yazma işlemleri
+
+    /**
+     * Yeni senaryo ekler; id repository tarafından atanır
+     */
+    public Map<String, Object> add(Map<String, Object> scenarioData) throws IOException {
+        lock.writeLock().lock();
+        try {
+            Map<String, Object> scenario = new LinkedHashMap<>(scenarioData);
+            scenario.put("id", String.valueOf(maxNumericId + 1));
+            scenario.put("createdAt", new Date().toString());
+            scenario.put("updatedAt", new Date().toString());
+
+            appendToLog("put", scenario, true);
+            putInMemory(scenario);
+            compactIfThresholdReached();
+            return Collections.unmodifiableMap(scenario);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Birden fazla senaryoyu tek seferde ekler (içe aktarma); log bir kez flush edilir
+     */
+    public int addAll(List<Map<String, Object>> scenarioDataList) throws IOException {
+        lock.writeLock().lock();
+        try {
+            for (Map<String, Object> scenarioData : scenarioDataList) {
+                Map<String, Object> scenario = new LinkedHashMap<>(scenarioData);
+                scenario.put("id", String.valueOf(maxNumericId + 1));
+                scenario.put("createdAt", new Date().toString());
+                scenario.put("updatedAt", new Date().toString());
+
+                appendToLog("put", scenario, false);
+                putInMemory(scenario);
+            }
+            logWriter.flush();
+            compactIfThresholdReached();
+            return scenarioDataList.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Var olan senaryoyu günceller; senaryo yoksa boş döner
+     */
+    public Optional<Map<String, Object>> update(String id, Map<String, Object> scenarioData) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!scenariosById.containsKey(id)) {
+                return Optional.empty();
+            }
+
+            Map<String, Object> scenario = new LinkedHashMap<>(scenarioData);
+            scenario.put("id", id);
+            scenario.put("updatedAt", new Date().toString());
+
+            appendToLog("put", scenario, true);
+            putInMemory(scenario);
+            compactIfThresholdReached();
+            return Optional.of(Collections.unmodifiableMap(scenario));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean delete(String id) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (!scenariosById.containsKey(id)) {
+                return false;
+            }
+
+            Map<String, Object> tombstone = new LinkedHashMap<>();
+            tombstone.put("id", id);
+            appendToLog("delete", tombstone, true);
+            removeFromMemory(id);
+            compactIfThresholdReached();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Log dosyasındaki kayıtları snapshot dosyasına işler ve log'u sıfırlar
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter()
+                    .writeValue(tempFile.toFile(), new ArrayList<>(scenariosById.values()));
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            lastSnapshotWrite = Files.getLastModifiedTime(snapshotFile);
+
+            if (logWriter != null) {
+                logWriter.close();
+            }
+            openLogWriter(StandardOpenOption.TRUNCATE_EXISTING);
+            logEntryCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Yardımcı metodlar
+
+    private void compactIfDirty() {
+        try {
+            boolean dirty;
+            lock.readLock().lock();
+            try {
+                dirty = logEntryCount > 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (dirty) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("Senaryo log sıkıştırma hatası: " + e.getMessage());
+        }
+    }
+
+    private List<Map<String, Object>> findByIndex(Map<String, Set<String>> index, String key) {
+        lock.readLock().lock();
+        try {
+            Set<String> ids = index.getOrDefault(key, Collections.emptySet());
+            List<Map<String, Object>> matches = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                matches.add(Collections.unmodifiableMap(scenariosById.get(id)));
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Long> countByIndex(Map<String, Set<String>> index) {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = new HashMap<>();
+            index.forEach((key, ids) -> counts.put(key, (long) ids.size()));
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Snapshot'ı okuyup log'daki kayıtları üzerine uygular. Write lock altında çağrılmalıdır.
+     */
+    private void reloadFromDisk() throws IOException {
+        // Önce parse edilir; dosya geçersizse bellekteki durum korunur
+        JsonNode snapshot = Files.exists(snapshotFile) ? objectMapper.readTree(snapshotFile.toFile()) : null;
+
+        scenariosById.clear();
+        idsByCategory.clear();
+        idsByPriority.clear();
+        maxNumericId = 0;
+
+        if (Files.exists(snapshotFile)) {
+            if (snapshot != null && snapshot.isArray()) {
+                for (JsonNode node : snapshot) {
+                    putInMemory(objectMapper.convertValue(node, MAP_TYPE));
+                }
+            }
+            lastSnapshotWrite = Files.getLastModifiedTime(snapshotFile);
+        }
+
+        logEntryCount = 0;
+        if (Files.exists(logFile)) {
+            try (BufferedReader reader = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        replayLogEntry(objectMapper.readTree(line));
+                        logEntryCount++;
+                    } catch (IOException e) {
+                        // Yarım yazılmış son satır (örn. çökme sonrası) atlanır
+                        System.err.println("Bozuk senaryo log kaydı atlandı: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private void replayLogEntry(JsonNode entry) {
+        String op = entry.path("op").asText();
+        JsonNode data = entry.get("data");
+        if (data == null) {
+            return;
+        }
+        if ("put".equals(op)) {
+            putInMemory(objectMapper.convertValue(data, MAP_TYPE));
+        } else if ("delete".equals(op)) {
+            removeFromMemory(data.path("id").asText());
+        }
+    }
+
+    private void appendToLog(String op, Map<String, Object> data, boolean flush) throws IOException {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("op", op);
+        entry.put("data", data);
+
+        logWriter.write(objectMapper.writeValueAsString(entry));
+        logWriter.newLine();
+        if (flush) {
+            logWriter.flush();
+        }
+        logEntryCount++;
+    }
+
+    /**
+     * Log eşik değerini aştıysa sıkıştırır; bellek güncellendikten sonra çağrılmalıdır
+     */
+    private void compactIfThresholdReached() throws IOException {
+        if (compactionThreshold > 0 && logEntryCount >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    private void openLogWriter(StandardOpenOption mode) throws IOException {
+        logWriter = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+    }
+
+    private void putInMemory(Map<String, Object> scenario) {
+        Object rawId = scenario.get("id");
+        if (rawId == null) {
+            return;
+        }
+        String id = rawId.toString();
+        scenario.put("id", id);
+
+        removeFromMemory(id);
+        scenariosById.put(id, scenario);
+        idsByCategory.computeIfAbsent(stringValue(scenario.get("category")), key -> new LinkedHashSet<>()).add(id);
+        idsByPriority.computeIfAbsent(stringValue(scenario.get("priority")), key -> new LinkedHashSet<>()).add(id);
+
+        try {
+            maxNumericId = Math.max(maxNumericId, Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            // Sayısal olmayan id'ler yeni id üretimini etkilemez
+        }
+    }
+
+    private void removeFromMemory(String id) {
+        Map<String, Object> previous = scenariosById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        removeFromIndex(idsByCategory, stringValue(previous.get("category")), id);
+        removeFromIndex(idsByPriority, stringValue(previous.get("priority")), id);
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String id) {
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static String stringValue(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Snapshot dosyasının bulunduğu dizini izler; dosya repository dışında değiştirilirse
+     * snapshot yeniden okunur ve henüz sıkıştırılmamış log kayıtları üzerine uygulanır
+     */
+    private void startFileWatcher() {
+        try {
+            Path directory = snapshotFile.getParent();
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Senaryo file watcher başlatılamadı: " + e.getMessage());
+            return;
+        }
+
+        watcherThread = new Thread(this::watchLoop, "scenario-file-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            boolean snapshotChanged = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                Object context = event.context();
+                if (context instanceof Path && snapshotFile.getFileName().equals(context)) {
+                    snapshotChanged = true;
+                }
+            }
+            key.reset();
+
+            if (snapshotChanged) {
+                reloadIfChangedExternally();
+            }
+        }
+    }
+
+    private void reloadIfChangedExternally() {
+        lock.writeLock().lock();
+        try {
+            if (!Files.exists(snapshotFile)) {
+                return;
+            }
+            FileTime modified = Files.getLastModifiedTime(snapshotFile);
+            if (modified.equals(lastSnapshotWrite)) {
+                // Kendi compaction yazımımız
+                return;
+            }
+            reloadFromDisk();
+            System.out.println("🔄 Senaryo dosyası dışarıdan değişti, " + scenariosById.size() + " senaryo yeniden yüklendi");
+        } catch (IOException e) {
+            System.err.println("Senaryo dosyası yeniden yüklenemedi: " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.web;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Static Asset Cache - Arayüz dosyalarını bellekte, önceden sıkıştırılmış olarak tutar
+ *
+ * Dosya ilk istekte okunur; ham içerik, gzip'li içerik ve içerik özetinden türetilen
+ * strong ETag birlikte saklanır. Proje dizinini izleyen file watcher dosya değiştiğinde
+ * ilgili kaydı geçersiz kılar, bir sonraki istek dosyayı yeniden okur. Watcher
+ * başlatılamazsa her istekte dosyanın değişiklik zamanı kontrol edilir.
+ */
+@Component
+public class StaticAssetCache {
+
+    /**
+     * Bir dosyanın önbellekteki hali; gzip yalnızca içeriği küçültüyorsa tutulur
+     */
+    public static final class Asset {
+        private final byte[] content;
+        private final byte[] gzipped;
+        private final String etag;
+        private final FileTime lastModified;
+
+        private Asset(byte[] content, byte[] gzipped, String etag, FileTime lastModified) {
+            this.content = content;
+            this.gzipped = gzipped;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public byte[] getContent() { return content; }
+
+        public boolean hasGzip() { return gzipped != null; }
+
+        public byte[] getGzipped() { return gzipped; }
+
+        /** Ham içeriğin ETag'i (tırnaklı) */
+        public String getEtag() { return etag; }
+
+        /** Gzip'li gösterim farklı byte'lar olduğundan ayrı bir strong ETag taşır */
+        public String getGzipEtag() { return etag.substring(0, etag.length() - 1) + "-gz\""; }
+    }
+
+    private final Path baseDirectory = Paths.get("").toAbsolutePath();
+    private final Map<Path, Asset> assets = new ConcurrentHashMap<>();
+    // Her geçersiz kılmada artar; okuma sırasında değişen dosya önbelleğe yazılmaz
+    private final AtomicLong generation = new AtomicLong();
+
+    private WatchService watchService;
+    private Thread watcherThread;
+    private volatile boolean watching = false;
+
+    @PostConstruct
+    public void start() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            baseDirectory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            System.err.println("Arayüz dosyası watcher başlatılamadı, değişiklik zamanı kontrol edilecek: " + e.getMessage());
+            return;
+        }
+
+        watching = true;
+        watcherThread = new Thread(this::watchLoop, "static-asset-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        watching = false;
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Arayüz dosyası watcher kapatma hatası: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Proje kök dizinindeki dosyayı önbellekten döndürür; dosya yoksa boş döner
+     */
+    public Optional<Asset> get(String fileName) throws IOException {
+        Path path = baseDirectory.resolve(fileName).normalize();
+        Asset cached = assets.get(path);
+        if (cached != null && (watching || isUnchanged(path, cached))) {
+            return Optional.of(cached);
+        }
+        if (!Files.exists(path)) {
+            assets.remove(path);
+            return Optional.empty();
+        }
+
+        long loadGeneration = generation.get();
+        Asset loaded = load(path);
+        if (generation.get() == loadGeneration) {
+            assets.put(path, loaded);
+        }
+        return Optional.of(loaded);
+    }
+
+    private static boolean isUnchanged(Path path, Asset cached) {
+        try {
+            return Files.getLastModifiedTime(path).equals(cached.lastModified);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Asset load(Path path) throws IOException {
+        FileTime lastModified = Files.getLastModifiedTime(path);
+        byte[] content = Files.readAllBytes(path);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(content);
+        }
+        byte[] gzipped = buffer.size() < content.length ? buffer.toByteArray() : null;
+
+        return new Asset(content, gzipped, "\"" + digest(content) + "\"", lastModified);
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(content);
+            // 128 bit ETag için yeterli
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            generation.incrementAndGet();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    // Kaçırılan olay olabilir; tüm kayıtlar yeniden okunur
+                    assets.clear();
+                } else if (event.context() instanceof Path) {
+                    assets.remove(baseDirectory.resolve((Path) event.context()));
+                }
+            }
+            if (!key.reset()) {
+                watching = false;
+                assets.clear();
+                return;
+            }
+        }
+    }
+}
@@ -1,61 +1,72 @@
 package com.example.web;
 
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Controller
 public class WebController {
 
+    private static final MediaType JAVASCRIPT = MediaType.valueOf("application/javascript;charset=UTF-8");
+    private static final MediaType HTML = MediaType.valueOf("text/html;charset=UTF-8");
+
+    private final StaticAssetCache assetCache;
+    private final CacheControl cacheControl;
+
+    public WebController(StaticAssetCache assetCache,
+                         @Value("${web.assets.max-age-seconds:0}") long maxAgeSeconds) {
+        this.assetCache = assetCache;
+        // Varsayılan: tarayıcı saklar ama her yüklemede ETag ile doğrular (değişmediyse 304)
+        this.cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic().mustRevalidate()
+                : CacheControl.noCache().cachePublic();
+    }
+
     @GetMapping("/")
     @ResponseBody
-    public ResponseEntity<String> index() {
+    public ResponseEntity<byte[]> index(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            // HTML dosyasını proje kök dizininden oku
-            Path htmlPath = Paths.get("test-scenario-manager.html");
-            if (Files.exists(htmlPath)) {
-                String content = Files.readString(htmlPath, StandardCharsets.UTF_8);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.TEXT_HTML)
-                        .body(content);
+            // HTML dosyası proje kök dizininden, önbellek üzerinden okunur
+            Optional<StaticAssetCache.Asset> asset = assetCache.get("test-scenario-manager.html");
+            if (asset.isPresent()) {
+                return serve(asset.get(), HTML, ifNoneMatch, acceptEncoding);
             } else {
                 // Fallback: Basit bir HTML sayfası döndür
                 String fallbackHtml = generateFallbackHtml();
                 return ResponseEntity.ok()
-                        .contentType(MediaType.TEXT_HTML)
-                        .body(fallbackHtml);
+                        .contentType(HTML)
+                        .body(fallbackHtml.getBytes(StandardCharsets.UTF_8));
             }
         } catch (IOException e) {
             String errorHtml = generateErrorHtml(e.getMessage());
             return ResponseEntity.ok()
-                    .contentType(MediaType.TEXT_HTML)
-                    .body(errorHtml);
+                    .contentType(HTML)
+                    .body(errorHtml.getBytes(StandardCharsets.UTF_8));
         }
     }
 
     @GetMapping("/test-scenario-manager.js")
     @ResponseBody
-    public ResponseEntity<String> javascript() {
+    public ResponseEntity<byte[]> javascript(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         try {
-            // JavaScript dosyasını proje kök dizininden oku
-            Path jsPath = Paths.get("test-scenario-manager.js");
-            if (Files.exists(jsPath)) {
-                String content = Files.readString(jsPath, StandardCharsets.UTF_8);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.valueOf("application/javascript"))
-                        .body(content);
+            // JavaScript dosyası proje kök dizininden, önbellek üzerinden okunur
+            Optional<StaticAssetCache.Asset> asset = assetCache.get("test-scenario-manager.js");
+            if (asset.isPresent()) {
+                return serve(asset.get(), JAVASCRIPT, ifNoneMatch, acceptEncoding);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -64,6 +75,69 @@ public class WebController {
         }
     }
 
+    /**
+     * İstemci gzip kabul ediyorsa önceden sıkıştırılmış içeriği gönderir; If-None-Match
+     * mevcut ETag ile eşleşirse gövdesiz 304 döner
+     */
+    private ResponseEntity<byte[]> serve(StaticAssetCache.Asset asset, MediaType contentType,
+                                         String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = asset.hasGzip() && acceptsGzip(acceptEncoding);
+        String etag = gzip ? asset.getGzipEtag() : asset.getEtag();
+
+        if (matches(ifNoneMatch, asset)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.contentType(contentType).body(gzip ? asset.getGzipped() : asset.getContent());
+    }
+
+    /**
+     * If-None-Match karşılaştırması (RFC 9110 weak comparison); gzip'li ve ham gösterimin
+     * ETag'leri aynı içeriği temsil ettiğinden ikisi de eşleşme sayılır
+     */
+    private static boolean matches(String ifNoneMatch, StaticAssetCache.Asset asset) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(asset.getEtag()) || tag.equals(asset.getGzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
     private String generateFallbackHtml() {
         return "<!DOCTYPE html>\n" +
                 "<html lang='tr'>\n" +
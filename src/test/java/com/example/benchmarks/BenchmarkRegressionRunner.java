@@ -0,0 +1,203 @@
+package com.example.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * JMH sonuçlarını kayıtlı baseline ile karşılaştıran çalıştırıcı
+ *
+ * Her benchmark + parametre kombinasyonu için skor ve hata payı baseline dosyasında tutulur.
+ * Bir sonuç, baseline'a göre eşikten fazla kötüleştiyse ve iki ölçümün güven aralıkları
+ * çakışmıyorsa regresyon sayılır (gürültü tek başına build'i kırmaz). Zaman modlarında
+ * düşük, Throughput modunda yüksek skor iyidir.
+ *
+ * mvn -Pbenchmark verify                                   # karşılaştır
+ * mvn -Pbenchmark verify -Dbenchmark.baseline.update=true  # baseline'ı yenile
+ *
+ * Ayarlar: -Dbenchmark.include=UtilityHotPathBenchmark -Dbenchmark.baseline=src/test/resources/benchmarks/jmh-baseline.json
+ * -Dbenchmark.result=target/jmh-result.json -Dbenchmark.regression.threshold=0.10 -Dbenchmark.failOnRegression=true
+ */
+public final class BenchmarkRegressionRunner {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRegressionRunner() {
+    }
+
+    /**
+     * Baseline'daki tek ölçüm
+     */
+    public static class BaselineEntry {
+        public String mode;
+        public String unit;
+        public double score;
+        public double error;
+
+        public BaselineEntry() {
+        }
+
+        BaselineEntry(String mode, String unit, double score, double error) {
+            this.mode = mode;
+            this.unit = unit;
+            this.score = score;
+            this.error = error;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = args.length > 0 ? args[0]
+                : System.getProperty("benchmark.include", UtilityHotPathBenchmark.class.getSimpleName());
+        System.exit(run(include));
+    }
+
+    /**
+     * include regex'ine uyan benchmark'ları çalıştırır ve baseline ile karşılaştırır
+     *
+     * @return 0 başarı, 1 regresyon veya eksik baseline (benchmark.failOnRegression=false ise her zaman 0)
+     */
+    public static int run(String include) throws RunnerException, IOException {
+        Path baselinePath = Paths.get(System.getProperty("benchmark.baseline", "src/test/resources/benchmarks/jmh-baseline.json"));
+        Path resultPath = Paths.get(System.getProperty("benchmark.result", "target/jmh-result.json"));
+        boolean update = Boolean.getBoolean("benchmark.baseline.update");
+        double threshold = Double.parseDouble(System.getProperty("benchmark.regression.threshold", "0.10"));
+        boolean failOnRegression = Boolean.parseBoolean(System.getProperty("benchmark.failOnRegression", "true"));
+
+        // Baseline yoksa karşılaştırılacak bir şey yok; benchmark'lar boşuna koşturulmadan build kırılır
+        if (!update && !Files.exists(baselinePath)) {
+            System.err.println("❌ Benchmark baseline bulunamadı: " + baselinePath
+                    + " - regresyon kontrolü yapılamaz. Oluşturup commit'lemek için -Dbenchmark.baseline.update=true ile çalıştırın");
+            return failOnRegression ? 1 : 0;
+        }
+        if (resultPath.getParent() != null) {
+            Files.createDirectories(resultPath.getParent());
+        }
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultPath.toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, BaselineEntry> current = toEntries(results);
+        Map<String, BaselineEntry> baseline = readBaseline(baselinePath);
+
+        if (update) {
+            // Yalnızca çalıştırılan benchmark'lar güncellenir, diğer kayıtlar korunur
+            baseline.putAll(current);
+            writeBaseline(baselinePath, baseline);
+            System.out.println("💾 Benchmark baseline güncellendi: " + baselinePath + " (" + current.size() + " ölçüm)");
+            return 0;
+        }
+        if (baseline.isEmpty()) {
+            System.err.println("❌ Benchmark baseline boş: " + baselinePath
+                    + " - yenilemek için -Dbenchmark.baseline.update=true ile çalıştırın");
+            return failOnRegression ? 1 : 0;
+        }
+
+        int regressions = compare(current, baseline, threshold);
+        if (regressions > 0 && failOnRegression) {
+            System.err.println("❌ " + regressions + " benchmark baseline'a göre %"
+                    + Math.round(threshold * 100) + "'den fazla yavaşladı");
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Sonuçları satır satır yazdırır; regresyon sayısını döndürür
+     */
+    static int compare(Map<String, BaselineEntry> current, Map<String, BaselineEntry> baseline, double threshold) {
+        int regressions = 0;
+        System.out.println("=".repeat(100));
+        System.out.println("📊 BENCHMARK BASELINE KARŞILAŞTIRMASI (eşik: %" + Math.round(threshold * 100) + ")");
+        System.out.println("=".repeat(100));
+        for (Map.Entry<String, BaselineEntry> entry : current.entrySet()) {
+            BaselineEntry now = entry.getValue();
+            BaselineEntry before = baseline.get(entry.getKey());
+            if (before == null || !before.mode.equals(now.mode) || !before.unit.equals(now.unit)) {
+                System.out.println(String.format(Locale.ROOT, "🆕 %-70s %12.3f %s (baseline yok)",
+                        entry.getKey(), now.score, now.unit));
+                continue;
+            }
+            boolean lowerIsBetter = !Mode.Throughput.shortLabel().equals(now.mode);
+            double change = before.score == 0 ? 0 : (now.score - before.score) / before.score;
+            double worsening = lowerIsBetter ? change : -change;
+            boolean separated = lowerIsBetter
+                    ? now.score - now.error > before.score + before.error
+                    : now.score + now.error < before.score - before.error;
+            boolean regressed = worsening > threshold && separated;
+            if (regressed) {
+                regressions++;
+            }
+            String marker = regressed ? "❌" : worsening < -threshold ? "🚀" : "✅";
+            System.out.println(String.format(Locale.ROOT, "%s %-70s %12.3f → %12.3f %s (%+.1f%%)",
+                    marker, entry.getKey(), before.score, now.score, now.unit, change * 100));
+        }
+        System.out.println("=".repeat(100));
+        return regressions;
+    }
+
+    private static Map<String, BaselineEntry> toEntries(Collection<RunResult> results) {
+        Map<String, BaselineEntry> entries = new TreeMap<>();
+        for (RunResult runResult : results) {
+            BenchmarkParams params = runResult.getParams();
+            Result<?> primary = runResult.getPrimaryResult();
+            double error = Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError();
+            entries.put(key(params), new BaselineEntry(params.getMode().shortLabel(),
+                    primary.getScoreUnit(), primary.getScore(), error));
+        }
+        return entries;
+    }
+
+    /**
+     * Sınıf.metot[param=değer,...] biçiminde kararlı anahtar
+     */
+    private static String key(BenchmarkParams params) {
+        String benchmark = params.getBenchmark();
+        int methodDot = benchmark.lastIndexOf('.');
+        int classDot = benchmark.lastIndexOf('.', methodDot - 1);
+        StringBuilder key = new StringBuilder(benchmark.substring(classDot + 1));
+        if (!params.getParamsKeys().isEmpty()) {
+            key.append('[');
+            for (String name : new TreeSet<>(params.getParamsKeys())) {
+                key.append(name).append('=').append(params.getParam(name)).append(',');
+            }
+            key.setCharAt(key.length() - 1, ']');
+        }
+        return key.toString();
+    }
+
+    private static Map<String, BaselineEntry> readBaseline(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return new TreeMap<>();
+        }
+        return objectMapper.readValue(path.toFile(), new TypeReference<TreeMap<String, BaselineEntry>>() { });
+    }
+
+    private static void writeBaseline(Path path, Map<String, BaselineEntry> baseline) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writeValue(path.toFile(), baseline);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.benchmarks;
+
+import com.example.utils.HttpClientPool;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.config.RestAssuredConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * RestAssured bağlantı havuzu benchmark'ı (yerel stub sunucu)
+ * defaultClient: RestAssured varsayılanı - her istek yeni HttpClient ve yeni TCP bağlantısı
+ * pooledClient: HttpClientPool - istemciler paylaşılan keep-alive havuzunu kullanır
+ * Sunucu tarafında açılan bağlantı sayısı trial sonunda yazdırılır (el sıkışma tasarrufu).
+ * Stub sunucu düz HTTP'dir; TLS kullanılan ortamlarda tasarruf istek başına TLS el sıkışması kadar artar.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class HttpConnectionPoolBenchmark {
+
+    private static final byte[] BODY = "{\"status\":\"success\",\"token\":\"stub\"}".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String url;
+    private HttpClientPool pool;
+    private RestAssuredConfig defaultConfig;
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/odeme/api/get-token", exchange -> {
+            // Her farklı istemci adresi (port) yeni bir TCP bağlantısıdır
+            connections.add(exchange.getRemoteAddress());
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, BODY.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(BODY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(16));
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/odeme/api/get-token";
+
+        pool = new HttpClientPool(64, 64, 30, 60);
+        defaultConfig = RestAssuredConfig.config();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetConnections() {
+        connections.clear();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportConnections() {
+        System.out.println("\n🔌 Sunucuda açılan TCP bağlantısı: " + connections.size()
+                + " | havuz: " + pool.getMetrics());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int defaultClient() {
+        return given().config(defaultConfig).body("{}").post(url).statusCode();
+    }
+
+    @Benchmark
+    public int pooledClient() {
+        return given().config(pool.getRestAssuredConfig()).body("{}").post(url).statusCode();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(HttpConnectionPoolBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
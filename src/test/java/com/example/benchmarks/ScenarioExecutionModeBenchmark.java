@@ -0,0 +1,98 @@
+package com.example.benchmarks;
+
+import com.example.integration.ScenarioExecutionMode;
+import com.example.integration.ScenarioScheduler;
+import com.example.integration.TestResult;
+import com.example.integration.TestScenario;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sabit platform thread havuzu ile sanal thread modunu karşılaştıran benchmark
+ * Java 21 öncesi JVM'lerde VIRTUAL modu sabit boyutlu platform havuzuna düşer (iki mod aynı ölçülür).
+ * Java 21 öncesi JVM'lerde VIRTUAL modu görev başına platform thread'e düşer.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScenarioExecutionModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 8;
+    private static final String[] CATEGORIES = {"login", "ui", "api", "security", "performance"};
+    private static final String[] PRIORITIES = {"high", "medium", "low"};
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public ScenarioExecutionMode mode;
+
+    @Param({"1000"})
+    public int scenarioCount;
+
+    @Param({"20"})
+    public int ioLatencyMillis;
+
+    private ExecutorService executor;
+    private List<TestScenario> scenarios;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = mode.createExecutor(PLATFORM_THREADS);
+        scenarios = new ArrayList<>(scenarioCount);
+        for (int i = 0; i < scenarioCount; i++) {
+            TestScenario scenario = new TestScenario();
+            scenario.setId(String.valueOf(i + 1));
+            scenario.setName("Synthetic Scenario " + (i + 1));
+            scenario.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            scenario.setPriority(PRIORITIES[i % PRIORITIES.length]);
+            scenarios.add(scenario);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public int runSyntheticWorkload() throws Exception {
+        // Kategori limitleri eşit tutulur ki ölçülen fark yalnızca thread modeline ait olsun
+        int parallelism = mode == ScenarioExecutionMode.PLATFORM ? PLATFORM_THREADS : scenarioCount;
+        ScenarioScheduler scheduler = new ScenarioScheduler(executor, parallelism,
+                ScenarioScheduler.categoryLimitsFromSystemProperties(parallelism));
+
+        AtomicInteger completed = new AtomicInteger();
+        scheduler.run(scenarios, this::simulateBlockingScenario, result -> completed.incrementAndGet()).get();
+        return completed.get();
+    }
+
+    private TestResult simulateBlockingScenario(TestScenario scenario) {
+        TestResult result = new TestResult(scenario.getId(), scenario.getName());
+        try {
+            Thread.sleep(ioLatencyMillis);
+            result.setStatus("success");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.setStatus("failed");
+        }
+        result.setEndTime(System.currentTimeMillis());
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ScenarioExecutionModeBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.benchmarks;
+
+import com.example.integration.ScenarioExecutionMode;
+import com.example.integration.ScenarioExecutionPlan;
+import com.example.integration.TestScenario;
+import com.example.integration.TestScenarioExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Senaryo çözümleme benchmark'ı
+ * legacyLinearResolution: eski akış - her id için liste taraması, her senaryoda testData parse
+ * ve küçük harfli kategori karşılaştırması (O(n²))
+ * compiledPlan: hash indeksi + tek seferlik parse + handler bağlama (O(n))
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScenarioExecutionPlanBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String[] CATEGORIES = {"Login", "UI", "API", "Security", "Performance", "Other"};
+
+    @Param({"10000", "100000"})
+    public int scenarioCount;
+
+    private TestScenarioExecutor executor;
+    private List<TestScenario> scenarios;
+    private List<String> scenarioIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Map<String, Object>> scenarioData = new ArrayList<>(scenarioCount);
+        scenarioIds = new ArrayList<>(scenarioCount);
+        for (int i = 1; i <= scenarioCount; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", String.valueOf(i));
+            data.put("name", "Scenario " + i);
+            data.put("description", "Synthetic scenario");
+            data.put("category", CATEGORIES[i % CATEGORIES.length]);
+            data.put("priority", "medium");
+            data.put("expectedResults", "ok");
+            data.put("steps", List.of(Map.of("order", 1, "description", "step")));
+            data.put("testData", Map.of("username", "user" + i, "password", "secret", "amount", i));
+            scenarioData.add(data);
+            scenarioIds.add(String.valueOf(i));
+        }
+        // Çalıştırma sırası yükleme sırasından farklı olsun
+        Collections.shuffle(scenarioIds, new Random(42));
+
+        executor = new TestScenarioExecutor(ScenarioExecutionMode.PLATFORM, false);
+        executor.loadScenarios(scenarioData);
+        scenarios = executor.getScenarios();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.cleanup();
+    }
+
+    /**
+     * 100k senaryoda tek çalıştırma dakikalar sürdüğü için ısınma yapılmaz
+     */
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void legacyLinearResolution(Blackhole blackhole) throws Exception {
+        for (String scenarioId : scenarioIds) {
+            TestScenario scenario = scenarios.stream()
+                    .filter(candidate -> candidate.getId().equals(scenarioId))
+                    .findFirst()
+                    .orElse(null);
+            if (scenario == null) {
+                continue;
+            }
+            JsonNode testData = objectMapper.readTree(scenario.getTestData());
+            blackhole.consume(testData.has("username") && testData.has("password"));
+            switch (scenario.getCategory().toLowerCase()) {
+                case "login":
+                case "ui":
+                case "api":
+                case "security":
+                case "performance":
+                    blackhole.consume(1);
+                    break;
+                default:
+                    blackhole.consume(0);
+            }
+        }
+    }
+
+    @Benchmark
+    public ScenarioExecutionPlan compiledPlan() {
+        return executor.compilePlan(scenarioIds);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ScenarioExecutionPlanBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
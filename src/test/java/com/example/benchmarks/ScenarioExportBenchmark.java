@@ -0,0 +1,122 @@
+package com.example.benchmarks;
+
+import com.example.repository.ScenarioExporter;
+import com.example.repository.ScenarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Senaryo dışa aktarma benchmark'ı (100k senaryo)
+ * legacyStringExport: eski akış - tüm liste kopyalanır, tek bir pretty-printed String üretilir
+ * streamingExport: batch'ler halinde doğrudan çıktı akışına yazım, format ve sıkıştırma seçenekleriyle
+ * Çıktı yalnızca byte sayan bir akışa yazılır; ağ maliyeti ölçüme girmez.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ScenarioExportBenchmark {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String[] CATEGORIES = {"Login", "UI", "API", "Security", "Performance", "Other"};
+
+    @Param({"100000"})
+    public int scenarioCount;
+
+    @Param({"JSON", "NDJSON"})
+    public ScenarioExporter.Format format;
+
+    @Param({"NONE", "GZIP"})
+    public ScenarioExporter.Compression compression;
+
+    private Path directory;
+    private ScenarioRepository repository;
+    private ScenarioExporter exporter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("scenario-export-benchmark");
+        List<Map<String, Object>> scenarios = new ArrayList<>(scenarioCount);
+        for (int i = 1; i <= scenarioCount; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", String.valueOf(i));
+            data.put("name", "Scenario " + i);
+            data.put("description", "Synthetic scenario");
+            data.put("category", CATEGORIES[i % CATEGORIES.length]);
+            data.put("priority", "medium");
+            data.put("expectedResults", "ok");
+            data.put("steps", List.of(Map.of("order", 1, "description", "step")));
+            data.put("testData", Map.of("username", "user" + i, "password", "secret", "amount", i));
+            scenarios.add(data);
+        }
+        Path snapshot = directory.resolve("test-scenarios.json");
+        objectMapper.writeValue(snapshot.toFile(), scenarios);
+
+        // Periyodik sıkıştırma kapalı; yalnızca okuma yapılır
+        repository = new ScenarioRepository(snapshot.toString(), directory.resolve("test-scenarios.log").toString(), 0, 0);
+        repository.start();
+        exporter = new ScenarioExporter(repository, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        repository.stop();
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Eski uygulama sıkıştırma ve NDJSON desteklemediği için yalnızca JSON/NONE ölçülür
+     */
+    @Benchmark
+    public void legacyStringExport(Blackhole blackhole) throws IOException {
+        if (format != ScenarioExporter.Format.JSON || compression != ScenarioExporter.Compression.NONE) {
+            return;
+        }
+        String json = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(repository.findAll());
+        blackhole.consume(json.length());
+    }
+
+    @Benchmark
+    public long streamingExport() throws IOException {
+        CountingOutputStream output = new CountingOutputStream();
+        exporter.write(output, format, compression);
+        return output.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ScenarioExportBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
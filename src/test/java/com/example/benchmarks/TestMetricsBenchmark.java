@@ -0,0 +1,88 @@
+package com.example.benchmarks;
+
+import com.example.utils.TestMetrics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listener metrik kaydı benchmark'ı (test olayı başına maliyet, 8 thread)
+ * mapAndAtomics: eski yol - test adı string'i üretilir, ortak map'lere yazılır, paylaşılan atomik sayaçlar artırılır
+ * sharedRegistry: TestMetrics - önceden alınmış sayaç/gösterge/zamanlayıcı, thread başına parçalara kayıt
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class TestMetricsBenchmark {
+
+    private final ConcurrentHashMap<String, Long> startTimes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicInteger> threadUsage = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final AtomicLong totalDuration = new AtomicLong();
+
+    private final TestMetrics.Counter totalCounter = TestMetrics.counter("benchmark.total");
+    private final TestMetrics.Gauge activeGauge = TestMetrics.gauge("benchmark.active");
+    private final TestMetrics.Timer durationTimer = TestMetrics.timer("benchmark.duration");
+    private final ThreadLocal<TestMetrics.Counter> threadCounter = ThreadLocal.withInitial(
+            () -> TestMetrics.counter("benchmark.thread." + Thread.currentThread().getName()));
+
+    @State(Scope.Thread)
+    public static class TestEvent {
+        String className = "com.example.tests.PaymentTests";
+        String methodName = "testPaymentFlow";
+        long sequence;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\n📈 " + TestMetrics.snapshot());
+        TestMetrics.reset();
+    }
+
+    @Benchmark
+    public long mapAndAtomics(TestEvent event) {
+        String testName = event.className + "." + event.methodName + "#" + event.sequence++;
+        long start = System.nanoTime();
+        startTimes.put(testName, start);
+        total.incrementAndGet();
+        int current = active.incrementAndGet();
+        maxActive.updateAndGet(max -> Math.max(max, current));
+        threadUsage.computeIfAbsent(Thread.currentThread().getName(), key -> new AtomicInteger()).incrementAndGet();
+
+        Long started = startTimes.remove(testName);
+        active.decrementAndGet();
+        return totalDuration.addAndGet(System.nanoTime() - started);
+    }
+
+    @Benchmark
+    public long sharedRegistry(TestEvent event) {
+        long start = durationTimer.start();
+        totalCounter.increment();
+        long current = activeGauge.increment();
+        threadCounter.get().increment();
+
+        activeGauge.decrement();
+        durationTimer.stop(start);
+        return current;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TestMetricsBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
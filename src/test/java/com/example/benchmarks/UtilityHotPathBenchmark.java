@@ -0,0 +1,235 @@
+package com.example.benchmarks;
+
+import com.example.integration.ScenarioExecutionMode;
+import com.example.integration.TestScenario;
+import com.example.integration.TestScenarioExecutor;
+import com.example.utils.CurrencyUtils;
+import com.example.utils.EnhancedTestReportGenerator;
+import com.example.utils.FraudDetectionUtils;
+import com.example.utils.WebhookUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suite boyunca binlerce kez çağrılan yardımcı metotların benchmark'ı
+ * Her metodun girdi boyutu kendi @State sınıfındaki @Param ile ayarlanır; JMH yalnızca
+ * ilgili benchmark'ın kullandığı parametreleri çaprazlar.
+ * Baseline kaydı ve regresyon karşılaştırması için {@link BenchmarkRegressionRunner} kullanılır.
+ * parseScenario ve convertToJSON private olduğu için method handle ile çağrılır.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilityHotPathBenchmark {
+
+    private static final String[] CURRENCIES = {"TL", "USD", "EUR", "GBP", "JPY", "CHF"};
+
+    /**
+     * Farklı ülke, IP, cihaz ve tutarlardan oluşan işlem bağlamları
+     */
+    @State(Scope.Thread)
+    public static class RiskState {
+        private static final String[] COUNTRIES = {"TR", "DE", "US", "IR", "GB", "SY"};
+        private static final String[] IPS = {"85.105.1.1", "192.168.1.10", "10.0.0.5", "212.58.1.1"};
+        private static final String[] DEVICES = {"TRUSTED_DEVICE", "NEW_DEVICE", "SUSPICIOUS_DEVICE", "UNKNOWN_DEVICE"};
+
+        @Param({"1", "1024"})
+        public int contextCount;
+
+        FraudDetectionUtils.TransactionContext[] contexts;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            contexts = new FraudDetectionUtils.TransactionContext[contextCount];
+            for (int i = 0; i < contextCount; i++) {
+                contexts[i] = new FraudDetectionUtils.TransactionContext(
+                        "user" + i,
+                        IPS[random.nextInt(IPS.length)],
+                        COUNTRIES[random.nextInt(COUNTRIES.length)],
+                        DEVICES[random.nextInt(DEVICES.length)],
+                        BigDecimal.valueOf(random.nextInt(200_000), 2),
+                        CURRENCIES[random.nextInt(CURRENCIES.length)]);
+            }
+        }
+
+        FraudDetectionUtils.TransactionContext nextContext() {
+            FraudDetectionUtils.TransactionContext context = contexts[next];
+            next = next + 1 == contexts.length ? 0 : next + 1;
+            return context;
+        }
+    }
+
+    /**
+     * Webhook gövdesi boyutu (byte)
+     */
+    @State(Scope.Thread)
+    public static class SignatureState {
+        @Param({"256", "4096", "65536"})
+        public int payloadBytes;
+
+        String payload;
+        final String secret = "whsec_benchmark_secret_key";
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            StringBuilder body = new StringBuilder(payloadBytes);
+            body.append("{\"event\":\"payment.success\",\"data\":\"");
+            while (body.length() < payloadBytes - 2) {
+                body.append('x');
+            }
+            payload = body.append("\"}").toString();
+        }
+    }
+
+    /**
+     * Döngüyle kullanılan tutar/kur çiftleri
+     */
+    @State(Scope.Thread)
+    public static class CurrencyState {
+        @Param({"1", "1024"})
+        public int pairCount;
+
+        BigDecimal[] amounts;
+        String[] from;
+        String[] to;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(42);
+            amounts = new BigDecimal[pairCount];
+            from = new String[pairCount];
+            to = new String[pairCount];
+            for (int i = 0; i < pairCount; i++) {
+                // Aynı kur çifti erken döndüğü için kaynak ve hedef her zaman farklıdır
+                int source = random.nextInt(CURRENCIES.length);
+                int target = (source + 1 + random.nextInt(CURRENCIES.length - 1)) % CURRENCIES.length;
+                amounts[i] = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+                from[i] = CURRENCIES[source];
+                to[i] = CURRENCIES[target];
+            }
+        }
+    }
+
+    /**
+     * stepCount adımlı ve stepCount alanlı testData'ya sahip tek senaryo
+     */
+    @State(Scope.Thread)
+    public static class ScenarioState {
+        @Param({"1", "20", "200"})
+        public int stepCount;
+
+        TestScenarioExecutor executor;
+        MethodHandle parseScenario;
+        JsonNode node;
+
+        @Setup(Level.Trial)
+        public void setUp() throws ReflectiveOperationException {
+            executor = new TestScenarioExecutor(ScenarioExecutionMode.PLATFORM, false);
+            parseScenario = MethodHandles.privateLookupIn(TestScenarioExecutor.class, MethodHandles.lookup())
+                    .findVirtual(TestScenarioExecutor.class, "parseScenario",
+                            MethodType.methodType(TestScenario.class, JsonNode.class));
+
+            List<Map<String, Object>> steps = new ArrayList<>(stepCount);
+            Map<String, Object> testData = new LinkedHashMap<>();
+            for (int i = 1; i <= stepCount; i++) {
+                steps.add(Map.of("order", i, "description", "Adım " + i));
+                testData.put("field" + i, "value" + i);
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("id", "TC_001");
+            data.put("name", "Ödeme akışı");
+            data.put("description", "Benchmark senaryosu");
+            data.put("category", "API");
+            data.put("priority", "high");
+            data.put("expectedResults", "ok");
+            data.put("steps", steps);
+            data.put("testData", testData);
+            node = new ObjectMapper().valueToTree(data);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            executor.cleanup();
+        }
+    }
+
+    /**
+     * entryCount girdili rapor verisi (metin, sayı ve iç içe map karışık)
+     */
+    @State(Scope.Thread)
+    public static class ReportState {
+        @Param({"10", "1000", "10000"})
+        public int entryCount;
+
+        MethodHandle convertToJSON;
+        Map<String, Object> data;
+
+        @Setup(Level.Trial)
+        public void setUp() throws ReflectiveOperationException {
+            convertToJSON = MethodHandles.privateLookupIn(EnhancedTestReportGenerator.class, MethodHandles.lookup())
+                    .findStatic(EnhancedTestReportGenerator.class, "convertToJSON",
+                            MethodType.methodType(String.class, Map.class));
+
+            data = new LinkedHashMap<>();
+            for (int i = 0; i < entryCount; i++) {
+                switch (i % 3) {
+                    case 0:
+                        data.put("test_" + i, "PASSED");
+                        break;
+                    case 1:
+                        data.put("duration_" + i, (long) i * 17);
+                        break;
+                    default:
+                        data.put("category_" + i, Map.of("total", i, "passed", i - 1, "failed", 1));
+                        break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public FraudDetectionUtils.RiskAssessment calculateRiskScore(RiskState state) {
+        return FraudDetectionUtils.calculateRiskScore(state.nextContext());
+    }
+
+    @Benchmark
+    public String generateSignature(SignatureState state) {
+        return WebhookUtils.SignatureGenerator.generateSignature(state.payload, state.secret);
+    }
+
+    @Benchmark
+    public BigDecimal convertCurrency(CurrencyState state) {
+        int index = state.next;
+        state.next = index + 1 == state.pairCount ? 0 : index + 1;
+        return CurrencyUtils.convertCurrency(state.amounts[index], state.from[index], state.to[index]);
+    }
+
+    @Benchmark
+    public TestScenario parseScenario(ScenarioState state) throws Throwable {
+        return (TestScenario) state.parseScenario.invoke(state.executor, state.node);
+    }
+
+    @Benchmark
+    public String convertToJSON(ReportState state) throws Throwable {
+        return (String) state.convertToJSON.invoke(state.data);
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        System.exit(BenchmarkRegressionRunner.run(UtilityHotPathBenchmark.class.getSimpleName()));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.benchmarks;
+
+import com.example.utils.WebDriverSetup;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebDriverSetup.getDriver() okuma yolu benchmark'ı (16 thread)
+ * synchronizedGetDriver: eski davranış - sınıf kilidi + her çağrıda üç doğrulama çağrısı
+ * lockFreeGetDriver: mevcut WebDriverSetup.getDriver() - kilitsiz, aralıklı doğrulama
+ * Gerçek tarayıcı yerine sabit yanıt veren sahte driver kullanılır; ölçülen fark yalnızca
+ * kilit çekişmesi ve doğrulama sıklığıdır (gerçek driver'da her doğrulama bir HTTP round-trip'tir).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class WebDriverSetupBenchmark {
+
+    private static final ThreadLocal<WebDriver> legacyDriver = new ThreadLocal<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        WebDriver fake = fakeDriver();
+        legacyDriver.set(fake);
+        WebDriverSetup.registerDriver(fake);
+    }
+
+    @Benchmark
+    public WebDriver synchronizedGetDriver() {
+        return legacyGetDriver();
+    }
+
+    @Benchmark
+    public WebDriver lockFreeGetDriver() {
+        return WebDriverSetup.getDriver();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() {
+        System.out.println("\n📊 WebDriverSetup metrikleri: " + WebDriverSetup.getMetrics());
+    }
+
+    private static synchronized WebDriver legacyGetDriver() {
+        WebDriver current = legacyDriver.get();
+        current.getCurrentUrl();
+        current.getTitle();
+        if (current.getWindowHandles().isEmpty()) {
+            throw new IllegalStateException("No window handles available");
+        }
+        return current;
+    }
+
+    private static WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getWindowHandles":
+                            return Set.of("window-1");
+                        case "getCurrentUrl":
+                            return "about:blank";
+                        case "getTitle":
+                            return "";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(WebDriverSetupBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
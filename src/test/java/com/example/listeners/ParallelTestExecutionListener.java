@@ -1,5 +1,7 @@
 package com.example.listeners;
 
+import com.example.utils.LatencyHistogram;
+import com.example.utils.TestMetrics;
 import io.qameta.allure.Allure;
 import org.testng.*;
 import org.testng.xml.XmlSuite;
@@ -7,8 +9,7 @@ import org.testng.xml.XmlSuite;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Enhanced Parallel Test Execution Listener for PayTR Test Suite
@@ -18,13 +19,16 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
     
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
     
-    // Thread-safe counters and maps
-    private static final ConcurrentHashMap<String, Long> testStartTimes = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, String> testThreads = new ConcurrentHashMap<>();
-    private static final ConcurrentHashMap<String, TestExecutionInfo> testExecutionInfo = new ConcurrentHashMap<>();
-    private static final AtomicInteger activeTests = new AtomicInteger(0);
-    private static final AtomicInteger maxConcurrentTests = new AtomicInteger(0);
-    private static final AtomicLong totalExecutionTime = new AtomicLong(0);
+    private static final String EXECUTION_INFO_ATTRIBUTE = "parallel.executionInfo";
+    private static final String THREAD_COUNTER_PREFIX = "parallel.thread.";
+    
+    // Shared lock-free metrics; per-test state travels on the ITestResult itself
+    private static final TestMetrics.Gauge activeTests = TestMetrics.gauge("parallel.activeTests");
+    private static final TestMetrics.Timer testDuration = TestMetrics.timer("parallel.testDuration");
+    private static final TestMetrics.Histogram usedMemoryMb = TestMetrics.histogram("parallel.usedMemoryMB");
+    private static final TestMetrics.Timer listenerOverhead = TestMetrics.timer("listener.parallel");
+    private static final ThreadLocal<TestMetrics.Counter> threadTestCounter = ThreadLocal.withInitial(
+        () -> TestMetrics.counter(THREAD_COUNTER_PREFIX + Thread.currentThread().getName()));
     
     // Suite level tracking
     private long suiteStartTime;
@@ -71,34 +75,38 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
         System.out.println("🏁 PARALLEL TEST SUITE TAMAMLANDI: " + suiteName);
         System.out.println("📅 Bitiş: " + LocalDateTime.now().format(TIMESTAMP_FORMAT));
         System.out.println("⏱️ Toplam Süre: " + formatDuration(suiteDuration));
-        System.out.println("🧵 Max Eşzamanlı Test: " + maxConcurrentTests.get());
+        System.out.println("🧵 Max Eşzamanlı Test: " + activeTests.getMax());
         System.out.println("📊 Paralel Verimlilik: " + calculateParallelEfficiency() + "%");
         System.out.println("=".repeat(80));
     }
     
     @Override
     public void onTestStart(ITestResult result) {
+        long overheadStart = listenerOverhead.start();
+        
+        // Update concurrent test tracking
+        long currentActive = activeTests.increment();
+        threadTestCounter.get().increment();
+        if (!TestMetrics.isVerbose()) {
+            // Duration is taken from the result's own start/end millis
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
+        
         String testName = getTestName(result);
         String threadName = Thread.currentThread().getName();
         long startTime = System.currentTimeMillis();
         
-        // Track test execution
-        testStartTimes.put(testName, startTime);
-        testThreads.put(testName, threadName);
-        
-        // Update concurrent test tracking
-        int currentActive = activeTests.incrementAndGet();
-        updateMaxConcurrentTests(currentActive);
-        
         // Create execution info
         TestExecutionInfo execInfo = new TestExecutionInfo(testName, threadName, startTime);
-        testExecutionInfo.put(testName, execInfo);
+        result.setAttribute(EXECUTION_INFO_ATTRIBUTE, execInfo);
         
         System.out.println(String.format("🧪 [%s] Test Başladı: %s (Aktif: %d)", 
             threadName, testName, currentActive));
         
         // Monitor memory usage
-        monitorResourceUsage(testName, "START");
+        monitorResourceUsage(execInfo, "START");
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
@@ -117,20 +125,26 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
     }
     
     private void handleTestCompletion(ITestResult result, String status) {
-        String testName = getTestName(result);
-        String threadName = Thread.currentThread().getName();
+        long overheadStart = listenerOverhead.start();
         long endTime = System.currentTimeMillis();
         
         // Calculate duration
-        Long startTime = testStartTimes.get(testName);
-        long duration = startTime != null ? endTime - startTime : 0;
-        totalExecutionTime.addAndGet(duration);
+        TestExecutionInfo execInfo = (TestExecutionInfo) result.getAttribute(EXECUTION_INFO_ATTRIBUTE);
+        long duration = execInfo != null ? endTime - execInfo.getStartTime()
+            : Math.max(0, result.getEndMillis() - result.getStartMillis());
+        testDuration.record(duration, TimeUnit.MILLISECONDS);
         
         // Update active test count
-        int currentActive = activeTests.decrementAndGet();
+        long currentActive = activeTests.decrement();
+        if (!TestMetrics.isVerbose()) {
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
+        
+        String testName = getTestName(result);
+        String threadName = Thread.currentThread().getName();
         
         // Update execution info
-        TestExecutionInfo execInfo = testExecutionInfo.get(testName);
         if (execInfo != null) {
             execInfo.setEndTime(endTime);
             execInfo.setStatus(status);
@@ -141,15 +155,16 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
             threadName, status, testName, formatDuration(duration), currentActive));
         
         // Monitor memory usage
-        monitorResourceUsage(testName, "END");
+        monitorResourceUsage(execInfo, "END");
         
         // Add detailed execution info to Allure
         addExecutionInfoToAllure(testName, execInfo, status);
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
-        if (method.isTestMethod()) {
+        if (method.isTestMethod() && TestMetrics.isVerbose()) {
             String methodName = method.getTestMethod().getMethodName();
             String threadName = Thread.currentThread().getName();
             System.out.println(String.format("🔄 [%s] Method Başlıyor: %s", threadName, methodName));
@@ -158,7 +173,7 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
     
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
-        if (method.isTestMethod()) {
+        if (method.isTestMethod() && TestMetrics.isVerbose()) {
             String methodName = method.getTestMethod().getMethodName();
             String threadName = Thread.currentThread().getName();
             String status = getResultStatus(testResult.getStatus());
@@ -166,17 +181,10 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
         }
     }
     
-    /**
-     * Updates maximum concurrent tests counter
-     */
-    private void updateMaxConcurrentTests(int currentActive) {
-        maxConcurrentTests.updateAndGet(current -> Math.max(current, currentActive));
-    }
-    
     /**
      * Monitors resource usage during test execution
      */
-    private void monitorResourceUsage(String testName, String phase) {
+    private void monitorResourceUsage(TestExecutionInfo execInfo, String phase) {
         Runtime runtime = Runtime.getRuntime();
         long totalMemory = runtime.totalMemory();
         long freeMemory = runtime.freeMemory();
@@ -189,6 +197,7 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
             freeMemory / 1024 / 1024,
             totalMemory / 1024 / 1024
         );
+        usedMemoryMb.record(usedMemory / 1024 / 1024);
         
         // Log high memory usage
         double memoryUsagePercent = (double) usedMemory / totalMemory * 100;
@@ -198,7 +207,6 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
         }
         
         // Add to test execution info
-        TestExecutionInfo execInfo = testExecutionInfo.get(testName);
         if (execInfo != null) {
             execInfo.addResourceInfo(phase, resourceInfo);
         }
@@ -208,14 +216,12 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
      * Calculates parallel execution efficiency
      */
     private double calculateParallelEfficiency() {
-        if (configuredThreadCount <= 1 || testExecutionInfo.isEmpty()) {
+        if (configuredThreadCount <= 1 || testDuration.snapshot().getCount() == 0) {
             return 0.0;
         }
         
         // Calculate theoretical vs actual execution time
-        long totalTestTime = testExecutionInfo.values().stream()
-            .mapToLong(TestExecutionInfo::getDuration)
-            .sum();
+        long totalTestTime = getTotalExecutionMillis();
         
         long actualSuiteTime = System.currentTimeMillis() - suiteStartTime;
         
@@ -238,9 +244,9 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
         report.append("Suite: ").append(suiteName).append("\n");
         report.append("Paralel Mod: ").append(parallelMode != null ? parallelMode : "NONE").append("\n");
         report.append("Konfigüre Thread: ").append(configuredThreadCount).append("\n");
-        report.append("Max Eşzamanlı Test: ").append(maxConcurrentTests.get()).append("\n");
+        report.append("Max Eşzamanlı Test: ").append(activeTests.getMax()).append("\n");
         report.append("Toplam Suite Süresi: ").append(formatDuration(suiteDuration)).append("\n");
-        report.append("Toplam Test Süresi: ").append(formatDuration(totalExecutionTime.get())).append("\n");
+        report.append("Toplam Test Süresi: ").append(formatDuration(getTotalExecutionMillis())).append("\n");
         report.append("Paralel Verimlilik: ").append(String.format("%.2f%%", calculateParallelEfficiency())).append("\n");
         report.append("=".repeat(80)).append("\n");
         
@@ -248,20 +254,17 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
         report.append("🧵 THREAD KULLANIM ANALİZİ:\n");
         report.append("-".repeat(80)).append("\n");
         
-        ConcurrentHashMap<String, AtomicInteger> threadUsage = new ConcurrentHashMap<>();
-        testThreads.values().forEach(thread -> 
-            threadUsage.computeIfAbsent(thread, k -> new AtomicInteger(0)).incrementAndGet()
-        );
-        
-        threadUsage.forEach((thread, count) -> 
-            report.append(String.format("%-30s: %d test\n", thread, count.get()))
-        );
+        TestMetrics.counters(THREAD_COUNTER_PREFIX).forEach((thread, count) -> {
+            if (count > 0) {
+                report.append(String.format("%-30s: %d test\n", thread, count));
+            }
+        });
         
         // Performance insights
         report.append("\n📈 PERFORMANS İÇGÖRÜLERİ:\n");
         report.append("-".repeat(80)).append("\n");
         
-        if (maxConcurrentTests.get() < configuredThreadCount) {
+        if (activeTests.getMax() < configuredThreadCount) {
             report.append("⚠️ Thread kapasitesi tam kullanılmadı\n");
         }
         
@@ -303,6 +306,14 @@ public class ParallelTestExecutionListener implements ITestListener, ISuiteListe
         }
     }
     
+    /**
+     * Sum of all recorded test durations, merged from the per-thread timer shards
+     */
+    private long getTotalExecutionMillis() {
+        LatencyHistogram durations = testDuration.snapshot();
+        return Math.round(durations.getMeanMillis() * durations.getCount());
+    }
+    
     // Utility methods
     private String getTestName(ITestResult result) {
         return result.getTestClass().getName() + "." + result.getMethod().getMethodName();
@@ -1,8 +1,13 @@
 package com.example.listeners;
 
+import com.example.utils.TestMetrics;
 import io.qameta.allure.Allure;
 import org.testng.IAnnotationTransformer;
 import org.testng.IRetryAnalyzer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.testng.annotations.ITestAnnotation;
 
@@ -11,13 +16,15 @@ import java.lang.reflect.Method;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Enhanced Retry Listener for PayTR Test Suite
  * Provides intelligent test retry mechanism with detailed logging and reporting
+ * Retry delays and the suite-wide retry budget are managed by {@link RetryScheduler}
  */
-public class RetryListener implements IAnnotationTransformer {
+public class RetryListener implements IAnnotationTransformer, ITestListener, ISuiteListener {
     
     @Override
     public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
@@ -25,6 +32,23 @@ public class RetryListener implements IAnnotationTransformer {
         annotation.setRetryAnalyzer(PayTRRetryAnalyzer.class);
     }
     
+    @Override
+    public void onStart(ITestContext context) {
+        // Retry budget is a ratio of the planned test count
+        RetryScheduler.shared().addPlannedTests(context.getAllTestMethods().length);
+    }
+    
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        // A passing test means its class's environment is healthy: wake up that class's retries in backoff
+        RetryScheduler.shared().signalSuccess(result.getTestClass().getName());
+    }
+    
+    @Override
+    public void onFinish(ISuite suite) {
+        PayTRRetryAnalyzer.printRetryStatistics();
+    }
+    
     /**
      * Custom Retry Analyzer for PayTR Tests
      */
@@ -37,16 +61,27 @@ public class RetryListener implements IAnnotationTransformer {
         private static final ConcurrentHashMap<String, AtomicInteger> retryCounters = new ConcurrentHashMap<>();
         private static final ConcurrentHashMap<String, RetryInfo> retryInfoMap = new ConcurrentHashMap<>();
         
+        // Suite-wide aggregates in the shared metrics registry
+        private static final TestMetrics.Counter retryAttempts = TestMetrics.counter("retry.attempts");
+        private static final TestMetrics.Counter retriedTests = TestMetrics.counter("retry.retriedTests");
+        private static final TestMetrics.Counter finalFailures = TestMetrics.counter("retry.finalFailures");
+        private static final TestMetrics.Timer backoffTime = TestMetrics.timer("retry.backoff");
+        
         @Override
         public boolean retry(ITestResult result) {
+            long failedAtNanos = System.nanoTime();
             String testName = getTestName(result);
             AtomicInteger retryCounter = retryCounters.computeIfAbsent(testName, k -> new AtomicInteger(0));
             
             int currentRetryCount = retryCounter.get();
             
-            // Check if we should retry
-            if (currentRetryCount < MAX_RETRY_COUNT && shouldRetry(result)) {
+            // Check if we should retry (and the suite-wide retry budget allows it)
+            if (currentRetryCount < MAX_RETRY_COUNT && shouldRetry(result) && acquireRetryBudget(testName)) {
                 retryCounter.incrementAndGet();
+                retryAttempts.increment();
+                if (currentRetryCount == 0) {
+                    retriedTests.increment();
+                }
                 
                 // Log retry attempt
                 logRetryAttempt(result, currentRetryCount + 1);
@@ -54,12 +89,14 @@ public class RetryListener implements IAnnotationTransformer {
                 // Update retry info
                 updateRetryInfo(testName, currentRetryCount + 1, result);
                 
-                // Add delay before retry (optional)
-                addRetryDelay(currentRetryCount + 1);
+                // Jittered backoff, cut short as soon as another test of the same class passes;
+                // without a free backoff slot the retry runs immediately
+                addRetryDelay(result, currentRetryCount + 1, failedAtNanos);
                 
                 return true;
             } else {
                 // Log final failure
+                finalFailures.increment();
                 logFinalFailure(result, currentRetryCount);
                 
                 // Generate retry report
@@ -184,17 +221,26 @@ public class RetryListener implements IAnnotationTransformer {
         }
         
         /**
-         * Adds delay before retry to allow system recovery
+         * Reserves one retry from the suite-wide budget
+         */
+        private boolean acquireRetryBudget(String testName) {
+            if (RetryScheduler.shared().tryAcquireRetry()) {
+                return true;
+            }
+            System.out.println("🚫 Retry bütçesi tükendi (" + RetryScheduler.shared().getBudget()
+                + ") - Retry yapılmayacak: " + testName);
+            return false;
+        }
+        
+        /**
+         * Backs off before retry to allow system recovery, without a fixed sleep
          */
-        private void addRetryDelay(int retryCount) {
-            try {
-                // Progressive delay: 1s, 2s, 3s...
-                int delaySeconds = retryCount;
-                System.out.println("⏳ Retry öncesi bekleme: " + delaySeconds + " saniye");
-                Thread.sleep(delaySeconds * 1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                System.err.println("❌ Retry delay interrupted: " + e.getMessage());
+        private void addRetryDelay(ITestResult result, int retryCount, long failedAtNanos) {
+            long waitedMillis = RetryScheduler.shared().awaitBackoff(
+                result.getTestClass().getName(), retryCount, failedAtNanos);
+            backoffTime.record(waitedMillis, TimeUnit.MILLISECONDS);
+            if (waitedMillis > 0) {
+                System.out.println("⏳ Retry öncesi bekleme: " + waitedMillis + " ms");
             }
         }
         
@@ -255,13 +301,11 @@ public class RetryListener implements IAnnotationTransformer {
                     System.out.println(String.format("🔄 %-60s Retry: %d", testName, counter.get()));
                 });
                 
-                int totalRetries = retryCounters.values().stream()
-                    .mapToInt(AtomicInteger::get)
-                    .sum();
                 System.out.println("-".repeat(80));
-                System.out.println("📈 Toplam Retry Sayısı: " + totalRetries);
-                System.out.println("📊 Retry Yapılan Test Sayısı: " + retryCounters.size());
+                System.out.println("📈 Toplam Retry Sayısı: " + retryAttempts.get());
+                System.out.println("📊 Retry Yapılan Test Sayısı: " + retriedTests.get());
             }
+            System.out.println("🎯 Retry Bütçesi: " + RetryScheduler.shared().getMetrics());
             System.out.println("=".repeat(80));
         }
         
@@ -271,6 +315,11 @@ public class RetryListener implements IAnnotationTransformer {
         public static void clearRetryStatistics() {
             retryCounters.clear();
             retryInfoMap.clear();
+            retryAttempts.reset();
+            retriedTests.reset();
+            finalFailures.reset();
+            backoffTime.reset();
+            RetryScheduler.shared().reset();
         }
     }
     
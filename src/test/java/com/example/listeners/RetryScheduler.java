@@ -0,0 +1,216 @@
+package com.example.listeners;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * PayTR Retry Zamanlayıcısı
+ * Jitter'lı üstel geri çekilme, suite geneli retry bütçesi ve paralel farkındalıklı bekleme
+ *
+ * TestNG retry analyzer true döndüğünde testi aynı worker üzerinde hemen yeniden çalıştırır;
+ * denemeyi başka bir worker'a devretmek mümkün değildir. Bu yüzden bekleme sabit bir uyku değil,
+ * kısa ve kesilebilir bir "toparlanma" beklemesidir:
+ * - Gecikme full jitter ile seçilir: rastgele(0, min(maxDelay, baseDelay * 2^(deneme-1)))
+ * - Başarısızlıktan sonra başka bir worker'da aynı gruptan (test sınıfı) bir test başarıyla
+ *   biterse o grubun ortamı toparlanmış sayılır ve yalnızca o gruptaki retry'lar beklemeyi
+ *   bırakır; ilgisiz bir sınıfın başarısı bekleyen retry'ları uyandırmaz
+ * - Aynı anda en fazla maxWaiting worker geri çekilmede bekler; slotlar doluysa retry
+ *   beklemeden yapılır, böylece paralel slotların çoğu hiçbir zaman boşta kalmaz ve
+ *   eşzamanlı başarısızlıklar (ortak kesinti) retry hakkını kaybetmez
+ * - Bütçe tükenince retry yapılmaz; retry fırtınası suite süresini katlayamaz
+ *
+ * Ayarlar: -Dretry.baseDelayMs=250 -Dretry.maxDelayMs=4000 -Dretry.maxWaiting=2
+ * -Dretry.budget=(sabit üst sınır) -Dretry.budgetRatio=0.1 -Dretry.minBudget=3
+ */
+public final class RetryScheduler {
+
+    private static final RetryScheduler SHARED = new RetryScheduler(
+            Long.getLong("retry.baseDelayMs", 250L),
+            Long.getLong("retry.maxDelayMs", 4000L),
+            Integer.getInteger("retry.maxWaiting", 2),
+            Integer.getInteger("retry.budget", -1),
+            Double.parseDouble(System.getProperty("retry.budgetRatio", "0.1")),
+            Integer.getInteger("retry.minBudget", 3));
+
+    private final long baseDelayNanos;
+    private final long maxDelayNanos;
+    private final int maxWaiting;
+    private final int fixedBudget;
+    private final double budgetRatio;
+    private final int minBudget;
+
+    private final AtomicInteger plannedTests = new AtomicInteger();
+    private final AtomicInteger retriesGranted = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Map<String, Long> lastSuccessNanos = new ConcurrentHashMap<>();
+    private final Map<Thread, String> waiters = new ConcurrentHashMap<>();
+
+    private final LongAdder budgetRejections = new LongAdder();
+    private final LongAdder immediateRetries = new LongAdder();
+    private final LongAdder slotBypasses = new LongAdder();
+    private final LongAdder earlyWakeups = new LongAdder();
+    private final LongAdder backoffNanos = new LongAdder();
+
+    RetryScheduler(long baseDelayMillis, long maxDelayMillis, int maxWaiting,
+                   int fixedBudget, double budgetRatio, int minBudget) {
+        this.baseDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, baseDelayMillis));
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(baseDelayMillis, maxDelayMillis));
+        this.maxWaiting = Math.max(0, maxWaiting);
+        this.fixedBudget = fixedBudget;
+        this.budgetRatio = Math.max(0, budgetRatio);
+        this.minBudget = Math.max(0, minBudget);
+    }
+
+    public static RetryScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Bütçe oranının uygulanacağı test sayısını artırır (her &lt;test&gt; başlangıcında)
+     */
+    public void addPlannedTests(int count) {
+        plannedTests.addAndGet(Math.max(0, count));
+    }
+
+    /**
+     * Suite geneli bütçe: -Dretry.budget verilmişse o, yoksa max(minBudget, planlanan test * oran)
+     */
+    public int getBudget() {
+        if (fixedBudget >= 0) {
+            return fixedBudget;
+        }
+        return Math.max(minBudget, (int) Math.ceil(plannedTests.get() * budgetRatio));
+    }
+
+    /**
+     * Bütçeden bir retry ayırır; bütçe tükenmişse false
+     */
+    public boolean tryAcquireRetry() {
+        while (true) {
+            int granted = retriesGranted.get();
+            if (granted >= getBudget()) {
+                budgetRejections.increment();
+                return false;
+            }
+            if (retriesGranted.compareAndSet(granted, granted + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Full jitter'lı üstel gecikme (nanosaniye)
+     */
+    public long backoffNanos(int attempt) {
+        if (baseDelayNanos == 0) {
+            return 0;
+        }
+        int shift = Math.min(Math.max(0, attempt - 1), 20);
+        long ceiling = Math.min(maxDelayNanos, baseDelayNanos << shift);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * group içindeki bir testin başarıyla bittiğini bildirir; yalnızca aynı gruptaki
+     * geri çekilmede bekleyen retry'ları uyandırır
+     */
+    public void signalSuccess(String group) {
+        lastSuccessNanos.put(group, System.nanoTime());
+        waiters.forEach((waiter, waitingGroup) -> {
+            if (waitingGroup.equals(group)) {
+                LockSupport.unpark(waiter);
+            }
+        });
+    }
+
+    /**
+     * failedAtNanos anındaki başarısızlıktan sonra retry öncesi geri çekilir.
+     * Gecikme dolunca veya aynı gruptan başka bir test başarıyla bitince döner.
+     * Bekleme slotu yoksa beklemeden döner; retry yine yapılır.
+     *
+     * @return gerçekte beklenen süre (ms)
+     */
+    public long awaitBackoff(String group, int attempt, long failedAtNanos) {
+        long delay = backoffNanos(attempt);
+        if (delay == 0) {
+            immediateRetries.increment();
+            return 0;
+        }
+        if (!tryEnterWaiting()) {
+            slotBypasses.increment();
+            return 0;
+        }
+        long start = System.nanoTime();
+        long deadline = failedAtNanos + delay;
+        Thread current = Thread.currentThread();
+        waiters.put(current, group);
+        try {
+            while (true) {
+                if (recoveredSince(group, failedAtNanos)) {
+                    earlyWakeups.increment();
+                    break;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || current.isInterrupted()) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            waiters.remove(current);
+            waiting.decrementAndGet();
+        }
+        long waited = System.nanoTime() - start;
+        backoffNanos.add(waited);
+        return TimeUnit.NANOSECONDS.toMillis(waited);
+    }
+
+    private boolean recoveredSince(String group, long failedAtNanos) {
+        Long success = lastSuccessNanos.get(group);
+        return success != null && success - failedAtNanos > 0;
+    }
+
+    private boolean tryEnterWaiting() {
+        while (true) {
+            int current = waiting.get();
+            if (current >= maxWaiting) {
+                return false;
+            }
+            if (waiting.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Bütçe kullanımı ve geri çekilme metrikleri
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("budget", getBudget());
+        metrics.put("retriesGranted", retriesGranted.get());
+        metrics.put("budgetRejections", budgetRejections.sum());
+        metrics.put("immediateRetries", immediateRetries.sum());
+        metrics.put("slotBypasses", slotBypasses.sum());
+        metrics.put("earlyWakeups", earlyWakeups.sum());
+        metrics.put("totalBackoffMs", TimeUnit.NANOSECONDS.toMillis(backoffNanos.sum()));
+        return metrics;
+    }
+
+    public void reset() {
+        plannedTests.set(0);
+        retriesGranted.set(0);
+        budgetRejections.reset();
+        immediateRetries.reset();
+        slotBypasses.reset();
+        lastSuccessNanos.clear();
+        earlyWakeups.reset();
+        backoffNanos.reset();
+    }
+}
@@ -1,14 +1,13 @@
 package com.example.listeners;
 
+import com.example.utils.ScreenshotPipeline;
 import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -52,16 +51,13 @@ public class ScreenshotListener implements ITestListener {
             // Capture screenshot
             byte[] screenshot = captureScreenshot(result);
             if (screenshot != null) {
-                // Save screenshot to file
-                String fileName = saveScreenshotToFile(screenshot, result);
-                
-                // Attach to Allure report
-                attachScreenshotToAllure(screenshot, result);
+                // Save to file and attach to Allure in the background
+                String screenshotPath = saveScreenshotToFile(screenshot, result);
                 
                 // Add screenshot info to test result
-                addScreenshotInfoToTestResult(result, fileName);
+                addScreenshotInfoToTestResult(result, screenshotPath);
                 
-                System.out.println("✅ Screenshot başarıyla alındı: " + fileName);
+                System.out.println("✅ Screenshot başarıyla alındı: " + screenshotPath);
             } else {
                 System.out.println("⚠️ Screenshot alınamadı - WebDriver bulunamadı");
             }
@@ -79,11 +75,10 @@ public class ScreenshotListener implements ITestListener {
             // Also capture screenshot for skipped tests to understand the state
             byte[] screenshot = captureScreenshot(result);
             if (screenshot != null) {
-                String fileName = saveScreenshotToFile(screenshot, result);
-                attachScreenshotToAllure(screenshot, result);
-                addScreenshotInfoToTestResult(result, fileName);
+                String screenshotPath = saveScreenshotToFile(screenshot, result);
+                addScreenshotInfoToTestResult(result, screenshotPath);
                 
-                System.out.println("✅ Skipped test screenshot alındı: " + fileName);
+                System.out.println("✅ Skipped test screenshot alındı: " + screenshotPath);
             }
         } catch (Exception e) {
             System.err.println("❌ Skipped test screenshot alma hatası: " + e.getMessage());
@@ -100,9 +95,8 @@ public class ScreenshotListener implements ITestListener {
             try {
                 byte[] screenshot = captureScreenshot(result);
                 if (screenshot != null) {
-                    String fileName = saveScreenshotToFile(screenshot, result);
-                    attachScreenshotToAllure(screenshot, result);
-                    System.out.println("✅ Debug screenshot alındı: " + fileName);
+                    String screenshotPath = saveScreenshotToFile(screenshot, result);
+                    System.out.println("✅ Debug screenshot alındı: " + screenshotPath);
                 }
             } catch (Exception e) {
                 System.err.println("❌ Debug screenshot alma hatası: " + e.getMessage());
@@ -181,43 +175,30 @@ public class ScreenshotListener implements ITestListener {
     }
     
     /**
-     * Saves screenshot to file system
+     * Hands screenshot to the background pipeline (content-addressed store + Allure attachment)
+     * and returns the stored path; the generated file name is kept as a reference in the store
      */
-    private String saveScreenshotToFile(byte[] screenshot, ITestResult result) throws IOException {
+    private String saveScreenshotToFile(byte[] screenshot, ITestResult result) {
         String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
         String testName = getTestName(result).replaceAll("[^a-zA-Z0-9.-]", "_");
         String status = getTestStatus(result);
         String fileName = String.format("%s_%s_%s.png", testName, status, timestamp);
         
-        Path filePath = Paths.get(SCREENSHOT_DIR, fileName);
-        Files.write(filePath, screenshot);
+        Path filePath = ScreenshotPipeline.shared()
+            .submit(screenshot, fileName, "Screenshot - " + getTestName(result));
         
-        return fileName;
-    }
-    
-    /**
-     * Attaches screenshot to Allure report
-     */
-    @Attachment(value = "Screenshot", type = "image/png")
-    private byte[] attachScreenshotToAllure(byte[] screenshot, ITestResult result) {
-        // Also add as Allure attachment with context
-        Allure.addAttachment(
-            "Screenshot - " + getTestName(result),
-            "image/png",
-            new ByteArrayInputStream(screenshot),
-            ".png"
-        );
-        
-        return screenshot;
+        return filePath.toString();
     }
     
     /**
      * Adds screenshot information to test result
      */
-    private void addScreenshotInfoToTestResult(ITestResult result, String fileName) {
+    private void addScreenshotInfoToTestResult(ITestResult result, String screenshotPath) {
+        String fileName = Paths.get(screenshotPath).getFileName().toString();
+        
         // Add screenshot info to test result attributes
         result.setAttribute("screenshot.fileName", fileName);
-        result.setAttribute("screenshot.path", SCREENSHOT_DIR + "/" + fileName);
+        result.setAttribute("screenshot.path", screenshotPath);
         result.setAttribute("screenshot.timestamp", LocalDateTime.now().format(TIMESTAMP_FORMAT));
         
         // Add to Allure as text attachment
@@ -229,7 +210,7 @@ public class ScreenshotListener implements ITestListener {
             "Status: %s\n" +
             "Timestamp: %s",
             fileName,
-            SCREENSHOT_DIR + "/" + fileName,
+            screenshotPath,
             getTestName(result),
             getTestStatus(result),
             LocalDateTime.now().format(TIMESTAMP_FORMAT)
@@ -269,23 +250,15 @@ public class ScreenshotListener implements ITestListener {
             if (driver instanceof TakesScreenshot) {
                 byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
                 
-                // Save to file
+                // Save to file and attach to Allure in the background
                 String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
                 String fileName = String.format("manual_%s_%s.png", 
                     testName.replaceAll("[^a-zA-Z0-9.-]", "_"), timestamp);
                 
-                Path filePath = Paths.get(SCREENSHOT_DIR, fileName);
-                Files.write(filePath, screenshot);
-                
-                // Attach to Allure
-                Allure.addAttachment(
-                    "Manual Screenshot - " + description,
-                    "image/png",
-                    new ByteArrayInputStream(screenshot),
-                    ".png"
-                );
+                Path filePath = ScreenshotPipeline.shared()
+                    .submit(screenshot, fileName, "Manual Screenshot - " + description);
                 
-                System.out.println("✅ Manual screenshot alındı: " + fileName);
+                System.out.println("✅ Manual screenshot alındı: " + filePath.getFileName());
             }
         } catch (Exception e) {
             System.err.println("❌ Manual screenshot alma hatası: " + e.getMessage());
@@ -302,7 +275,7 @@ public class ScreenshotListener implements ITestListener {
                 long cutoffTime = System.currentTimeMillis() - (daysToKeep * 24 * 60 * 60 * 1000L);
                 
                 Files.list(screenshotDir)
-                    .filter(path -> path.toString().endsWith(".png"))
+                    .filter(path -> path.toString().endsWith(".png") || path.toString().endsWith(".jpg"))
                     .filter(path -> {
                         try {
                             return Files.getLastModifiedTime(path).toMillis() < cutoffTime;
@@ -1,5 +1,6 @@
 package com.example.listeners;
 
+import com.example.utils.TestMetrics;
 import io.qameta.allure.Allure;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
@@ -7,7 +8,7 @@ import org.testng.ITestResult;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Enhanced Test Data Listener for PayTR Test Suite
@@ -16,44 +17,68 @@ import java.util.concurrent.ConcurrentHashMap;
 public class TestDataListener implements ITestListener {
     
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final ConcurrentHashMap<String, TestDataInfo> testDataMap = new ConcurrentHashMap<>();
+    private static final String DATA_INFO_ATTRIBUTE = "testdata.info";
+    
+    // Shared lock-free metrics; each test's data info travels on its own ITestResult
+    private static final TestMetrics.Counter totalTests = TestMetrics.counter("testdata.total");
+    private static final TestMetrics.Counter dataProviderTests = TestMetrics.counter("testdata.dataProvider");
+    private static final TestMetrics.Timer testDuration = TestMetrics.timer("testdata.testDuration");
+    private static final TestMetrics.Timer listenerOverhead = TestMetrics.timer("listener.testdata");
     
     @Override
     public void onTestStart(ITestResult result) {
+        long overheadStart = listenerOverhead.start();
+        if (!TestMetrics.isVerbose()) {
+            // Only counts: no reflection, parameter analysis, logs or attachments per test
+            totalTests.increment();
+            if (result.getParameters() != null && result.getParameters().length > 0) {
+                dataProviderTests.increment();
+            }
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
         String testName = getTestName(result);
         
         // Capture test data information
         TestDataInfo dataInfo = captureTestDataInfo(result);
-        testDataMap.put(testName, dataInfo);
+        result.setAttribute(DATA_INFO_ATTRIBUTE, dataInfo);
+        totalTests.increment();
+        if (dataInfo.isUsesDataProvider()) {
+            dataProviderTests.increment();
+        }
         
         // Log test data information
         logTestDataInfo(testName, dataInfo);
         
         // Add to Allure
         addTestDataToAllure(testName, dataInfo);
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
-        String testName = getTestName(result);
-        updateTestDataResult(testName, "PASSED", null);
+        long overheadStart = listenerOverhead.start();
+        updateTestDataResult(result, "PASSED", null);
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
-        String testName = getTestName(result);
+        long overheadStart = listenerOverhead.start();
         String errorMessage = getErrorMessage(result);
-        updateTestDataResult(testName, "FAILED", errorMessage);
+        updateTestDataResult(result, "FAILED", errorMessage);
         
         // Capture additional failure data
-        captureFailureData(testName, result);
+        captureFailureData(result);
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
-        String testName = getTestName(result);
+        long overheadStart = listenerOverhead.start();
         String skipReason = getSkipReason(result);
-        updateTestDataResult(testName, "SKIPPED", skipReason);
+        updateTestDataResult(result, "SKIPPED", skipReason);
+        listenerOverhead.stop(overheadStart);
     }
     
     /**
@@ -259,8 +284,9 @@ public class TestDataListener implements ITestListener {
     /**
      * Captures additional data when test fails
      */
-    private void captureFailureData(String testName, ITestResult result) {
-        TestDataInfo dataInfo = testDataMap.get(testName);
+    private void captureFailureData(ITestResult result) {
+        String testName = getTestName(result);
+        TestDataInfo dataInfo = (TestDataInfo) result.getAttribute(DATA_INFO_ATTRIBUTE);
         if (dataInfo != null) {
             // Capture failure context
             Throwable throwable = result.getThrowable();
@@ -301,22 +327,27 @@ public class TestDataListener implements ITestListener {
     /**
      * Updates test data result
      */
-    private void updateTestDataResult(String testName, String status, String message) {
-        TestDataInfo dataInfo = testDataMap.get(testName);
-        if (dataInfo != null) {
-            dataInfo.setEndTime(LocalDateTime.now());
-            dataInfo.setStatus(status);
-            dataInfo.setResultMessage(message);
-            
-            // Calculate duration
-            if (dataInfo.getStartTime() != null) {
-                long duration = java.time.Duration.between(dataInfo.getStartTime(), dataInfo.getEndTime()).toMillis();
-                dataInfo.setDuration(duration);
-            }
-            
-            // Log final result
-            logTestDataResult(testName, dataInfo);
+    private void updateTestDataResult(ITestResult result, String status, String message) {
+        TestDataInfo dataInfo = (TestDataInfo) result.getAttribute(DATA_INFO_ATTRIBUTE);
+        if (dataInfo == null) {
+            // Quiet mode: no data info was captured, only the duration is recorded
+            testDuration.record(Math.max(0, result.getEndMillis() - result.getStartMillis()), TimeUnit.MILLISECONDS);
+            return;
         }
+        String testName = getTestName(result);
+        dataInfo.setEndTime(LocalDateTime.now());
+        dataInfo.setStatus(status);
+        dataInfo.setResultMessage(message);
+        
+        // Calculate duration
+        if (dataInfo.getStartTime() != null) {
+            long duration = java.time.Duration.between(dataInfo.getStartTime(), dataInfo.getEndTime()).toMillis();
+            dataInfo.setDuration(duration);
+            testDuration.record(duration, TimeUnit.MILLISECONDS);
+        }
+        
+        // Log final result
+        logTestDataResult(testName, dataInfo);
     }
     
     /**
@@ -451,20 +482,18 @@ public class TestDataListener implements ITestListener {
         System.out.println("📊 TEST DATA İSTATİSTİKLERİ");
         System.out.println("=".repeat(80));
         
-        if (testDataMap.isEmpty()) {
+        long total = totalTests.get();
+        if (total == 0) {
             System.out.println("📋 Hiçbir test data bilgisi bulunamadı");
             return;
         }
         
-        long totalTests = testDataMap.size();
-        long dataProviderTests = testDataMap.values().stream()
-            .mapToLong(info -> info.isUsesDataProvider() ? 1 : 0)
-            .sum();
+        long dataProvider = dataProviderTests.get();
         
-        System.out.println("📈 Toplam Test: " + totalTests);
-        System.out.println("📋 Data Provider Kullanan: " + dataProviderTests);
+        System.out.println("📈 Toplam Test: " + total);
+        System.out.println("📋 Data Provider Kullanan: " + dataProvider);
         System.out.println("📊 Data Provider Oranı: " + 
-            String.format("%.1f%%", (double) dataProviderTests / totalTests * 100));
+            String.format("%.1f%%", (double) dataProvider / total * 100));
         
         System.out.println("=".repeat(80));
     }
@@ -1,14 +1,18 @@
 package com.example.listeners;
 
+import com.example.utils.ScreenshotPipeline;
+import com.example.utils.SmartWait;
+import com.example.utils.TestMetrics;
 import io.qameta.allure.Allure;
 import org.testng.*;
 import org.testng.xml.XmlSuite;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Enhanced Test Execution Listener for PayTR Test Suite
@@ -17,12 +21,14 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class TestExecutionListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
     
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    private static final ConcurrentHashMap<String, Long> testStartTimes = new ConcurrentHashMap<>();
+    private static final String START_TIME_ATTRIBUTE = "execution.startTime";
     private static final ConcurrentHashMap<String, TestResult> testResults = new ConcurrentHashMap<>();
-    private static final AtomicInteger totalTests = new AtomicInteger(0);
-    private static final AtomicInteger passedTests = new AtomicInteger(0);
-    private static final AtomicInteger failedTests = new AtomicInteger(0);
-    private static final AtomicInteger skippedTests = new AtomicInteger(0);
+    private static final TestMetrics.Counter totalTests = TestMetrics.counter("execution.total");
+    private static final TestMetrics.Counter passedTests = TestMetrics.counter("execution.passed");
+    private static final TestMetrics.Counter failedTests = TestMetrics.counter("execution.failed");
+    private static final TestMetrics.Counter skippedTests = TestMetrics.counter("execution.skipped");
+    private static final TestMetrics.Timer testDuration = TestMetrics.timer("execution.testDuration");
+    private static final TestMetrics.Timer listenerOverhead = TestMetrics.timer("listener.execution");
     
     private long suiteStartTime;
     private String suiteName;
@@ -66,16 +72,32 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
         System.out.println("   🎯 Başarı Oranı: " + calculateSuccessRate() + "%");
         System.out.println("=".repeat(80));
         
+        // Arka planda yazılan screenshot'lar rapordan önce diske inmiş olmalı
+        if (!ScreenshotPipeline.shared().flush(Duration.ofSeconds(30))) {
+            System.out.println("⚠️ Screenshot hattı 30 sn içinde boşalmadı: " + ScreenshotPipeline.shared().getMetrics());
+        }
+        
         // Generate comprehensive test report
         generateTestReport(suiteDuration);
+        
+        // Koşul bazında bekleme süreleri (hangi beklemeler suite süresini domine ediyor)
+        SmartWait.printTelemetry();
+        
+        // Tüm listener'ların ortak metrikleri (thread parçaları burada birleştirilir)
+        TestMetrics.printSummary();
     }
     
     // Test Level Events
     @Override
     public void onTestStart(ITestResult result) {
+        long overheadStart = listenerOverhead.start();
+        result.setAttribute(START_TIME_ATTRIBUTE, System.currentTimeMillis());
+        totalTests.increment();
+        if (!TestMetrics.isVerbose()) {
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
         String testName = getTestName(result);
-        testStartTimes.put(testName, System.currentTimeMillis());
-        totalTests.incrementAndGet();
         
         System.out.println("🧪 Test Başladı: " + testName);
         System.out.println("   📝 Açıklama: " + getTestDescription(result));
@@ -90,13 +112,20 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
             "Thread: " + Thread.currentThread().getName() + "\n" +
             "Start Time: " + LocalDateTime.now().format(TIMESTAMP_FORMAT)
         );
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void onTestSuccess(ITestResult result) {
+        long overheadStart = listenerOverhead.start();
+        long duration = calculateTestDuration(result);
+        passedTests.increment();
+        if (!TestMetrics.isVerbose()) {
+            // Quiet mode keeps only failed/skipped tests in the detailed report
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
         String testName = getTestName(result);
-        long duration = calculateTestDuration(testName);
-        passedTests.incrementAndGet();
         
         TestResult testResult = new TestResult(testName, "PASSED", duration, null);
         testResults.put(testName, testResult);
@@ -110,17 +139,23 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
             "Duration: " + formatDuration(duration) + "\n" +
             "End Time: " + LocalDateTime.now().format(TIMESTAMP_FORMAT)
         );
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void onTestFailure(ITestResult result) {
+        long overheadStart = listenerOverhead.start();
         String testName = getTestName(result);
-        long duration = calculateTestDuration(testName);
-        failedTests.incrementAndGet();
+        long duration = calculateTestDuration(result);
+        failedTests.increment();
         
         String errorMessage = getErrorMessage(result);
         TestResult testResult = new TestResult(testName, "FAILED", duration, errorMessage);
         testResults.put(testName, testResult);
+        if (!TestMetrics.isVerbose()) {
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
         
         System.out.println("❌ Test Başarısız: " + testName + " (" + formatDuration(duration) + ")");
         System.out.println("   🚨 Hata: " + errorMessage);
@@ -133,17 +168,23 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
             "Error: " + errorMessage + "\n" +
             "End Time: " + LocalDateTime.now().format(TIMESTAMP_FORMAT)
         );
+        listenerOverhead.stop(overheadStart);
     }
     
     @Override
     public void onTestSkipped(ITestResult result) {
+        long overheadStart = listenerOverhead.start();
         String testName = getTestName(result);
-        long duration = calculateTestDuration(testName);
-        skippedTests.incrementAndGet();
+        long duration = calculateTestDuration(result);
+        skippedTests.increment();
         
         String skipReason = getSkipReason(result);
         TestResult testResult = new TestResult(testName, "SKIPPED", duration, skipReason);
         testResults.put(testName, testResult);
+        if (!TestMetrics.isVerbose()) {
+            listenerOverhead.stop(overheadStart);
+            return;
+        }
         
         System.out.println("⏭️ Test Atlandı: " + testName);
         System.out.println("   📝 Sebep: " + skipReason);
@@ -155,12 +196,13 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
             "Reason: " + skipReason + "\n" +
             "End Time: " + LocalDateTime.now().format(TIMESTAMP_FORMAT)
         );
+        listenerOverhead.stop(overheadStart);
     }
     
     // Method Level Events
     @Override
     public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
-        if (method.isTestMethod()) {
+        if (method.isTestMethod() && TestMetrics.isVerbose()) {
             String methodName = method.getTestMethod().getMethodName();
             System.out.println("🔄 Method Çalıştırılıyor: " + methodName);
         }
@@ -168,7 +210,7 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
     
     @Override
     public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
-        if (method.isTestMethod()) {
+        if (method.isTestMethod() && TestMetrics.isVerbose()) {
             String methodName = method.getTestMethod().getMethodName();
             String status = getResultStatus(testResult.getStatus());
             System.out.println("✅ Method Tamamlandı: " + methodName + " - " + status);
@@ -185,10 +227,12 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
         return description != null ? description : "No description available";
     }
     
-    private long calculateTestDuration(String testName) {
-        Long startTime = testStartTimes.get(testName);
-        if (startTime != null) {
-            return System.currentTimeMillis() - startTime;
+    private long calculateTestDuration(ITestResult result) {
+        Object startTime = result.getAttribute(START_TIME_ATTRIBUTE);
+        if (startTime instanceof Long) {
+            long duration = System.currentTimeMillis() - (Long) startTime;
+            testDuration.record(duration, TimeUnit.MILLISECONDS);
+            return duration;
         }
         return 0;
     }
@@ -236,7 +280,7 @@ public class TestExecutionListener implements ITestListener, ISuiteListener, IIn
     }
     
     private double calculateSuccessRate() {
-        int total = totalTests.get();
+        long total = totalTests.get();
         if (total == 0) return 0.0;
         return Math.round((double) passedTests.get() / total * 100 * 100.0) / 100.0;
     }
@@ -7,6 +7,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.interactions.Actions;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 
@@ -222,11 +223,11 @@ public class PayTRBasePage {
     }
     
     /**
-     * Belirtilen süre bekler
+     * Sayfa sakinleşene kadar (yükleme, ağ ve DOM değişiklikleri bitene kadar) en fazla verilen süre bekler
      */
     public void waitFor(int seconds) {
         try {
-            Thread.sleep(seconds * 1000);
+            SmartWait.settle(driver, seconds * 1000L);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
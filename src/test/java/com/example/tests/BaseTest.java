@@ -1,15 +1,16 @@
 package com.example.tests;
 
 import io.restassured.RestAssured;
-import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.http.ContentType;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.openqa.selenium.WebDriver;
+import com.example.utils.HttpClientPool;
+import com.example.utils.PayTRStubGateway;
+import com.example.utils.SmartWait;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.ThreadSafeScreenshotUtils;
 import java.net.HttpURLConnection;
@@ -34,17 +35,19 @@ public class BaseTest {
     
     @BeforeClass
     public void setUp() {
-        // Validate and select working base URI
-        baseURI = validateAndSelectWorkingURL();
+        // -Dpaytr.stub=true: uzak ortam yerine süreç içi stub gateway kullanılır (offline, tekrarlanabilir)
+        baseURI = PayTRStubGateway.isEnabled()
+                ? PayTRStubGateway.startShared().getBaseUrl()
+                : validateAndSelectWorkingURL();
         
         // PayTR Test Environment Base URI configuration
         RestAssured.baseURI = baseURI;
         
+        // Tüm istekler paylaşılan keep-alive bağlantı havuzunu kullanır (spec'siz given() dahil)
+        HttpClientPool.install();
+        
         // Request specification for PayTR with enhanced headers
-        requestSpec = new RequestSpecBuilder()
-                .setContentType(ContentType.JSON)
-                .setAccept(ContentType.JSON)
-                .addHeader("User-Agent", "PayTR-Test-Automation/1.0")
+        requestSpec = HttpClientPool.newRequestSpecBuilder()
                 .addHeader("Connection", "keep-alive")
                 .addHeader("Cache-Control", "no-cache")
                 .build();
@@ -157,9 +160,9 @@ public class BaseTest {
                     throw new RuntimeException("Navigation failed after " + maxRetries + " attempts", e);
                 }
                 
-                // Wait before retry
+                // Wait before retry (sayfa sakinleşirse erken döner)
                 try {
-                    Thread.sleep(2000);
+                    SmartWait.settle(driver, 2000);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     throw new RuntimeException("Navigation retry interrupted", ie);
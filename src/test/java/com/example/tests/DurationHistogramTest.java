@@ -0,0 +1,165 @@
+package com.example.tests;
+
+import com.example.integration.DurationHistogram;
+import com.example.utils.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Duration Histogram Test Class
+ * Log-lineer kova hesabını (kova sınırları, göreli hata), yüzdelikleri ve birleştirmeyi test eder
+ */
+public class DurationHistogramTest {
+
+    /**
+     * Korumalı kova hesabını test için açan alt sınıf
+     */
+    private static final class ExposedHistogram extends DurationHistogram {
+        private ExposedHistogram(int subBucketBits) {
+            super(subBucketBits);
+        }
+
+        private int index(long value) {
+            return bucketIndex(value);
+        }
+
+        private long bound(int index) {
+            return upperBound(index);
+        }
+    }
+
+    @Test(priority = 1, groups = {"histogram", "component"})
+    public void testEveryValueFallsIntoItsBucket() {
+        System.out.println("🧪 Kova sınırı testi başlatılıyor...");
+
+        for (int bits : new int[] {1, 4, 7, 16}) {
+            ExposedHistogram histogram = new ExposedHistogram(bits);
+            long linearLimit = 2L << bits;
+            int previousIndex = -1;
+            for (long value : sampleValues()) {
+                int index = histogram.index(value);
+                long bound = histogram.bound(index);
+                Assert.assertTrue(bound >= value, bits + " bit: " + value + " değeri kova sınırını (" + bound + ") aşmamalı");
+                if (index > 0) {
+                    Assert.assertTrue(histogram.bound(index - 1) < value,
+                            bits + " bit: " + value + " değeri bir önceki kovaya düşmeliydi");
+                }
+                Assert.assertTrue(index >= previousIndex, bits + " bit: kova indeksi değerle birlikte artmalı");
+                previousIndex = index;
+
+                if (value < linearLimit) {
+                    Assert.assertEquals(bound, value, bits + " bit: lineer bölgede kova birebir olmalı");
+                } else {
+                    double relativeError = (double) (bound - value) / value;
+                    Assert.assertTrue(relativeError <= Math.scalb(1.0, -bits),
+                            bits + " bit: " + value + " için göreli hata " + relativeError);
+                }
+            }
+        }
+
+        System.out.println("✅ Tüm değerler kendi kovasına düştü, göreli hata 2^-bits altında");
+    }
+
+    @Test(priority = 2, groups = {"histogram", "component"})
+    public void testExtremeValuesAreRecorded() {
+        System.out.println("🧪 Uç değer testi başlatılıyor...");
+
+        DurationHistogram histogram = new DurationHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        Assert.assertEquals(histogram.getCount(), 2);
+        Assert.assertEquals(histogram.getMin(), 0L, "Negatif değer 0 sayılmalı");
+        Assert.assertEquals(histogram.getPercentile(50), 0L);
+        Assert.assertEquals(histogram.getPercentile(100), Long.MAX_VALUE, "Son kova Long.MAX_VALUE'yu taşımalı");
+
+        System.out.println("✅ Uç değerler kova dizisinin içinde kaldı");
+    }
+
+    @Test(priority = 3, groups = {"histogram", "component"})
+    public void testPercentilesStayWithinBucketError() {
+        System.out.println("🧪 Yüzdelik doğruluğu testi başlatılıyor...");
+
+        DurationHistogram histogram = new DurationHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 1000);
+        Assert.assertEquals(histogram.getMin(), 1L);
+        Assert.assertEquals(histogram.getMax(), 1000L);
+        Assert.assertEquals(histogram.getMean(), 500.5, 1e-9);
+        for (double percentile : new double[] {50, 90, 95, 99}) {
+            long exact = (long) Math.ceil(percentile * 10);
+            long reported = histogram.getPercentile(percentile);
+            Assert.assertTrue(reported >= exact && reported <= exact * (1 + 1.0 / 16),
+                    "p" + percentile + " beklenen ~" + exact + ", gelen " + reported);
+        }
+        Assert.assertEquals(histogram.getPercentile(100), 1000L, "p100 en büyük değeri aşmamalı");
+
+        histogram.reset();
+        Assert.assertEquals(histogram.getCount(), 0);
+        Assert.assertEquals(histogram.getPercentile(99), 0L, "Boş histogram 0 döndürmeli");
+
+        System.out.println("✅ Yüzdelikler kova hatası içinde");
+    }
+
+    @Test(priority = 4, groups = {"histogram", "component"})
+    public void testMergeMatchesSingleHistogram() {
+        System.out.println("🧪 Histogram birleştirme testi başlatılıyor...");
+
+        LatencyHistogram combined = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            long nanos = (long) (Math.exp(random.nextGaussian() * 2 + 12));
+            combined.recordNanos(nanos);
+            (i % 2 == 0 ? first : second).recordNanos(nanos);
+        }
+        first.merge(second);
+
+        Assert.assertEquals(first.getCount(), combined.getCount());
+        Assert.assertEquals(first.getMinNanos(), combined.getMinNanos());
+        Assert.assertEquals(first.getMaxNanos(), combined.getMaxNanos());
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            Assert.assertEquals(first.getPercentileNanos(percentile), combined.getPercentileNanos(percentile),
+                    "p" + percentile + " birleştirme sonrası aynı olmalı");
+        }
+
+        System.out.println("✅ Birleştirilmiş histogram tek histogramla aynı");
+    }
+
+    @Test(priority = 5, groups = {"histogram", "component"}, expectedExceptions = IllegalArgumentException.class)
+    public void testMergeRejectsDifferentResolution() {
+        new DurationHistogram().merge(new LatencyHistogram());
+    }
+
+    /**
+     * Lineer bölge, ikinin kuvvetleri çevresi ve rastgele büyük değerler (artan sırada)
+     */
+    private static List<Long> sampleValues() {
+        List<Long> values = new ArrayList<>();
+        for (long value = 0; value <= 4096; value++) {
+            values.add(value);
+        }
+        for (int shift = 13; shift < 63; shift++) {
+            long power = 1L << shift;
+            values.add(power - 1);
+            values.add(power);
+            values.add(power + 1);
+            values.add(power + (power >>> 1));
+        }
+        values.add(Long.MAX_VALUE);
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            values.add(random.nextLong() >>> (1 + random.nextInt(62)));
+        }
+        values.sort(null);
+        return values;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.tests;
+
+import com.example.api.ExecutionRegistry;
+import com.example.api.ExecutionStatistics;
+import com.example.integration.TestScenarioExecutor;
+import com.example.repository.ScenarioRepository;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Execution Registry Test Class
+ * Eşzamanlı çalıştırmaların sonuç dosyalarını ve istatistiklerini execution id'ye göre
+ * ayırmasını, arşivin yaş ve dosya sayısıyla budanmasını test eder
+ */
+public class ExecutionRegistryTest {
+
+    private Path workDir;
+    private ExecutionRegistry registry;
+    private ScenarioRepository repository;
+
+    @BeforeMethod(alwaysRun = true)
+    public void createWorkDir() throws IOException {
+        workDir = Files.createTempDirectory("execution-registry-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        if (registry != null) {
+            registry.stop();
+            registry = null;
+        }
+        if (repository != null) {
+            repository.stop();
+            repository = null;
+        }
+        deleteRecursively(workDir);
+    }
+
+    @Test(priority = 1, groups = {"execution", "component"}, timeOut = 60000)
+    public void testConcurrentRunsKeepSeparateResults() throws Exception {
+        System.out.println("🧪 Eşzamanlı çalıştırma sonuç ayrımı testi başlatılıyor...");
+
+        registry = new ExecutionRegistry(2, 0, 50, 600, workDir.resolve("executions").toString(), 500, 7);
+        repository = new ScenarioRepository(workDir.resolve("test-scenarios.json").toString(),
+                workDir.resolve("test-scenarios.log").toString(), 0, 0);
+        repository.start();
+        ExecutionStatistics statistics = new ExecutionStatistics(repository, registry, 100);
+
+        String first = registry.nextExecutionId();
+        String second = registry.nextExecutionId();
+        submit(first, statistics, List.of("a1", "a2", "a3"));
+        submit(second, statistics, List.of("b1", "b2"));
+        Assert.assertEquals(registry.getRunningCount(), 2, "İki çalıştırma aynı anda koşmalı");
+        Assert.assertEquals(registry.getQueuedCount(), 0);
+
+        awaitCompleted(first);
+        awaitCompleted(second);
+
+        Assert.assertEquals(lines(registry.resultsFile(first)).size(), 3, "İlk çalıştırmanın dosyası kesilmemeli");
+        Assert.assertEquals(lines(registry.resultsFile(second)).size(), 2, "İkinci çalıştırma kendi dosyasına yazmalı");
+        Assert.assertTrue(lines(registry.resultsFile(first)).stream().allMatch(line -> line.contains("\"scenarioId\":\"a")),
+                "Dosyalar birbirinin sonuçlarını içermemeli");
+        Assert.assertEquals(registry.findResultsExecutionId(null), Optional.of(second),
+                "Varsayılan sonuçlar en son başlatılan çalıştırmadan gelmeli");
+        Assert.assertEquals(registry.findResultsExecutionId(first), Optional.of(first));
+        Assert.assertEquals(registry.findResultsExecutionId("../test-results"), Optional.empty(),
+                "Geçersiz id dizin dışına çıkmamalı");
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> lastRun = (Map<String, Object>) statistics.snapshot().get("lastTestResults");
+        Assert.assertEquals(lastRun.get("executionId"), second);
+        Assert.assertEquals(lastRun.get("total"), 2L, "Eski çalıştırmanın sonuçları son çalıştırma sayacına eklenmemeli");
+
+        // Açılışta son çalıştırma dosyasından yüklenen istatistik aynı olmalı
+        ExecutionStatistics reloaded = new ExecutionStatistics(repository, registry, 100);
+        reloaded.start();
+        Assert.assertEquals(reloaded.snapshot().get("lastTestResults"), lastRun);
+
+        System.out.println("✅ Son çalıştırma: " + lastRun);
+    }
+
+    @Test(priority = 2, groups = {"execution", "component"}, timeOut = 30000)
+    public void testArchiveIsPrunedByAgeAndCount() throws Exception {
+        System.out.println("🧪 Arşiv budama testi başlatılıyor...");
+
+        Path archive = Files.createDirectory(workDir.resolve("executions"));
+        long now = System.currentTimeMillis();
+        archived(archive, "exec_expired", now - TimeUnit.DAYS.toMillis(10));
+        for (int i = 1; i <= 4; i++) {
+            archived(archive, "exec_" + i, now - TimeUnit.MINUTES.toMillis(10 - i));
+        }
+        Files.writeString(archive.resolve("notes.txt"), "arşiv dışı dosya");
+
+        registry = new ExecutionRegistry(1, 0, 50, 600, archive.toString(), 2, 7);
+        registry.start();
+
+        Set<String> expected = Set.of("exec_3.json", "exec_3.ndjson", "exec_4.json", "exec_4.ndjson", "notes.txt");
+        while (!fileNames(archive).equals(expected)) {
+            Thread.sleep(20);
+        }
+        Assert.assertEquals(registry.findResultsExecutionId(null), Optional.of("exec_4"),
+                "Açılışta en yeni arşivlenmiş sonuç dosyası bulunmalı");
+
+        System.out.println("✅ Arşivde kalanlar: " + fileNames(archive));
+    }
+
+    private void submit(String executionId, ExecutionStatistics statistics, List<String> scenarioIds) {
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        for (String id : scenarioIds) {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("id", id);
+            scenario.put("name", "Senaryo " + id);
+            scenario.put("description", "");
+            scenario.put("category", "smoke");
+            scenario.put("priority", "medium");
+            scenario.put("expectedResults", "Başarılı");
+            scenario.put("steps", List.of(Map.of("order", 1, "description", "Bekle")));
+            scenarios.add(scenario);
+        }
+
+        TestScenarioExecutor executor = new TestScenarioExecutor();
+        executor.loadScenarios(scenarios);
+        executor.addListener(event -> {
+            if ("execution-started".equals(event.getType())) {
+                statistics.startRun(executionId);
+            } else if (event.getResult() != null) {
+                statistics.record(executionId, event.getResult());
+            }
+        });
+        Assert.assertTrue(registry.submit(executionId, executor, scenarioIds).isPresent(), "Çalıştırma kabul edilmeli");
+    }
+
+    private void awaitCompleted(String executionId) throws InterruptedException {
+        while (registry.find(executionId).map(ExecutionRegistry.Execution::getState)
+                .orElseThrow() != ExecutionRegistry.State.COMPLETED) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static void archived(Path archive, String executionId, long modifiedAt) throws IOException {
+        for (String suffix : List.of(".json", ".ndjson")) {
+            Path file = Files.writeString(archive.resolve(executionId + suffix), "{}");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedAt));
+        }
+    }
+
+    private static List<String> lines(Path file) throws IOException {
+        return Files.readAllLines(file);
+    }
+
+    private static Set<String> fileNames(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toSet());
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import com.example.utils.APITestUtils;
+import com.example.utils.PayTRStubGateway;
 import org.json.JSONObject;
 import org.json.JSONArray;
 import static io.restassured.RestAssured.*;
@@ -26,7 +27,9 @@ public class PayTRAPITests extends BaseTest {
     @BeforeClass
     @Step("API testleri için test ortamını hazırla")
     public void setupAPITests() {
-        baseURI = "https://zeus-uat.paytr.com";
+        baseURI = PayTRStubGateway.isEnabled()
+                ? PayTRStubGateway.startShared().getBaseUrl()
+                : "https://zeus-uat.paytr.com";
         basePath = "/api";
         apiBaseUrl = baseURI + basePath;
         
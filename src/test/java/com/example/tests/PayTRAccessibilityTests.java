@@ -1,6 +1,7 @@
 package com.example.tests;
 
 import com.example.utils.TestUtils;
+import com.example.utils.SmartWait;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.openqa.selenium.By;
@@ -180,7 +181,7 @@ public class PayTRAccessibilityTests extends BaseTest {
         
         // Wait for error messages
         try {
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -285,7 +286,7 @@ public class PayTRAccessibilityTests extends BaseTest {
             
             // Check if action was triggered (form validation should show)
             try {
-                Thread.sleep(1000);
+                SmartWait.settle(driver, 1000);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -301,13 +302,13 @@ public class PayTRAccessibilityTests extends BaseTest {
             modalTrigger.click();
             
             // Wait for modal
-            Thread.sleep(1000);
+            SmartWait.settle(driver, 1000);
             
             // Press Escape
             driver.findElement(By.tagName("body")).sendKeys(org.openqa.selenium.Keys.ESCAPE);
             
             // Check if modal is closed
-            Thread.sleep(500);
+            SmartWait.settle(driver, 500);
             List<WebElement> openModals = driver.findElements(By.className("modal-open"));
             Assert.assertEquals(openModals.size(), 0, "Escape key should close modal");
             
@@ -386,7 +387,7 @@ public class PayTRAccessibilityTests extends BaseTest {
         
         // Wait for reflow
         try {
-            Thread.sleep(1000);
+            SmartWait.settle(driver, 1000);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
@@ -13,6 +13,7 @@ import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import com.example.utils.WebDriverSetup;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -73,7 +74,7 @@ public class PayTRCardValidationTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Kart numarası alanları
             List<WebElement> cardNumberFields = driver.findElements(By.xpath(
@@ -153,7 +154,7 @@ public class PayTRCardValidationTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Kart numarası alanını bul
             List<WebElement> cardFields = driver.findElements(By.xpath(
@@ -169,7 +170,7 @@ public class PayTRCardValidationTest extends BaseTest {
                 
                 // Tab tuşuna bas (validasyon tetiklemek için)
                 cardField.sendKeys(Keys.TAB);
-                Thread.sleep(1000);
+                SmartWait.settle(driver, 1000);
                 
                 // Girilen değeri kontrol et
                 String enteredValue = cardField.getAttribute("value");
@@ -229,7 +230,7 @@ public class PayTRCardValidationTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Kart numarası alanını bul
             List<WebElement> cardFields = driver.findElements(By.xpath(
@@ -245,7 +246,7 @@ public class PayTRCardValidationTest extends BaseTest {
                 
                 // Tab tuşuna bas (validasyon tetiklemek için)
                 cardField.sendKeys(Keys.TAB);
-                Thread.sleep(1000);
+                SmartWait.settle(driver, 1000);
                 
                 // Hata mesajı kontrolü (olmalı)
                 List<WebElement> errorMessages = driver.findElements(By.xpath(
@@ -311,7 +312,7 @@ public class PayTRCardValidationTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Ay alanını bul
             List<WebElement> monthFields = driver.findElements(By.xpath(
@@ -357,7 +358,7 @@ public class PayTRCardValidationTest extends BaseTest {
                 
                 // Tab tuşuna bas (validasyon tetiklemek için)
                 yearField.sendKeys(Keys.TAB);
-                Thread.sleep(1000);
+                SmartWait.settle(driver, 1000);
                 
                 // Hata mesajı kontrolü
                 List<WebElement> errorMessages = driver.findElements(By.xpath(
@@ -421,7 +422,7 @@ public class PayTRCardValidationTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // CVV alanını bul
             List<WebElement> cvvFields = driver.findElements(By.xpath(
@@ -439,7 +440,7 @@ public class PayTRCardValidationTest extends BaseTest {
                 
                 // Tab tuşuna bas (validasyon tetiklemek için)
                 cvvField.sendKeys(Keys.TAB);
-                Thread.sleep(1000);
+                SmartWait.settle(driver, 1000);
                 
                 // Girilen değeri kontrol et
                 String enteredValue = cvvField.getAttribute("value");
@@ -495,7 +496,7 @@ public class PayTRCardValidationTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Kart sahibi adı alanını bul
             List<WebElement> nameFields = driver.findElements(By.xpath(
@@ -523,7 +524,7 @@ public class PayTRCardValidationTest extends BaseTest {
                     nameField.clear();
                     nameField.sendKeys(testName);
                     nameField.sendKeys(Keys.TAB);
-                    Thread.sleep(500);
+                    SmartWait.settle(driver, 500);
                     
                     String enteredValue = nameField.getAttribute("value");
                     System.out.println("Test adı: '" + testName + "' -> Girilen: '" + enteredValue + "'");
@@ -12,6 +12,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.JavascriptExecutor;
 import com.example.utils.WebDriverSetup;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -69,7 +70,7 @@ public class PayTRInstallmentTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // Taksit seçenekleri alanlarını ara
             List<WebElement> installmentSelects = driver.findElements(By.xpath(
@@ -165,7 +166,7 @@ public class PayTRInstallmentTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Taksit seçimi yap
             boolean selectionMade = false;
@@ -229,7 +230,7 @@ public class PayTRInstallmentTest extends BaseTest {
             }
             
             if (selectionMade) {
-                Thread.sleep(2000);
+                SmartWait.settle(driver, 2000);
                 
                 // Komisyon oranı kontrolü
                 List<WebElement> commissionElements = driver.findElements(By.xpath(
@@ -279,7 +280,7 @@ public class PayTRInstallmentTest extends BaseTest {
                         "  console.log('JavaScript ile taksit seçildi: " + installmentCount + "');" +
                         "}");
                     
-                    Thread.sleep(1000);
+                    SmartWait.settle(driver, 1000);
                     System.out.println("JavaScript ile taksit seçimi denendi");
                 } catch (Exception e) {
                     System.out.println("JavaScript ile taksit seçimi başarısız: " + e.getMessage());
@@ -298,7 +299,7 @@ public class PayTRInstallmentTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Tutar alanını bul ve gir
             List<WebElement> amountFields = driver.findElements(By.xpath(
@@ -329,7 +330,7 @@ public class PayTRInstallmentTest extends BaseTest {
                     }
                 }
                 
-                Thread.sleep(2000);
+                SmartWait.settle(driver, 2000);
                 
                 // Taksit hesaplama butonunu ara ve tıkla
                 List<WebElement> calculateButtons = driver.findElements(By.xpath(
@@ -339,7 +340,7 @@ public class PayTRInstallmentTest extends BaseTest {
                 
                 if (!calculateButtons.isEmpty()) {
                     calculateButtons.get(0).click();
-                    Thread.sleep(3000);
+                    SmartWait.settle(driver, 3000);
                     System.out.println("Hesaplama butonu tıklandı");
                 }
                 
@@ -435,7 +436,7 @@ public class PayTRInstallmentTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // Komisyon bilgilerini ara
             List<WebElement> commissionElements = driver.findElements(By.xpath(
@@ -540,7 +541,7 @@ public class PayTRInstallmentTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Minimum ve maksimum taksit limitlerini test et
             String[] testAmounts = {"10.00", "50000.00", "100000.00"};
@@ -556,7 +557,7 @@ public class PayTRInstallmentTest extends BaseTest {
                     amountField.clear();
                     amountField.sendKeys(amount);
                     
-                    Thread.sleep(2000);
+                    SmartWait.settle(driver, 2000);
                     
                     // Taksit seçeneklerini kontrol et
                     List<WebElement> installmentOptions = driver.findElements(By.xpath(
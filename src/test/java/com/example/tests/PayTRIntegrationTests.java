@@ -10,6 +10,7 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.JavascriptExecutor;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.SafeWebDriverUtils;
+import com.example.utils.SmartWait;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import java.time.Duration;
@@ -281,7 +282,7 @@ public class PayTRIntegrationTests extends BaseTest {
             
             // Sayfayı yenile ve AJAX çağrılarını tetikle
             driver.navigate().refresh();
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // AJAX çağrılarını kontrol et
             @SuppressWarnings("unchecked")
@@ -341,7 +342,7 @@ public class PayTRIntegrationTests extends BaseTest {
                             
                             // Form gönder
                             submitButton.click();
-                            Thread.sleep(2000);
+                            SmartWait.settle(driver, 2000);
                             
                             // Network isteklerini kontrol et
                             @SuppressWarnings("unchecked")
@@ -376,7 +377,7 @@ public class PayTRIntegrationTests extends BaseTest {
             
             // Sayfayı yenile
             driver.navigate().refresh();
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // Console error'ları kontrol et
             @SuppressWarnings("unchecked")
@@ -780,7 +781,10 @@ public class PayTRIntegrationTests extends BaseTest {
                 "setTimeout(function() { window.testErrors = errors; }, 1000);";
             
             js.executeScript(consoleScript);
-            Thread.sleep(2000);
+            // Hatalar 1 sn sonra yayınlanır; sayfa sessizleşmesi bunu beklemez
+            SmartWait.on(driver).until("testErrors",
+                    d -> ((JavascriptExecutor) d).executeScript("return window.testErrors !== undefined;"),
+                    Duration.ofSeconds(3));
             
             @SuppressWarnings("unchecked")
             List<String> errors = (List<String>) js.executeScript("return window.testErrors || [];");
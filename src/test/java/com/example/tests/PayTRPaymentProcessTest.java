@@ -13,6 +13,7 @@ import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.JavascriptExecutor;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.SafeWebDriverUtils;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
@@ -123,7 +124,7 @@ public class PayTRPaymentProcessTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Tutar alanlarını ara
             List<WebElement> amountFields = driver.findElements(By.xpath(
@@ -187,7 +188,7 @@ public class PayTRPaymentProcessTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Ödeme yöntemi seçeneklerini ara
             List<WebElement> paymentMethods = driver.findElements(By.xpath(
@@ -263,7 +264,7 @@ public class PayTRPaymentProcessTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Tüm form alanlarını bul
             List<WebElement> allInputs = driver.findElements(By.xpath("//input"));
@@ -345,7 +346,7 @@ public class PayTRPaymentProcessTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // Ödeme işlem adımlarını kontrol et
             List<WebElement> stepIndicators = driver.findElements(By.xpath(
@@ -407,7 +408,7 @@ public class PayTRPaymentProcessTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Onay butonlarını ara
             List<WebElement> confirmButtons = driver.findElements(By.xpath(
@@ -23,6 +23,11 @@ import org.openqa.selenium.JavascriptExecutor;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.SafeWebDriverUtils;
 import com.example.utils.PerformanceTestUtils;
+import com.example.utils.LoadGenerator;
+import com.example.utils.LatencyHistogram;
+import com.example.utils.PayTRAllureReporter;
+import com.example.utils.PayTRExtentReporter;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -190,7 +195,7 @@ public class PayTRPerformanceTests extends BaseTest {
                         submitButtons.get(0).click();
                         
                         // Response bekle
-                        Thread.sleep(2000);
+                        SmartWait.settle(driver, 2000);
                         
                         long apiEndTime = System.currentTimeMillis();
                         long apiResponseTime = apiEndTime - apiStartTime;
@@ -226,87 +231,53 @@ public class PayTRPerformanceTests extends BaseTest {
         logTestInfo("Test ID: PT-003 - Concurrent User Load Performance");
         
         try {
-            int numberOfThreads = 10;
-            int requestsPerThread = 5;
-            long[] responseTimes = new long[numberOfThreads * requestsPerThread];
-            Thread[] threads = new Thread[numberOfThreads];
-            
-            long testStartTime = System.currentTimeMillis();
-            
-            for (int i = 0; i < numberOfThreads; i++) {
-                final int threadIndex = i;
-                threads[i] = new Thread(() -> {
-                    try {
-                        for (int j = 0; j < requestsPerThread; j++) {
-                            long requestStart = System.currentTimeMillis();
-                            
-                            Map<String, Object> paymentData = new HashMap<>();
-                            paymentData.put("merchant_id", PayTRTestConfig.MERCHANT_ID);
-                            paymentData.put("user_ip", "127.0.0.1");
-                            paymentData.put("merchant_oid", "PT003_LOAD_" + threadIndex + "_" + j + "_" + System.currentTimeMillis());
-                            paymentData.put("email", "load.test" + threadIndex + "." + j + "@example.com");
-                            paymentData.put("payment_amount", "10000");
-                            paymentData.put("currency", "TL");
-                            paymentData.put("test_mode", "1");
-                            
-                            Response response = given()
-                                .spec(requestSpec)
-                                .body(paymentData)
-                                .when()
-                                .post("/odeme/api/get-token")
-                                .then()
-                                .extract().response();
-                            
-                            long requestEnd = System.currentTimeMillis();
-                            responseTimes[threadIndex * requestsPerThread + j] = requestEnd - requestStart;
-                            
-                            // Small delay between requests
-                            Thread.sleep(100);
-                        }
-                    } catch (Exception e) {
-                        System.err.println("Thread " + threadIndex + " error: " + e.getMessage());
-                    }
-                });
-            }
-            
-            // Start all threads
-            for (Thread thread : threads) {
-                thread.start();
-            }
-            
-            // Wait for all threads to complete
-            for (Thread thread : threads) {
-                thread.join(30000); // 30 second timeout
-            }
-            
-            long testEndTime = System.currentTimeMillis();
-            long totalTestTime = testEndTime - testStartTime;
-            
-            // Calculate performance metrics
-            long totalRequests = numberOfThreads * requestsPerThread;
-            double averageResponseTime = 0;
-            long maxResponseTime = 0;
-            long minResponseTime = Long.MAX_VALUE;
-            
-            for (long responseTime : responseTimes) {
-                if (responseTime > 0) {
-                    averageResponseTime += responseTime;
-                    maxResponseTime = Math.max(maxResponseTime, responseTime);
-                    minResponseTime = Math.min(minResponseTime, responseTime);
-                }
-            }
-            
-            averageResponseTime = averageResponseTime / totalRequests;
-            double throughput = (double) totalRequests / (totalTestTime / 1000.0);
+            // Açık model: 2 sn'de 10 istek/sn'ye çık, 4 sn sabit, 1 sn'de sıfıra in (~55 istek)
+            LoadGenerator loadGenerator = LoadGenerator.builder()
+                .rampUp(Duration.ofSeconds(2), 10)
+                .steady(Duration.ofSeconds(4), 10)
+                .rampDown(Duration.ofSeconds(1))
+                .virtualThreads(true)
+                .maxConcurrency(50)
+                .build();
+            
+            LoadGenerator.Result result = loadGenerator.run(sequence -> {
+                Map<String, Object> paymentData = new HashMap<>();
+                paymentData.put("merchant_id", PayTRTestConfig.MERCHANT_ID);
+                paymentData.put("user_ip", "127.0.0.1");
+                paymentData.put("merchant_oid", "PT003_LOAD_" + sequence + "_" + System.currentTimeMillis());
+                paymentData.put("email", "load.test" + sequence + "@example.com");
+                paymentData.put("payment_amount", "10000");
+                paymentData.put("currency", "TL");
+                paymentData.put("test_mode", "1");
+                
+                return given()
+                    .spec(requestSpec)
+                    .body(paymentData)
+                    .when()
+                    .post("/odeme/api/get-token")
+                    .then()
+                    .extract().response();
+            });
+            
+            // Gecikmeler planlanan gönderim zamanından ölçülür (coordinated omission düzeltilmiş)
+            LatencyHistogram latency = result.getLatency();
+            double averageResponseTime = latency.getMeanMillis();
+            double maxResponseTime = latency.getMaxMillis();
+            double throughput = result.getThroughput();
             
             logTestInfo("Load Test Results:");
-            logTestInfo("  Total Requests: " + totalRequests);
-            logTestInfo("  Total Time: " + totalTestTime + " ms");
+            logTestInfo("  Total Requests: " + result.getScheduled());
+            logTestInfo("  Completed / Incomplete: " + result.getCompleted() + " / " + result.getIncomplete());
+            logTestInfo("  Total Time: " + result.getElapsedMillis() + " ms");
             logTestInfo("  Average Response Time: " + String.format("%.2f", averageResponseTime) + " ms");
-            logTestInfo("  Max Response Time: " + maxResponseTime + " ms");
-            logTestInfo("  Min Response Time: " + minResponseTime + " ms");
+            logTestInfo("  Latency Percentiles: " + latency.toSummaryLine());
+            logTestInfo("  Max Response Time: " + String.format("%.2f", maxResponseTime) + " ms");
+            logTestInfo("  Min Response Time: " + String.format("%.2f", latency.getMinMillis()) + " ms");
             logTestInfo("  Throughput: " + String.format("%.2f", throughput) + " requests/second");
             
+            PayTRAllureReporter.addLatencyHistogram("PT-003 Gecikme Dağılımı", latency);
+            PayTRExtentReporter.logLatencyHistogram("PT-003 Gecikme Dağılımı", latency);
+            
             // Performance assertions
             assertTrue(averageResponseTime < 5000, 
                 "Average response time too high: " + averageResponseTime + " ms");
@@ -457,71 +428,39 @@ public class PayTRPerformanceTests extends BaseTest {
         
         try {
             int numberOfConnections = 20;
-            long[] connectionTimes = new long[numberOfConnections];
-            Thread[] connectionThreads = new Thread[numberOfConnections];
-            
-            for (int i = 0; i < numberOfConnections; i++) {
-                final int threadIndex = i;
-                connectionThreads[i] = new Thread(() -> {
-                    try {
-                        long connectionStart = System.currentTimeMillis();
-                        
-                        // Simulate database-heavy operation
-                        Map<String, Object> paymentData = new HashMap<>();
-                        paymentData.put("merchant_id", PayTRTestConfig.MERCHANT_ID);
-                        paymentData.put("user_ip", "127.0.0.1");
-                        paymentData.put("merchant_oid", "PT005_DB_" + threadIndex + "_" + System.currentTimeMillis());
-                        paymentData.put("email", "db.test" + threadIndex + "@example.com");
-                        paymentData.put("payment_amount", "10000");
-                        paymentData.put("currency", "TL");
-                        paymentData.put("test_mode", "1");
-                        
-                        Response response = given()
-                            .spec(requestSpec)
-                            .body(paymentData)
-                            .when()
-                            .post("/odeme/api/get-token")
-                            .then()
-                            .extract().response();
-                        
-                        long connectionEnd = System.currentTimeMillis();
-                        connectionTimes[threadIndex] = connectionEnd - connectionStart;
-                        
-                    } catch (Exception e) {
-                        connectionTimes[threadIndex] = -1;
-                        System.err.println("Connection thread " + threadIndex + " error: " + e.getMessage());
-                    }
-                });
-            }
-            
-            // Start all connection threads simultaneously
-            long testStart = System.currentTimeMillis();
-            for (Thread thread : connectionThreads) {
-                thread.start();
-            }
             
-            // Wait for all threads to complete
-            for (Thread thread : connectionThreads) {
-                thread.join(15000); // 15 second timeout per thread
-            }
-            long testEnd = System.currentTimeMillis();
-            
-            // Analyze connection performance
-            double averageConnectionTime = 0;
-            long maxConnectionTime = 0;
-            int successfulConnections = 0;
-            
-            for (long connectionTime : connectionTimes) {
-                if (connectionTime > 0) {
-                    averageConnectionTime += connectionTime;
-                    maxConnectionTime = Math.max(maxConnectionTime, connectionTime);
-                    successfulConnections++;
-                }
-            }
+            // Tüm bağlantılar aynı anda açılır
+            LoadGenerator loadGenerator = LoadGenerator.builder()
+                .burst(numberOfConnections)
+                .virtualThreads(true)
+                .maxConcurrency(numberOfConnections)
+                .completionTimeout(Duration.ofSeconds(15))
+                .build();
             
-            if (successfulConnections > 0) {
-                averageConnectionTime = averageConnectionTime / successfulConnections;
-            }
+            LoadGenerator.Result result = loadGenerator.run(sequence -> {
+                // Simulate database-heavy operation
+                Map<String, Object> paymentData = new HashMap<>();
+                paymentData.put("merchant_id", PayTRTestConfig.MERCHANT_ID);
+                paymentData.put("user_ip", "127.0.0.1");
+                paymentData.put("merchant_oid", "PT005_DB_" + sequence + "_" + System.currentTimeMillis());
+                paymentData.put("email", "db.test" + sequence + "@example.com");
+                paymentData.put("payment_amount", "10000");
+                paymentData.put("currency", "TL");
+                paymentData.put("test_mode", "1");
+                
+                return given()
+                    .spec(requestSpec)
+                    .body(paymentData)
+                    .when()
+                    .post("/odeme/api/get-token")
+                    .then()
+                    .extract().response();
+            });
+            
+            long successfulConnections = result.getSucceeded();
+            LatencyHistogram latency = result.getLatency();
+            double averageConnectionTime = latency.getMeanMillis();
+            double maxConnectionTime = latency.getMaxMillis();
             
             double connectionSuccessRate = (double) successfulConnections / numberOfConnections * 100;
             
@@ -530,8 +469,12 @@ public class PayTRPerformanceTests extends BaseTest {
             logTestInfo("  Successful Connections: " + successfulConnections);
             logTestInfo("  Success Rate: " + String.format("%.2f", connectionSuccessRate) + "%");
             logTestInfo("  Average Connection Time: " + String.format("%.2f", averageConnectionTime) + " ms");
-            logTestInfo("  Max Connection Time: " + maxConnectionTime + " ms");
-            logTestInfo("  Total Test Time: " + (testEnd - testStart) + " ms");
+            logTestInfo("  Max Connection Time: " + String.format("%.2f", maxConnectionTime) + " ms");
+            logTestInfo("  Latency Percentiles: " + latency.toSummaryLine());
+            logTestInfo("  Total Test Time: " + result.getElapsedMillis() + " ms");
+            
+            PayTRAllureReporter.addLatencyHistogram("PT-005 Bağlantı Süresi Dağılımı", latency);
+            PayTRExtentReporter.logLatencyHistogram("PT-005 Bağlantı Süresi Dağılımı", latency);
             
             // Database performance assertions
             assertTrue(connectionSuccessRate >= 90.0, 
@@ -5,6 +5,7 @@ import com.example.config.PayTRTestConfig;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.SafeWebDriverUtils;
 import com.example.utils.SecurityTestUtils;
+import com.example.utils.SmartWait;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.By;
@@ -138,7 +139,7 @@ public class PayTRSecurityTests extends BaseTest {
                     loginButton.click();
                     
                     // SQL injection'ın engellenmesini kontrol et
-                    Thread.sleep(2000);
+                    SmartWait.settle(driver, 2000);
                     String currentUrl = driver.getCurrentUrl();
                     String pageSource = driver.getPageSource().toLowerCase();
                     
@@ -203,7 +204,7 @@ public class PayTRSecurityTests extends BaseTest {
                     // Enter tuşuna bas veya arama butonuna tıkla
                     searchField.submit();
                     
-                    Thread.sleep(2000);
+                    SmartWait.settle(driver, 2000);
                     
                     // SQL injection'ın engellenmesini kontrol et
                     String pageSource = driver.getPageSource().toLowerCase();
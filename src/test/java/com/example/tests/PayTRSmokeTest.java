@@ -8,6 +8,7 @@ import com.example.config.PayTRTestConfig;
 import com.example.utils.PayTRTestDataProvider;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.SafeWebDriverUtils;
+import com.example.utils.SmartWait;
 import org.testng.annotations.*;
 import org.testng.Assert;
 import org.openqa.selenium.WebDriver;
@@ -122,7 +123,7 @@ public class PayTRSmokeTest {
             driver.get(PayTRTestConfig.LOGIN_URL);
             
             // Sayfa yüklenme kontrolü
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String pageSource = driver.getPageSource();
             Assert.assertTrue(pageSource.length() > 500, "Ödeme sayfası yüklenmeli");
@@ -144,7 +145,7 @@ public class PayTRSmokeTest {
             driver.get(PayTRTestConfig.LOGIN_URL);
             
             // Sayfa yüklenme kontrolü
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String pageSource = driver.getPageSource();
             Assert.assertTrue(pageSource.length() > 500, "Virtual POS sayfası yüklenmeli");
@@ -164,7 +165,7 @@ public class PayTRSmokeTest {
         try {
             // Güvenlik kontrolü için ana sayfaya git
             driver.get(PayTRTestConfig.BASE_URL);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // HTTPS kontrolü
             String currentUrl = driver.getCurrentUrl();
@@ -209,11 +210,11 @@ public class PayTRSmokeTest {
         try {
             // Ana sayfa
             driver.get(PayTRTestConfig.BASE_URL);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Login sayfasına git
             driver.get(PayTRTestConfig.LOGIN_URL);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String pageSource = driver.getPageSource();
             Assert.assertTrue(pageSource.length() > 500, "Sayfa içeriği yüklenmeli");
@@ -233,7 +234,7 @@ public class PayTRSmokeTest {
         try {
             // API bağlantısı için ana sayfaya git
             driver.get(PayTRTestConfig.BASE_URL);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String currentUrl = driver.getCurrentUrl();
             Assert.assertTrue(currentUrl.contains("zeus-uat.paytr.com"), 
@@ -254,7 +255,7 @@ public class PayTRSmokeTest {
         try {
             // Sistem sağlığı kontrolü
             driver.get(PayTRTestConfig.BASE_URL);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Temel sağlık kontrolleri
             String pageSource = driver.getPageSource();
@@ -262,7 +263,7 @@ public class PayTRSmokeTest {
             
             // Login sayfası kontrolü
             driver.get(PayTRTestConfig.LOGIN_URL);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String loginPageSource = driver.getPageSource();
             isHealthy = isHealthy && loginPageSource.length() > 500;
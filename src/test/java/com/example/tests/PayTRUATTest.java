@@ -14,6 +14,7 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.Dimension;
 import com.example.utils.WebDriverSetup;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.io.File;
 import java.io.IOException;
@@ -209,7 +210,7 @@ public class PayTRUATTest extends BaseTest {
             
             for (Dimension size : screenSizes) {
                 driver.manage().window().setSize(size);
-                Thread.sleep(1000); // Wait for resize
+                SmartWait.settle(driver, 1000); // Wait for resize
                 
                 boolean pageLoaded = driver.findElements(By.tagName("body")).size() > 0;
                 String sizeResult = String.format("%dx%d: %s", size.width, size.height, pageLoaded ? "OK" : "FAIL");
@@ -23,6 +23,7 @@ import org.openqa.selenium.Dimension;
 import com.example.utils.WebDriverSetup;
 import com.example.utils.SafeWebDriverUtils;
 import com.example.utils.TestDataProvider;
+import com.example.utils.SmartWait;
 import io.qameta.allure.Description;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
@@ -279,7 +280,7 @@ public class PayTRUIElementsTest extends BaseTest {
             driver.get(baseURI + basePath);
             
             // Sayfa yüklenene kadar bekle
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // PayTR sayfasındaki form elementlerini bul
             java.util.List<WebElement> inputFields = driver.findElements(By.xpath("//input"));
@@ -352,7 +353,7 @@ public class PayTRUIElementsTest extends BaseTest {
             loginButton.click();
             
             // Yönlendirme kontrolü (5 saniye bekle)
-            Thread.sleep(5000);
+            SmartWait.settle(driver, 5000);
             
             String currentUrl = driver.getCurrentUrl();
             System.out.println("Login sonrası URL: " + currentUrl);
@@ -407,7 +408,7 @@ public class PayTRUIElementsTest extends BaseTest {
             loginButton.click();
             
             // Hata mesajı kontrolü
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             String pageSource = driver.getPageSource();
             boolean hasErrorMessage = pageSource.contains("hata") ||
@@ -446,7 +447,7 @@ public class PayTRUIElementsTest extends BaseTest {
             );
             loginButton.click();
             
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Validasyon mesajları kontrol et
             String pageSource = driver.getPageSource();
@@ -466,7 +467,7 @@ public class PayTRUIElementsTest extends BaseTest {
             emailField.sendKeys("invalid-email");
             
             loginButton.click();
-            Thread.sleep(1000);
+            SmartWait.settle(driver, 1000);
             
             pageSource = driver.getPageSource();
             boolean hasEmailValidation = pageSource.contains("geçersiz") ||
@@ -777,7 +778,7 @@ public class PayTRUIElementsTest extends BaseTest {
                 By.xpath("//button[@type='submit'] | //input[@type='submit']"));
             loginButton.click();
             
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String currentUrl = driver.getCurrentUrl();
             String pageSource = driver.getPageSource();
@@ -856,7 +857,7 @@ public class PayTRUIElementsTest extends BaseTest {
             driver.manage().window().setSize(new Dimension(375, 667)); // iPhone 6/7/8
             
             driver.get("https://www.paytr.com");
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Viewport meta tag kontrolü
             String pageSource = driver.getPageSource();
@@ -991,7 +992,7 @@ public class PayTRUIElementsTest extends BaseTest {
         try {
             // Geçersiz URL testi
             driver.get("https://zeus-uat.paytr.com/nonexistent-page");
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             String pageSource = driver.getPageSource();
             boolean has404Error = pageSource.contains("404") || 
@@ -1017,7 +1018,7 @@ public class PayTRUIElementsTest extends BaseTest {
             
             // Network error simulation
             driver.get("https://invalid-domain-that-does-not-exist.com");
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             String currentUrl = driver.getCurrentUrl();
             boolean networkErrorHandled = !currentUrl.contains("invalid-domain");
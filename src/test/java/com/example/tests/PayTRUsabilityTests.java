@@ -11,6 +11,7 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.interactions.Actions;
 import com.example.utils.WebDriverSetup;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 import java.util.Set;
@@ -93,7 +94,7 @@ public class PayTRUsabilityTests extends BaseTest {
                 
                 // Ekran boyutunu ayarla
                 driver.manage().window().setSize(size);
-                Thread.sleep(1000); // Resize için bekle
+                SmartWait.settle(driver, 1000); // Resize için bekle
                 
                 // Ana sayfayı yükle
                 driver.get(baseURI);
@@ -318,7 +319,7 @@ public class PayTRUsabilityTests extends BaseTest {
                     WebElement hamburger = hamburgerMenus.get(0);
                     if (hamburger.isDisplayed() && hamburger.isEnabled()) {
                         hamburger.click();
-                        Thread.sleep(1000);
+                        SmartWait.settle(driver, 1000);
                         logTestInfo(deviceName + " - Hamburger menu tıklandı");
                     }
                 }
@@ -508,7 +509,7 @@ public class PayTRUsabilityTests extends BaseTest {
                     
                     // Input focus testi
                     input.click();
-                    Thread.sleep(500);
+                    SmartWait.settle(driver, 500);
                     
                     // Active element kontrolü
                     WebElement activeElement = (WebElement) js.executeScript("return document.activeElement;");
@@ -565,7 +566,7 @@ public class PayTRUsabilityTests extends BaseTest {
                 WebElement submitButton = submitButtons.get(0);
                 if (submitButton.isDisplayed() && submitButton.isEnabled()) {
                     submitButton.click();
-                    Thread.sleep(2000);
+                    SmartWait.settle(driver, 2000);
                     
                     // Validation mesajları ara
                     List<WebElement> validationMessages = driver.findElements(By.xpath(
@@ -633,11 +634,11 @@ public class PayTRUsabilityTests extends BaseTest {
                 WebElement element = focusableElements.get(i);
                 if (element.isDisplayed() && element.isEnabled()) {
                     element.click();
-                    Thread.sleep(300);
+                    SmartWait.settle(driver, 300);
                     
                     // Tab tuşu simülasyonu
                     actions.sendKeys(org.openqa.selenium.Keys.TAB).perform();
-                    Thread.sleep(300);
+                    SmartWait.settle(driver, 300);
                 }
             }
             
@@ -662,7 +663,7 @@ public class PayTRUsabilityTests extends BaseTest {
                     
                     if (!submitButtons.isEmpty()) {
                         submitButtons.get(0).click();
-                        Thread.sleep(2000);
+                        SmartWait.settle(driver, 2000);
                         
                         // Error mesajı kontrolü
                         String validationMessage = emailInput.getAttribute("validationMessage");
@@ -795,7 +796,7 @@ public class PayTRUsabilityTests extends BaseTest {
             // Basit tab navigation testi
             if (focusableCount > 0) {
                 actions.sendKeys(org.openqa.selenium.Keys.TAB).perform();
-                Thread.sleep(500);
+                SmartWait.settle(driver, 500);
                 
                 WebElement activeElement = (WebElement) js.executeScript("return document.activeElement;");
                 if (activeElement != null) {
@@ -846,7 +847,7 @@ public class PayTRUsabilityTests extends BaseTest {
                 WebElement element = focusableElements.get(i);
                 if (element.isDisplayed() && element.isEnabled()) {
                     element.click();
-                    Thread.sleep(300);
+                    SmartWait.settle(driver, 300);
                     
                     // Focus style kontrolü (CSS)
                     String outline = (String) js.executeScript(
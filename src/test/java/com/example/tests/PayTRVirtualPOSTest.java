@@ -11,6 +11,7 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import com.example.utils.WebDriverSetup;
+import com.example.utils.SmartWait;
 import java.time.Duration;
 import java.util.List;
 import static io.restassured.RestAssured.*;
@@ -84,7 +85,7 @@ public class PayTRVirtualPOSTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(3000); // PayTR sayfası yüklenme süresi
+            SmartWait.settle(driver, 3000); // PayTR sayfası yüklenme süresi
             
             // PayTR spesifik ödeme formu elementlerini ara
             List<WebElement> cardNumberFields = driver.findElements(By.xpath(
@@ -172,7 +173,7 @@ public class PayTRVirtualPOSTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Kart numarası alanını bul ve doldur
             List<WebElement> cardFields = driver.findElements(By.xpath(
@@ -226,7 +227,7 @@ public class PayTRVirtualPOSTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // Ödeme işlem akışını test et
             String pageSource = driver.getPageSource();
@@ -283,7 +284,7 @@ public class PayTRVirtualPOSTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // HTTPS kontrolü
             String currentUrl = driver.getCurrentUrl();
@@ -339,7 +340,7 @@ public class PayTRVirtualPOSTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(3000);
+            SmartWait.settle(driver, 3000);
             
             // PayTR logo ve branding kontrolü
             List<WebElement> paytrLogos = driver.findElements(By.xpath(
@@ -392,7 +393,7 @@ public class PayTRVirtualPOSTest extends BaseTest {
         
         try {
             driver.get(baseURI + basePath);
-            Thread.sleep(2000);
+            SmartWait.settle(driver, 2000);
             
             // Geçersiz kart numarası ile test
             List<WebElement> cardFields = driver.findElements(By.xpath(
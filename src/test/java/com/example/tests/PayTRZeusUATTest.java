@@ -44,7 +44,8 @@ public class PayTRZeusUATTest extends BaseTest {
     @AfterClass
     public void tearDown() {
         if (driver != null) {
-            driver.quit();
+            // Driver WebDriverSetup'tan alındı; havuza iade edilir
+            WebDriverSetup.quitDriver();
         }
     }
     
@@ -0,0 +1,125 @@
+package com.example.tests;
+
+import com.example.listeners.RetryScheduler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Retry Scheduler Test Class
+ * Suite geneli retry bütçesini, bekleme slotlarını ve grup bazlı erken uyanmayı test eder
+ * Yapıcı paket içi olduğu için method handle ile çağrılır.
+ */
+public class RetrySchedulerTest {
+
+    private static RetryScheduler newScheduler(long baseDelayMillis, long maxDelayMillis, int maxWaiting,
+                                               int fixedBudget, double budgetRatio, int minBudget) throws Throwable {
+        MethodHandle constructor = MethodHandles.privateLookupIn(RetryScheduler.class, MethodHandles.lookup())
+                .findConstructor(RetryScheduler.class, MethodType.methodType(void.class,
+                        long.class, long.class, int.class, int.class, double.class, int.class));
+        return (RetryScheduler) constructor.invoke(baseDelayMillis, maxDelayMillis, maxWaiting,
+                fixedBudget, budgetRatio, minBudget);
+    }
+
+    @Test(priority = 1, groups = {"retry", "component"})
+    public void testBudgetScalesWithPlannedTests() throws Throwable {
+        System.out.println("🧪 Retry bütçesi testi başlatılıyor...");
+
+        RetryScheduler scheduler = newScheduler(0, 0, 2, -1, 0.1, 3);
+        Assert.assertEquals(scheduler.getBudget(), 3, "Planlanan test yokken minimum bütçe");
+        scheduler.addPlannedTests(95);
+        Assert.assertEquals(scheduler.getBudget(), 10, "Bütçe planlanan testlerin %10'u (yukarı yuvarlanır)");
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(scheduler.tryAcquireRetry(), (i + 1) + ". retry bütçeden karşılanmalı");
+        }
+        Assert.assertFalse(scheduler.tryAcquireRetry(), "Bütçe tükenince retry reddedilmeli");
+        Assert.assertEquals(scheduler.getMetrics().get("retriesGranted"), 10);
+        Assert.assertEquals(scheduler.getMetrics().get("budgetRejections"), 1L);
+
+        RetryScheduler fixed = newScheduler(0, 0, 2, 1, 0.5, 3);
+        fixed.addPlannedTests(100);
+        Assert.assertEquals(fixed.getBudget(), 1, "Sabit bütçe oranı ezmeli");
+
+        System.out.println("✅ Bütçe: " + scheduler.getMetrics());
+    }
+
+    @Test(priority = 2, groups = {"retry", "component"}, timeOut = 30000)
+    public void testBudgetIsNotExceededUnderContention() throws Throwable {
+        System.out.println("🧪 Eşzamanlı bütçe testi başlatılıyor...");
+
+        RetryScheduler scheduler = newScheduler(0, 0, 2, 25, 0, 0);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch go = new CountDownLatch(1);
+            ConcurrentLinkedQueue<Boolean> grants = new ConcurrentLinkedQueue<>();
+            for (int i = 0; i < 200; i++) {
+                pool.submit(() -> {
+                    go.await();
+                    grants.add(scheduler.tryAcquireRetry());
+                    return null;
+                });
+            }
+            go.countDown();
+            pool.shutdown();
+            Assert.assertTrue(pool.awaitTermination(20, TimeUnit.SECONDS));
+            Assert.assertEquals(grants.stream().filter(Boolean::booleanValue).count(), 25L, "Bütçe aşılmamalı");
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("✅ 200 eşzamanlı istekten tam 25 retry verildi");
+    }
+
+    @Test(priority = 3, groups = {"retry", "component"}, timeOut = 30000)
+    public void testFullWaitingSlotsRetryImmediately() throws Throwable {
+        System.out.println("🧪 Bekleme slotu testi başlatılıyor...");
+
+        // Jitter'lı gecikme 0-60 sn arası; bekleme erken uyanmayla bitirilir
+        RetryScheduler scheduler = newScheduler(60_000, 60_000, 1, -1, 0, 10);
+        AtomicReference<Thread> waiterThread = new AtomicReference<>();
+        long failedAt = System.nanoTime();
+        CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(() -> {
+            waiterThread.set(Thread.currentThread());
+            return scheduler.awaitBackoff("PaymentTests", 1, failedAt);
+        });
+
+        // Bekleyen thread park edildiğinde tek slot doludur
+        while (waiterThread.get() == null || waiterThread.get().getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+        Assert.assertEquals(scheduler.awaitBackoff("PaymentTests", 1, System.nanoTime()), 0L,
+                "Slot doluyken retry beklemeden yapılmalı, reddedilmemeli");
+        Assert.assertEquals(scheduler.getMetrics().get("slotBypasses"), 1L);
+
+        scheduler.signalSuccess("PaymentTests");
+        Assert.assertTrue(waiter.get(10, TimeUnit.SECONDS) >= 0, "Aynı grubun başarısı bekleyeni uyandırmalı");
+        Assert.assertEquals(scheduler.getMetrics().get("earlyWakeups"), 1L);
+
+        System.out.println("✅ Bekleme slotu: " + scheduler.getMetrics());
+    }
+
+    @Test(priority = 4, groups = {"retry", "component"}, timeOut = 30000)
+    public void testUnrelatedGroupDoesNotWakeWaiter() throws Throwable {
+        System.out.println("🧪 Grup bazlı erken uyanma testi başlatılıyor...");
+
+        RetryScheduler scheduler = newScheduler(400, 400, 1, -1, 0, 10);
+        long failedAt = System.nanoTime();
+        CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(
+                () -> scheduler.awaitBackoff("PaymentTests", 1, failedAt));
+
+        Thread.sleep(20);
+        scheduler.signalSuccess("LoginTests");
+        waiter.get(10, TimeUnit.SECONDS);
+
+        Assert.assertEquals(scheduler.getMetrics().get("earlyWakeups"), 0L,
+                "Başka bir sınıfın başarısı bekleyen retry'ı uyandırmamalı");
+
+        System.out.println("✅ İlgisiz grup bekleyeni uyandırmadı");
+    }
+}
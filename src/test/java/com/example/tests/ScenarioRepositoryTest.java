@@ -0,0 +1,235 @@
+package com.example.tests;
+
+import com.example.repository.ScenarioRepository;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Scenario Repository Test Class
+ * Snapshot + append-only log kalıcılığını test eder: sıkıştırma sonrası yeniden oynatma,
+ * sıkıştırma ortasında çökme ve sıkıştırma sırasında eşzamanlı ekleme/silme
+ */
+public class ScenarioRepositoryTest {
+
+    private static final String SNAPSHOT = "test-scenarios.json";
+    private static final String LOG = "test-scenarios.log";
+
+    private Path workDir;
+    private final List<ScenarioRepository> openRepositories = new ArrayList<>();
+
+    @BeforeMethod(alwaysRun = true)
+    public void createWorkDir() throws IOException {
+        workDir = Files.createTempDirectory("scenario-repository-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        for (ScenarioRepository repository : openRepositories) {
+            repository.stop();
+        }
+        openRepositories.clear();
+        deleteRecursively(workDir);
+    }
+
+    @Test(priority = 1, groups = {"repository", "component"})
+    public void testReplayAfterCompaction() throws IOException {
+        System.out.println("🧪 Sıkıştırma sonrası log yeniden oynatma testi başlatılıyor...");
+
+        Path primary = Files.createDirectory(workDir.resolve("primary"));
+        ScenarioRepository repository = open(primary, 0);
+        repository.add(scenario("Login", "login", "high"));
+        repository.add(scenario("Ödeme", "api", "medium"));
+        repository.add(scenario("Rapor", "ui", "low"));
+        repository.compact();
+
+        Assert.assertEquals(Files.size(primary.resolve(LOG)), 0L, "Sıkıştırma sonrası log boş olmalı");
+
+        // Sıkıştırmadan sonraki değişiklikler yalnızca log'da durur
+        repository.update("2", scenario("Ödeme v2", "api", "high"));
+        Assert.assertTrue(repository.delete("1"), "Var olan senaryo silinebilmeli");
+        repository.add(scenario("İade", "api", "low"));
+
+        // Kapanış yapılmadan (çökme gibi) dosyaların kopyası açılır; stop() sıkıştırması devreye girmez
+        Path crashCopy = copyFiles(primary, workDir.resolve("replay"));
+        ScenarioRepository replayed = open(crashCopy, 0);
+
+        Assert.assertEquals(byId(replayed), byId(repository), "Snapshot + log yeniden oynatması bellekle aynı olmalı");
+        Assert.assertFalse(replayed.findById("1").isPresent(), "Silinen senaryo geri gelmemeli");
+        Assert.assertEquals(replayed.findById("2").get().get("name"), "Ödeme v2", "Güncelleme log'dan uygulanmalı");
+        Assert.assertEquals(replayed.countByCategory().get("api"), Long.valueOf(2), "Kategori indeksi yeniden kurulmalı");
+        Assert.assertFalse(replayed.countByCategory().containsKey("login"), "Boşalan kategori indeksten düşmeli");
+        Assert.assertEquals(replayed.countByPriority().get("high"), Long.valueOf(1), "Öncelik indeksi yeniden kurulmalı");
+
+        // Id üretimi snapshot + log'daki en büyük id'den devam etmeli
+        Assert.assertEquals(replayed.add(scenario("Yeni", "ui", "low")).get("id"), "5");
+
+        System.out.println("✅ Sıkıştırma sonrası " + replayed.size() + " senaryo doğru yeniden oynatıldı");
+    }
+
+    @Test(priority = 2, groups = {"repository", "component"})
+    public void testCrashDuringCompactionLeavesPreviousStateReadable() throws IOException {
+        System.out.println("🧪 Sıkıştırma ortasında çökme testi başlatılıyor...");
+
+        Path primary = Files.createDirectory(workDir.resolve("primary"));
+        ScenarioRepository repository = open(primary, 0);
+        repository.add(scenario("Login", "login", "high"));
+        repository.add(scenario("Ödeme", "api", "medium"));
+        repository.compact();
+        repository.add(scenario("İade", "api", "low"));
+        repository.delete("1");
+        Map<String, Map<String, Object>> expected = byId(repository);
+
+        // 1) Geçici snapshot yarım yazılmışken çökme: asıl snapshot ve log hâlâ geçerli
+        Path beforeMove = copyFiles(primary, workDir.resolve("before-move"));
+        Files.writeString(beforeMove.resolve(SNAPSHOT + ".tmp"), "[{\"id\":\"9\",\"name\":\"yar", StandardCharsets.UTF_8);
+        ScenarioRepository recovered = open(beforeMove, 0);
+        Assert.assertEquals(byId(recovered), expected, "Yarım geçici dosya yüklemeyi etkilememeli");
+        Assert.assertFalse(recovered.findById("9").isPresent(), "Geçici dosyadaki kayıt yüklenmemeli");
+
+        // Sonraki sıkıştırma artık geçici dosyanın üzerine yazabilmeli
+        recovered.compact();
+        Assert.assertFalse(Files.exists(beforeMove.resolve(SNAPSHOT + ".tmp")), "Geçici dosya taşınmış olmalı");
+        Assert.assertEquals(byId(open(copyFiles(beforeMove, workDir.resolve("after-retry")), 0)), expected);
+
+        // 2) Snapshot taşındıktan sonra, log kesilmeden çökme: log kayıtları ikinci kez uygulanır
+        byte[] staleLog = Files.readAllBytes(primary.resolve(LOG));
+        repository.compact();
+        Path afterMove = copyFiles(primary, workDir.resolve("after-move"));
+        Files.write(afterMove.resolve(LOG), staleLog);
+        Assert.assertEquals(byId(open(afterMove, 0)), expected, "Log'un tekrar uygulanması durumu değiştirmemeli");
+
+        // 3) Son log satırı yarım yazılmışken çökme: bozuk satır atlanır
+        Path tornLog = copyFiles(primary, workDir.resolve("torn-log"));
+        Files.write(tornLog.resolve(LOG), staleLog);
+        Files.writeString(tornLog.resolve(LOG), "{\"op\":\"put\",\"data\":{\"id\":\"",
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Assert.assertEquals(byId(open(tornLog, 0)), expected, "Yarım log satırı atlanmalı");
+
+        System.out.println("✅ Üç çökme noktasında da önceki durum okunabildi");
+    }
+
+    @Test(priority = 3, groups = {"repository", "component"}, timeOut = 60000)
+    public void testConcurrentAddAndDeleteDuringCompaction() throws Exception {
+        System.out.println("🧪 Sıkıştırma sırasında eşzamanlı ekleme/silme testi başlatılıyor...");
+
+        int writers = 4;
+        int scenariosPerWriter = 200;
+        Path primary = Files.createDirectory(workDir.resolve("primary"));
+        // Düşük eşik, yazıcıların kendi sıkıştırmalarını da tetikler
+        ScenarioRepository repository = open(primary, 25);
+        Set<String> expectedIds = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<Integer> compactor = pool.submit(() -> {
+                int compactions = 0;
+                while (writing.get()) {
+                    repository.compact();
+                    compactions++;
+                }
+                return compactions;
+            });
+
+            List<Future<?>> writerFutures = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                String category = "category-" + writer;
+                writerFutures.add(pool.submit(() -> {
+                    for (int i = 0; i < scenariosPerWriter; i++) {
+                        String id = (String) repository.add(scenario("Senaryo " + i, category, "medium")).get("id");
+                        if (i % 3 == 0) {
+                            Assert.assertTrue(repository.delete(id), "Yeni eklenen senaryo silinebilmeli: " + id);
+                        } else {
+                            expectedIds.add(id);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : writerFutures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            int compactions = compactor.get(30, TimeUnit.SECONDS);
+            Assert.assertTrue(compactions > 0, "Yazım sırasında en az bir sıkıştırma yapılmalı");
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+
+        Assert.assertEquals(repository.size(), expectedIds.size(), "Bellekteki senaryo sayısı");
+        Assert.assertEquals(byId(repository).keySet(), expectedIds, "Bellekteki id'ler");
+        Assert.assertEquals(repository.add(scenario("Son", "api", "low")).get("id"),
+                String.valueOf(writers * scenariosPerWriter + 1), "Eşzamanlı eklemelerde id çakışmamalı");
+        Map<String, Map<String, Object>> expected = byId(repository);
+
+        // Çökme anındaki dosyalar ve düzgün kapanış sonrası dosyalar aynı durumu vermeli
+        Assert.assertEquals(byId(open(copyFiles(primary, workDir.resolve("crash")), 0)), expected,
+                "Kapanışsız snapshot + log eşzamanlı yazımları kaybetmemeli");
+        repository.stop();
+        openRepositories.remove(repository);
+        Assert.assertEquals(byId(open(primary, 0)), expected, "Kapanış sıkıştırması eşzamanlı yazımları kaybetmemeli");
+
+        System.out.println("✅ " + expected.size() + " senaryo eşzamanlı sıkıştırma sonrası korundu");
+    }
+
+    private ScenarioRepository open(Path directory, int compactionThreshold) throws IOException {
+        ScenarioRepository repository = new ScenarioRepository(directory.resolve(SNAPSHOT).toString(),
+                directory.resolve(LOG).toString(), compactionThreshold, 0);
+        repository.start();
+        openRepositories.add(repository);
+        return repository;
+    }
+
+    private static Map<String, Object> scenario(String name, String category, String priority) {
+        Map<String, Object> scenario = new LinkedHashMap<>();
+        scenario.put("name", name);
+        scenario.put("category", category);
+        scenario.put("priority", priority);
+        return scenario;
+    }
+
+    private static Map<String, Map<String, Object>> byId(ScenarioRepository repository) {
+        Map<String, Map<String, Object>> scenarios = new TreeMap<>();
+        for (Map<String, Object> scenario : repository.findAll()) {
+            scenarios.put((String) scenario.get("id"), new HashMap<>(scenario));
+        }
+        return scenarios;
+    }
+
+    private static Path copyFiles(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        for (String name : List.of(SNAPSHOT, LOG)) {
+            if (Files.exists(source.resolve(name))) {
+                Files.copy(source.resolve(name), target.resolve(name), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return target;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.tests;
+
+import com.example.integration.ScenarioScheduler;
+import com.example.integration.TestResult;
+import com.example.integration.TestScenario;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scenario Scheduler Test Class
+ * Öncelik sırasını, kategori eşzamanlılık limitlerini ve iptal sırasında
+ * çalışan senaryoların boşaltılmasını test eder
+ */
+public class ScenarioSchedulerTest {
+
+    @Test(priority = 1, groups = {"scheduler", "component"}, timeOut = 30000)
+    public void testHigherPriorityScenariosStartFirst() throws Exception {
+        System.out.println("🧪 Öncelik sırası testi başlatılıyor...");
+
+        ExecutorService workers = Executors.newSingleThreadExecutor();
+        try {
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            ScenarioScheduler scheduler = new ScenarioScheduler(workers, 1, Map.of("default", 1));
+            scheduler.run(List.of(
+                            scenario("TC_1", "api", "low"),
+                            scenario("TC_2", "ui", "high"),
+                            scenario("TC_3", "api", "medium"),
+                            scenario("TC_4", "login", "high")),
+                    scenario -> {
+                        order.add(scenario.getId());
+                        return new TestResult(scenario.getId(), scenario.getName());
+                    },
+                    result -> { })
+                    .get(10, TimeUnit.SECONDS);
+
+            // Aynı öncelikte gönderim sırası korunur
+            Assert.assertEquals(order, List.of("TC_2", "TC_4", "TC_3", "TC_1"), "Çalışma sırası");
+            System.out.println("✅ Senaryolar öncelik sırasıyla çalıştı: " + order);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test(priority = 2, groups = {"scheduler", "component"}, timeOut = 30000)
+    public void testCategoryLimitsAreRespected() throws Exception {
+        System.out.println("🧪 Kategori eşzamanlılık limiti testi başlatılıyor...");
+
+        ExecutorService workers = Executors.newFixedThreadPool(6);
+        try {
+            Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+            Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+            List<TestResult> results = Collections.synchronizedList(new ArrayList<>());
+            List<TestScenario> scenarios = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                scenarios.add(scenario("API_" + i, "api", "high"));
+                scenarios.add(scenario("UI_" + i, "ui", "medium"));
+            }
+
+            ScenarioScheduler scheduler = new ScenarioScheduler(workers, 6, Map.of("api", 1, "ui", 2));
+            scheduler.run(scenarios,
+                    scenario -> {
+                        String category = scenario.getCategory();
+                        int now = running.computeIfAbsent(category, key -> new AtomicInteger()).incrementAndGet();
+                        peak.computeIfAbsent(category, key -> new AtomicInteger()).accumulateAndGet(now, Math::max);
+                        try {
+                            Thread.sleep(20);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        } finally {
+                            running.get(category).decrementAndGet();
+                        }
+                        return new TestResult(scenario.getId(), scenario.getName());
+                    },
+                    results::add)
+                    .get(20, TimeUnit.SECONDS);
+
+            Assert.assertEquals(results.size(), scenarios.size(), "Tüm sonuçlar bildirilmeli");
+            Assert.assertEquals(peak.get("api").get(), 1, "api limiti 1");
+            Assert.assertTrue(peak.get("ui").get() <= 2, "ui limiti 2, gözlenen: " + peak.get("ui").get());
+            System.out.println("✅ Kategori limitleri korundu: " + peak);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test(priority = 3, groups = {"scheduler", "component"}, timeOut = 30000)
+    public void testCancelWaitsForRunningScenariosAndDropsTheirResults() throws Exception {
+        System.out.println("🧪 İptal sırasında boşaltma testi başlatılıyor...");
+
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch started = new CountDownLatch(2);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger invocations = new AtomicInteger();
+            List<TestResult> results = Collections.synchronizedList(new ArrayList<>());
+            List<TestScenario> scenarios = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                scenarios.add(scenario("TC_" + i, "api", "high"));
+            }
+
+            ScenarioScheduler scheduler = new ScenarioScheduler(workers, 2, Map.of("api", 2));
+            CompletableFuture<Void> completion = scheduler.run(scenarios,
+                    scenario -> {
+                        invocations.incrementAndGet();
+                        started.countDown();
+                        // Kesintiyi yok sayan yavaş senaryo; iptalden sonra geç sonuç üretir
+                        boolean interrupted = false;
+                        while (release.getCount() > 0) {
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                interrupted = true;
+                            }
+                        }
+                        if (interrupted) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new TestResult(scenario.getId(), scenario.getName());
+                    },
+                    results::add);
+
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS), "İki senaryo başlamalı");
+            scheduler.cancel();
+            Assert.assertTrue(scheduler.isCancelled());
+            Assert.assertFalse(completion.isDone(), "Çalışan senaryolar bitmeden tamamlanma bildirilmemeli");
+
+            release.countDown();
+            completion.get(10, TimeUnit.SECONDS);
+
+            Assert.assertEquals(invocations.get(), 2, "Bekleyen senaryolar iptal sonrası başlatılmamalı");
+            Assert.assertTrue(results.isEmpty(), "İptal sonrası geç sonuçlar dinleyiciye iletilmemeli");
+            System.out.println("✅ İptal çalışan senaryoları bekledi, geç sonuçlar düşürüldü");
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static TestScenario scenario(String id, String category, String priority) {
+        TestScenario scenario = new TestScenario();
+        scenario.setId(id);
+        scenario.setName(id);
+        scenario.setCategory(category);
+        scenario.setPriority(priority);
+        return scenario;
+    }
+}
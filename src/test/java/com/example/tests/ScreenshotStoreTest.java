@@ -0,0 +1,135 @@
+package com.example.tests;
+
+import com.example.utils.ScreenshotStore;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Screenshot Store Test Class
+ * İçerik tekilleştirmeyi, kota aşımında LRU tahliyeyi, references.tsv ayıklamayı ve
+ * bu koşuda referans verilmiş içeriklerin korunmasını test eder
+ */
+public class ScreenshotStoreTest {
+
+    private static final int BLOB_BYTES = 1000;
+
+    private Path root;
+
+    @BeforeMethod(alwaysRun = true)
+    public void createRoot() throws IOException {
+        root = Files.createTempDirectory("screenshot-store-test");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(priority = 1, groups = {"screenshot", "component"})
+    public void testSameContentIsStoredOnce() throws IOException {
+        System.out.println("🧪 Screenshot tekilleştirme testi başlatılıyor...");
+
+        ScreenshotStore store = new ScreenshotStore(root, 1024 * 1024);
+        AtomicInteger encodes = new AtomicInteger();
+        ScreenshotStore.ContentEncoder encoder = () -> {
+            encodes.incrementAndGet();
+            return new byte[BLOB_BYTES];
+        };
+
+        Path first = store.put(hash("aa"), "jpg", "LoginTest_retry1.jpg", encoder);
+        Path second = store.put(hash("aa"), "jpg", "LoginTest_retry2.jpg", encoder);
+
+        Assert.assertEquals(second, first, "Aynı içerik aynı dosyaya işaret etmeli");
+        Assert.assertEquals(encodes.get(), 1, "Kodlayıcı yalnızca ilk kayıtta çalışmalı");
+        Assert.assertEquals(store.getStoredBytes(), (long) BLOB_BYTES);
+        Assert.assertEquals(store.getBytesSaved(), (long) BLOB_BYTES);
+        Assert.assertEquals(referenceLines().size(), 2, "Her test adı için bir referans satırı");
+
+        System.out.println("✅ Tekilleştirme: " + store.getStatistics());
+    }
+
+    @Test(priority = 2, groups = {"screenshot", "component"})
+    public void testPreviousRunContentIsEvictedInLruOrder() throws IOException {
+        System.out.println("🧪 Kota aşımında LRU tahliye testi başlatılıyor...");
+
+        ScreenshotStore previousRun = new ScreenshotStore(root, 1024 * 1024);
+        long now = System.currentTimeMillis();
+        String[] old = {hash("a1"), hash("a2"), hash("a3"), hash("a4")};
+        for (int i = 0; i < old.length; i++) {
+            Path path = previousRun.put(old[i], "jpg", "OldTest" + i + ".jpg", () -> new byte[BLOB_BYTES]);
+            // a1 en eski, a4 en yeni kullanılan
+            Files.setLastModifiedTime(path, FileTime.fromMillis(now - TimeUnit.HOURS.toMillis(old.length - i)));
+        }
+
+        // Yeni koşu 4000 byte kota ile açılır; hedef kotanın %90'ı
+        ScreenshotStore store = new ScreenshotStore(root, 4000);
+        String current = hash("b1");
+        Path currentPath = store.put(current, "jpg", "NewTest.jpg", () -> new byte[BLOB_BYTES]);
+
+        Assert.assertFalse(Files.exists(store.pathFor(old[0], "jpg")), "En eski içerik silinmeli");
+        Assert.assertFalse(Files.exists(store.pathFor(old[1], "jpg")), "İkinci en eski içerik silinmeli");
+        Assert.assertTrue(Files.exists(store.pathFor(old[2], "jpg")), "Kota altına inilince tahliye durmalı");
+        Assert.assertTrue(Files.exists(store.pathFor(old[3], "jpg")), "En yeni eski içerik korunmalı");
+        Assert.assertTrue(Files.exists(currentPath), "Bu koşunun içeriği korunmalı");
+        Assert.assertEquals(store.getStatistics().get("evictions"), 2L);
+
+        List<String> lines = referenceLines();
+        Assert.assertTrue(lines.stream().noneMatch(line -> line.contains(old[0]) || line.contains(old[1])),
+                "Silinen içeriklerin referans satırları ayıklanmalı: " + lines);
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.contains(old[2])), "Canlı içeriğin referansı kalmalı");
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.contains(current)), "Yeni referans yazılmalı");
+        Assert.assertEquals(store.getStatistics().get("referencesBytes"), Files.size(root.resolve("references.tsv")),
+                "references.tsv boyutu kotaya doğru sayılmalı");
+        Assert.assertTrue(store.getStoredBytes() + Files.size(root.resolve("references.tsv")) <= 4000,
+                "Tahliye sonrası kullanım kota altında olmalı");
+
+        System.out.println("✅ LRU tahliye: " + store.getStatistics());
+    }
+
+    @Test(priority = 3, groups = {"screenshot", "component"})
+    public void testContentReferencedThisRunIsNeverEvicted() throws IOException {
+        System.out.println("🧪 Bu koşunun içeriklerini koruma testi başlatılıyor...");
+
+        ScreenshotStore store = new ScreenshotStore(root, 2500);
+        for (String label : new String[] {"c1", "c2", "c3", "c4"}) {
+            store.put(hash(label), "jpg", label + ".jpg", () -> new byte[BLOB_BYTES]);
+        }
+
+        Assert.assertEquals(store.getStatistics().get("blobs"), 4, "Raporların işaret ettiği içerikler silinmemeli");
+        Assert.assertEquals(store.getStatistics().get("evictions"), 0L);
+        Assert.assertEquals(store.evictOlderThan(System.currentTimeMillis() + 60_000), 0,
+                "Yaşa göre temizlik de bu koşunun içeriklerine dokunmamalı");
+
+        // Önceki koşunun hiç referans verilmemiş içerikleri yaşa göre silinebilir
+        ScreenshotStore nextRun = new ScreenshotStore(root, 1024 * 1024);
+        Assert.assertEquals(nextRun.evictOlderThan(System.currentTimeMillis() + 60_000), 4);
+        Assert.assertEquals(nextRun.getStoredBytes(), 0L);
+        Assert.assertTrue(referenceLines().isEmpty(), "Tüm referans satırları ayıklanmalı");
+
+        System.out.println("✅ Bu koşunun içerikleri korundu, sonraki koşuda temizlendi");
+    }
+
+    private static String hash(String prefix) {
+        return prefix + "0".repeat(62);
+    }
+
+    private List<String> referenceLines() throws IOException {
+        Path file = root.resolve("references.tsv");
+        return Files.exists(file) ? Files.readAllLines(file, StandardCharsets.UTF_8) : List.of();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.tests;
+
+import com.example.web.StaticAssetCache;
+import com.example.web.WebController;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Web Controller Test Class
+ * Arayüz dosyalarının ETag, 304 ve gzip yanıtlarını test eder
+ * Dosyalar proje kök dizinindeki test-scenario-manager.js'den okunur.
+ */
+public class WebControllerTest {
+
+    private static final String ASSET = "test-scenario-manager.js";
+
+    private WebController controller;
+    private byte[] original;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws IOException {
+        // Watcher başlatılmaz; önbellek her istekte değişiklik zamanını kontrol eder
+        controller = new WebController(new StaticAssetCache(), 0);
+        original = Files.readAllBytes(Paths.get(ASSET));
+    }
+
+    @Test(priority = 1, groups = {"web", "component"})
+    public void testPlainResponseCarriesEtagAndVary() {
+        System.out.println("🧪 ETag ve Vary başlık testi başlatılıyor...");
+
+        ResponseEntity<byte[]> response = controller.javascript(null, null);
+
+        Assert.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assert.assertNotNull(response.getHeaders().getETag(), "ETag başlığı olmalı");
+        Assert.assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING), "Vary: Accept-Encoding olmalı");
+        Assert.assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "gzip istenmediyse sıkıştırılmamalı");
+        Assert.assertEquals(response.getBody(), original, "Ham içerik dosyayla aynı olmalı");
+
+        System.out.println("✅ ETag: " + response.getHeaders().getETag());
+    }
+
+    @Test(priority = 2, groups = {"web", "component"})
+    public void testAcceptEncodingGzipReturnsGzipBody() throws IOException {
+        System.out.println("🧪 gzip yanıt testi başlatılıyor...");
+
+        ResponseEntity<byte[]> plain = controller.javascript(null, null);
+        ResponseEntity<byte[]> response = controller.javascript(null, "br;q=1.0, gzip;q=0.8");
+
+        Assert.assertEquals(response.getStatusCode(), HttpStatus.OK);
+        Assert.assertEquals(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "gzip");
+        Assert.assertNotEquals(response.getHeaders().getETag(), plain.getHeaders().getETag(),
+                "gzip'li gösterim ayrı bir ETag taşımalı");
+        Assert.assertTrue(response.getBody().length < original.length, "gzip'li gövde daha küçük olmalı");
+        Assert.assertEquals(gunzip(response.getBody()), original, "Açılan gövde dosyayla aynı olmalı");
+
+        ResponseEntity<byte[]> refused = controller.javascript(null, "gzip;q=0");
+        Assert.assertNull(refused.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING), "q=0 gzip'i reddetmeli");
+
+        System.out.println("✅ gzip: " + original.length + " → " + response.getBody().length + " byte");
+    }
+
+    @Test(priority = 3, groups = {"web", "component"})
+    public void testIfNoneMatchReturnsNotModified() {
+        System.out.println("🧪 If-None-Match 304 testi başlatılıyor...");
+
+        String etag = controller.javascript(null, null).getHeaders().getETag();
+        String gzipEtag = controller.javascript(null, "gzip").getHeaders().getETag();
+
+        for (String ifNoneMatch : new String[] {etag, "W/" + etag, "\"eski\", " + gzipEtag, "*"}) {
+            ResponseEntity<byte[]> response = controller.javascript(ifNoneMatch, "gzip");
+            Assert.assertEquals(response.getStatusCode(), HttpStatus.NOT_MODIFIED, "If-None-Match: " + ifNoneMatch);
+            Assert.assertNull(response.getBody(), "304 gövdesiz olmalı");
+            Assert.assertEquals(response.getHeaders().getETag(), gzipEtag, "304 seçilen gösterimin ETag'ini taşımalı");
+            Assert.assertTrue(response.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+            Assert.assertNotNull(response.getHeaders().getCacheControl(), "304 Cache-Control taşımalı");
+        }
+
+        ResponseEntity<byte[]> stale = controller.javascript("\"eski\"", null);
+        Assert.assertEquals(stale.getStatusCode(), HttpStatus.OK, "Eşleşmeyen ETag tam yanıt almalı");
+        Assert.assertEquals(stale.getBody(), original);
+
+        System.out.println("✅ Eşleşen ETag'ler 304 aldı");
+    }
+
+    private static byte[] gunzip(byte[] gzipped) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 import org.json.JSONObject;
 import org.json.JSONArray;
+import java.time.Duration;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
@@ -20,6 +21,8 @@ public class APITestUtils {
     private String authToken;
     
     public APITestUtils() {
+        // İstekler paylaşılan bağlantı havuzu üzerinden gider
+        HttpClientPool.install();
         this.defaultHeaders = new HashMap<>();
         setupDefaultHeaders();
     }
@@ -321,46 +324,37 @@ public class APITestUtils {
     
     /**
      * API performance metriklerini toplar
+     * İstekler 10 istek/sn sabit hızla (eski 100 ms aralığa denk) açık modelde gönderilir;
+     * yanıt gecikse de sonraki istekler planlanan zamanda başlar
      */
     public Map<String, Object> collectPerformanceMetrics(String endpoint, int requestCount) {
         Map<String, Object> metrics = new HashMap<>();
-        List<Long> responseTimes = new ArrayList<>();
-        int successCount = 0;
-        int errorCount = 0;
         
         try {
-            for (int i = 0; i < requestCount; i++) {
-                long startTime = System.currentTimeMillis();
-                Response response = sendGetRequest(endpoint);
-                long endTime = System.currentTimeMillis();
-                
-                long responseTime = endTime - startTime;
-                responseTimes.add(responseTime);
-                
-                if (isSuccessStatusCode(response.getStatusCode())) {
-                    successCount++;
-                } else {
-                    errorCount++;
-                }
-                
-                // Kısa bekleme
-                Thread.sleep(100);
-            }
-            
-            // Metrikleri hesapla
-            long totalTime = responseTimes.stream().mapToLong(Long::longValue).sum();
-            long avgResponseTime = totalTime / requestCount;
-            long minResponseTime = responseTimes.stream().mapToLong(Long::longValue).min().orElse(0);
-            long maxResponseTime = responseTimes.stream().mapToLong(Long::longValue).max().orElse(0);
+            LoadGenerator loadGenerator = LoadGenerator.builder()
+                .steady(Duration.ofMillis(requestCount * 100L), 10)
+                .maxRequests(requestCount)
+                .virtualThreads(true)
+                .successWhen(response -> isSuccessStatusCode(response.getStatusCode()))
+                .build();
+            LoadGenerator.Result result = loadGenerator.run(sequence -> sendGetRequest(endpoint));
+            LatencyHistogram latency = result.getLatency();
             
             metrics.put("requestCount", requestCount);
-            metrics.put("successCount", successCount);
-            metrics.put("errorCount", errorCount);
-            metrics.put("successRate", (double) successCount / requestCount * 100);
-            metrics.put("avgResponseTime", avgResponseTime);
-            metrics.put("minResponseTime", minResponseTime);
-            metrics.put("maxResponseTime", maxResponseTime);
-            metrics.put("totalTime", totalTime);
+            metrics.put("successCount", result.getSucceeded());
+            metrics.put("errorCount", result.getFailed() + result.getIncomplete());
+            metrics.put("successRate", (double) result.getSucceeded() / requestCount * 100);
+            metrics.put("avgResponseTime", Math.round(latency.getMeanMillis()));
+            metrics.put("minResponseTime", Math.round(latency.getMinMillis()));
+            metrics.put("maxResponseTime", Math.round(latency.getMaxMillis()));
+            metrics.put("totalTime", Math.round(latency.getMeanMillis() * latency.getCount()));
+            // Yüzdelikler ms cinsinden, mikro saniye hassasiyetinde (p50/p90/p99/p99.9/max)
+            metrics.put("latency", latency.toSummary());
+            
+            PayTRAllureReporter.addLatencyHistogram("API Gecikme Dağılımı - " + endpoint, latency);
+            PayTRExtentReporter.logLatencyHistogram("API Gecikme Dağılımı - " + endpoint, latency);
+            metrics.put("elapsedTime", result.getElapsedMillis());
+            metrics.put("throughput", result.getThroughput());
             
         } catch (Exception e) {
             metrics.put("error", e.getMessage());
@@ -429,4 +423,20 @@ public class APITestUtils {
         defaultHeaders.clear();
         setupDefaultHeaders();
     }
+    
+    /**
+     * Mevcut header, auth token ve RestAssured base URI ayarlarıyla asenkron istemci oluşturur.
+     * Ayarların o anki kopyası alınır; sonraki addHeader/setAuthToken çağrıları istemciyi etkilemez.
+     */
+    public AsyncAPIClient async() {
+        return async(256);
+    }
+    
+    /**
+     * Aynı anda uçuşta olabilecek istek sayısı sınırlı asenkron istemci
+     */
+    public AsyncAPIClient async(int maxInFlight) {
+        return new AsyncAPIClient(AsyncAPIClient.restAssuredBaseUrl(), defaultHeaders, authToken,
+                Duration.ofSeconds(30), maxInFlight);
+    }
 }
\ No newline at end of file
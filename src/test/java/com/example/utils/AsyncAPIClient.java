@@ -0,0 +1,246 @@
+package com.example.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * PayTR Asenkron API İstemcisi
+ * APITestUtils ile aynı header, auth token ve base URI ayarlarını kullanan bloklamayan istemci
+ *
+ * İstekler JDK HttpClient'ın asenkron motoruyla gönderilir; çağıran thread yanıtı beklemez,
+ * tek bir test thread'i yüzlerce isteği aynı anda uçuşta tutabilir. Yanıtlar RestAssured
+ * {@link Response} nesnesine çevrilir, böylece mevcut doğrulamalar (jsonPath, getStatusCode...)
+ * aynen kullanılabilir. maxInFlight aşılırsa yeni istekler thread bloklanmadan kuyrukta bekler.
+ */
+public class AsyncAPIClient {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private final String baseUrl;
+    private final Map<String, String> headers;
+    private final String authToken;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param baseUrl   göreli endpoint'lerin önüne eklenir (ör. https://zeus-uat.paytr.com)
+     * @param headers   her isteğe eklenecek header'lar (kopyalanır)
+     * @param authToken null değilse "Authorization: Bearer" olarak eklenir
+     */
+    public AsyncAPIClient(String baseUrl, Map<String, String> headers, String authToken,
+                          Duration requestTimeout, int maxInFlight) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.headers = new LinkedHashMap<>(headers);
+        this.authToken = authToken;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * RestAssured'ın global baseURI/port/basePath ayarlarından base URL üretir
+     */
+    public static String restAssuredBaseUrl() {
+        String base = RestAssured.baseURI;
+        URI uri = URI.create(base);
+        if (uri.getPort() == -1 && RestAssured.port > 0 && RestAssured.port != RestAssured.DEFAULT_PORT) {
+            base = base + ":" + RestAssured.port;
+        }
+        String basePath = RestAssured.basePath == null ? "" : RestAssured.basePath;
+        if (!basePath.isEmpty() && !basePath.startsWith("/")) {
+            basePath = "/" + basePath;
+        }
+        return base + basePath;
+    }
+
+    public CompletableFuture<Response> get(String endpoint) {
+        return get(endpoint, Collections.emptyMap());
+    }
+
+    public CompletableFuture<Response> get(String endpoint, Map<String, Object> params) {
+        return send(() -> request(endpoint, params).GET().build());
+    }
+
+    public CompletableFuture<Response> post(String endpoint, Object body) {
+        return send(() -> request(endpoint, Collections.emptyMap()).POST(bodyPublisher(body)).build());
+    }
+
+    public CompletableFuture<Response> put(String endpoint, Object body) {
+        return send(() -> request(endpoint, Collections.emptyMap()).PUT(bodyPublisher(body)).build());
+    }
+
+    public CompletableFuture<Response> delete(String endpoint) {
+        return send(() -> request(endpoint, Collections.emptyMap()).DELETE().build());
+    }
+
+    /**
+     * Aynı isteği farklı gövdelerle paralel gönderir (ör. webhook fan-out); sonuçlar gönderim sırasıyla döner
+     */
+    public CompletableFuture<List<Response>> postAll(String endpoint, List<?> bodies) {
+        List<CompletableFuture<Response>> futures = new ArrayList<>(bodies.size());
+        for (Object body : bodies) {
+            futures.add(post(endpoint, body));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new))
+                .thenApply(ignored -> {
+                    List<Response> responses = new ArrayList<>(futures.size());
+                    for (CompletableFuture<Response> future : futures) {
+                        responses.add(future.join());
+                    }
+                    return responses;
+                });
+    }
+
+    /** Şu anda yanıt bekleyen istek sayısı */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /** maxInFlight nedeniyle sırada bekleyen istek sayısı */
+    public int getQueued() {
+        return waiting.size();
+    }
+
+    private CompletableFuture<Response> send(Supplier<HttpRequest> requestSupplier) {
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        waiting.add(() -> {
+            HttpRequest request;
+            try {
+                request = requestSupplier.get();
+            } catch (RuntimeException e) {
+                finish();
+                result.completeExceptionally(e);
+                return;
+            }
+            SHARED_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                    .whenComplete((response, error) -> {
+                        finish();
+                        if (error != null) {
+                            result.completeExceptionally(error);
+                        } else {
+                            result.complete(toRestAssuredResponse(response));
+                        }
+                    });
+        });
+        dispatch();
+        return result;
+    }
+
+    private void finish() {
+        inFlight.decrementAndGet();
+        dispatch();
+    }
+
+    /**
+     * Boş yer oldukça kuyruktaki istekleri başlatır; hiçbir thread yer açılmasını beklemez
+     */
+    private void dispatch() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight || waiting.isEmpty()) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable next = waiting.poll();
+            if (next == null) {
+                inFlight.decrementAndGet();
+                // Arada başka bir thread kuyruğu boşaltmış olabilir
+                if (waiting.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            next.run();
+        }
+    }
+
+    private HttpRequest.Builder request(String endpoint, Map<String, Object> params) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(resolve(endpoint, params)))
+                .timeout(requestTimeout);
+        headers.forEach((name, value) -> {
+            // JDK istemcisi bağlantı başlıklarını kendisi yönetir
+            if (!name.equalsIgnoreCase("Connection") && !name.equalsIgnoreCase("Content-Length")) {
+                builder.header(name, value);
+            }
+        });
+        if (authToken != null) {
+            builder.header("Authorization", "Bearer " + authToken);
+        }
+        return builder;
+    }
+
+    private String resolve(String endpoint, Map<String, Object> params) {
+        String url = endpoint.startsWith("http://") || endpoint.startsWith("https://")
+                ? endpoint
+                : baseUrl + (endpoint.startsWith("/") ? endpoint : "/" + endpoint);
+        if (params.isEmpty()) {
+            return url;
+        }
+        StringJoiner query = new StringJoiner("&");
+        params.forEach((key, value) -> query.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return url + (url.contains("?") ? "&" : "?") + query;
+    }
+
+    private static HttpRequest.BodyPublisher bodyPublisher(Object body) {
+        if (body == null) {
+            return HttpRequest.BodyPublishers.noBody();
+        }
+        if (body instanceof String || body instanceof JSONObject || body instanceof JSONArray) {
+            return HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8);
+        }
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("İstek gövdesi JSON'a çevrilemedi: " + e.getMessage(), e);
+        }
+    }
+
+    private static Response toRestAssuredResponse(HttpResponse<byte[]> response) {
+        List<Header> headerList = new ArrayList<>();
+        response.headers().map().forEach((name, values) -> {
+            for (String value : values) {
+                headerList.add(new Header(name, value));
+            }
+        });
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(response.statusCode())
+                .setStatusLine((response.version() == HttpClient.Version.HTTP_2 ? "HTTP/2 " : "HTTP/1.1 ")
+                        + response.statusCode())
+                .setHeaders(new Headers(headerList))
+                .setBody(response.body());
+        response.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+}
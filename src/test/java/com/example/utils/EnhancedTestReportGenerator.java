@@ -22,8 +22,47 @@ public class EnhancedTestReportGenerator {
     
     private static final String REPORTS_DIR = "target/enhanced-reports";
     private static final Map<String, TestReportData> testResults = new ConcurrentHashMap<>();
-    private static final Map<String, List<String>> categoryResults = new ConcurrentHashMap<>();
-    private static final Map<String, Long> categoryDurations = new ConcurrentHashMap<>();
+    private static final Map<String, CategoryStats> categoryResults = new ConcurrentHashMap<>();
+    
+    /**
+     * Per-category aggregates backed by the shared {@link TestMetrics} registry
+     */
+    private static final class CategoryStats {
+        private final TestMetrics.Counter total;
+        private final TestMetrics.Counter passed;
+        private final TestMetrics.Counter failed;
+        private final TestMetrics.Counter skipped;
+        private final TestMetrics.Counter durationMs;
+        
+        private CategoryStats(String category) {
+            String prefix = "report.category." + category + ".";
+            this.total = TestMetrics.counter(prefix + "total");
+            this.passed = TestMetrics.counter(prefix + "passed");
+            this.failed = TestMetrics.counter(prefix + "failed");
+            this.skipped = TestMetrics.counter(prefix + "skipped");
+            this.durationMs = TestMetrics.counter(prefix + "durationMs");
+        }
+        
+        private void record(String status, long duration) {
+            total.increment();
+            durationMs.add(duration);
+            if ("PASSED".equals(status)) {
+                passed.increment();
+            } else if ("FAILED".equals(status)) {
+                failed.increment();
+            } else if ("SKIPPED".equals(status)) {
+                skipped.increment();
+            }
+        }
+        
+        private void reset() {
+            total.reset();
+            passed.reset();
+            failed.reset();
+            skipped.reset();
+            durationMs.reset();
+        }
+    }
     
     /**
      * Test Report Data Container
@@ -159,10 +198,12 @@ public class EnhancedTestReportGenerator {
         testResults.put(testKey, reportData);
         
         // Update category statistics
-        categoryResults.computeIfAbsent(category, k -> new ArrayList<>()).add(reportData.getStatus());
-        categoryDurations.merge(category, reportData.getDuration(), Long::sum);
+        categoryResults.computeIfAbsent(category, CategoryStats::new)
+            .record(reportData.getStatus(), reportData.getDuration());
         
-        Reporter.log(String.format("📊 Test result added to report: %s - %s", testKey, reportData.getStatus()));
+        if (TestMetrics.isVerbose()) {
+            Reporter.log(String.format("📊 Test result added to report: %s - %s", testKey, reportData.getStatus()));
+        }
     }
     
     /**
@@ -340,16 +381,16 @@ public class EnhancedTestReportGenerator {
                 <h2>📋 Test Category Analysis</h2>
             """);
         
-        for (Map.Entry<String, List<String>> entry : categoryResults.entrySet()) {
+        for (Map.Entry<String, CategoryStats> entry : categoryResults.entrySet()) {
             String category = entry.getKey();
-            List<String> results = entry.getValue();
+            CategoryStats stats = entry.getValue();
             
-            long passed = results.stream().mapToLong(r -> "PASSED".equals(r) ? 1 : 0).sum();
-            long failed = results.stream().mapToLong(r -> "FAILED".equals(r) ? 1 : 0).sum();
-            long skipped = results.stream().mapToLong(r -> "SKIPPED".equals(r) ? 1 : 0).sum();
-            long total = results.size();
+            long passed = stats.passed.get();
+            long failed = stats.failed.get();
+            long skipped = stats.skipped.get();
+            long total = stats.total.get();
             double successRate = total > 0 ? (double) passed / total * 100 : 0;
-            long duration = categoryDurations.getOrDefault(category, 0L);
+            long duration = stats.durationMs.get();
             
             html.append(String.format("""
                 <div class="category-section">
@@ -561,16 +602,16 @@ public class EnhancedTestReportGenerator {
     private static Map<String, Object> generateCategoryAnalysisData() {
         Map<String, Object> analysis = new HashMap<>();
         
-        for (Map.Entry<String, List<String>> entry : categoryResults.entrySet()) {
+        for (Map.Entry<String, CategoryStats> entry : categoryResults.entrySet()) {
             String category = entry.getKey();
-            List<String> results = entry.getValue();
+            CategoryStats stats = entry.getValue();
             
             Map<String, Object> categoryData = new HashMap<>();
-            categoryData.put("total", results.size());
-            categoryData.put("passed", results.stream().mapToLong(r -> "PASSED".equals(r) ? 1 : 0).sum());
-            categoryData.put("failed", results.stream().mapToLong(r -> "FAILED".equals(r) ? 1 : 0).sum());
-            categoryData.put("skipped", results.stream().mapToLong(r -> "SKIPPED".equals(r) ? 1 : 0).sum());
-            categoryData.put("duration", categoryDurations.getOrDefault(category, 0L));
+            categoryData.put("total", (int) stats.total.get());
+            categoryData.put("passed", stats.passed.get());
+            categoryData.put("failed", stats.failed.get());
+            categoryData.put("skipped", stats.skipped.get());
+            categoryData.put("duration", stats.durationMs.get());
             
             analysis.put(category, categoryData);
         }
@@ -633,8 +674,8 @@ public class EnhancedTestReportGenerator {
      */
     public static void clearReportData() {
         testResults.clear();
+        categoryResults.values().forEach(CategoryStats::reset);
         categoryResults.clear();
-        categoryDurations.clear();
     }
     
     /**
@@ -0,0 +1,183 @@
+package com.example.utils;
+
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.http.ContentType;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.pool.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PayTR HTTP Bağlantı Havuzu
+ * Tüm RestAssured isteklerinin paylaştığı keep-alive bağlantı havuzu ve spec fabrikası
+ *
+ * RestAssured varsayılan olarak her istek için yeni bir HttpClient ve bağlantı yöneticisi
+ * oluşturur; her istek yeni bir TCP/TLS el sıkışması demektir. Burada her istek yine kendi
+ * (hafif) HttpClient nesnesini alır, ancak hepsi aynı havuzlu bağlantı yöneticisini kullanır.
+ * Böylece paralel TestNG thread'leri istemci durumunu paylaşmadan bağlantıları yeniden kullanır.
+ *
+ * Ayarlar sistem özellikleriyle değiştirilebilir:
+ * -Dhttp.pool.maxTotal=200 -Dhttp.pool.maxPerRoute=50 -Dhttp.pool.keepAliveSeconds=30 -Dhttp.pool.idleSeconds=60
+ */
+@SuppressWarnings("deprecation") // RestAssured 5.x hâlâ HttpClient 4 eski API'sini (AbstractHttpClient) bekler
+public final class HttpClientPool {
+
+    private static final HttpClientPool SHARED = new HttpClientPool(
+            Integer.getInteger("http.pool.maxTotal", 200),
+            Integer.getInteger("http.pool.maxPerRoute", 50),
+            Long.getLong("http.pool.keepAliveSeconds", 30L),
+            Long.getLong("http.pool.idleSeconds", 60L));
+
+    private final PoolingClientConnectionManager connectionManager;
+    private final ClientConnectionManager sharedManager;
+    private final long keepAliveMillis;
+    private final long idleSeconds;
+    private final AtomicLong leases = new AtomicLong();
+    private final ScheduledExecutorService evictor;
+    private final RestAssuredConfig restAssuredConfig;
+
+    /**
+     * Ayrı bir havuz oluşturur (benchmark ve izole testler için); normal kullanımda {@link #shared()}
+     */
+    public HttpClientPool(int maxTotal, int maxPerRoute, long keepAliveSeconds, long idleSeconds) {
+        SchemeRegistry schemes = SchemeRegistryFactory.createDefault();
+        this.connectionManager = new PoolingClientConnectionManager(schemes);
+        this.connectionManager.setMaxTotal(Math.max(1, maxTotal));
+        this.connectionManager.setDefaultMaxPerRoute(Math.max(1, maxPerRoute));
+        this.sharedManager = new SharedConnectionManager();
+        this.keepAliveMillis = TimeUnit.SECONDS.toMillis(Math.max(1, keepAliveSeconds));
+        this.idleSeconds = Math.max(1, idleSeconds);
+
+        // Süresi dolmuş ve uzun süre boşta kalan bağlantılar arka planda kapatılır
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, Math.min(this.idleSeconds, 5));
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(this.idleSeconds, TimeUnit.SECONDS);
+        }, period, period, TimeUnit.SECONDS);
+
+        this.restAssuredConfig = RestAssuredConfig.config().httpClient(
+                HttpClientConfig.httpClientConfig().httpClientFactory(this::newHttpClient));
+    }
+
+    /**
+     * Test süreci boyunca paylaşılan havuz
+     */
+    public static HttpClientPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Havuzu RestAssured'ın global ayarı yapar; spec kullanmayan given() çağrıları da havuzu kullanır
+     */
+    public static void install() {
+        RestAssured.config = SHARED.restAssuredConfig;
+    }
+
+    /**
+     * Havuzlu istemci ve ortak PayTR header'larıyla yapılandırılmış spec builder
+     */
+    public static RequestSpecBuilder newRequestSpecBuilder() {
+        return new RequestSpecBuilder()
+                .setConfig(SHARED.restAssuredConfig)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addHeader("User-Agent", "PayTR-Test-Automation/1.0");
+    }
+
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * Havuz metrikleri: kiralanmış, boşta, bekleyen bağlantılar ve toplam kiralama sayısı
+     */
+    public Map<String, Object> getMetrics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("leased", stats.getLeased());
+        metrics.put("available", stats.getAvailable());
+        metrics.put("pending", stats.getPending());
+        metrics.put("max", stats.getMax());
+        metrics.put("maxPerRoute", connectionManager.getDefaultMaxPerRoute());
+        metrics.put("totalLeases", leases.get());
+        return metrics;
+    }
+
+    /**
+     * Havuzdaki tüm bağlantıları kapatır; yalnızca test süreci sonunda çağrılmalıdır
+     */
+    public void shutdown() {
+        evictor.shutdownNow();
+        connectionManager.shutdown();
+    }
+
+    private DefaultHttpClient newHttpClient() {
+        DefaultHttpClient client = new DefaultHttpClient(sharedManager);
+        DefaultConnectionKeepAliveStrategy serverStrategy = new DefaultConnectionKeepAliveStrategy();
+        // Sunucu Keep-Alive süresi bildirmezse bağlantı keepAliveMillis kadar tutulur
+        client.setKeepAliveStrategy((response, context) -> {
+            long serverKeepAlive = serverStrategy.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAliveMillis) : keepAliveMillis;
+        });
+        return client;
+    }
+
+    /**
+     * Havuzu istemciler arasında paylaştırır. RestAssured isteği bitince istemcinin bağlantı
+     * yöneticisini kapatabildiği için shutdown burada yok sayılır.
+     */
+    private final class SharedConnectionManager implements ClientConnectionManager {
+
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return connectionManager.getSchemeRegistry();
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            leases.incrementAndGet();
+            return connectionManager.requestConnection(route, state);
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection connection, long validDuration, TimeUnit timeUnit) {
+            connectionManager.releaseConnection(connection, validDuration, timeUnit);
+        }
+
+        @Override
+        public void closeIdleConnections(long idleTime, TimeUnit timeUnit) {
+            connectionManager.closeIdleConnections(idleTime, timeUnit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            connectionManager.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+            // Paylaşılan havuz yalnızca HttpClientPool.shutdown() ile kapatılır
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.utils;
+
+import com.example.integration.DurationHistogram;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * PayTR Gecikme Histogramı
+ * Nanosaniye çözünürlüklü, HDR tarzı kovalanmış gecikme kaydedici
+ *
+ * Kovalama {@link DurationHistogram} ile aynıdır; burada 7 bit kullanılır: 0-255 ns birebir,
+ * üstünde her ikinin kuvveti aralığı 128 alt kovaya bölünür (%0.8'den az göreli hata).
+ * Kova dizisi sabit boyutludur; kaç istek kaydedilirse kaydedilsin bellek değişmez. Kayıt
+ * kilitsizdir, birden fazla thread aynı histograma yazabilir veya her thread kendi
+ * histogramını tutup sonunda {@link #merge(DurationHistogram)} ile birleştirebilir.
+ */
+public class LatencyHistogram extends DurationHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /** Raporlarda gösterilen yüzdelikler */
+    private static final double[] REPORTED_PERCENTILES = {50, 75, 90, 95, 99, 99.9, 99.99};
+
+    public LatencyHistogram() {
+        super(SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Süreyi nanosaniye olarak kaydeder; negatif değerler 0 sayılır
+     */
+    public void recordNanos(long nanos) {
+        record(nanos);
+    }
+
+    public long getMinNanos() {
+        return getMin();
+    }
+
+    public long getMaxNanos() {
+        return getMax();
+    }
+
+    public double getMeanNanos() {
+        return getMean();
+    }
+
+    /**
+     * Yüzdelik değeri nanosaniye olarak döndürür (ör. 99.9); sonuç ilgili kovanın üst sınırıdır
+     */
+    public long getPercentileNanos(double percentile) {
+        return getPercentile(percentile);
+    }
+
+    public double getMeanMillis() {
+        return getMeanNanos() / 1_000_000.0;
+    }
+
+    public double getMaxMillis() {
+        return getMax() / 1_000_000.0;
+    }
+
+    public double getMinMillis() {
+        return getMinNanos() / 1_000_000.0;
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return getPercentileNanos(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Rapor özeti, ms cinsinden (count, min, mean, p50, p90, p99, p99.9, max)
+     */
+    @Override
+    public Map<String, Object> toSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("min", round(getMinMillis()));
+        summary.put("mean", round(getMeanMillis()));
+        summary.put("p50", round(getPercentileMillis(50)));
+        summary.put("p90", round(getPercentileMillis(90)));
+        summary.put("p99", round(getPercentileMillis(99)));
+        summary.put("p99.9", round(getPercentileMillis(99.9)));
+        summary.put("max", round(getMaxMillis()));
+        return summary;
+    }
+
+    /**
+     * Yüzdelik dağılımını CSV olarak döndürür (percentile,value_ms,count); rapor eki için
+     */
+    public String toPercentileCsv() {
+        StringBuilder csv = new StringBuilder("percentile,value_ms,count\n");
+        long total = getCount();
+        for (double percentile : REPORTED_PERCENTILES) {
+            appendCsvRow(csv, percentile, getPercentileMillis(percentile),
+                    (long) Math.ceil(percentile / 100.0 * total - 1e-9));
+        }
+        appendCsvRow(csv, 100, getMaxMillis(), total);
+        return csv.toString();
+    }
+
+    /**
+     * Tek satırlık özet, ör. "n=1200 p50=12.40ms p90=... max=..."
+     */
+    public String toSummaryLine() {
+        return String.format(Locale.ROOT, "n=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                getCount(), getPercentileMillis(50), getPercentileMillis(90), getPercentileMillis(99),
+                getPercentileMillis(99.9), getMaxMillis());
+    }
+
+    private static void appendCsvRow(StringBuilder csv, double percentile, double valueMillis, long cumulativeCount) {
+        csv.append(String.format(Locale.ROOT, "%s,%.3f,%d%n",
+                percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile),
+                valueMillis, cumulativeCount));
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000.0) / 1000.0;
+    }
+}
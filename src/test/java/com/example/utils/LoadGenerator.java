@@ -0,0 +1,351 @@
+package com.example.utils;
+
+import com.example.integration.ScenarioExecutionMode;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * PayTR Yük Üretici
+ * RestAssured istekleri için açık model (saniyedeki istek sayısı) yük motoru
+ *
+ * İstekler thread sayısına göre değil, fazlardan (ramp-up, sabit, ramp-down, burst) hesaplanan
+ * planlı gönderim zamanlarına göre başlatılır. Gecikme planlanan zamandan itibaren ölçülür;
+ * sunucu yavaşladığında geciken gönderimler de gecikmeye dahil olur (coordinated omission düzeltmesi).
+ * İşçiler sanal thread (Java 21+) veya sınırlı platform thread havuzunda çalışır.
+ */
+public class LoadGenerator {
+
+    /**
+     * Tek bir isteği gönderir; sequence 0'dan başlayan istek sırasıdır
+     */
+    @FunctionalInterface
+    public interface LoadRequest {
+        Response send(long sequence) throws Exception;
+    }
+
+    /**
+     * Yük fazı; hız başlangıçtan bitişe doğrusal değişir
+     */
+    public static final class Phase {
+        private final String name;
+        private final long durationNanos;
+        private final double startRate;
+        private final double endRate;
+        private final int burstCount;
+
+        private Phase(String name, Duration duration, double startRate, double endRate, int burstCount) {
+            this.name = name;
+            this.durationNanos = duration.toNanos();
+            this.startRate = Math.max(0, startRate);
+            this.endRate = Math.max(0, endRate);
+            this.burstCount = burstCount;
+        }
+
+        /**
+         * Fazdaki istek sayısı: hız eğrisinin altındaki alan
+         */
+        long requestCount() {
+            if (burstCount > 0) {
+                return burstCount;
+            }
+            return (long) Math.floor((startRate + endRate) / 2.0 * durationNanos / 1_000_000_000.0);
+        }
+
+        /**
+         * k. isteğin faz başından itibaren planlanan zamanı; N(t) = r0*t + (r1-r0)*t²/(2T) = k çözülür
+         */
+        long offsetNanos(long k) {
+            if (burstCount > 0) {
+                return 0;
+            }
+            double seconds = durationNanos / 1_000_000_000.0;
+            double slope = (endRate - startRate) / (2.0 * seconds);
+            double t;
+            if (Math.abs(slope) < 1e-12) {
+                t = k / startRate;
+            } else {
+                double discriminant = Math.max(0, startRate * startRate + 4.0 * slope * k);
+                t = (-startRate + Math.sqrt(discriminant)) / (2.0 * slope);
+            }
+            return Math.min(durationNanos, (long) (t * 1_000_000_000.0));
+        }
+
+        public String getName() { return name; }
+    }
+
+    /**
+     * Yük testi sonucu; gecikmeler nanosaniye çözünürlüklü histogramlarda tutulur
+     */
+    public static final class Result {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram serviceTime = new LatencyHistogram();
+        private final AtomicLong succeeded = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private final AtomicInteger recording = new AtomicInteger();
+        private volatile boolean closed;
+        private long scheduled;
+        private long incomplete;
+        private long elapsedNanos;
+
+        private void record(long intendedNanos, long startNanos, long endNanos, boolean success) {
+            recording.incrementAndGet();
+            try {
+                // Süre aşımından (shutdownNow) sonra biten istekler sonuca yazılmaz, incomplete sayılır
+                if (closed) {
+                    return;
+                }
+                latency.recordNanos(endNanos - intendedNanos);
+                serviceTime.recordNanos(endNanos - startNanos);
+                (success ? succeeded : failed).incrementAndGet();
+            } finally {
+                recording.decrementAndGet();
+            }
+        }
+
+        /**
+         * Yeni kayıtları kapatır ve sürmekte olan kayıtların bitmesini bekler;
+         * bundan sonra sayaçlar ve histogramlar değişmez
+         */
+        private void close() {
+            closed = true;
+            while (recording.get() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        private void recordError(String error) {
+            if (closed) {
+                return;
+            }
+            synchronized (errors) {
+                if (errors.size() < 20) {
+                    errors.add(error);
+                }
+            }
+        }
+
+        /** Planlanan zamandan yanıt sonuna kadar geçen süre (coordinated omission düzeltilmiş) */
+        public LatencyHistogram getLatency() { return latency; }
+
+        /** Gerçek gönderimden yanıt sonuna kadar geçen süre */
+        public LatencyHistogram getServiceTime() { return serviceTime; }
+
+        public long getScheduled() { return scheduled; }
+
+        public long getSucceeded() { return succeeded.get(); }
+
+        public long getFailed() { return failed.get(); }
+
+        /** Süre aşımı nedeniyle tamamlanmayan istekler */
+        public long getIncomplete() { return incomplete; }
+
+        public long getCompleted() { return succeeded.get() + failed.get(); }
+
+        public long getElapsedMillis() { return TimeUnit.NANOSECONDS.toMillis(elapsedNanos); }
+
+        public double getSuccessRate() {
+            return scheduled == 0 ? 0 : (double) succeeded.get() / scheduled * 100;
+        }
+
+        /** Tamamlanan istek / saniye */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : getCompleted() / (elapsedNanos / 1_000_000_000.0);
+        }
+
+        public List<String> getErrors() {
+            synchronized (errors) {
+                return new ArrayList<>(errors);
+            }
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("scheduled", scheduled);
+            map.put("succeeded", getSucceeded());
+            map.put("failed", getFailed());
+            map.put("incomplete", incomplete);
+            map.put("successRate", getSuccessRate());
+            map.put("elapsedMs", getElapsedMillis());
+            map.put("throughput", getThroughput());
+            map.put("latency", latency.toSummary());
+            map.put("serviceTime", serviceTime.toSummary());
+            return map;
+        }
+    }
+
+    private final List<Phase> phases;
+    private final long maxRequests;
+    private final int maxConcurrency;
+    private final boolean virtualThreads;
+    private final Duration completionTimeout;
+    private final Predicate<Response> successCondition;
+
+    private LoadGenerator(Builder builder) {
+        this.phases = List.copyOf(builder.phases);
+        this.maxRequests = builder.maxRequests;
+        this.maxConcurrency = builder.maxConcurrency;
+        this.virtualThreads = builder.virtualThreads;
+        this.completionTimeout = builder.completionTimeout;
+        this.successCondition = builder.successCondition;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Tüm fazları sırayla uygular ve istekler tamamlanınca (veya süre dolunca) sonucu döndürür
+     */
+    public Result run(LoadRequest request) throws InterruptedException {
+        Result result = new Result();
+        ExecutorService workers = virtualThreads
+                ? ScenarioExecutionMode.VIRTUAL.createExecutor(maxConcurrency)
+                : ScenarioExecutionMode.PLATFORM.createExecutor(maxConcurrency);
+        Semaphore permits = new Semaphore(maxConcurrency);
+
+        long runStart = System.nanoTime();
+        long phaseStart = runStart;
+        long sequence = 0;
+        try {
+            for (Phase phase : phases) {
+                long count = phase.requestCount();
+                for (long k = 0; k < count && sequence < maxRequests; k++) {
+                    long intended = phaseStart + phase.offsetNanos(k);
+                    waitUntil(intended);
+
+                    // Eşzamanlılık sınırında bekleme süresi de gecikmeye yansır
+                    permits.acquire();
+                    long current = sequence++;
+                    workers.execute(() -> {
+                        long start = System.nanoTime();
+                        boolean success = false;
+                        try {
+                            Response response = request.send(current);
+                            success = successCondition.test(response);
+                            if (!success) {
+                                result.recordError("#" + current + ": HTTP " + response.getStatusCode());
+                            }
+                        } catch (Exception e) {
+                            result.recordError("#" + current + ": " + e.getMessage());
+                        } finally {
+                            result.record(intended, start, System.nanoTime(), success);
+                            permits.release();
+                        }
+                    });
+                }
+                phaseStart += phase.durationNanos;
+            }
+            result.scheduled = sequence;
+        } finally {
+            workers.shutdown();
+            workers.awaitTermination(completionTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            workers.shutdownNow();
+            result.close();
+        }
+
+        result.elapsedNanos = System.nanoTime() - runStart;
+        result.incomplete = result.scheduled - result.getCompleted();
+        return result;
+    }
+
+    private static void waitUntil(long deadlineNanos) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    public static final class Builder {
+        private final List<Phase> phases = new ArrayList<>();
+        private double lastRate = 0;
+        private long maxRequests = Long.MAX_VALUE;
+        private int maxConcurrency = 200;
+        private boolean virtualThreads = false;
+        private Duration completionTimeout = Duration.ofSeconds(30);
+        private Predicate<Response> successCondition = response -> true;
+
+        /**
+         * Hızı önceki fazın hızından hedef hıza doğrusal olarak çıkarır
+         */
+        public Builder rampUp(Duration duration, double targetRate) {
+            phases.add(new Phase("ramp-up", duration, lastRate, targetRate, 0));
+            lastRate = targetRate;
+            return this;
+        }
+
+        public Builder steady(Duration duration, double rate) {
+            phases.add(new Phase("steady", duration, rate, rate, 0));
+            lastRate = rate;
+            return this;
+        }
+
+        /**
+         * Hızı önceki fazın hızından sıfıra indirir
+         */
+        public Builder rampDown(Duration duration) {
+            phases.add(new Phase("ramp-down", duration, lastRate, 0, 0));
+            lastRate = 0;
+            return this;
+        }
+
+        /**
+         * Verilen sayıda isteği aynı anda başlatır (bağlantı havuzu testleri için)
+         */
+        public Builder burst(int count) {
+            phases.add(new Phase("burst", Duration.ZERO, 0, 0, Math.max(0, count)));
+            return this;
+        }
+
+        /** Toplam istek sayısına üst sınır */
+        public Builder maxRequests(long maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        /** Aynı anda uçuşta olabilecek istek sayısı; platform modunda havuz boyutudur */
+        public Builder maxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = Math.max(1, maxConcurrency);
+            return this;
+        }
+
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /** Son istek gönderildikten sonra tamamlanmaları için beklenecek süre */
+        public Builder completionTimeout(Duration completionTimeout) {
+            this.completionTimeout = completionTimeout;
+            return this;
+        }
+
+        /** Yanıtın başarılı sayılma koşulu; varsayılan: istisna atılmadıysa başarılı */
+        public Builder successWhen(Predicate<Response> successCondition) {
+            this.successCondition = successCondition;
+            return this;
+        }
+
+        public LoadGenerator build() {
+            if (phases.isEmpty()) {
+                throw new IllegalStateException("En az bir yük fazı tanımlanmalı");
+            }
+            return new LoadGenerator(this);
+        }
+    }
+}
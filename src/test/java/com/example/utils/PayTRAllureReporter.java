@@ -441,4 +441,12 @@ public class PayTRAllureReporter implements ITestListener, ISuiteListener, TestL
     public static void addLog(String message) {
         Allure.addAttachment("Log", message);
     }
+    
+    /**
+     * Gecikme histogramını özet ve yüzdelik dağılımı (CSV) olarak ekler
+     */
+    public static void addLatencyHistogram(String name, LatencyHistogram histogram) {
+        Allure.addAttachment(name, histogram.toSummaryLine());
+        Allure.addAttachment(name + " (yüzdelikler)", "text/csv", histogram.toPercentileCsv(), "csv");
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.example.utils;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 import com.example.config.PayTRTestConfig;
@@ -364,4 +365,18 @@ public class PayTRExtentReporter implements ITestListener, ISuiteListener {
             }
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Gecikme histogramının yüzdeliklerini tablo olarak loglar
+     */
+    public static void logLatencyHistogram(String name, LatencyHistogram histogram) {
+        if (extentTest.get() == null) {
+            return;
+        }
+        String[][] rows = histogram.toSummary().entrySet().stream()
+            .map(entry -> new String[] {entry.getKey(), String.valueOf(entry.getValue())})
+            .toArray(String[][]::new);
+        extentTest.get().info("⏱️ " + name + " (ms)");
+        extentTest.get().info(MarkupHelper.createTable(rows));
+    }
+}
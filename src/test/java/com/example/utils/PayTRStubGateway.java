@@ -0,0 +1,580 @@
+package com.example.utils;
+
+import com.example.config.PayTRTestConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PayTR Stub Ödeme Geçidi
+ * Testlerin kullandığı PayTR endpoint'lerini süreç içinde taklit eden yerel HTTP sunucusu
+ *
+ * /odeme/api/get-token ve PayTRTestConfig.API_ENDPOINTS altındaki endpoint'ler gerçekçi JSON
+ * yanıtlar döndürür. Gecikme dağılımı, hata oranı ve hız sınırı (429) ayarlanabilir; rastgelelik
+ * sabit bir tohumdan istek sırasına göre türetildiği için aynı ayarlarla koşular tekrarlanabilir.
+ * Gecikme thread uyutularak değil, yanıt zamanlayıcıya bırakılarak uygulanır; bu yüzden yavaş
+ * yanıtlar sunucunun işleme kapasitesini tüketmez.
+ *
+ * Testlerin stub'a yönlenmesi için: -Dpaytr.stub=true
+ * Diğer ayarlar: -Dpaytr.stub.latencyMs=20 -Dpaytr.stub.latencyP99Ms=80 -Dpaytr.stub.errorRate=0.01
+ * -Dpaytr.stub.rateLimit=100 (istek/sn, 0 = sınırsız) -Dpaytr.stub.seed=42 -Dpaytr.stub.port=0
+ */
+public class PayTRStubGateway {
+
+    /** Yanıt gövdesi için üst sınır; aşan istekler 413 alır */
+    private static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static PayTRStubGateway shared;
+
+    /**
+     * İstek başına yapay gecikme üretir; random istek sırasından türetilir
+     */
+    @FunctionalInterface
+    public interface LatencyModel {
+        long sampleNanos(SplittableRandom random);
+
+        static LatencyModel none() {
+            return random -> 0;
+        }
+
+        static LatencyModel fixed(Duration latency) {
+            long nanos = latency.toNanos();
+            return random -> nanos;
+        }
+
+        static LatencyModel uniform(Duration min, Duration max) {
+            long minNanos = min.toNanos();
+            long maxNanos = Math.max(minNanos + 1, max.toNanos());
+            return random -> random.nextLong(minNanos, maxNanos);
+        }
+
+        /**
+         * Log-normal dağılım; gerçek ağ gecikmelerine en yakın model (uzun kuyruklu)
+         */
+        static LatencyModel logNormal(Duration median, Duration p99) {
+            double mu = Math.log(Math.max(1, median.toNanos()));
+            // p99 için standart normal z değeri
+            double sigma = Math.max(0, (Math.log(Math.max(1, p99.toNanos())) - mu) / 2.3263);
+            return random -> {
+                // Box-Muller
+                double u1 = 1.0 - random.nextDouble();
+                double u2 = random.nextDouble();
+                double z = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+                return (long) Math.exp(mu + sigma * z);
+            };
+        }
+    }
+
+    private final int requestedPort;
+    private final LatencyModel latencyModel;
+    private final double errorRate;
+    private final double rateLimitPerSecond;
+    private final int rateLimitBurst;
+    private final long seed;
+    private final int workerThreads;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong theoreticalArrival = new AtomicLong();
+    private final Map<String, LongAdder> requestsByPath = new ConcurrentHashMap<>();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder totalRequests = new LongAdder();
+
+    private HttpServer server;
+    private ExecutorService workers;
+    private ScheduledExecutorService responder;
+
+    private PayTRStubGateway(Builder builder) {
+        this.requestedPort = builder.port;
+        this.latencyModel = builder.latencyModel;
+        this.errorRate = builder.errorRate;
+        this.rateLimitPerSecond = builder.rateLimitPerSecond;
+        this.rateLimitBurst = builder.rateLimitBurst;
+        this.seed = builder.seed;
+        this.workerThreads = builder.workerThreads;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * -Dpaytr.stub=true verildiyse testler uzak ortam yerine stub'ı kullanır
+     */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("paytr.stub");
+    }
+
+    /**
+     * Sistem özelliklerinden yapılandırılmış, süreç boyunca paylaşılan stub'ı başlatır (idempotent)
+     */
+    public static synchronized PayTRStubGateway startShared() {
+        if (shared == null) {
+            long medianMs = Long.getLong("paytr.stub.latencyMs", 0L);
+            long p99Ms = Long.getLong("paytr.stub.latencyP99Ms", medianMs);
+            LatencyModel latency = medianMs <= 0 ? LatencyModel.none()
+                    : p99Ms <= medianMs ? LatencyModel.fixed(Duration.ofMillis(medianMs))
+                    : LatencyModel.logNormal(Duration.ofMillis(medianMs), Duration.ofMillis(p99Ms));
+            shared = builder()
+                    .port(Integer.getInteger("paytr.stub.port", 0))
+                    .latency(latency)
+                    .errorRate(Double.parseDouble(System.getProperty("paytr.stub.errorRate", "0")))
+                    .rateLimit(Double.parseDouble(System.getProperty("paytr.stub.rateLimit", "0")),
+                            Integer.getInteger("paytr.stub.rateLimitBurst", 10))
+                    .seed(Long.getLong("paytr.stub.seed", 42L))
+                    .build()
+                    .start();
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "paytr-stub-shutdown"));
+        }
+        return shared;
+    }
+
+    public synchronized PayTRStubGateway start() {
+        if (server != null) {
+            return this;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", requestedPort), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("PayTR stub sunucusu başlatılamadı: " + e.getMessage(), e);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "paytr-stub-worker-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        responder = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "paytr-stub-responder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(workers);
+        server.createContext("/", this::handle);
+        server.start();
+        System.out.println("🧪 PayTR stub gateway başlatıldı: " + getBaseUrl());
+        return this;
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        responder.shutdownNow();
+        workers.shutdownNow();
+        server = null;
+        System.out.println("🧪 PayTR stub gateway durduruldu: " + getMetrics());
+    }
+
+    /**
+     * Çalışan stub'ın adresi; stop() sonrası veya start() öncesi IllegalStateException fırlatır
+     */
+    public synchronized String getBaseUrl() {
+        if (server == null) {
+            throw new IllegalStateException("stub not running");
+        }
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Toplam istek, endpoint bazında istek, 429 ve enjekte edilen hata sayıları
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("totalRequests", totalRequests.sum());
+        metrics.put("rateLimited", rateLimited.sum());
+        metrics.put("injectedErrors", injectedErrors.sum());
+        Map<String, Long> byPath = new TreeMap<>();
+        requestsByPath.forEach((path, count) -> byPath.put(path, count.sum()));
+        metrics.put("requestsByPath", byPath);
+        return metrics;
+    }
+
+    public void resetMetrics() {
+        requestsByPath.clear();
+        rateLimited.reset();
+        injectedErrors.reset();
+        totalRequests.reset();
+    }
+
+    private void handle(HttpExchange exchange) {
+        long requestSequence = sequence.getAndIncrement();
+        String path = exchange.getRequestURI().getPath();
+        totalRequests.increment();
+        requestsByPath.computeIfAbsent(path, key -> new LongAdder()).increment();
+
+        StubResponse response;
+        if (!tryAcquire(System.nanoTime())) {
+            rateLimited.increment();
+            response = new StubResponse(429, error("Too many requests"));
+            response.header("Retry-After", "1");
+            send(exchange, response, 0);
+            return;
+        }
+
+        SplittableRandom random = new SplittableRandom(seed ^ (requestSequence * 0x9E3779B97F4A7C15L));
+        long delayNanos = Math.max(0, latencyModel.sampleNanos(random));
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            injectedErrors.increment();
+            response = new StubResponse(500, error("Stub injected failure"));
+        } else {
+            try {
+                response = route(exchange, path, requestSequence);
+            } catch (Exception e) {
+                response = new StubResponse(500, error("Stub hatası: " + e.getMessage()));
+            }
+        }
+
+        if (delayNanos == 0) {
+            send(exchange, response, 0);
+        } else {
+            StubResponse delayed = response;
+            responder.schedule(() -> send(exchange, delayed, delayNanos), delayNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * GCRA hız sınırlayıcı: kilitsiz, burst kadar ani isteğe izin verir
+     */
+    private boolean tryAcquire(long nowNanos) {
+        if (rateLimitPerSecond <= 0) {
+            return true;
+        }
+        long interval = (long) (1_000_000_000L / rateLimitPerSecond);
+        long tolerance = interval * Math.max(0, rateLimitBurst - 1);
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long base = Math.max(tat, nowNanos);
+            if (base - nowNanos > tolerance) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    private StubResponse route(HttpExchange exchange, String path, long requestSequence) throws IOException {
+        String method = exchange.getRequestMethod();
+        String endpoint = path.endsWith("/") && path.length() > 1 ? path.substring(0, path.length() - 1) : path;
+        boolean known = endpoint.equals("/odeme/api/get-token")
+                || PayTRTestConfig.API_ENDPOINTS.containsValue(endpoint)
+                || endpoint.equals("/api/payment/create")
+                || endpoint.equals("/api/auth/logout");
+        if (!known) {
+            return new StubResponse(404, error("Endpoint bulunamadı: " + endpoint));
+        }
+        boolean readOnly = endpoint.equals(PayTRTestConfig.API_ENDPOINTS.get("TRANSACTION_STATUS"));
+        if (!method.equals("POST") && !(readOnly && method.equals("GET"))) {
+            StubResponse response = new StubResponse(405, error("Method desteklenmiyor: " + method));
+            response.header("Allow", readOnly ? "GET, POST" : "POST");
+            return response;
+        }
+
+        byte[] body = readBody(exchange.getRequestBody());
+        if (body == null) {
+            return new StubResponse(413, error("İstek gövdesi çok büyük"));
+        }
+        Map<String, Object> params;
+        try {
+            params = parseParams(exchange, body);
+        } catch (JsonProcessingException e) {
+            return new StubResponse(400, error("Geçersiz JSON"));
+        }
+
+        switch (endpoint) {
+            case "/odeme/api/get-token":
+                return getToken(params, requestSequence);
+            case "/api/auth/login":
+                return login(params, requestSequence);
+            case "/api/auth/logout":
+                return new StubResponse(200, success());
+            case "/api/card/validate":
+                return validateCard(params);
+            case "/api/payment/installment":
+                return installments(params);
+            case "/api/transaction/status":
+                Map<String, Object> status = success();
+                status.put("merchant_oid", params.getOrDefault("merchant_oid", ""));
+                status.put("transaction_status", "COMPLETED");
+                return new StubResponse(200, status);
+            case "/api/payment/refund":
+            case "/api/payment/cancel":
+                Map<String, Object> reversal = success();
+                reversal.put("merchant_oid", params.getOrDefault("merchant_oid", ""));
+                reversal.put("is_test", 1);
+                return new StubResponse(200, reversal);
+            default:
+                // payment/process, payment/create, pos/virtual
+                return payment(params, requestSequence);
+        }
+    }
+
+    private StubResponse getToken(Map<String, Object> params, long requestSequence) {
+        for (String field : List.of("merchant_id", "merchant_oid", "payment_amount")) {
+            if (isBlank(params.get(field))) {
+                Map<String, Object> failed = new LinkedHashMap<>();
+                failed.put("status", "failed");
+                failed.put("reason", "Zorunlu alan eksik: " + field);
+                return new StubResponse(200, failed);
+            }
+        }
+        Map<String, Object> response = success();
+        response.put("token", token("token", params.get("merchant_oid"), requestSequence));
+        return new StubResponse(200, response);
+    }
+
+    private StubResponse login(Map<String, Object> params, long requestSequence) {
+        Object user = params.containsKey("email") ? params.get("email") : params.get("username");
+        if (isBlank(user) || isBlank(params.get("password"))) {
+            return new StubResponse(401, error("Geçersiz kullanıcı bilgileri"));
+        }
+        Map<String, Object> response = success();
+        response.put("token", token("session", user, requestSequence));
+        response.put("expires_in", 1800);
+        return new StubResponse(200, response);
+    }
+
+    private StubResponse payment(Map<String, Object> params, long requestSequence) {
+        if (isBlank(params.get("payment_amount")) && isBlank(params.get("amount"))) {
+            return new StubResponse(400, error("Tutar zorunludur"));
+        }
+        Map<String, Object> response = success();
+        response.put("merchant_oid", params.getOrDefault("merchant_oid", ""));
+        response.put("transaction_id", token("tx", params.get("merchant_oid"), requestSequence).substring(0, 16));
+        response.put("test_mode", params.getOrDefault("test_mode", "1"));
+        return new StubResponse(200, response);
+    }
+
+    private StubResponse validateCard(Map<String, Object> params) {
+        Object number = params.containsKey("card_number") ? params.get("card_number") : params.get("number");
+        String digits = number == null ? "" : number.toString().replaceAll("[\\s-]", "");
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("valid", digits.matches("\\d{12,19}") && luhn(digits));
+        response.put("card_type", digits.startsWith("4") ? "visa"
+                : digits.startsWith("5") ? "mastercard"
+                : digits.startsWith("34") || digits.startsWith("37") ? "amex" : "unknown");
+        return new StubResponse(200, response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StubResponse installments(Map<String, Object> params) {
+        double amount;
+        try {
+            amount = Double.parseDouble(String.valueOf(params.getOrDefault("amount",
+                    params.getOrDefault("payment_amount", "0"))));
+        } catch (NumberFormatException e) {
+            return new StubResponse(400, error("Geçersiz tutar"));
+        }
+        Map<Integer, Double> rates = (Map<Integer, Double>) PayTRTestConfig.INSTALLMENT_OPTIONS.get("COMMISSION_RATES");
+        List<Map<String, Object>> options = new ArrayList<>();
+        for (Map.Entry<Integer, Double> rate : new TreeMap<>(rates).entrySet()) {
+            double total = amount * (1 + rate.getValue() / 100.0);
+            Map<String, Object> option = new LinkedHashMap<>();
+            option.put("installment", rate.getKey());
+            option.put("commission_rate", rate.getValue());
+            option.put("total_amount", Math.round(total * 100.0) / 100.0);
+            option.put("monthly_amount", Math.round(total / rate.getKey() * 100.0) / 100.0);
+            options.add(option);
+        }
+        Map<String, Object> response = success();
+        response.put("installments", options);
+        return new StubResponse(200, response);
+    }
+
+    private void send(HttpExchange exchange, StubResponse response, long delayNanos) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response.body);
+            exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+            exchange.getResponseHeaders().add("X-Stub-Latency-Ms", String.valueOf(TimeUnit.NANOSECONDS.toMillis(delayNanos)));
+            response.headers.forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+            exchange.sendResponseHeaders(response.status, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        } catch (IOException e) {
+            // İstemci bağlantıyı kapatmış olabilir; stub için önemsiz
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readBody(InputStream input) throws IOException {
+        byte[] body = input.readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            return null;
+        }
+        return body;
+    }
+
+    private static Map<String, Object> parseParams(HttpExchange exchange, byte[] body) throws IOException {
+        Map<String, Object> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            params.putAll(parseForm(query));
+        }
+        if (body.length == 0) {
+            return params;
+        }
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null && contentType.contains("application/x-www-form-urlencoded")) {
+            params.putAll(parseForm(new String(body, StandardCharsets.UTF_8)));
+        } else {
+            Object parsed = objectMapper.readValue(body, Object.class);
+            if (parsed instanceof Map) {
+                params.putAll(objectMapper.convertValue(parsed, new TypeReference<Map<String, Object>>() {}));
+            }
+        }
+        return params;
+    }
+
+    private static Map<String, Object> parseForm(String form) {
+        Map<String, Object> params = new HashMap<>();
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private String token(String kind, Object subject, long requestSequence) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((kind + ":" + subject + ":" + seed + ":" + requestSequence)
+                    .getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int index = 0; index < 20; index++) {
+                hex.append(String.format("%02x", hash[index]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean luhn(String digits) {
+        int sum = 0;
+        boolean doubleDigit = false;
+        for (int index = digits.length() - 1; index >= 0; index--) {
+            int digit = digits.charAt(index) - '0';
+            if (doubleDigit) {
+                digit *= 2;
+                if (digit > 9) {
+                    digit -= 9;
+                }
+            }
+            sum += digit;
+            doubleDigit = !doubleDigit;
+        }
+        return sum % 10 == 0;
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || value.toString().trim().isEmpty();
+    }
+
+    private static Map<String, Object> success() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "success");
+        return body;
+    }
+
+    private static Map<String, Object> error(String reason) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "error");
+        body.put("reason", reason);
+        return body;
+    }
+
+    private static final class StubResponse {
+        private final int status;
+        private final Object body;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        private StubResponse(int status, Object body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        private void header(String name, String value) {
+            headers.put(name, value);
+        }
+    }
+
+    public static final class Builder {
+        private int port = 0;
+        private LatencyModel latencyModel = LatencyModel.none();
+        private double errorRate = 0;
+        private double rateLimitPerSecond = 0;
+        private int rateLimitBurst = 10;
+        private long seed = 42L;
+        private int workerThreads = 16;
+
+        /** 0 verilirse boş bir port seçilir */
+        public Builder port(int port) {
+            this.port = port;
+            return this;
+        }
+
+        public Builder latency(LatencyModel latencyModel) {
+            this.latencyModel = latencyModel;
+            return this;
+        }
+
+        /** 0.0 - 1.0 arası; bu oranda istek 500 döner */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = Math.max(0, Math.min(1, errorRate));
+            return this;
+        }
+
+        /** Saniyedeki istek sınırı ve anlık burst kapasitesi; aşan istekler 429 alır (0 = sınırsız) */
+        public Builder rateLimit(double requestsPerSecond, int burst) {
+            this.rateLimitPerSecond = Math.max(0, requestsPerSecond);
+            this.rateLimitBurst = Math.max(1, burst);
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /** İstekleri işleyen thread sayısı; gecikme bu thread'leri meşgul etmez */
+        public Builder workerThreads(int workerThreads) {
+            this.workerThreads = Math.max(1, workerThreads);
+            return this;
+        }
+
+        public PayTRStubGateway build() {
+            return new PayTRStubGateway(this);
+        }
+    }
+}
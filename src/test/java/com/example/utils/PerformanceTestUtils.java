@@ -2,6 +2,7 @@ package com.example.utils;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.JavascriptExecutor;
+import java.time.Duration;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
@@ -51,16 +52,8 @@ public class PerformanceTestUtils {
      */
     public void waitForPageLoad() {
         try {
-            // Document ready state kontrolü
-            js.executeScript("return document.readyState").equals("complete");
-            
-            // jQuery varsa bekle
-            Boolean jqueryReady = (Boolean) js.executeScript(
-                "return typeof jQuery !== 'undefined' ? jQuery.active == 0 : true;");
-            
-            if (!jqueryReady) {
-                Thread.sleep(1000); // jQuery işlemlerini bekle
-            }
+            // Document ready state complete olana ve aktif jQuery isteği kalmayana kadar, en fazla 10 sn
+            SmartWait.on(driver).documentReady(Duration.ofSeconds(10));
             
         } catch (Exception e) {
             // Hata durumunda devam et
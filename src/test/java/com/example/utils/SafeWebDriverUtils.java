@@ -118,9 +118,9 @@ public class SafeWebDriverUtils {
                 driver.get(url);
                 
                 // Wait for page to load
-                WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-                wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                    .executeScript("return document.readyState").equals("complete"));
+                if (!SmartWait.on(driver).documentReady(Duration.ofSeconds(DEFAULT_TIMEOUT))) {
+                    throw new TimeoutException("Sayfa " + DEFAULT_TIMEOUT + " sn içinde yüklenmedi");
+                }
                 
                 System.out.println("✅ Navigation successful: " + driver.getCurrentUrl());
                 return true;
@@ -136,7 +136,7 @@ public class SafeWebDriverUtils {
                 
                 // Wait before retry
                 try {
-                    Thread.sleep(2000);
+                    SmartWait.settle(driver, 2000);
                 } catch (InterruptedException ie) {
                     Thread.currentThread().interrupt();
                     return false;
@@ -306,21 +306,11 @@ public class SafeWebDriverUtils {
     public static void waitForPageReady(int timeoutSeconds) {
         try {
             WebDriver driver = getSafeWebDriver();
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(timeoutSeconds));
-            
-            // Wait for document ready state
-            wait.until(webDriver -> ((JavascriptExecutor) webDriver)
-                .executeScript("return document.readyState").equals("complete"));
             
-            // Wait for jQuery if present
-            wait.until(webDriver -> {
-                try {
-                    return (Boolean) ((JavascriptExecutor) webDriver)
-                        .executeScript("return typeof jQuery === 'undefined' || jQuery.active === 0");
-                } catch (Exception e) {
-                    return true; // jQuery not present
-                }
-            });
+            // document.readyState ve jQuery; DOM sessizliği beklenmez (sayaçlı sayfalar hiç sakinleşmez)
+            if (!SmartWait.on(driver).documentReady(Duration.ofSeconds(timeoutSeconds))) {
+                throw new TimeoutException("Sayfa " + timeoutSeconds + " sn içinde hazır olmadı");
+            }
             
             System.out.println("✅ Page ready state confirmed");
             
@@ -0,0 +1,301 @@
+package com.example.utils;
+
+import io.qameta.allure.Allure;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PayTR Screenshot İşleme Hattı
+ * Test thread'i yalnızca ham PNG byte'larını alır ve döner; kodlama, tekilleştirme,
+ * diske yazma ve Allure eki arka planda yapılır
+ *
+ * Allure eki test thread'inde "hazırlanır" (prepareAttachment: rapordaki yer ve dosya adı),
+ * içeriği arka planda yazılır; ekler yine doğru test/adım altında görünür. Dosyalar
+ * {@link ScreenshotStore} içinde ham görüntünün hash'i ile saklanır; aynı içerik daha önce
+ * saklandıysa yeniden kodlanmaz ve yazılmaz.
+ * Kuyruk dolduğunda iş test thread'inde yapılır (ekran görüntüsü kaybolmaz) ve bu durum
+ * backpressure olarak sayılıp raporlanır.
+ *
+ * Ayarlar: -Dscreenshot.pipeline.enabled=true -Dscreenshot.pipeline.threads=2
+ * -Dscreenshot.pipeline.queue=64 -Dscreenshot.format=png|jpg -Dscreenshot.maxWidth=0
+ * -Dscreenshot.jpegQuality=0.85
+ * WebP için JDK'da ImageIO yazıcısı olmadığından desteklenen kayıplı format JPEG'dir.
+ */
+public final class ScreenshotPipeline {
+
+    private static final long BACKPRESSURE_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final ScreenshotPipeline SHARED = createShared();
+
+    private final boolean async;
+    private final String format;
+    private final int maxWidth;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+    private final ScreenshotStore store;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object drained = new Object();
+    private final AtomicLong lastBackpressureWarnNanos = new AtomicLong(System.nanoTime() - BACKPRESSURE_WARN_INTERVAL_NANOS);
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder backpressure = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LatencyHistogram handOff = new LatencyHistogram();
+    private final LatencyHistogram processing = new LatencyHistogram();
+
+    public ScreenshotPipeline(ScreenshotStore store, boolean async, int threads, int queueCapacity,
+                              String format, int maxWidth, float jpegQuality) {
+        this.store = store;
+        this.async = async;
+        this.format = "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format) ? "jpg" : "png";
+        this.maxWidth = Math.max(0, maxWidth);
+        this.jpegQuality = Math.min(1f, Math.max(0.1f, jpegQuality));
+        int workers = Math.max(1, threads);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-pipeline-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static ScreenshotPipeline createShared() {
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(
+                ScreenshotStore.shared(),
+                Boolean.parseBoolean(System.getProperty("screenshot.pipeline.enabled", "true")),
+                Integer.getInteger("screenshot.pipeline.threads",
+                        Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+                Integer.getInteger("screenshot.pipeline.queue", 64),
+                System.getProperty("screenshot.format", "png"),
+                Integer.getInteger("screenshot.maxWidth", 0),
+                Float.parseFloat(System.getProperty("screenshot.jpegQuality", "0.85")));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> pipeline.flush(Duration.ofSeconds(30)),
+                "screenshot-pipeline-flush"));
+        return pipeline;
+    }
+
+    public static ScreenshotPipeline shared() {
+        return SHARED;
+    }
+
+    /** Kaydedilecek dosyanın uzantısı (png veya jpg) */
+    public String getFileExtension() {
+        return format;
+    }
+
+    /**
+     * Ham screenshot'ı işlenmek üzere sıraya koyar ve hemen döner.
+     * Test thread'inde yalnızca içerik hash'i hesaplanır (depodaki yol buna bağlıdır).
+     *
+     * @param png            driver'dan alınan PNG byte'ları
+     * @param reference      depoda bu içeriğe referans olarak kaydedilen dosya adı
+     * @param attachmentName null değilse mevcut test/adıma Allure eki olarak eklenir
+     * @return içeriğin depodaki yolu (yazma arka planda tamamlanır)
+     */
+    public Path submit(byte[] png, String reference, String attachmentName) {
+        long start = System.nanoTime();
+        String hash = sha256(png);
+        Path target = store.pathFor(hash, format);
+        String attachmentSource = attachmentName == null ? null
+                : Allure.getLifecycle().prepareAttachment(attachmentName, mimeType(), "." + format);
+        Runnable job = () -> process(png, hash, reference, target, attachmentSource);
+
+        submitted.increment();
+        bytesIn.add(png.length);
+        pending.incrementAndGet();
+        if (!async) {
+            job.run();
+        } else {
+            try {
+                executor.execute(job);
+            } catch (RejectedExecutionException e) {
+                reportBackpressure();
+                job.run();
+            }
+        }
+        handOff.recordNanos(System.nanoTime() - start);
+        return target;
+    }
+
+    /**
+     * Kuyruktaki tüm işler bitene kadar en fazla timeout bekler (suite sonu, rapor üretimi öncesi)
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (drained) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(drained, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * İşlem, tekilleştirme, backpressure ve süre metrikleri
+     * (handOff: test thread'inin ödediği süre, processing: arka plan işleme süresi)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("async", async);
+        metrics.put("format", format);
+        metrics.put("submitted", submitted.sum());
+        metrics.put("written", written.sum());
+        metrics.put("deduplicated", deduplicated.sum());
+        metrics.put("backpressure", backpressure.sum());
+        metrics.put("failures", failures.sum());
+        metrics.put("pending", pending.get());
+        metrics.put("queued", executor.getQueue().size());
+        metrics.put("bytesIn", bytesIn.sum());
+        metrics.put("bytesOut", bytesOut.sum());
+        metrics.put("handOff", handOff.toSummary());
+        metrics.put("processing", processing.toSummary());
+        return metrics;
+    }
+
+    private void process(byte[] png, String hash, String reference, Path target, String attachmentSource) {
+        long start = System.nanoTime();
+        try {
+            byte[][] encoded = new byte[1][];
+            store.put(hash, format, reference, () -> {
+                encoded[0] = encode(png);
+                return encoded[0];
+            });
+            if (encoded[0] != null) {
+                written.increment();
+                bytesOut.add(encoded[0].length);
+            } else {
+                deduplicated.increment();
+            }
+            if (attachmentSource != null) {
+                byte[] content = encoded[0] != null ? encoded[0] : store.read(target);
+                Allure.getLifecycle().writeAttachment(attachmentSource, new ByteArrayInputStream(content));
+            }
+        } catch (Exception e) {
+            failures.increment();
+            System.err.println("❌ Screenshot işlenemedi (" + target.getFileName() + "): " + e.getMessage());
+        } finally {
+            processing.recordNanos(System.nanoTime() - start);
+            if (pending.decrementAndGet() == 0) {
+                synchronized (drained) {
+                    drained.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * PNG ve ölçekleme yoksa byte'lar olduğu gibi yazılır; aksi halde çözülüp yeniden kodlanır
+     */
+    private byte[] encode(byte[] png) throws IOException {
+        if ("png".equals(format) && maxWidth == 0) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        BufferedImage scaled = scale(image);
+        ByteArrayOutputStream output = new ByteArrayOutputStream(png.length / 2);
+        if ("png".equals(format)) {
+            ImageIO.write(scaled, "png", output);
+            return output.toByteArray();
+        }
+        BufferedImage rgb = scaled;
+        if (scaled.getType() != BufferedImage.TYPE_INT_RGB) {
+            // JPEG alfa kanalı taşımaz
+            rgb = new BufferedImage(scaled.getWidth(), scaled.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            graphics.drawImage(scaled, 0, 0, null);
+            graphics.dispose();
+        }
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        if (maxWidth == 0 || image.getWidth() <= maxWidth) {
+            return image;
+        }
+        int height = Math.max(1, Math.round(image.getHeight() * (maxWidth / (float) image.getWidth())));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(maxWidth, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, maxWidth, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private void reportBackpressure() {
+        backpressure.increment();
+        long now = System.nanoTime();
+        long last = lastBackpressureWarnNanos.get();
+        if (now - last >= BACKPRESSURE_WARN_INTERVAL_NANOS && lastBackpressureWarnNanos.compareAndSet(last, now)) {
+            System.out.println("⚠️ Screenshot kuyruğu dolu (" + executor.getQueue().size()
+                    + ") - işleme test thread'inde yapılıyor, toplam backpressure: " + backpressure.sum());
+        }
+    }
+
+    private String mimeType() {
+        return "jpg".equals(format) ? "image/jpeg" : "image/png";
+    }
+
+    static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 desteklenmiyor", e);
+        }
+    }
+}
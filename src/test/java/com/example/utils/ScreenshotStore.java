@@ -0,0 +1,408 @@
+package com.example.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * PayTR İçerik Adresli Screenshot Deposu
+ * Her görüntü içerik hash'i ile bir kez saklanır; test dosya adları bu içeriğe referanstır
+ *
+ * Aynı hata sayfasını yakalayan 50 retry tek bir dosya tutar. Dosyalar
+ * store/&lt;hash[0..2]&gt;/&lt;hash&gt;.&lt;uzantı&gt; altında durur; hangi test adının hangi içeriğe
+ * karşılık geldiği references.tsv dosyasına eklenir. Depo disk kotasını (references.tsv dahil)
+ * aşınca en uzun süredir kullanılmayan (LRU) içerikler silinir ve silinen içeriklerin
+ * referans satırları dosyadan ayıklanır. Bu koşuda referans verilmiş içerikler silinmez;
+ * raporlar onlara işaret eder. Açılışta mevcut depo taranır, böylece kota aynı CI
+ * ajanındaki ardışık koşular boyunca da geçerlidir.
+ *
+ * Ayarlar: -Dscreenshot.store.dir=target/screenshots/store -Dscreenshot.store.maxMB=512
+ */
+public final class ScreenshotStore {
+
+    private static final String REFERENCES_FILE = "references.tsv";
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final ScreenshotStore SHARED = new ScreenshotStore(
+            Paths.get(System.getProperty("screenshot.store.dir", "target/screenshots/store")),
+            Long.getLong("screenshot.store.maxMB", 512L) * 1024 * 1024);
+
+    private final Path root;
+    private final long maxBytes;
+
+    private final Map<String, Blob> blobs = new ConcurrentHashMap<>();
+    private final AtomicLong storedBytes = new AtomicLong();
+    private final AtomicLong referencesBytes = new AtomicLong();
+    private final Object referenceLock = new Object();
+    private final Object evictionLock = new Object();
+
+    private final LongAdder references = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder evictedBytes = new LongAdder();
+
+    /**
+     * Depodaki tek içerik; ready yazma tamamlanınca (veya başarısız olunca) tamamlanır
+     */
+    private static final class Blob {
+        private final String key;
+        private final Path path;
+        private final CompletableFuture<Path> ready = new CompletableFuture<>();
+        private volatile long size;
+        private volatile long lastAccessMillis;
+        private volatile boolean referencedThisRun;
+
+        private Blob(String key, Path path) {
+            this.key = key;
+            this.path = path;
+            this.lastAccessMillis = System.currentTimeMillis();
+        }
+    }
+
+    public ScreenshotStore(Path root, long maxBytes) {
+        this.root = root;
+        this.maxBytes = Math.max(1, maxBytes);
+        loadExisting();
+    }
+
+    public static ScreenshotStore shared() {
+        return SHARED;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * hash içeriğinin depodaki yolu (henüz yazılmamış olabilir)
+     */
+    public Path pathFor(String hash, String extension) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+    }
+
+    /**
+     * İçeriği hash'i ile saklar. Aynı hash daha önce saklandıysa encoder hiç çağrılmaz,
+     * yalnızca referans eklenir ve içerik "son kullanılan" olarak işaretlenir.
+     *
+     * @param encoder içeriği üretir (ör. PNG → JPEG); yalnızca ilk kayıtta çalışır
+     * @return içeriğin depodaki yolu, yazma tamamlandığında
+     */
+    public Path put(String hash, String extension, String reference, ContentEncoder encoder) throws IOException {
+        Path path = pathFor(hash, extension);
+        String key = path.getFileName().toString();
+        Blob created = new Blob(key, path);
+        Blob blob = blobs.putIfAbsent(key, created);
+        if (blob == null) {
+            blob = created;
+            blob.referencedThisRun = true;
+            try {
+                byte[] content = encoder.encode();
+                write(blob, content);
+                blob.size = content.length;
+                storedBytes.addAndGet(content.length);
+                blob.ready.complete(blob.path);
+            } catch (IOException | RuntimeException e) {
+                blobs.remove(key, blob);
+                blob.ready.completeExceptionally(e);
+                throw e;
+            }
+            addReference(reference, hash);
+            evictIfNeeded();
+            return blob.path;
+        }
+
+        // Aynı içerik başka bir thread tarafından yazılıyor olabilir
+        awaitReady(blob);
+        blob.referencedThisRun = true;
+        blob.lastAccessMillis = System.currentTimeMillis();
+        try {
+            // Son kullanım zamanı sonraki koşuların LRU sırası için dosyada da tutulur
+            Files.setLastModifiedTime(path, FileTime.fromMillis(blob.lastAccessMillis));
+        } catch (IOException e) {
+            // Depo dışından silinmiş; kaydı düşürüp yeniden yaz
+            forget(blob);
+            return put(hash, extension, reference, encoder);
+        }
+        hits.increment();
+        bytesSaved.add(blob.size);
+        addReference(reference, hash);
+        // Referans satırları da kotaya sayılır
+        evictIfNeeded();
+        return path;
+    }
+
+    /**
+     * Depodaki içeriği okur (Allure eki gibi içerik gereken yerler için)
+     */
+    public byte[] read(Path blobPath) throws IOException {
+        return Files.readAllBytes(blobPath);
+    }
+
+    /**
+     * cutoffMillis'ten beri kullanılmamış içerikleri siler (yaşa göre eski temizlik davranışı).
+     * Bu koşuda referans verilmiş içerikler silinmez.
+     */
+    public int evictOlderThan(long cutoffMillis) {
+        int removed = 0;
+        synchronized (evictionLock) {
+            for (Blob blob : new ArrayList<>(blobs.values())) {
+                if (evictable(blob) && blob.lastAccessMillis < cutoffMillis && delete(blob)) {
+                    removed++;
+                }
+            }
+            if (removed > 0) {
+                pruneReferences();
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Depo durumu: içerik sayısı, disk kullanımı, tekilleştirmeyle kazanılan byte'lar, tahliyeler
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("root", root.toString());
+        stats.put("blobs", blobs.size());
+        stats.put("storedBytes", storedBytes.get());
+        stats.put("referencesBytes", referencesBytes.get());
+        stats.put("maxBytes", maxBytes);
+        stats.put("references", references.sum());
+        stats.put("dedupHits", hits.sum());
+        stats.put("bytesSaved", bytesSaved.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("evictedBytes", evictedBytes.sum());
+        return stats;
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    public long getStoredBytes() {
+        return storedBytes.get();
+    }
+
+    /**
+     * Kota (içerikler + references.tsv) aşılırsa en uzun süredir kullanılmayan içerikleri
+     * kotanın %90'ına inene kadar siler ve silinenlerin referans satırlarını ayıklar.
+     * Bu koşuda referans verilmiş içerikler silinmez; kota yalnızca bunlarla dolmuşsa aşılmış kalır.
+     */
+    private void evictIfNeeded() {
+        if (usedBytes() <= maxBytes) {
+            return;
+        }
+        synchronized (evictionLock) {
+            if (usedBytes() <= maxBytes) {
+                return;
+            }
+            long target = maxBytes - maxBytes / 10;
+            List<Blob> candidates = new ArrayList<>(blobs.values());
+            candidates.sort(Comparator.comparingLong(blob -> blob.lastAccessMillis));
+            int removed = 0;
+            for (Blob blob : candidates) {
+                if (usedBytes() <= target) {
+                    break;
+                }
+                if (evictable(blob) && delete(blob)) {
+                    removed++;
+                    System.out.println("🗑️ Screenshot deposu kotası aşıldı, LRU içerik silindi: "
+                            + blob.path.getFileName());
+                }
+            }
+            if (removed > 0) {
+                pruneReferences();
+            }
+        }
+    }
+
+    private long usedBytes() {
+        return storedBytes.get() + referencesBytes.get();
+    }
+
+    private static boolean evictable(Blob blob) {
+        return blob.ready.isDone() && !blob.referencedThisRun;
+    }
+
+    /**
+     * references.tsv'den depoda artık bulunmayan içeriklere ait satırları çıkarır
+     */
+    private void pruneReferences() {
+        Set<String> liveHashes = new HashSet<>();
+        for (String key : blobs.keySet()) {
+            int dot = key.indexOf('.');
+            liveHashes.add(dot < 0 ? key : key.substring(0, dot));
+        }
+        Path file = root.resolve(REFERENCES_FILE);
+        synchronized (referenceLock) {
+            if (!Files.exists(file)) {
+                return;
+            }
+            try {
+                List<String> kept = new ArrayList<>();
+                for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                    // referans \t hash \t zaman
+                    int end = line.lastIndexOf('\t');
+                    int start = end > 0 ? line.lastIndexOf('\t', end - 1) : -1;
+                    if (start >= 0 && liveHashes.contains(line.substring(start + 1, end))) {
+                        kept.add(line);
+                    }
+                }
+                Path temp = Files.createTempFile(root, "references", ".tmp");
+                try {
+                    Files.write(temp, kept, StandardCharsets.UTF_8);
+                    try {
+                        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                    } catch (AtomicMoveNotSupportedException e) {
+                        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                    }
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                referencesBytes.set(Files.size(file));
+            } catch (IOException e) {
+                System.out.println("⚠️ Screenshot referansları ayıklanamadı: " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean delete(Blob blob) {
+        if (!blobs.remove(blob.key, blob)) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(blob.path);
+        } catch (IOException e) {
+            System.out.println("⚠️ Screenshot deposundan silinemedi: " + blob.path + " - " + e.getMessage());
+        }
+        storedBytes.addAndGet(-blob.size);
+        evictions.increment();
+        evictedBytes.add(blob.size);
+        return true;
+    }
+
+    private void forget(Blob blob) {
+        if (blobs.remove(blob.key, blob)) {
+            storedBytes.addAndGet(-blob.size);
+        }
+    }
+
+    private static void awaitReady(Blob blob) throws IOException {
+        try {
+            blob.ready.get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Screenshot deposu beklemesi kesildi", e);
+        } catch (Exception e) {
+            throw new IOException("Aynı içeriğin yazımı başarısız oldu: " + blob.path.getFileName(), e);
+        }
+    }
+
+    /**
+     * Geçici dosyaya yazıp yerine taşır; yarım yazılmış içerik hiçbir zaman görünmez
+     */
+    private static void write(Blob blob, byte[] content) throws IOException {
+        Files.createDirectories(blob.path.getParent());
+        Path temp = Files.createTempFile(blob.path.getParent(), "blob", ".tmp");
+        try {
+            Files.write(temp, content);
+            try {
+                Files.move(temp, blob.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, blob.path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void addReference(String reference, String hash) {
+        references.increment();
+        if (reference == null) {
+            return;
+        }
+        String line = reference + "\t" + hash + "\t" + LocalDateTime.now().format(TIMESTAMP_FORMAT) + "\n";
+        synchronized (referenceLock) {
+            try (Writer writer = Files.newBufferedWriter(root.resolve(REFERENCES_FILE), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(line);
+                referencesBytes.addAndGet(line.getBytes(StandardCharsets.UTF_8).length);
+            } catch (IOException e) {
+                System.out.println("⚠️ Screenshot referansı yazılamadı: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Önceki koşulardan kalan içerikleri son değiştirilme zamanına göre LRU sırasıyla yükler
+     */
+    private void loadExisting() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try {
+            Path referencesFile = root.resolve(REFERENCES_FILE);
+            if (Files.exists(referencesFile)) {
+                referencesBytes.set(Files.size(referencesFile));
+            }
+        } catch (IOException e) {
+            // Boyutu okunamayan referans dosyası kota hesabına katılmaz
+        }
+        try (Stream<Path> files = Files.walk(root, 2)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().equals(REFERENCES_FILE))
+                    .forEach(path -> {
+                        String name = path.getFileName().toString();
+                        if (name.endsWith(".tmp")) {
+                            return;
+                        }
+                        try {
+                            Blob blob = new Blob(name, path);
+                            blob.size = Files.size(path);
+                            FileTime modified = Files.getLastModifiedTime(path);
+                            blob.lastAccessMillis = modified.toMillis();
+                            blob.ready.complete(path);
+                            if (blobs.putIfAbsent(blob.key, blob) == null) {
+                                storedBytes.addAndGet(blob.size);
+                            }
+                        } catch (IOException e) {
+                            // Okunamayan dosya kota hesabına katılmaz
+                        }
+                    });
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("⚠️ Screenshot deposu taranamadı: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Yalnızca içerik depoda yoksa çağrılan kodlayıcı
+     */
+    @FunctionalInterface
+    public interface ContentEncoder {
+        byte[] encode() throws IOException;
+    }
+}
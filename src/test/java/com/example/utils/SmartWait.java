@@ -0,0 +1,261 @@
+package com.example.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * PayTR Akıllı Bekleme Motoru
+ * Sabit Thread.sleep yerine koşul tabanlı, sayfa hazır olur olmaz dönen beklemeler
+ *
+ * WebDriverWait üzerine kuruludur; yoklama aralığı kısa başlar ve koşul sağlanmadıkça
+ * büyür (varsayılan 25 ms → 500 ms). Sayfaya enjekte edilen küçük bir betik DOM
+ * değişikliklerini (MutationObserver), bekleyen XHR/fetch isteklerini ve yeni kaynak
+ * yüklemelerini izler; "sayfa sakin" kararı bu sinyallerden verilir. Saat/sayaç gibi sürekli
+ * değişen sayfalarda DOM hiç sakinleşmeyebileceği için bu karar yalnızca süresi eski sabit
+ * beklemeyle sınırlı olan settle() içinde kullanılır. Her koşulun
+ * bekleme süresi, yoklama sayısı ve zaman aşımları ada göre toplanır.
+ *
+ * Ayarlar: -Dsmartwait.minPollMs=25 -Dsmartwait.maxPollMs=500 -Dsmartwait.quietMs=300
+ */
+public final class SmartWait {
+
+    private static final long MIN_POLL_MILLIS = Long.getLong("smartwait.minPollMs", 25L);
+    private static final long MAX_POLL_MILLIS = Long.getLong("smartwait.maxPollMs", 500L);
+    private static final long QUIET_MILLIS = Long.getLong("smartwait.quietMs", 300L);
+
+    /**
+     * Sayfaya bir kez kurulur (yeni doküman yüklenince yeniden); durum özetini döndürür
+     */
+    private static final String ACTIVITY_SCRIPT =
+            "var w = window;"
+            + "if (!w.__paytrWait) {"
+            + "  var s = {pending: 0, last: performance.now(), resources: -1};"
+            + "  var touch = function() { s.last = performance.now(); };"
+            + "  try { new MutationObserver(touch).observe(document,"
+            + "    {childList: true, subtree: true, characterData: true}); } catch (e) {}"
+            + "  try { var send = XMLHttpRequest.prototype.send;"
+            + "    XMLHttpRequest.prototype.send = function() {"
+            + "      s.pending++; touch();"
+            + "      this.addEventListener('loadend', function() { s.pending = Math.max(0, s.pending - 1); touch(); });"
+            + "      return send.apply(this, arguments); }; } catch (e) {}"
+            + "  if (w.fetch) { var f = w.fetch;"
+            + "    w.fetch = function() { s.pending++; touch();"
+            + "      var done = function() { s.pending = Math.max(0, s.pending - 1); touch(); };"
+            + "      var p = f.apply(this, arguments); p.then(done, done); return p; }; }"
+            + "  w.__paytrWait = s;"
+            + "}"
+            + "var st = w.__paytrWait;"
+            + "var count = performance.getEntriesByType ? performance.getEntriesByType('resource').length : 0;"
+            + "if (count !== st.resources) { st.resources = count; st.last = performance.now(); }"
+            + "var jq = (typeof jQuery !== 'undefined' && jQuery.active) ? jQuery.active : 0;"
+            + "return {ready: document.readyState, jquery: jq, pending: st.pending + jq, quietMs: performance.now() - st.last};";
+
+    private static final Map<String, ConditionStats> telemetry = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+
+    private SmartWait(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    public static SmartWait on(WebDriver driver) {
+        return new SmartWait(driver);
+    }
+
+    /**
+     * Thread.sleep yerine: bir etkileşimden (get, click, submit...) sonra sayfa sakinleşene kadar,
+     * en fazla maxMillis bekler. Zaman aşımında istisna atmaz; eski sabit bekleme kadar sürer.
+     */
+    public static void settle(WebDriver driver, long maxMillis) throws InterruptedException {
+        if (driver == null) {
+            Thread.sleep(maxMillis);
+            return;
+        }
+        long quiet = Math.min(QUIET_MILLIS, Math.max(0, maxMillis / 2));
+        try {
+            on(driver).pageSettled(Duration.ofMillis(quiet), Duration.ofMillis(maxMillis));
+        } catch (WebDriverException e) {
+            // WebDriverWait kesilmeyi WebDriverException olarak iletir
+            if (Thread.interrupted()) {
+                throw new InterruptedException("SmartWait beklemesi kesildi");
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Koşul null/false dışında bir değer döndürene kadar uyarlamalı aralıkla yoklar.
+     * Süre dolarsa Selenium TimeoutException atılır; süre ve yoklama sayısı name altında kaydedilir.
+     */
+    public <T> T until(String name, Function<? super WebDriver, T> condition, Duration timeout) {
+        return poll(name, condition, timeout, StaleElementReferenceException.class);
+    }
+
+    private <T> T poll(String name, Function<? super WebDriver, T> condition, Duration timeout,
+                       Class<? extends Throwable> ignored) {
+        ConditionStats stats = telemetry.computeIfAbsent(name, key -> new ConditionStats());
+        AdaptiveSleeper sleeper = new AdaptiveSleeper();
+        WebDriverWait wait = new WebDriverWait(driver, timeout, Duration.ofMillis(MIN_POLL_MILLIS),
+                Clock.systemDefaultZone(), sleeper);
+        wait.ignoring(ignored);
+        long start = System.nanoTime();
+        try {
+            T result = wait.until(condition);
+            stats.record(System.nanoTime() - start, sleeper.polls + 1, false);
+            return result;
+        } catch (TimeoutException e) {
+            stats.record(System.nanoTime() - start, sleeper.polls + 1, true);
+            throw e;
+        }
+    }
+
+    /**
+     * until ile aynı, ancak zaman aşımında false döner
+     */
+    public boolean tryUntil(String name, Function<? super WebDriver, ?> condition, Duration timeout) {
+        try {
+            until(name, condition, timeout);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Sayfa koşulları: gezinme sırasında betik hataları (doküman değişiyor) "henüz hazır değil" sayılır
+     */
+    private boolean tryPageCondition(String name, Function<? super WebDriver, Boolean> condition, Duration timeout) {
+        try {
+            poll(name, condition, timeout, WebDriverException.class);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * document.readyState == complete ve jQuery.active == 0; DOM/XHR sessizliği beklenmez
+     */
+    public boolean documentReady(Duration timeout) {
+        return tryPageCondition("documentReady", webDriver -> {
+            Map<String, Object> state = activity(webDriver);
+            return state == null || ("complete".equals(state.get("ready")) && number(state.get("jquery")) == 0);
+        }, timeout);
+    }
+
+    /**
+     * Bekleyen XHR/fetch yok ve quiet süresince yeni istek/kaynak başlamadı
+     */
+    public boolean networkIdle(Duration quiet, Duration timeout) {
+        return tryPageCondition("networkIdle", webDriver -> {
+            Map<String, Object> state = activity(webDriver);
+            return state == null || (number(state.get("pending")) == 0 && number(state.get("quietMs")) >= quiet.toMillis());
+        }, timeout);
+    }
+
+    /**
+     * Sayfa yüklendi, ağ boşta ve quiet süresince DOM değişmedi; sayfa hazır olunca hemen döner.
+     * Sürekli değişen sayfalarda timeout'a kadar sürer; timeout kısa tutulmalıdır
+     */
+    public boolean pageSettled(Duration quiet, Duration timeout) {
+        return tryPageCondition("pageSettled", webDriver -> {
+            Map<String, Object> state = activity(webDriver);
+            if (state == null) {
+                // JavaScript yoksa yalnızca doküman durumuna bakılamaz; hazır kabul edilir
+                return true;
+            }
+            return "complete".equals(state.get("ready"))
+                    && number(state.get("pending")) == 0
+                    && number(state.get("quietMs")) >= quiet.toMillis();
+        }, timeout);
+    }
+
+    /**
+     * Koşul adına göre bekleme telemetrisi: sayı, zaman aşımı, ortalama yoklama, süre yüzdelikleri (ms)
+     */
+    public static Map<String, Object> getTelemetry() {
+        Map<String, Object> result = new TreeMap<>();
+        telemetry.forEach((name, stats) -> result.put(name, stats.toMap()));
+        return result;
+    }
+
+    public static void printTelemetry() {
+        if (telemetry.isEmpty()) {
+            return;
+        }
+        System.out.println("\n⏱️ SmartWait telemetrisi:");
+        telemetry.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> System.out.println("  " + entry.getKey() + ": timeouts="
+                        + entry.getValue().timeouts.sum() + " " + entry.getValue().durations.toSummaryLine()));
+    }
+
+    public static void resetTelemetry() {
+        telemetry.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> activity(WebDriver webDriver) {
+        if (!(webDriver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        Object state = ((JavascriptExecutor) webDriver).executeScript(ACTIVITY_SCRIPT);
+        return state instanceof Map ? (Map<String, Object>) state : null;
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    /**
+     * İlk yoklamalar sık, koşul geciktikçe seyrek: hızlı sayfada erken dönüş, yavaş sayfada az round-trip
+     */
+    private static final class AdaptiveSleeper implements Sleeper {
+        private long nextMillis = MIN_POLL_MILLIS;
+        private int polls;
+
+        @Override
+        public void sleep(Duration ignored) throws InterruptedException {
+            polls++;
+            Thread.sleep(nextMillis);
+            nextMillis = Math.min(MAX_POLL_MILLIS, Math.max(nextMillis + 1, (long) (nextMillis * 1.5)));
+        }
+    }
+
+    private static final class ConditionStats {
+        private final LatencyHistogram durations = new LatencyHistogram();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+
+        private void record(long nanos, int pollCount, boolean timedOut) {
+            durations.recordNanos(nanos);
+            polls.add(pollCount);
+            if (timedOut) {
+                timeouts.increment();
+            }
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            long count = durations.getCount();
+            map.put("timeouts", timeouts.sum());
+            map.put("avgPolls", count == 0 ? 0 : Math.round((double) polls.sum() / count * 10) / 10.0);
+            map.put("duration", durations.toSummary());
+            return map;
+        }
+    }
+}
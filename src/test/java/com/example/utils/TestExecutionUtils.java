@@ -18,7 +18,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Enhanced Test Execution Utilities for PayTR Test Suite
@@ -27,10 +27,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class TestExecutionUtils {
     
     private static final Map<String, TestExecutionMetrics> testMetrics = new ConcurrentHashMap<>();
-    private static final AtomicInteger totalTestsExecuted = new AtomicInteger(0);
-    private static final AtomicInteger totalTestsPassed = new AtomicInteger(0);
-    private static final AtomicInteger totalTestsFailed = new AtomicInteger(0);
-    private static final AtomicInteger totalTestsSkipped = new AtomicInteger(0);
+    private static final TestMetrics.Counter totalTestsExecuted = TestMetrics.counter("executionUtils.total");
+    private static final TestMetrics.Counter totalTestsPassed = TestMetrics.counter("executionUtils.passed");
+    private static final TestMetrics.Counter totalTestsFailed = TestMetrics.counter("executionUtils.failed");
+    private static final TestMetrics.Counter totalTestsSkipped = TestMetrics.counter("executionUtils.skipped");
+    private static final TestMetrics.Timer testDuration = TestMetrics.timer("executionUtils.testDuration");
     
     private static final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
     private static final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
@@ -99,6 +100,11 @@ public class TestExecutionUtils {
      * Start tracking test execution
      */
     public static void startTestExecution(ITestResult result) {
+        if (!TestMetrics.isVerbose()) {
+            // Quiet mode: counters only, no per-test map entry, Allure step or memory probe
+            totalTestsExecuted.increment();
+            return;
+        }
         String testKey = getTestKey(result);
         String className = result.getTestClass().getName();
         String methodName = result.getMethod().getMethodName();
@@ -106,7 +112,7 @@ public class TestExecutionUtils {
         TestExecutionMetrics metrics = new TestExecutionMetrics(testKey, className, methodName);
         testMetrics.put(testKey, metrics);
         
-        totalTestsExecuted.incrementAndGet();
+        totalTestsExecuted.increment();
         
         // Add Allure step
         Allure.step("Test Execution Started", () -> {
@@ -123,27 +129,33 @@ public class TestExecutionUtils {
      * End tracking test execution
      */
     public static void endTestExecution(ITestResult result) {
+        if (!TestMetrics.isVerbose()) {
+            testDuration.record(Math.max(0, result.getEndMillis() - result.getStartMillis()), TimeUnit.MILLISECONDS);
+            countStatus(result.getStatus());
+            return;
+        }
         String testKey = getTestKey(result);
         TestExecutionMetrics metrics = testMetrics.get(testKey);
         
         if (metrics != null) {
             metrics.setEndTime(System.currentTimeMillis());
+            testDuration.record(metrics.getDuration(), TimeUnit.MILLISECONDS);
             
             switch (result.getStatus()) {
                 case ITestResult.SUCCESS:
                     metrics.setStatus("PASSED");
-                    totalTestsPassed.incrementAndGet();
+                    totalTestsPassed.increment();
                     break;
                 case ITestResult.FAILURE:
                     metrics.setStatus("FAILED");
-                    totalTestsFailed.incrementAndGet();
+                    totalTestsFailed.increment();
                     if (result.getThrowable() != null) {
                         metrics.setErrorMessage(result.getThrowable().getMessage());
                     }
                     break;
                 case ITestResult.SKIP:
                     metrics.setStatus("SKIPPED");
-                    totalTestsSkipped.incrementAndGet();
+                    totalTestsSkipped.increment();
                     break;
             }
             
@@ -160,6 +172,20 @@ public class TestExecutionUtils {
         }
     }
     
+    private static void countStatus(int status) {
+        switch (status) {
+            case ITestResult.SUCCESS:
+                totalTestsPassed.increment();
+                break;
+            case ITestResult.FAILURE:
+                totalTestsFailed.increment();
+                break;
+            case ITestResult.SKIP:
+                totalTestsSkipped.increment();
+                break;
+        }
+    }
+    
     /**
      * Add execution step
      */
@@ -295,10 +321,11 @@ public class TestExecutionUtils {
      */
     public static void clearMetrics() {
         testMetrics.clear();
-        totalTestsExecuted.set(0);
-        totalTestsPassed.set(0);
-        totalTestsFailed.set(0);
-        totalTestsSkipped.set(0);
+        totalTestsExecuted.reset();
+        totalTestsPassed.reset();
+        totalTestsFailed.reset();
+        totalTestsSkipped.reset();
+        testDuration.reset();
     }
     
     /**
@@ -306,16 +333,17 @@ public class TestExecutionUtils {
      */
     public static Map<String, Object> getExecutionStatistics() {
         Map<String, Object> stats = new HashMap<>();
-        stats.put("totalTests", totalTestsExecuted.get());
-        stats.put("passedTests", totalTestsPassed.get());
-        stats.put("failedTests", totalTestsFailed.get());
-        stats.put("skippedTests", totalTestsSkipped.get());
+        // Counts stay Integer as before the LongAdder counters
+        stats.put("totalTests", (int) totalTestsExecuted.get());
+        stats.put("passedTests", (int) totalTestsPassed.get());
+        stats.put("failedTests", (int) totalTestsFailed.get());
+        stats.put("skippedTests", (int) totalTestsSkipped.get());
         stats.put("successRate", totalTestsExecuted.get() > 0 ? 
             (double) totalTestsPassed.get() / totalTestsExecuted.get() * 100 : 0);
-        stats.put("totalDuration", testMetrics.values().stream()
-            .mapToLong(TestExecutionMetrics::getDuration).sum());
-        stats.put("averageDuration", testMetrics.values().stream()
-            .mapToLong(TestExecutionMetrics::getDuration).average().orElse(0));
+        LatencyHistogram durations = testDuration.snapshot();
+        stats.put("totalDuration", Math.round(durations.getMeanMillis() * durations.getCount()));
+        stats.put("averageDuration", durations.getMeanMillis());
+        stats.put("p95Duration", durations.getPercentileMillis(95));
         
         return stats;
     }
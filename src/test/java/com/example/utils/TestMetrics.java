@@ -0,0 +1,235 @@
+package com.example.utils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PayTR Test Metrik Kaydı
+ * Tüm TestNG listener'larının ortak kullandığı kilitsiz sayaç, gösterge, zamanlayıcı ve histogramlar
+ *
+ * Metrikler ada göre bir kez (genellikle static final alan olarak) alınır; test olayları sırasında
+ * string anahtar üretilmez ve map'e yazılmaz. Sayaçlar LongAdder ile şeritlenir; zamanlayıcı ve
+ * histogramlar her thread'in kendi {@link LatencyHistogram} parçasına yazar, parçalar yalnızca
+ * okunurken (suite sonunda) birleştirilir. Bir kayıt tipik olarak onlarca nanosaniye sürer.
+ *
+ * Listener'ların test başına log satırları, Allure ekleri, bellek ölçümleri ve test başına map
+ * kayıtları metrik kaydından çok daha pahalıdır; -Dlisteners.verbose=false ile kapatılır ve
+ * test olaylarında yalnızca bu metrikler (ve başarısız testlerin ayrıntısı) tutulur.
+ */
+public final class TestMetrics {
+
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private static final boolean VERBOSE = Boolean.parseBoolean(System.getProperty("listeners.verbose", "true"));
+
+    private TestMetrics() {
+    }
+
+    /**
+     * false ise listener'lar test başına log, Allure eki, bellek ölçümü ve map kaydı üretmez
+     */
+    public static boolean isVerbose() {
+        return VERBOSE;
+    }
+
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public static Gauge gauge(String name) {
+        return gauges.computeIfAbsent(name, key -> new Gauge());
+    }
+
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, key -> new Timer());
+    }
+
+    public static Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new Histogram());
+    }
+
+    /**
+     * Monoton artan sayaç (LongAdder: thread başına hücre, okumada toplanır)
+     */
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() {
+            value.increment();
+        }
+
+        public void add(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        public void reset() {
+            value.reset();
+        }
+    }
+
+    /**
+     * Anlık değer ve görülen en yüksek değer (ör. aktif test sayısı)
+     */
+    public static final class Gauge {
+        private final AtomicLong value = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        public long increment() {
+            return updateMax(value.incrementAndGet());
+        }
+
+        public long decrement() {
+            return value.decrementAndGet();
+        }
+
+        public void set(long newValue) {
+            value.set(newValue);
+            updateMax(newValue);
+        }
+
+        public long get() {
+            return value.get();
+        }
+
+        public long getMax() {
+            return max.get();
+        }
+
+        private long updateMax(long current) {
+            long seen = max.get();
+            while (current > seen && !max.compareAndSet(seen, current)) {
+                seen = max.get();
+            }
+            return current;
+        }
+
+        public void reset() {
+            value.set(0);
+            max.set(0);
+        }
+    }
+
+    /**
+     * Thread başına parçalanmış histogram; kayıt sırasında thread'ler arası paylaşılan yazma yoktur
+     */
+    private static class ShardedHistogram {
+        private final List<LatencyHistogram> shards = new CopyOnWriteArrayList<>();
+        private final ThreadLocal<LatencyHistogram> local = ThreadLocal.withInitial(() -> {
+            LatencyHistogram shard = new LatencyHistogram();
+            shards.add(shard);
+            return shard;
+        });
+
+        void recordValue(long value) {
+            local.get().recordNanos(value);
+        }
+
+        /** Tüm parçaların birleştirilmiş kopyası */
+        public LatencyHistogram snapshot() {
+            LatencyHistogram merged = new LatencyHistogram();
+            for (LatencyHistogram shard : shards) {
+                merged.merge(shard);
+            }
+            return merged;
+        }
+
+        public void reset() {
+            shards.forEach(LatencyHistogram::reset);
+        }
+    }
+
+    /**
+     * Süre ölçer (nanosaniye); özetler ms cinsindendir
+     */
+    public static final class Timer extends ShardedHistogram {
+
+        /** Ölçüm başlangıcı; {@link #stop(long)} ile kullanılır */
+        public long start() {
+            return System.nanoTime();
+        }
+
+        public void stop(long startNanos) {
+            recordValue(System.nanoTime() - startNanos);
+        }
+
+        public void record(long nanos) {
+            recordValue(nanos);
+        }
+
+        public void record(long duration, TimeUnit unit) {
+            recordValue(unit.toNanos(duration));
+        }
+    }
+
+    /**
+     * Birimsiz değer dağılımı (ör. MB, adet); özet ham değerleri gösterir
+     */
+    public static final class Histogram extends ShardedHistogram {
+
+        public void record(long value) {
+            recordValue(value);
+        }
+    }
+
+    /**
+     * Adı prefix ile başlayan sayaçlar (prefix çıkarılmış adla), ör. thread başına test sayıları
+     */
+    public static Map<String, Long> counters(String prefix) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> {
+            if (name.startsWith(prefix)) {
+                result.put(name.substring(prefix.length()), counter.get());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Tüm metriklerin birleştirilmiş anlık görüntüsü
+     */
+    public static Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.get()));
+        gauges.forEach((name, gauge) -> result.put(name, "value=" + gauge.get() + " max=" + gauge.getMax()));
+        timers.forEach((name, timer) -> result.put(name, timer.snapshot().toSummary()));
+        histograms.forEach((name, histogram) -> result.put(name, valueSummary(histogram.snapshot())));
+        return result;
+    }
+
+    public static void printSummary() {
+        if (counters.isEmpty() && gauges.isEmpty() && timers.isEmpty() && histograms.isEmpty()) {
+            return;
+        }
+        System.out.println("\n📈 Test metrikleri:");
+        snapshot().forEach((name, value) -> System.out.println("  " + name + ": " + value));
+    }
+
+    /**
+     * Değerleri sıfırlar; alınmış metrik referansları geçerli kalır
+     */
+    public static void reset() {
+        counters.values().forEach(Counter::reset);
+        gauges.values().forEach(Gauge::reset);
+        timers.values().forEach(ShardedHistogram::reset);
+        histograms.values().forEach(ShardedHistogram::reset);
+    }
+
+    private static String valueSummary(LatencyHistogram histogram) {
+        return String.format(Locale.ROOT, "n=%d min=%d p50=%d p90=%d p99=%d max=%d",
+                histogram.getCount(), histogram.getMinNanos(), histogram.getPercentileNanos(50),
+                histogram.getPercentileNanos(90), histogram.getPercentileNanos(99), histogram.getMaxNanos());
+    }
+}
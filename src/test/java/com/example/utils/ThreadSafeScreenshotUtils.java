@@ -1,14 +1,16 @@
 package com.example.utils;
 
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
 import org.testng.ITestResult;
 import org.testng.Reporter;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 
-import java.io.ByteArrayInputStream;
+import java.awt.Rectangle;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -16,6 +18,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -26,13 +30,15 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class ThreadSafeScreenshotUtils {
     
     private static final String SCREENSHOT_DIR = "target/screenshots";
-    private static final String ALLURE_SCREENSHOTS_DIR = "target/allure-results";
     private static final AtomicInteger screenshotCounter = new AtomicInteger(0);
     private static final ConcurrentHashMap<String, String> threadScreenshotPaths = new ConcurrentHashMap<>();
     
     // Thread-local WebDriver storage for parallel execution
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
     
+    // BEFORE captures waiting for compareAfterAction, keyed by test name
+    private static final ThreadLocal<Map<String, byte[]>> beforeCaptures = ThreadLocal.withInitial(HashMap::new);
+    
     /**
      * Set WebDriver for current thread
      */
@@ -72,6 +78,22 @@ public class ThreadSafeScreenshotUtils {
      * Take screenshot with automatic naming and thread safety
      */
     public static String takeScreenshot(String testName) {
+        return capture(testName, "Screenshot - " + testName);
+    }
+    
+    /**
+     * Grabs raw bytes on the test thread; encoding, file write and Allure attachment
+     * are handled by {@link ScreenshotPipeline} in the background
+     */
+    private static String capture(String testName, String attachmentName) {
+        byte[] screenshotBytes = grab(testName);
+        return screenshotBytes == null ? null : submit(testName, screenshotBytes, attachmentName);
+    }
+    
+    /**
+     * Raw PNG bytes from the current thread's driver, or null
+     */
+    private static byte[] grab(String testName) {
         WebDriver driver = getDriver();
         if (driver == null) {
             String errorMsg = "❌ No WebDriver found for current thread: " + Thread.currentThread().getName();
@@ -80,56 +102,34 @@ public class ThreadSafeScreenshotUtils {
             return null;
         }
         
-        // Additional validation: Check if driver is responsive
         try {
-            driver.getCurrentUrl(); // Test if driver is responsive
+            // Take screenshot (an unresponsive driver fails here, no separate round-trip needed)
+            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
+            return takesScreenshot.getScreenshotAs(OutputType.BYTES);
         } catch (Exception e) {
-            String errorMsg = "❌ WebDriver is not responsive: " + e.getMessage();
+            String errorMsg = String.format("❌ Failed to take screenshot for test '%s': %s", 
+                testName, e.getMessage());
             Reporter.log(errorMsg);
             System.out.println(errorMsg);
             return null;
         }
+    }
+    
+    private static String submit(String testName, byte[] screenshotBytes, String attachmentName) {
+        // Generate unique screenshot name
+        String fileName = generateThreadSafeFileName(testName);
         
-        try {
-            // Create screenshot directory if it doesn't exist
-            createScreenshotDirectories();
-            
-            // Generate unique screenshot name
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
-            String threadName = Thread.currentThread().getName().replaceAll("[^a-zA-Z0-9]", "_");
-            int screenshotNum = screenshotCounter.incrementAndGet();
-            
-            String fileName = String.format("%s_%s_%s_%d.png", 
-                testName.replaceAll("[^a-zA-Z0-9]", "_"), 
-                threadName, 
-                timestamp, 
-                screenshotNum);
-            
-            // Take screenshot
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            byte[] screenshotBytes = takesScreenshot.getScreenshotAs(OutputType.BYTES);
-            
-            // Save to file system
-            Path screenshotPath = Paths.get(SCREENSHOT_DIR, fileName);
-            Files.write(screenshotPath, screenshotBytes);
-            
-            // Store path for thread
-            threadScreenshotPaths.put(Thread.currentThread().getName(), screenshotPath.toString());
-            
-            // Add to Allure report
-            Allure.addAttachment("Screenshot - " + testName, "image/png", 
-                new ByteArrayInputStream(screenshotBytes), ".png");
-            
-            Reporter.log(String.format("📸 Screenshot captured: %s [Thread: %s]", 
-                fileName, Thread.currentThread().getName()));
-            
-            return screenshotPath.toString();
-            
-        } catch (Exception e) {
-            Reporter.log(String.format("❌ Failed to take screenshot for test '%s': %s", 
-                testName, e.getMessage()));
-            return null;
-        }
+        // Hand off to the background pipeline; the file name becomes a reference in the store
+        Path screenshotPath = ScreenshotPipeline.shared()
+            .submit(screenshotBytes, fileName, attachmentName);
+        
+        // Store path for thread
+        threadScreenshotPaths.put(Thread.currentThread().getName(), screenshotPath.toString());
+        
+        Reporter.log(String.format("📸 Screenshot captured: %s -> %s [Thread: %s]", 
+            fileName, screenshotPath.getFileName(), Thread.currentThread().getName()));
+        
+        return screenshotPath.toString();
     }
     
     /**
@@ -140,18 +140,9 @@ public class ThreadSafeScreenshotUtils {
         String className = result.getTestClass().getName();
         String fullTestName = className + "_" + testName + "_FAILURE";
         
-        String screenshotPath = takeScreenshot(fullTestName);
+        String screenshotPath = capture(fullTestName, "Failure Screenshot");
         
         if (screenshotPath != null) {
-            // Add failure context to Allure
-            try {
-                byte[] screenshotBytes = Files.readAllBytes(Paths.get(screenshotPath));
-                Allure.addAttachment("Failure Screenshot", "image/png", 
-                    new ByteArrayInputStream(screenshotBytes), ".png");
-            } catch (IOException e) {
-                Reporter.log("❌ Failed to attach failure screenshot: " + e.getMessage());
-            }
-            
             // Add failure details
             if (result.getThrowable() != null) {
                 Allure.addAttachment("Failure Details", 
@@ -185,67 +176,133 @@ public class ThreadSafeScreenshotUtils {
      */
     public static String takeStepScreenshot(String testName, String stepName) {
         String fullName = testName + "_" + stepName;
-        String screenshotPath = takeScreenshot(fullName);
-        
-        if (screenshotPath != null) {
-            Allure.step("Screenshot: " + stepName, () -> {
-                try {
-                    byte[] screenshotBytes = Files.readAllBytes(Paths.get(screenshotPath));
-                    Allure.addAttachment("Step Screenshot", "image/png", 
-                        new ByteArrayInputStream(screenshotBytes), ".png");
-                } catch (IOException e) {
-                    Reporter.log("❌ Failed to attach step screenshot: " + e.getMessage());
-                }
-            });
-        }
-        
-        return screenshotPath;
+        // Attachment is prepared inside the step, its content is written by the pipeline
+        return Allure.step("Screenshot: " + stepName, () -> capture(fullName, "Step Screenshot"));
     }
     
     /**
      * Take comparison screenshots (before/after)
+     * Captures the BEFORE state; call {@link #compareAfterAction} after the action
      */
     public static void takeComparisonScreenshots(String testName, String action) {
-        takeScreenshotWithMessage(testName + "_BEFORE", "Before " + action);
+        byte[] before = grab(testName + "_BEFORE");
+        if (before == null) {
+            return;
+        }
+        submit(testName + "_BEFORE", before, "Screenshot - " + testName + "_BEFORE");
+        Allure.addAttachment("Screenshot Context", "Before " + action);
+        Reporter.log(String.format("📸 Screenshot with message: %s - %s", testName + "_BEFORE", "Before " + action));
         
-        // This method should be called again after the action with "AFTER"
-        // Example usage: takeComparisonScreenshots(testName + "_AFTER", "After " + action);
+        beforeCaptures.get().put(testName, before);
     }
     
     /**
-     * Get screenshot path for current thread
+     * Captures the AFTER state and compares it with the BEFORE capture of the same test name.
+     * Masks exclude dynamic regions (clock, counters, ads) in screenshot pixels, see {@link #elementMask}.
+     * Returns null when there is no BEFORE capture or the screenshot fails.
      */
-    public static String getThreadScreenshotPath() {
-        return threadScreenshotPaths.get(Thread.currentThread().getName());
+    public static VisualDiff.Result compareAfterAction(String testName, String action, Rectangle... masks) {
+        byte[] before = beforeCaptures.get().remove(testName);
+        if (before == null) {
+            Reporter.log("❌ No BEFORE screenshot for '" + testName + "' - call takeComparisonScreenshots first");
+            return null;
+        }
+        byte[] after = grab(testName + "_AFTER");
+        if (after == null) {
+            return null;
+        }
+        submit(testName + "_AFTER", after, "Screenshot - " + testName + "_AFTER");
+        Allure.addAttachment("Screenshot Context", "After " + action);
+        
+        try {
+            VisualDiff.Result result = VisualDiff.compare(before, after, VisualDiff.Options.defaults().mask(masks));
+            attachVisualDiff(testName + "_" + action, result);
+            return result;
+        } catch (IOException e) {
+            Reporter.log("❌ Visual comparison failed for '" + testName + "': " + e.getMessage());
+            return null;
+        }
     }
     
     /**
-     * Create necessary directories
+     * Compares the current page with the stored baseline (created on first run)
      */
-    private static void createScreenshotDirectories() {
+    public static VisualDiff.Result compareWithBaseline(String baselineName, Rectangle... masks) {
+        byte[] current = grab(baselineName);
+        if (current == null) {
+            return null;
+        }
+        submit(baselineName, current, "Screenshot - " + baselineName);
+        
         try {
-            Files.createDirectories(Paths.get(SCREENSHOT_DIR));
-            Files.createDirectories(Paths.get(ALLURE_SCREENSHOTS_DIR));
+            VisualDiff.Result result = VisualDiff.compareToBaseline(baselineName, current,
+                VisualDiff.Options.defaults().mask(masks));
+            attachVisualDiff(baselineName, result);
+            return result;
         } catch (IOException e) {
-            Reporter.log("❌ Failed to create screenshot directories: " + e.getMessage());
+            Reporter.log("❌ Baseline comparison failed for '" + baselineName + "': " + e.getMessage());
+            return null;
         }
     }
     
+    /**
+     * Screenshot-pixel rectangle of an element (CSS pixels scaled by devicePixelRatio) for masking
+     */
+    public static Rectangle elementMask(WebElement element) {
+        org.openqa.selenium.Rectangle rect = element.getRect();
+        double ratio = 1.0;
+        WebDriver driver = getDriver();
+        if (driver instanceof JavascriptExecutor) {
+            Object value = ((JavascriptExecutor) driver).executeScript("return window.devicePixelRatio || 1;");
+            if (value instanceof Number) {
+                ratio = ((Number) value).doubleValue();
+            }
+        }
+        return new Rectangle((int) Math.floor(rect.getX() * ratio), (int) Math.floor(rect.getY() * ratio),
+            (int) Math.ceil(rect.getWidth() * ratio), (int) Math.ceil(rect.getHeight() * ratio));
+    }
+    
+    private static void attachVisualDiff(String name, VisualDiff.Result result) throws IOException {
+        Allure.addAttachment("Visual Diff - " + name, result.toString());
+        byte[] diffPng = result.getDiffImagePng();
+        if (diffPng != null) {
+            submit(name + "_DIFF", diffPng, "Visual Diff Image - " + name);
+        }
+        Reporter.log(String.format("🖼️ Visual diff %s: similarity=%.5f (%s, %.1f ms)", 
+            name, result.getSimilarity(), result.getMethod(), result.getDurationMillis()));
+    }
+    
+    /**
+     * Get screenshot path for current thread
+     */
+    public static String getThreadScreenshotPath() {
+        return threadScreenshotPaths.get(Thread.currentThread().getName());
+    }
+    
     /**
      * Clean up old screenshots (keep only recent ones)
      */
     public static void cleanupOldScreenshots(int daysToKeep) {
+        long cutoffTime = System.currentTimeMillis() - (daysToKeep * 24 * 60 * 60 * 1000L);
+        
+        // Content-addressed store: drop content not referenced since the cutoff
+        int evicted = ScreenshotStore.shared().evictOlderThan(cutoffTime);
+        if (evicted > 0) {
+            Reporter.log("🗑️ Deleted old screenshots from store: " + evicted);
+        }
+        
         try {
             Path screenshotDir = Paths.get(SCREENSHOT_DIR);
             if (!Files.exists(screenshotDir)) {
                 return;
             }
             
-            long cutoffTime = System.currentTimeMillis() - (daysToKeep * 24 * 60 * 60 * 1000L);
-            
+            // Loose files written before the store existed
+            Path storeRoot = ScreenshotStore.shared().getRoot().toAbsolutePath();
             Files.walk(screenshotDir)
                 .filter(Files::isRegularFile)
-                .filter(path -> path.toString().endsWith(".png"))
+                .filter(ThreadSafeScreenshotUtils::isScreenshotFile)
+                .filter(path -> !path.toAbsolutePath().startsWith(storeRoot))
                 .filter(path -> {
                     try {
                         return Files.getLastModifiedTime(path).toMillis() < cutoffTime;
@@ -267,6 +324,11 @@ public class ThreadSafeScreenshotUtils {
         }
     }
     
+    private static boolean isScreenshotFile(Path path) {
+        String name = path.toString();
+        return name.endsWith(".png") || name.endsWith(".jpg");
+    }
+    
     /**
      * Get screenshot statistics
      */
@@ -277,13 +339,17 @@ public class ThreadSafeScreenshotUtils {
         stats.append(String.format("Total Screenshots Taken: %d\n", screenshotCounter.get()));
         stats.append(String.format("Active Threads with Screenshots: %d\n", threadScreenshotPaths.size()));
         stats.append(String.format("Screenshot Directory: %s\n", SCREENSHOT_DIR));
+        stats.append(String.format("Pipeline: %s\n", ScreenshotPipeline.shared().getMetrics()));
+        ScreenshotStore store = ScreenshotStore.shared();
+        stats.append(String.format("Store: %s\n", store.getStatistics()));
+        stats.append(String.format("Bytes Saved by Deduplication: %.2f MB\n", store.getBytesSaved() / (1024.0 * 1024.0)));
         
         try {
             Path screenshotDir = Paths.get(SCREENSHOT_DIR);
             if (Files.exists(screenshotDir)) {
                 long totalSize = Files.walk(screenshotDir)
                     .filter(Files::isRegularFile)
-                    .filter(path -> path.toString().endsWith(".png"))
+                    .filter(ThreadSafeScreenshotUtils::isScreenshotFile)
                     .mapToLong(path -> {
                         try {
                             return Files.size(path);
@@ -328,6 +394,7 @@ public class ThreadSafeScreenshotUtils {
      */
     public static void clearThreadData() {
         threadScreenshotPaths.remove(Thread.currentThread().getName());
+        beforeCaptures.remove();
         removeDriver();
     }
     
@@ -0,0 +1,510 @@
+package com.example.utils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * PayTR Görsel Karşılaştırma Motoru
+ * İki ekran görüntüsünü (veya bir görüntüyü kayıtlı baseline ile) karşılaştırıp benzerlik skoru
+ * ve fark görüntüsü üretir
+ *
+ * Karşılaştırma kademelidir:
+ * 1. Byte'lar aynıysa (aynı SHA-256) hiçbir piksel çözülmeden "aynı" döner
+ * 2. Strict olmayan modda maskelenmemiş alanların algısal hash'leri (64 bit dHash) eşitse
+ *    piksel karşılaştırması atlanır ve sonuç "algısal olarak aynı" döner; bu sonuç değişen
+ *    piksel sayısı veya piksel benzerliği iddia etmez (bkz. {@link Result#isPerceptuallyEqual()})
+ * 3. Aksi halde görüntü yatay şeritlere bölünür ve şeritler tüm çekirdeklerde paralel
+ *    karşılaştırılır; kanal farkı tolerance'ı aşan pikseller değişmiş sayılır
+ *
+ * Tarih, sayaç, reklam gibi dinamik alanlar maske (Rectangle, piksel koordinatı) ile dışlanır.
+ * Baseline'lar visual.baseline.dir altında PNG olarak tutulur; bulunamayan baseline ilk
+ * karşılaştırmada oluşturulur, -Dvisual.baseline.update=true ile yenilenir. Baseline karşılaştırması
+ * aksi belirtilmedikçe strict'tir; küçük bir regresyon dHash'i değiştirmeyebilir.
+ *
+ * Ayarlar: -Dvisual.baseline.dir=src/test/resources/visual-baselines -Dvisual.baseline.update=false
+ * -Dvisual.tolerance=16
+ */
+public final class VisualDiff {
+
+    private static final int BAND_HEIGHT = 64;
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+    private static final int HASH_SAMPLES_PER_CELL = 16;
+
+    private static final int CHANGED_COLOR = 0xFF2020;
+    private static final int MASKED_COLOR = 0x304080;
+
+    private static final Path BASELINE_DIR = Paths.get(
+            System.getProperty("visual.baseline.dir", "src/test/resources/visual-baselines"));
+    private static final Map<String, Baseline> baselineCache = new ConcurrentHashMap<>();
+
+    private VisualDiff() {
+    }
+
+    /**
+     * Karşılaştırma ayarları
+     */
+    public static final class Options {
+        private int tolerance = Integer.getInteger("visual.tolerance", 16);
+        private final List<Rectangle> masks = new ArrayList<>();
+        private Boolean strict;
+        private boolean diffImage = true;
+
+        public static Options defaults() {
+            return new Options();
+        }
+
+        /** Piksel başına kanal farkı eşiği (0-255); anti-aliasing/sıkıştırma gürültüsü için */
+        public Options tolerance(int tolerance) {
+            this.tolerance = Math.max(0, Math.min(255, tolerance));
+            return this;
+        }
+
+        /** Karşılaştırmaya katılmayacak dinamik alanlar */
+        public Options mask(Rectangle... regions) {
+            masks.addAll(Arrays.asList(regions));
+            return this;
+        }
+
+        public Options mask(List<Rectangle> regions) {
+            masks.addAll(regions);
+            return this;
+        }
+
+        /**
+         * true: algısal hash eşit olsa da piksel karşılaştırması yapılır.
+         * Belirtilmezse compare() için false, compareToBaseline() için true
+         */
+        public Options strict(boolean strict) {
+            this.strict = strict;
+            return this;
+        }
+
+        /** false: yalnızca skor hesaplanır, fark görüntüsü üretilmez */
+        public Options diffImage(boolean diffImage) {
+            this.diffImage = diffImage;
+            return this;
+        }
+    }
+
+    private static boolean strict(Options options, boolean defaultStrict) {
+        return options.strict == null ? defaultStrict : options.strict;
+    }
+
+    /**
+     * Karşılaştırma sonucu
+     */
+    public static final class Result {
+        private final double similarity;
+        private final long changedPixels;
+        private final long comparedPixels;
+        private final int hashDistance;
+        private final String method;
+        private final Rectangle changedBounds;
+        private final BufferedImage diffImage;
+        private final double durationMillis;
+
+        private Result(double similarity, long changedPixels, long comparedPixels, int hashDistance, String method,
+                       Rectangle changedBounds, BufferedImage diffImage, double durationMillis) {
+            this.similarity = similarity;
+            this.changedPixels = changedPixels;
+            this.comparedPixels = comparedPixels;
+            this.hashDistance = hashDistance;
+            this.method = method;
+            this.changedBounds = changedBounds;
+            this.diffImage = diffImage;
+            this.durationMillis = durationMillis;
+        }
+
+        /**
+         * 0.0 - 1.0 arası; değişmemiş piksellerin maskelenmemiş piksellere oranı.
+         * Yalnızca algısal hash ile karar verildiyse piksel sayılmadığı için NaN
+         */
+        public double getSimilarity() {
+            return similarity;
+        }
+
+        /** Algısal olarak aynı görüntüler strict olmayan modda benzer kabul edilir */
+        public boolean isSimilar(double minSimilarity) {
+            return isPerceptuallyEqual() || similarity >= minSimilarity;
+        }
+
+        /** Piksel düzeyinde (tolerance dahilinde) hiç değişiklik yok */
+        public boolean isUnchanged() {
+            return changedPixels == 0;
+        }
+
+        /** Piksel karşılaştırması yapılmadı; algısal hash'ler eşit olduğu için aynı sayıldı */
+        public boolean isPerceptuallyEqual() {
+            return "perceptual".equals(method);
+        }
+
+        /** Değişen piksel sayısı; piksel karşılaştırması yapılmadıysa -1 */
+        public long getChangedPixels() {
+            return changedPixels;
+        }
+
+        public long getComparedPixels() {
+            return comparedPixels;
+        }
+
+        /** Algısal hash'ler arası Hamming mesafesi (0 = algısal olarak aynı) */
+        public int getHashDistance() {
+            return hashDistance;
+        }
+
+        /** identical, perceptual, pixel veya baseline-created */
+        public String getMethod() {
+            return method;
+        }
+
+        /** Değişen piksellerin sınır kutusu; değişiklik yoksa null */
+        public Rectangle getChangedBounds() {
+            return changedBounds;
+        }
+
+        /** Değişen pikseller kırmızı, maskeler mavi; fark yoksa veya kapatıldıysa null */
+        public BufferedImage getDiffImage() {
+            return diffImage;
+        }
+
+        public byte[] getDiffImagePng() throws IOException {
+            if (diffImage == null) {
+                return null;
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            ImageIO.write(diffImage, "png", output);
+            return output.toByteArray();
+        }
+
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("similarity", Double.isNaN(similarity) ? null : Math.round(similarity * 100000) / 100000.0);
+            map.put("method", method);
+            map.put("changedPixels", changedPixels);
+            map.put("comparedPixels", comparedPixels);
+            map.put("hashDistance", hashDistance);
+            map.put("changedBounds", changedBounds == null ? null
+                    : changedBounds.x + "," + changedBounds.y + " " + changedBounds.width + "x" + changedBounds.height);
+            map.put("durationMs", Math.round(durationMillis * 100) / 100.0);
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return toMap().toString();
+        }
+    }
+
+    /**
+     * Kayıtlı baseline görüntüsü ve önceden hesaplanmış hash'leri
+     */
+    private static final class Baseline {
+        private final String sha256;
+        private final PixelImage pixels;
+
+        private Baseline(String sha256, PixelImage pixels) {
+            this.sha256 = sha256;
+            this.pixels = pixels;
+        }
+    }
+
+    /**
+     * Çözülmüş görüntü: satır sıralı RGB pikseller
+     */
+    private static final class PixelImage {
+        private final int width;
+        private final int height;
+        private final int[] rgb;
+
+        private PixelImage(int width, int height, int[] rgb) {
+            this.width = width;
+            this.height = height;
+            this.rgb = rgb;
+        }
+    }
+
+    /**
+     * PNG byte'larını karşılaştırır; byte'lar aynıysa görüntü çözülmez
+     */
+    public static Result compare(byte[] beforePng, byte[] afterPng, Options options) throws IOException {
+        long start = System.nanoTime();
+        if (Arrays.equals(beforePng, afterPng)) {
+            return identical(start);
+        }
+        return compare(pixels(decode(beforePng)), pixels(decode(afterPng)), options, strict(options, false), start);
+    }
+
+    public static Result compare(BufferedImage before, BufferedImage after, Options options) {
+        return compare(pixels(before), pixels(after), options, strict(options, false), System.nanoTime());
+    }
+
+    /**
+     * Görüntüyü name adlı baseline ile karşılaştırır; baseline yoksa (veya update modunda) kaydeder
+     */
+    public static Result compareToBaseline(String name, byte[] png, Options options) throws IOException {
+        long start = System.nanoTime();
+        Path file = baselinePath(name);
+        boolean update = Boolean.parseBoolean(System.getProperty("visual.baseline.update", "false"));
+        if (update || !Files.exists(file)) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, png);
+            baselineCache.remove(name);
+            System.out.println("🖼️ Görsel baseline " + (update ? "güncellendi" : "oluşturuldu") + ": " + file);
+            return new Result(1.0, 0, 0, 0, "baseline-created", null, null, elapsedMillis(start));
+        }
+        Baseline baseline = baselineCache.computeIfAbsent(name, key -> loadBaseline(file));
+        if (baseline.sha256.equals(ScreenshotPipeline.sha256(png))) {
+            return identical(start);
+        }
+        return compare(baseline.pixels, pixels(decode(png)), options, strict(options, true), start);
+    }
+
+    public static Path baselinePath(String name) {
+        return BASELINE_DIR.resolve(name.replaceAll("[^a-zA-Z0-9._-]", "_") + ".png");
+    }
+
+    /**
+     * 64 bit fark hash'i (dHash): görüntü 9x8 hücreye bölünür, her satırda komşu hücrelerin
+     * parlaklığı karşılaştırılır. Küçük kayma, ölçek ve sıkıştırma farklarına dayanıklıdır.
+     */
+    public static long perceptualHash(BufferedImage image) {
+        return perceptualHash(pixels(image), null);
+    }
+
+    public static int hammingDistance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    private static Result compare(PixelImage before, PixelImage after, Options options, boolean strict, long start) {
+        boolean[] masked = maskBitmap(after.width, after.height, options.masks);
+        boolean sameSize = before.width == after.width && before.height == after.height;
+        int hashDistance = hammingDistance(perceptualHash(before, sameSize ? masked : null), perceptualHash(after, masked));
+        if (!strict && sameSize && hashDistance == 0) {
+            // Hash yalnızca karşılaştırmayı atlamak için kullanılır; piksel sayısı/benzerlik bilinmiyor
+            return new Result(Double.NaN, -1, 0, 0, "perceptual", null, null, elapsedMillis(start));
+        }
+
+        int width = after.width;
+        int height = after.height;
+        // Fark pikselleri doğrudan görüntünün tamponuna yazılır (setRGB dönüşümü olmadan)
+        BufferedImage diffImage = options.diffImage ? new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB) : null;
+        int[] diff = diffImage == null ? null : ((DataBufferInt) diffImage.getRaster().getDataBuffer()).getData();
+        int bands = (height + BAND_HEIGHT - 1) / BAND_HEIGHT;
+        BandResult[] results = new BandResult[bands];
+        int threshold = options.tolerance;
+
+        IntStream.range(0, bands).parallel().forEach(band -> {
+            BandResult result = new BandResult();
+            int yEnd = Math.min(height, (band + 1) * BAND_HEIGHT);
+            for (int y = band * BAND_HEIGHT; y < yEnd; y++) {
+                int row = y * width;
+                for (int x = 0; x < width; x++) {
+                    int index = row + x;
+                    if (masked != null && masked[index]) {
+                        if (diff != null) {
+                            diff[index] = MASKED_COLOR;
+                        }
+                        continue;
+                    }
+                    result.compared++;
+                    int afterPixel = after.rgb[index];
+                    boolean changed = x >= before.width || y >= before.height
+                            || exceeds(before.rgb[y * before.width + x], afterPixel, threshold);
+                    if (changed) {
+                        result.record(x, y);
+                    }
+                    if (diff != null) {
+                        diff[index] = changed ? CHANGED_COLOR : faded(afterPixel);
+                    }
+                }
+            }
+            results[band] = result;
+        });
+
+        long changed = 0;
+        long compared = 0;
+        Rectangle bounds = null;
+        for (BandResult result : results) {
+            changed += result.changed;
+            compared += result.compared;
+            if (result.changed > 0) {
+                Rectangle band = new Rectangle(result.minX, result.minY,
+                        result.maxX - result.minX + 1, result.maxY - result.minY + 1);
+                bounds = bounds == null ? band : bounds.union(band);
+            }
+        }
+        if (!sameSize) {
+            // Önceki görüntüde olup sonrakinde olmayan alan da değişmiş sayılır
+            long missing = (long) before.width * before.height
+                    - (long) Math.min(before.width, width) * Math.min(before.height, height);
+            changed += missing;
+            compared += missing;
+        }
+        double similarity = compared == 0 ? 1.0 : 1.0 - (double) changed / compared;
+        return new Result(similarity, changed, compared, hashDistance, "pixel", bounds,
+                changed > 0 ? diffImage : null, elapsedMillis(start));
+    }
+
+    /**
+     * Şerit başına değişen piksel sayısı ve sınır kutusu
+     */
+    private static final class BandResult {
+        private long changed;
+        private long compared;
+        private int minX = Integer.MAX_VALUE;
+        private int minY = Integer.MAX_VALUE;
+        private int maxX = -1;
+        private int maxY = -1;
+
+        private void record(int x, int y) {
+            changed++;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+    }
+
+    private static boolean exceeds(int first, int second, int threshold) {
+        if (first == second) {
+            return false;
+        }
+        return Math.abs(((first >> 16) & 0xFF) - ((second >> 16) & 0xFF)) > threshold
+                || Math.abs(((first >> 8) & 0xFF) - ((second >> 8) & 0xFF)) > threshold
+                || Math.abs((first & 0xFF) - (second & 0xFF)) > threshold;
+    }
+
+    /** Değişmeyen alanlar soluk gri gösterilir ki kırmızı farklar öne çıksın */
+    private static int faded(int rgb) {
+        int gray = 170 + luminance(rgb) / 3;
+        return (gray << 16) | (gray << 8) | gray;
+    }
+
+    private static int luminance(int rgb) {
+        return (((rgb >> 16) & 0xFF) * 299 + ((rgb >> 8) & 0xFF) * 587 + (rgb & 0xFF) * 114) / 1000;
+    }
+
+    /**
+     * Hücre ortalamaları seyrek örnekleme ile alınır (hücre başına en fazla 16x16 örnek);
+     * maskelenmiş pikseller ortalamaya katılmaz
+     */
+    private static long perceptualHash(PixelImage image, boolean[] masked) {
+        double[] cells = new double[HASH_WIDTH * HASH_HEIGHT];
+        for (int cellY = 0; cellY < HASH_HEIGHT; cellY++) {
+            int y0 = cellY * image.height / HASH_HEIGHT;
+            int y1 = Math.max(y0 + 1, (cellY + 1) * image.height / HASH_HEIGHT);
+            int stepY = Math.max(1, (y1 - y0) / HASH_SAMPLES_PER_CELL);
+            for (int cellX = 0; cellX < HASH_WIDTH; cellX++) {
+                int x0 = cellX * image.width / HASH_WIDTH;
+                int x1 = Math.max(x0 + 1, (cellX + 1) * image.width / HASH_WIDTH);
+                int stepX = Math.max(1, (x1 - x0) / HASH_SAMPLES_PER_CELL);
+                long sum = 0;
+                int samples = 0;
+                for (int y = y0; y < y1 && y < image.height; y += stepY) {
+                    int row = y * image.width;
+                    for (int x = x0; x < x1 && x < image.width; x += stepX) {
+                        if (masked != null && masked[row + x]) {
+                            continue;
+                        }
+                        sum += luminance(image.rgb[row + x]);
+                        samples++;
+                    }
+                }
+                cells[cellY * HASH_WIDTH + cellX] = samples == 0 ? 0 : (double) sum / samples;
+            }
+        }
+        long hash = 0;
+        for (int cellY = 0; cellY < HASH_HEIGHT; cellY++) {
+            for (int cellX = 0; cellX < HASH_WIDTH - 1; cellX++) {
+                hash <<= 1;
+                if (cells[cellY * HASH_WIDTH + cellX] > cells[cellY * HASH_WIDTH + cellX + 1]) {
+                    hash |= 1;
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static boolean[] maskBitmap(int width, int height, List<Rectangle> masks) {
+        if (masks.isEmpty()) {
+            return null;
+        }
+        boolean[] masked = new boolean[width * height];
+        Rectangle frame = new Rectangle(0, 0, width, height);
+        for (Rectangle mask : masks) {
+            Rectangle area = mask.intersection(frame);
+            if (area.isEmpty()) {
+                continue;
+            }
+            for (int y = area.y; y < area.y + area.height; y++) {
+                Arrays.fill(masked, y * width + area.x, y * width + area.x + area.width, true);
+            }
+        }
+        return masked;
+    }
+
+    private static Result identical(long start) {
+        return new Result(1.0, 0, 0, 0, "identical", null, null, elapsedMillis(start));
+    }
+
+    private static Baseline loadBaseline(Path file) {
+        try {
+            byte[] png = Files.readAllBytes(file);
+            return new Baseline(ScreenshotPipeline.sha256(png), pixels(decode(png)));
+        } catch (IOException e) {
+            throw new IllegalStateException("Görsel baseline okunamadı: " + file + " - " + e.getMessage(), e);
+        }
+    }
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Görüntü çözülemedi (desteklenmeyen format)");
+        }
+        return image;
+    }
+
+    /**
+     * INT_RGB görüntülerde piksel dizisi kopyalanmadan kullanılır, diğer tipler INT_RGB'ye çizilir
+     */
+    private static PixelImage pixels(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        if (image.getType() == BufferedImage.TYPE_INT_RGB
+                && image.getRaster().getDataBuffer() instanceof DataBufferInt
+                && image.getRaster().getDataBuffer().getNumBanks() == 1
+                && ((DataBufferInt) image.getRaster().getDataBuffer()).getData().length == width * height) {
+            return new PixelImage(width, height, ((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+        }
+        BufferedImage rgb = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return new PixelImage(width, height, ((DataBufferInt) rgb.getRaster().getDataBuffer()).getData());
+    }
+
+    private static double elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
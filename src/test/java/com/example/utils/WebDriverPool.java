@@ -0,0 +1,331 @@
+package com.example.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * PayTR WebDriver Oturum Havuzu
+ * Tarayıcı oturumlarını testler arasında yeniden kullanan sınırlı havuz
+ *
+ * Tarayıcı açılışı UI suitlerinin en pahalı adımıdır. Havuz, iade edilen oturumu kapatmak yerine
+ * sıfırlar (çerezler, localStorage/sessionStorage, fazla pencereler, about:blank) ve bir sonraki
+ * teste verir. Kiralamada oturum sağlık kontrolünden geçer; bozuk veya maxUses kez kullanılmış
+ * oturumlar kapatılıp yenisi açılır. Aynı anda en fazla maxSize oturum kiralanabilir.
+ *
+ * Ayarlar: -Dwebdriver.pool.enabled=true -Dwebdriver.pool.size=5 -Dwebdriver.pool.warm=0
+ * -Dwebdriver.pool.maxUses=50 -Dwebdriver.pool.leaseTimeoutSeconds=300
+ */
+public class WebDriverPool {
+
+    private static final WebDriverPool SHARED = createShared();
+
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration leaseTimeout;
+    private final Function<String, WebDriver> driverFactory;
+
+    private final Semaphore leasePermits;
+    private final Map<String, ConcurrentLinkedDeque<PooledSession>> idleByBrowser = new ConcurrentHashMap<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final ExecutorService warmer;
+
+    private final LongAdder created = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private final LongAdder returns = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder healthCheckFailures = new LongAdder();
+    private final LongAdder resetFailures = new LongAdder();
+    private final LatencyHistogram leaseWait = new LatencyHistogram();
+
+    /**
+     * Havuzdaki bir tarayıcı oturumu
+     */
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final String browser;
+        private int uses;
+
+        private PooledSession(WebDriver driver, String browser) {
+            this.driver = driver;
+            this.browser = browser;
+        }
+    }
+
+    public WebDriverPool(int maxSize, int maxUses, Duration leaseTimeout, Function<String, WebDriver> driverFactory) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeout = leaseTimeout;
+        this.driverFactory = driverFactory;
+        this.leasePermits = new Semaphore(this.maxSize, true);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.warmer = Executors.newFixedThreadPool(this.maxSize, runnable -> {
+            Thread thread = new Thread(runnable, "webdriver-pool-warmer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static WebDriverPool createShared() {
+        WebDriverPool pool = new WebDriverPool(
+                Integer.getInteger("webdriver.pool.size", 5),
+                Integer.getInteger("webdriver.pool.maxUses", 50),
+                Duration.ofSeconds(Long.getLong("webdriver.pool.leaseTimeoutSeconds", 300L)),
+                WebDriverSetup::createDriver);
+        Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "webdriver-pool-shutdown"));
+        int warm = Integer.getInteger("webdriver.pool.warm", 0);
+        if (isEnabled() && warm > 0) {
+            pool.warmUp(System.getProperty("browser", "chrome"), warm);
+        }
+        return pool;
+    }
+
+    /**
+     * Test süreci boyunca paylaşılan havuz
+     */
+    public static WebDriverPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * -Dwebdriver.pool.enabled=false ile her test için yeni tarayıcı açma davranışına dönülür
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("webdriver.pool.enabled", "true"));
+    }
+
+    /**
+     * Verilen sayıda oturumu arka planda paralel olarak önceden açar
+     */
+    public void warmUp(String browser, int count) {
+        String key = browser.toLowerCase();
+        int target = Math.min(count, maxSize);
+        System.out.println("🔥 WebDriver havuzu ısıtılıyor: " + target + " x " + key);
+        for (int index = 0; index < target; index++) {
+            warmer.execute(() -> {
+                try {
+                    PooledSession session = new PooledSession(driverFactory.apply(key), key);
+                    created.increment();
+                    if (!offerIdle(session)) {
+                        quit(session);
+                    }
+                } catch (Exception e) {
+                    System.out.println("⚠️ Havuz ısıtma hatası: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Sağlıklı bir oturum kiralar; boşta oturum yoksa yenisini açar, havuz doluysa iade bekler
+     */
+    public WebDriver lease(String browser) {
+        String key = browser.toLowerCase();
+        long waitStart = System.nanoTime();
+        try {
+            if (!leasePermits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("WebDriver havuzundan " + leaseTimeout.getSeconds()
+                        + " sn içinde oturum alınamadı (maxSize=" + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("WebDriver kiralama beklemesi kesildi", e);
+        }
+        leaseWait.recordNanos(System.nanoTime() - waitStart);
+
+        try {
+            PooledSession session;
+            while ((session = pollIdle(key)) != null) {
+                if (isHealthy(session.driver)) {
+                    reuses.increment();
+                    break;
+                }
+                healthCheckFailures.increment();
+                quit(session);
+            }
+            if (session == null) {
+                session = new PooledSession(driverFactory.apply(key), key);
+                created.increment();
+            }
+            session.uses++;
+            leased.put(session.driver, session);
+            leases.increment();
+            return session.driver;
+        } catch (RuntimeException e) {
+            leasePermits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Oturumu sıfırlayıp havuza iade eder; sıfırlanamayan oturum kapatılır
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            // Havuzdan alınmamış driver
+            driver.quit();
+            return;
+        }
+        try {
+            returns.increment();
+            if (session.uses >= maxUses) {
+                quit(session);
+            } else if (!reset(session.driver)) {
+                resetFailures.increment();
+                quit(session);
+            } else if (!offerIdle(session)) {
+                quit(session);
+            }
+        } finally {
+            leasePermits.release();
+        }
+    }
+
+    /**
+     * Bozuk olduğu bilinen oturumu sıfırlamadan kapatır
+     */
+    public void discard(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            quitQuietly(driver);
+            return;
+        }
+        try {
+            quit(session);
+        } finally {
+            leasePermits.release();
+        }
+    }
+
+    public boolean isLeased(WebDriver driver) {
+        return leased.containsKey(driver);
+    }
+
+    /**
+     * Kiralama/iade metrikleri ve kiralama bekleme süresi yüzdelikleri (ms)
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxSize", maxSize);
+        metrics.put("leased", leased.size());
+        metrics.put("idle", idleCount.get());
+        metrics.put("created", created.sum());
+        metrics.put("leases", leases.sum());
+        metrics.put("reuses", reuses.sum());
+        metrics.put("returns", returns.sum());
+        metrics.put("discarded", discarded.sum());
+        metrics.put("healthCheckFailures", healthCheckFailures.sum());
+        metrics.put("resetFailures", resetFailures.sum());
+        metrics.put("leaseWait", leaseWait.toSummary());
+        return metrics;
+    }
+
+    /**
+     * Tüm oturumları kapatır; test süreci sonunda çağrılır
+     */
+    public void shutdown() {
+        warmer.shutdownNow();
+        List<PooledSession> sessions = new ArrayList<>(leased.values());
+        leased.clear();
+        idleByBrowser.values().forEach(idle -> {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                sessions.add(session);
+            }
+        });
+        idleCount.set(0);
+        sessions.forEach(session -> quitQuietly(session.driver));
+        if (created.sum() > 0) {
+            System.out.println("🏁 WebDriver havuzu kapatıldı: " + getMetrics());
+        }
+    }
+
+    private PooledSession pollIdle(String browser) {
+        ConcurrentLinkedDeque<PooledSession> idle = idleByBrowser.get(browser);
+        // En son iade edilen (en sıcak) oturum önce verilir
+        PooledSession session = idle == null ? null : idle.pollLast();
+        if (session != null) {
+            idleCount.decrementAndGet();
+        }
+        return session;
+    }
+
+    private boolean offerIdle(PooledSession session) {
+        if (idleCount.incrementAndGet() > maxSize) {
+            idleCount.decrementAndGet();
+            return false;
+        }
+        idleByBrowser.computeIfAbsent(session.browser, key -> new ConcurrentLinkedDeque<>()).addLast(session);
+        return true;
+    }
+
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            return !handles.isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Testten kalan durumu temizler: fazla pencereler, çerezler, web storage, açık sayfa
+     */
+    private static boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (handles.isEmpty()) {
+                return false;
+            }
+            for (int index = 1; index < handles.size(); index++) {
+                driver.switchTo().window(handles.get(index)).close();
+            }
+            driver.switchTo().window(handles.get(0));
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                try {
+                    ((JavascriptExecutor) driver).executeScript(
+                            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+                } catch (Exception e) {
+                    // about:blank gibi storage erişimi olmayan sayfalar
+                }
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            System.out.println("⚠️ WebDriver oturumu sıfırlanamadı: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void quit(PooledSession session) {
+        discarded.increment();
+        quitQuietly(session.driver);
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("⚠️ WebDriver kapatma hatası: " + e.getMessage());
+        }
+    }
+}
@@ -10,19 +10,66 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.safari.SafariDriver;
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 public class WebDriverSetup {
-    private static ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private static final ThreadLocal<Long> lastValidatedNanos = ThreadLocal.withInitial(() -> 0L);
     private static final int MAX_RETRY_ATTEMPTS = 3;
+    private static final long VALIDATION_INTERVAL_NANOS =
+            TimeUnit.MILLISECONDS.toNanos(Long.getLong("webdriver.validation.intervalMs", 1000L));
     
-    public static synchronized void setupDriver(String browserName) {
+    private static final Map<String, Boolean> resolvedBinaries = new ConcurrentHashMap<>();
+    private static final LongAdder getDriverCalls = new LongAdder();
+    private static final LongAdder validations = new LongAdder();
+    private static final LongAdder recoveries = new LongAdder();
+    private static final AtomicInteger creationsInProgress = new AtomicInteger();
+    private static final AtomicInteger peakParallelCreations = new AtomicInteger();
+    private static final LatencyHistogram creationTime = new LatencyHistogram();
+    
+    /**
+     * Thread'e driver atar; havuz açıksa (varsayılan) WebDriverPool'dan sıcak bir oturum kiralanır.
+     * Thread'de zaten bir driver varsa o oturum havuza iade edilmeden kapatılır.
+     * Kiralama havuz doluysa bekleyebildiği için bu metot ve quitDriver sınıf kilidi tutmaz;
+     * korunan durum zaten thread'e özeldir.
+     */
+    public static void setupDriver(String browserName) {
         System.out.println("🔧 WebDriverSetup.setupDriver çağrıldı: " + browserName);
         
         if (driver.get() != null) {
+            // Havuza iade edilirse hemen aynı oturum geri kiralanırdı; yeni setup her zaman yeni oturum verir
             System.out.println("⚠️ Driver zaten mevcut, kapatılıyor...");
-            quitDriver();
+            discardDriver();
+            lastValidatedNanos.remove();
         }
         
+        driver.set(WebDriverPool.isEnabled()
+                ? WebDriverPool.shared().lease(browserName)
+                : createDriver(browserName));
+        // Yeni açılan veya havuzda sağlık kontrolünden geçen oturum doğrulanmış sayılır
+        lastValidatedNanos.set(System.nanoTime());
+    }
+    
+    /**
+     * Yeni bir tarayıcı oturumu açar (yeniden deneme ile); havuz yeni oturumları buradan alır
+     */
+    static WebDriver createDriver(String browserName) {
+        long start = System.nanoTime();
+        peakParallelCreations.accumulateAndGet(creationsInProgress.incrementAndGet(), Math::max);
+        try {
+            return createDriverWithRetry(browserName);
+        } finally {
+            creationsInProgress.decrementAndGet();
+            creationTime.recordNanos(System.nanoTime() - start);
+        }
+    }
+    
+    private static WebDriver createDriverWithRetry(String browserName) {
         int attempts = 0;
         while (attempts < MAX_RETRY_ATTEMPTS) {
             try {
@@ -39,7 +86,7 @@ public class WebDriverSetup {
                             System.out.println("🔧 CI/CD ortamı tespit edildi, özel konfigürasyon uygulanıyor...");
                         }
                         
-                        WebDriverManager.chromedriver().setup();
+                        resolveDriverBinary("chrome", () -> WebDriverManager.chromedriver().setup());
                         ChromeOptions chromeOptions = new ChromeOptions();
                         
                         // Basic headless configuration
@@ -80,12 +127,11 @@ public class WebDriverSetup {
                         chromeDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(120)); // Increased for slow connections
                         chromeDriver.manage().timeouts().scriptTimeout(Duration.ofSeconds(60));    // Increased for complex operations
                         
-                        driver.set(chromeDriver);
                         System.out.println("✅ Chrome driver başarıyla kuruldu");
-                        return;
+                        return chromeDriver;
                         
                     case "firefox":
-                        WebDriverManager.firefoxdriver().setup();
+                        resolveDriverBinary("firefox", () -> WebDriverManager.firefoxdriver().setup());
                         FirefoxOptions firefoxOptions = new FirefoxOptions();
                         firefoxOptions.addArguments("--headless");
                         firefoxOptions.addArguments("--width=1920");
@@ -95,27 +141,23 @@ public class WebDriverSetup {
                         firefoxDriver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
                         firefoxDriver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
                         
-                        driver.set(firefoxDriver);
-                        break;
+                        return firefoxDriver;
                         
                     case "edge":
-                        WebDriverManager.edgedriver().setup();
+                        resolveDriverBinary("edge", () -> WebDriverManager.edgedriver().setup());
                         EdgeOptions edgeOptions = new EdgeOptions();
                         edgeOptions.addArguments("--headless");
                         edgeOptions.addArguments("--no-sandbox");
                         edgeOptions.addArguments("--disable-dev-shm-usage");
                         edgeOptions.addArguments("--window-size=1920,1080");
-                        driver.set(new EdgeDriver(edgeOptions));
-                        break;
+                        return new EdgeDriver(edgeOptions);
                         
                     case "safari":
-                        driver.set(new SafariDriver());
-                        break;
+                        return new SafariDriver();
                         
                     default:
                         throw new IllegalArgumentException("Browser not supported: " + browserName);
                 }
-                return; // Success, exit retry loop
                 
             } catch (Exception e) {
                 attempts++;
@@ -134,11 +176,18 @@ public class WebDriverSetup {
                 }
             }
         }
+        throw new IllegalStateException("WebDriver kurulumu başarısız: " + browserName);
     }
     
-    public static synchronized WebDriver getDriver() {
+    /**
+     * Thread'in driver'ını döndürür, yoksa oluşturur.
+     * Okuma yolunda paylaşılan kilit yoktur: durum ThreadLocal'dadır ve sayaçlar LongAdder'dır.
+     * Oturum doğrulaması (tek round-trip) her çağrıda değil, en fazla
+     * -Dwebdriver.validation.intervalMs (varsayılan 1000) aralıkla yapılır.
+     */
+    public static WebDriver getDriver() {
+        getDriverCalls.increment();
         WebDriver currentDriver = driver.get();
-        System.out.println("🔍 WebDriverSetup.getDriver çağrıldı, driver: " + (currentDriver != null ? "MEVCUT" : "NULL"));
         
         if (currentDriver == null) {
             System.out.println("⚠️ Driver null, yeni driver oluşturuluyor...");
@@ -147,28 +196,22 @@ public class WebDriverSetup {
             System.out.println("🔄 Yeni driver oluşturuldu: " + (currentDriver != null ? "BAŞARILI" : "BAŞARISIZ"));
         }
         
-        // Enhanced driver validation with multiple checks
-        if (currentDriver != null) {
+        if (currentDriver != null && isValidationDue()) {
+            validations.increment();
             try {
-                // Test 1: Check if driver session is valid
-                currentDriver.getCurrentUrl();
-                
-                // Test 2: Check if driver can execute basic commands
-                currentDriver.getTitle();
-                
-                // Test 3: Verify driver window handles
+                // Oturum geçerliyse ve en az bir pencere açıksa driver kullanılabilir
                 if (currentDriver.getWindowHandles().isEmpty()) {
                     throw new RuntimeException("No window handles available");
                 }
-                
-                System.out.println("✅ Driver validation successful");
+                lastValidatedNanos.set(System.nanoTime());
                 
             } catch (Exception e) {
+                recoveries.increment();
                 System.out.println("⚠️ Driver validation failed: " + e.getMessage());
                 System.out.println("🔄 Recreating driver...");
                 
                 try {
-                    quitDriver();
+                    discardDriver();
                 } catch (Exception quitError) {
                     System.out.println("⚠️ Error during driver quit: " + quitError.getMessage());
                 }
@@ -187,17 +230,80 @@ public class WebDriverSetup {
         return currentDriver;
     }
     
-    public static synchronized void quitDriver() {
+    /**
+     * Dışarıda oluşturulmuş bir driver'ı çağıran thread'e bağlar (ör. özel capabilities, benchmark)
+     */
+    public static void registerDriver(WebDriver webDriver) {
+        driver.set(webDriver);
+        lastValidatedNanos.set(System.nanoTime());
+    }
+    
+    /**
+     * getDriver çağrıları, doğrulamalar, kurtarmalar, paralel oluşturma ve oluşturma süresi metrikleri
+     */
+    public static Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("getDriverCalls", getDriverCalls.sum());
+        metrics.put("validations", validations.sum());
+        metrics.put("recoveries", recoveries.sum());
+        metrics.put("creations", creationTime.getCount());
+        metrics.put("creationsInProgress", creationsInProgress.get());
+        metrics.put("peakParallelCreations", peakParallelCreations.get());
+        metrics.put("creationTime", creationTime.toSummary());
+        return metrics;
+    }
+    
+    private static boolean isValidationDue() {
+        long last = lastValidatedNanos.get();
+        return last == 0 || System.nanoTime() - last >= VALIDATION_INTERVAL_NANOS;
+    }
+    
+    /**
+     * Driver binary çözümlemesi (indirme, sürüm eşleme) tarayıcı başına bir kez yapılır;
+     * paralel oluşturmalarda yalnızca ilk çağrı bekler, sonrakiler kilitsiz geçer
+     */
+    private static void resolveDriverBinary(String browser, Runnable setup) {
+        if (resolvedBinaries.containsKey(browser)) {
+            return;
+        }
+        resolvedBinaries.computeIfAbsent(browser, key -> {
+            setup.run();
+            return Boolean.TRUE;
+        });
+    }
+    
+    /**
+     * Thread'in driver'ını bırakır; havuzdan kiralandıysa sıfırlanıp havuza iade edilir
+     */
+    public static void quitDriver() {
+        WebDriver currentDriver = driver.get();
         try {
-            if (driver.get() != null) {
-                System.out.println("🔄 WebDriver kapatılıyor...");
-                driver.get().quit();
-                driver.remove();
-                System.out.println("✅ WebDriver başarıyla kapatıldı");
+            if (currentDriver != null) {
+                if (WebDriverPool.shared().isLeased(currentDriver)) {
+                    WebDriverPool.shared().release(currentDriver);
+                    System.out.println("♻️ WebDriver havuza iade edildi");
+                } else {
+                    System.out.println("🔄 WebDriver kapatılıyor...");
+                    currentDriver.quit();
+                    System.out.println("✅ WebDriver başarıyla kapatıldı");
+                }
             }
         } catch (Exception e) {
             System.out.println("⚠️ WebDriver kapatma hatası: " + e.getMessage());
+        } finally {
             driver.remove(); // Thread'den kaldır
+            lastValidatedNanos.remove();
+        }
+    }
+    
+    /**
+     * Doğrulamadan geçemeyen driver'ı havuza geri koymadan kapatır
+     */
+    private static void discardDriver() {
+        WebDriver currentDriver = driver.get();
+        driver.remove();
+        if (currentDriver != null) {
+            WebDriverPool.shared().discard(currentDriver);
         }
     }
     
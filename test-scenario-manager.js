@@ -469,7 +469,13 @@ class TestScenarioManager {
             });
             
             const result = await response.json();
-            
+
+            // Sunucu kapasitesi dolu: yerel simülasyona düşmeden kullanıcıya bildir
+            if (response.status === 429) {
+                this.showNotification(result.error || 'Sunucu meşgul, lütfen daha sonra tekrar deneyin', 'warning');
+                return;
+            }
+
             if (result.success) {
                 this.isTestRunning = true;
                 this.currentTestIndex = 0;
@@ -487,8 +493,8 @@ class TestScenarioManager {
                 this.logMessage('🚀 Test çalıştırması başlatıldı...');
                 this.logMessage(`📋 Toplam ${this.selectedScenarios.length} senaryo çalıştırılacak`);
                 
-                // Durum takibi başlat
-                this.startStatusPolling();
+                // Canlı olay akışını başlat (desteklenmiyorsa durum sorgulamaya düşer)
+                this.startEventStream();
             } else {
                 throw new Error(result.error || 'Test başlatılamadı');
             }
@@ -644,6 +650,7 @@ class TestScenarioManager {
                     document.getElementById('stopTestBtn').style.display = 'none';
                     
                     // Durum takibini durdur
+                    this.closeEventStream();
                     if (this.statusPollingInterval) {
                         clearInterval(this.statusPollingInterval);
                     }
@@ -727,6 +734,106 @@ class TestScenarioManager {
     }
 
     // Utility Functions
+    // Canlı olay akışı (Server-Sent Events)
+    startEventStream() {
+        if (typeof EventSource === 'undefined') {
+            this.startStatusPolling();
+            return;
+        }
+
+        this.closeEventStream();
+        const source = new EventSource(`${this.apiBaseUrl}/execution/${this.executionId}/events`);
+        this.eventSource = source;
+
+        // Yeniden bağlanınca snapshot tekrar gelir; aynı sonuç iki kez eklenmesin
+        const seenResults = new Set(this.testResults.map(r => r.scenarioId));
+        const addResult = (result) => {
+            if (result && !seenResults.has(result.scenarioId)) {
+                seenResults.add(result.scenarioId);
+                this.testResults.push(result);
+            }
+        };
+        const finish = (status) => {
+            this.closeEventStream();
+            if (!this.isTestRunning) {
+                return;
+            }
+            if (status === 'stopped') {
+                this.isTestRunning = false;
+                this.logMessage('\n⏹️ Test çalıştırması durduruldu');
+                document.getElementById('startTestBtn').style.display = 'inline-block';
+                document.getElementById('stopTestBtn').style.display = 'none';
+                return;
+            }
+            this.completeTestExecution();
+        };
+
+        source.addEventListener('snapshot', (e) => {
+            const snapshot = JSON.parse(e.data);
+            (snapshot.currentResults || []).forEach(addResult);
+            this.updateStreamProgress(this.testResults.length, this.selectedScenarios.length);
+            if (!snapshot.running) {
+                finish(snapshot.status);
+            }
+        });
+
+        source.addEventListener('scenario-started', (e) => {
+            const event = JSON.parse(e.data);
+            this.updateStreamProgress(event.completed, event.total, event.scenarioName);
+            this.logMessage(`\n🧪 Test başlatılıyor: ${event.scenarioName}`);
+        });
+
+        source.addEventListener('step', (e) => {
+            const event = JSON.parse(e.data);
+            this.logMessage(`    ${event.stepOrder}. ${event.message}`);
+        });
+
+        source.addEventListener('scenario-finished', (e) => {
+            const event = JSON.parse(e.data);
+            addResult(event.result);
+            this.updateStreamProgress(event.completed, event.total);
+            if (event.status === 'success') {
+                this.logMessage(`✅ Test başarılı: ${event.scenarioName}`);
+            } else {
+                this.logMessage(`❌ Test başarısız: ${event.scenarioName} - ${event.message}`);
+            }
+        });
+
+        source.addEventListener('dropped', (e) => {
+            const info = JSON.parse(e.data);
+            this.logMessage(`  ⚠️ ${info.count} ilerleme mesajı atlandı`);
+        });
+
+        source.addEventListener('execution-finished', (e) => {
+            finish(JSON.parse(e.data).status);
+        });
+
+        source.onerror = () => {
+            // EventSource kendisi yeniden bağlanır; bağlantı tamamen kapandıysa sorgulamaya geç
+            if (source.readyState === EventSource.CLOSED && this.eventSource === source) {
+                this.eventSource = null;
+                if (this.isTestRunning) {
+                    this.startStatusPolling();
+                }
+            }
+        };
+    }
+
+    closeEventStream() {
+        if (this.eventSource) {
+            this.eventSource.close();
+            this.eventSource = null;
+        }
+    }
+
+    updateStreamProgress(completed, total, currentName) {
+        const progress = total > 0 ? (completed / total) * 100 : 0;
+        document.getElementById('progressFill').style.width = `${progress}%`;
+        document.getElementById('currentTest').textContent = currentName
+            ? `Test ${Math.min(completed + 1, total)}/${total}: ${currentName}`
+            : `${completed}/${total} test tamamlandı`;
+    }
+
     // Durum takibi başlatma
     startStatusPolling() {
         this.statusPollingInterval = setInterval(async () => {